@@ -16,7 +16,6 @@
 
 package top.codestyle.admin.common.config.excel;
 
-import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.convert.Convert;
 import cn.hutool.extra.spring.SpringUtil;
 import cn.idev.excel.converters.Converter;
@@ -28,29 +27,48 @@ import top.codestyle.admin.common.api.system.DictItemApi;
 import top.continew.starter.core.constant.StringConstants;
 import top.continew.starter.extension.crud.model.resp.LabelValueResp;
 
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Easy Excel 字典转换器
+ * <p>
+ * 每个字典编码首次转换时查询一次字典项并构建不可变的值/标签映射快照，之后的单元格直接查表。
+ * 转换器实例随每次导入/导出创建（字段元数据按线程缓存，读写结束时清除），快照即在本次导入/导出内复用；
+ * 快照另设存活时间兜底，避免转换器实例被长期复用时字典变更不生效。
+ * </p>
  *
  * @author Charles7c
  * @since 2025/4/9 20:22
  */
 public class ExcelDictConverter implements Converter<Object> {
 
+    /**
+     * 快照存活时间
+     */
+    private static final long SNAPSHOT_TTL = TimeUnit.MINUTES.toNanos(5);
+
+    /**
+     * 字段 -> 字典编码（注解不可变，全局缓存）
+     */
+    private static final Map<Field, String> DICT_CODE_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * 字典编码 -> 字典快照
+     */
+    private final Map<String, DictSnapshot> snapshotMap = new ConcurrentHashMap<>();
+
     @Override
     public Object convertToJavaData(ReadCellData<?> cellData,
                                     ExcelContentProperty contentProperty,
                                     GlobalConfiguration globalConfiguration) {
-        // 获取字典项数据
-        List<LabelValueResp> dictItemList = this.getDictCode(contentProperty);
         // 转换字典标签为字典值
-        String value = dictItemList.stream()
-            .filter(item -> Objects.equals(cellData.getStringValue(), item.getValue()))
-            .findFirst()
-            .map(LabelValueResp::getLabel)
-            .orElse(null);
+        Object value = this.getSnapshot(contentProperty).valueMap.get(cellData.getStringValue());
         // 转换字典值为对应类型
         return Convert.convert(contentProperty.getField().getType(), value);
     }
@@ -62,31 +80,93 @@ public class ExcelDictConverter implements Converter<Object> {
         if (data == null) {
             return new WriteCellData<>(StringConstants.EMPTY);
         }
-        // 获取字典项数据
-        List<LabelValueResp> dictItemList = this.getDictCode(contentProperty);
-        if (CollUtil.isEmpty(dictItemList)) {
-            return new WriteCellData<>(StringConstants.EMPTY);
-        }
         // 转换字典值为字典标签
-        return new WriteCellData<>(dictItemList.stream()
-            .filter(item -> Objects.equals(data, item.getValue()))
-            .findFirst()
-            .map(LabelValueResp::getLabel)
-            .orElse(StringConstants.EMPTY));
+        String label = this.getSnapshot(contentProperty).labelMap.get(data);
+        return new WriteCellData<>(label != null ? label : StringConstants.EMPTY);
     }
 
     /**
-     * 获取字典项数据
+     * 获取字典快照（不存在或已过期时重新构建）
      *
      * @param contentProperty Excel 内容属性
-     * @return 字典项数据
+     * @return 字典快照
      */
-    private List<LabelValueResp> getDictCode(ExcelContentProperty contentProperty) {
-        DictExcelProperty dictExcelProperty = contentProperty.getField().getAnnotation(DictExcelProperty.class);
+    private DictSnapshot getSnapshot(ExcelContentProperty contentProperty) {
+        String dictCode = this.getDictCode(contentProperty.getField());
+        DictSnapshot snapshot = snapshotMap.get(dictCode);
+        if (snapshot == null || snapshot.isExpired()) {
+            snapshot = DictSnapshot.of(SpringUtil.getBean(DictItemApi.class).listByDictCode(dictCode));
+            snapshotMap.put(dictCode, snapshot);
+        }
+        return snapshot;
+    }
+
+    /**
+     * 获取字典编码
+     *
+     * @param field 字段
+     * @return 字典编码
+     */
+    private String getDictCode(Field field) {
+        String dictCode = DICT_CODE_CACHE.get(field);
+        if (dictCode != null) {
+            return dictCode;
+        }
+        DictExcelProperty dictExcelProperty = field.getAnnotation(DictExcelProperty.class);
         if (dictExcelProperty == null) {
             throw new IllegalArgumentException("Excel 字典转换器异常：请为字段添加 @DictExcelProperty 注解");
         }
-        DictItemApi dictItemApi = SpringUtil.getBean(DictItemApi.class);
-        return dictItemApi.listByDictCode(dictExcelProperty.value());
+        DICT_CODE_CACHE.put(field, dictExcelProperty.value());
+        return dictExcelProperty.value();
+    }
+
+    /**
+     * 字典快照（不可变，可跨单元格及线程共享）
+     */
+    private static final class DictSnapshot {
+
+        /**
+         * 字典值 -> 字典标签
+         */
+        private final Map<Object, String> labelMap;
+
+        /**
+         * 字典标签 -> 字典值
+         */
+        private final Map<String, Object> valueMap;
+
+        /**
+         * 过期时间（{@link System#nanoTime()}）
+         */
+        private final long expireTime;
+
+        private DictSnapshot(Map<Object, String> labelMap, Map<String, Object> valueMap, long expireTime) {
+            this.labelMap = labelMap;
+            this.valueMap = valueMap;
+            this.expireTime = expireTime;
+        }
+
+        /**
+         * 根据字典项构建快照（值或标签重复时以先出现的为准）
+         *
+         * @param dictItemList 字典项列表
+         * @return 字典快照
+         */
+        private static DictSnapshot of(List<LabelValueResp> dictItemList) {
+            Map<Object, String> labelMap = new HashMap<>();
+            Map<String, Object> valueMap = new HashMap<>();
+            if (dictItemList != null) {
+                for (LabelValueResp item : dictItemList) {
+                    labelMap.putIfAbsent(item.getValue(), item.getLabel());
+                    valueMap.putIfAbsent(item.getLabel(), item.getValue());
+                }
+            }
+            return new DictSnapshot(Collections.unmodifiableMap(labelMap), Collections
+                .unmodifiableMap(valueMap), System.nanoTime() + SNAPSHOT_TTL);
+        }
+
+        private boolean isExpired() {
+            return System.nanoTime() - expireTime > 0;
+        }
     }
 }
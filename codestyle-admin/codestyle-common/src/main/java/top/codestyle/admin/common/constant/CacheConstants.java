@@ -71,6 +71,11 @@ public class CacheConstants {
      */
     public static final String DATA_IMPORT_KEY = "SYSTEM" + DELIMITER + "DATA_IMPORT" + DELIMITER;
 
+    /**
+     * 数据导出任务key
+     */
+    public static final String DATA_EXPORT_KEY = "SYSTEM" + DELIMITER + "DATA_EXPORT" + DELIMITER;
+
     private CacheConstants() {
     }
 }
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.common.util;
+
+import cn.hutool.core.date.DatePattern;
+import cn.hutool.core.util.URLUtil;
+import cn.idev.excel.EasyExcel;
+import cn.idev.excel.ExcelWriter;
+import cn.idev.excel.write.metadata.WriteSheet;
+import cn.idev.excel.write.style.column.LongestMatchColumnWidthStyleStrategy;
+import jakarta.servlet.http.HttpServletResponse;
+import top.continew.starter.excel.converter.ExcelBigNumberConverter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Excel 流式写入器
+ * <p>
+ * 数据逐行（或逐页）追加，每积累 batchSize 行写入一次工作表，底层为 SXSSF，已写入的行会刷新到临时文件，
+ * 导出任意行数时堆内存占用保持恒定；单个工作表超过 {@link #MAX_SHEET_ROWS} 行时自动新建工作表。
+ * </p>
+ *
+ * @param <T> 导出类型
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+public class ExcelStreamWriter<T> implements Closeable {
+
+    /**
+     * 默认工作表名称
+     */
+    public static final String DEFAULT_SHEET_NAME = "Sheet1";
+
+    /**
+     * 默认批次大小
+     */
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    /**
+     * 单个工作表最大行数（xlsx 上限为 1048576 行，含表头）
+     */
+    public static final int MAX_SHEET_ROWS = 1000000;
+
+    private final ExcelWriter excelWriter;
+    private final Class<T> clazz;
+    private final String sheetName;
+    private final int batchSize;
+    private final List<T> buffer;
+    private WriteSheet writeSheet;
+    private int sheetRows;
+    private long count;
+
+    public ExcelStreamWriter(OutputStream outputStream, Class<T> clazz, String sheetName, int batchSize) {
+        this.excelWriter = EasyExcel.write(outputStream, clazz)
+            .autoCloseStream(false)
+            .registerWriteHandler(new LongestMatchColumnWidthStyleStrategy())
+            .registerConverter(new ExcelBigNumberConverter())
+            .build();
+        this.clazz = clazz;
+        this.sheetName = sheetName;
+        this.batchSize = batchSize;
+        this.buffer = new ArrayList<>(batchSize);
+        this.writeSheet = EasyExcel.writerSheet(0, sheetName).build();
+    }
+
+    /**
+     * 创建写入 HTTP 响应的流式写入器（设置下载响应头）
+     *
+     * @param response 响应对象
+     * @param fileName 文件名（不含后缀，自动追加导出时间）
+     * @param clazz    导出类型
+     * @return 流式写入器
+     */
+    public static <T> ExcelStreamWriter<T> of(HttpServletResponse response, String fileName, Class<T> clazz) {
+        String exportFileName = URLUtil.encode("%s_%s.xlsx".formatted(fileName, LocalDateTime.now()
+            .format(DatePattern.PURE_DATETIME_FORMATTER)));
+        response.setHeader("Content-disposition", "attachment;filename=" + exportFileName);
+        response.setContentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet;charset=UTF-8");
+        try {
+            return new ExcelStreamWriter<>(response.getOutputStream(), clazz, DEFAULT_SHEET_NAME, DEFAULT_BATCH_SIZE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 追加一行
+     *
+     * @param row 行数据
+     */
+    public void write(T row) {
+        buffer.add(row);
+        if (buffer.size() >= batchSize) {
+            this.flush();
+        }
+    }
+
+    /**
+     * 追加多行
+     *
+     * @param rows 行数据
+     */
+    public void write(Collection<? extends T> rows) {
+        for (T row : rows) {
+            this.write(row);
+        }
+    }
+
+    /**
+     * 将缓冲的行写入工作表
+     */
+    public void flush() {
+        int offset = 0;
+        while (offset < buffer.size()) {
+            if (sheetRows >= MAX_SHEET_ROWS) {
+                int sheetNo = writeSheet.getSheetNo() + 1;
+                writeSheet = EasyExcel.writerSheet(sheetNo, "%s_%d".formatted(sheetName, sheetNo + 1)).build();
+                sheetRows = 0;
+            }
+            int end = Math.min(buffer.size(), offset + MAX_SHEET_ROWS - sheetRows);
+            excelWriter.write(buffer.subList(offset, end), writeSheet);
+            sheetRows += end - offset;
+            count += end - offset;
+            offset = end;
+        }
+        buffer.clear();
+    }
+
+    /**
+     * 获取导出类型
+     *
+     * @return 导出类型
+     */
+    public Class<T> getClazz() {
+        return clazz;
+    }
+
+    /**
+     * 获取已写入行数
+     *
+     * @return 已写入行数
+     */
+    public long getCount() {
+        return count;
+    }
+
+    @Override
+    public void close() {
+        try {
+            this.flush();
+        } finally {
+            excelWriter.finish();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package top.codestyle.admin.common.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * 文件区间响应工具类
+ * <p>
+ * 处理单段 Range 与 If-Range（206/416），多段 Range 或 If-Range 不匹配时返回完整内容。
+ * 文件内容通过 {@link FileChannel#transferTo} 按区间写入响应输出流（经 Servlet 输出流缓冲复制），无需整体读入内存。
+ * 条件请求（304）、Content-Type 等响应头由调用方处理。
+ * </p>
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+public class FileRangeUtils {
+
+    private FileRangeUtils() {
+    }
+
+    /**
+     * 按请求的 Range 写出文件
+     * <p>
+     * 文件在写入任何响应头之前打开，打开后即使文件被删除也能完整读取。
+     * </p>
+     *
+     * @param file         文件
+     * @param etag         ETag（用于匹配 If-Range）
+     * @param lastModified 修改时间（毫秒，小于 0 表示未提供 Last-Modified，日期形式的 If-Range 视为不匹配）
+     * @param request      请求对象
+     * @param response     响应对象
+     * @throws NoSuchFileException 文件不存在（此时尚未写入任何响应头）
+     * @throws IOException         读取或写出失败
+     */
+    public static void write(Path file,
+                             String etag,
+                             long lastModified,
+                             HttpServletRequest request,
+                             HttpServletResponse response) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+            long start = 0;
+            long end = length - 1;
+            String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+            if (rangeHeader != null && length > 0 && matchesIfRange(request, etag, lastModified)) {
+                try {
+                    List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+                    if (ranges.size() == 1) {
+                        start = ranges.get(0).getRangeStart(length);
+                        end = ranges.get(0).getRangeEnd(length);
+                        response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+                    }
+                } catch (IllegalArgumentException e) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    response.sendError(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                    return;
+                }
+            }
+            long count = end - start + 1;
+            response.setContentLengthLong(count);
+            if (HttpMethod.HEAD.matches(request.getMethod()) || count <= 0) {
+                return;
+            }
+            WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (count > 0) {
+                long transferred = channel.transferTo(position, count, target);
+                // 文件在读取过程中被截断
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+                count -= transferred;
+            }
+        }
+    }
+
+    /**
+     * If-Range 与当前文件版本一致（或未指定）时才按 Range 返回部分内容
+     */
+    private static boolean matchesIfRange(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag);
+        }
+        if (lastModified < 0) {
+            return false;
+        }
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) == lastModified / 1000 * 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.research.client;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.ChatOptionsBuilder;
+import org.springframework.stereotype.Component;
+import top.codestyle.admin.research.config.ResearchProperties;
+
+/**
+ * 研究节点模型调用客户端
+ *
+ * @author CodeStyle
+ * @since 2026-02-22
+ */
+@Component
+@RequiredArgsConstructor
+public class ResearchChatClient {
+
+    private final ChatClient.Builder chatClientBuilder;
+    private final ResearchProperties researchProperties;
+
+    /**
+     * 使用默认模型调用
+     */
+    public String call(String system, String user) {
+        return call(researchProperties.getModel().getDefaultModel(), system, user);
+    }
+
+    /**
+     * 使用强模型调用（用于规划、生成等关键节点）
+     */
+    public String callStrong(String system, String user) {
+        return call(researchProperties.getModel().getStrongModel(), system, user);
+    }
+
+    private String call(String model, String system, String user) {
+        ResearchProperties.ModelConfig config = researchProperties.getModel();
+        ChatOptions options = ChatOptionsBuilder.builder()
+            .withModel(model)
+            .withTemperature(config.getTemperature())
+            .withMaxTokens(config.getMaxTokens())
+            .build();
+        return chatClientBuilder.build().prompt().options(options).system(system).user(user).call().content();
+    }
+}
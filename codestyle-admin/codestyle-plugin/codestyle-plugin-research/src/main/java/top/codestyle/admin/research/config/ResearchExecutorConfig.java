@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.research.config;
+
+import cn.hutool.core.thread.NamedThreadFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 深度研究线程池配置
+ * <p>
+ * - 任务线程池：每个研究任务占用一个线程，运行数与排队数有界，满时拒绝新任务（准入控制）
+ * - 节点线程池：同一阶段的并行节点在此执行，满时由任务线程直接执行
+ * - 解析线程池：代码仓库文件按 fork-join 拆分后并行读取并提取大纲
+ *
+ * @author CodeStyle
+ * @since 2026-02-22
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class ResearchExecutorConfig {
+
+    private final ResearchProperties researchProperties;
+
+    /**
+     * 研究任务线程池
+     */
+    @Bean
+    public ThreadPoolExecutor researchTaskExecutor() {
+        int maxConcurrentTasks = researchProperties.getMaxConcurrentTasks();
+        log.info("初始化研究任务线程池：maxConcurrentTasks={}, queueCapacity={}", maxConcurrentTasks, researchProperties
+            .getQueueCapacity());
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(maxConcurrentTasks, maxConcurrentTasks, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(researchProperties
+            .getQueueCapacity()), new NamedThreadFactory("research-task-", true), new ThreadPoolExecutor.AbortPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /**
+     * 研究节点线程池
+     */
+    @Bean
+    public ExecutorService researchNodeExecutor() {
+        int parallelism = researchProperties.getMaxConcurrentTasks() * 2;
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(parallelism, parallelism, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(parallelism), new NamedThreadFactory("research-node-", true), new ThreadPoolExecutor.CallerRunsPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /**
+     * 代码仓库解析线程池
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ForkJoinPool researchIngestPool() {
+        int parallelism = researchProperties.getIngest().getParallelism();
+        if (parallelism <= 0) {
+            parallelism = Runtime.getRuntime().availableProcessors();
+        }
+        log.info("初始化代码仓库解析线程池：parallelism={}", parallelism);
+        return new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("research-ingest-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+    }
+}
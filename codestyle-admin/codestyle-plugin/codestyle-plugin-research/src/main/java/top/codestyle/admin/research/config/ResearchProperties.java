@@ -20,6 +20,9 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * 深度研究配置属性
  *
@@ -51,6 +54,21 @@ public class ResearchProperties {
      */
     private int sseHeartbeatSeconds = 30;
 
+    /**
+     * 每个任务缓存的最近进度事件数（用于断线重连补发）
+     */
+    private int progressBufferSize = 256;
+
+    /**
+     * 等待执行的研究任务队列容量（运行数与排队数均满时拒绝新任务）
+     */
+    private int queueCapacity = 20;
+
+    /**
+     * 任务检查点保留时间（小时）
+     */
+    private int checkpointTtlHours = 168;
+
     /**
      * 模型配置
      */
@@ -61,6 +79,11 @@ public class ResearchProperties {
      */
     private GitHubConfig github = new GitHubConfig();
 
+    /**
+     * 代码仓库解析配置
+     */
+    private IngestConfig ingest = new IngestConfig();
+
     /**
      * 模板生成配置
      */
@@ -99,10 +122,20 @@ public class ResearchProperties {
     public static class GitHubConfig {
 
         /**
-         * GitHub Token（用于提高 API 限流）
+         * GitHub Token（用于提高 API 限流，克隆时仅发送给 tokenHost）
          */
         private String token;
 
+        /**
+         * Token 所属主机
+         */
+        private String tokenHost = "github.com";
+
+        /**
+         * 允许克隆的远程仓库主机（仅支持 HTTPS 地址）
+         */
+        private List<String> allowedHosts = new ArrayList<>(List.of("github.com"));
+
         /**
          * 克隆超时时间（秒）
          */
@@ -114,6 +147,46 @@ public class ResearchProperties {
         private int maxFileSizeMb = 10;
     }
 
+    @Data
+    public static class IngestConfig {
+
+        /**
+         * 允许读取的本地目录（本地目录或 Git 仓库必须位于其中之一，为空时不允许读取本地路径）
+         */
+        private List<String> allowedRoots = new ArrayList<>();
+
+        /**
+         * 跳过的目录名称（依赖、构建产物、IDE 配置等）
+         */
+        private List<String> excludeDirs = new ArrayList<>(List
+            .of(".git", ".svn", ".hg", ".idea", ".vscode", ".gradle", ".mvn", "node_modules", "bower_components", "vendor", "target", "build", "dist", "out", "bin", "obj", "coverage", "__pycache__", ".venv", "venv", "generated", "generated-sources"));
+
+        /**
+         * 最多解析的文件数（超过时截断）
+         */
+        private int maxFiles = 5000;
+
+        /**
+         * 最多读取的文件总大小（MB，超过时截断）
+         */
+        private int maxTotalSizeMb = 200;
+
+        /**
+         * 解析线程数（0 表示 CPU 核数）
+         */
+        private int parallelism = 0;
+
+        /**
+         * 单个文件最多提取的声明数
+         */
+        private int maxSymbolsPerFile = 40;
+
+        /**
+         * 输出给后续节点的仓库大纲最大字符数
+         */
+        private int maxOutlineChars = 20000;
+    }
+
     @Data
     public static class TemplateConfig {
 
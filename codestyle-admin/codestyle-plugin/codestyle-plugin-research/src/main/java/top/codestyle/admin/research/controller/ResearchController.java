@@ -26,11 +26,15 @@ import org.springframework.http.MediaType;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import top.codestyle.admin.research.graph.ResearchGraphExecutor;
 import top.codestyle.admin.research.model.req.ResearchFeedbackReq;
 import top.codestyle.admin.research.model.req.ResearchStartReq;
 import top.codestyle.admin.research.model.resp.ResearchStatusResp;
+import top.codestyle.admin.research.progress.ResearchProgressBus;
 import top.codestyle.admin.research.service.ResearchService;
 
+import java.util.Map;
+
 /**
  * 深度研究 API
  *
@@ -46,6 +50,8 @@ import top.codestyle.admin.research.service.ResearchService;
 public class ResearchController {
 
     private final ResearchService researchService;
+    private final ResearchGraphExecutor graphExecutor;
+    private final ResearchProgressBus progressBus;
 
     @Operation(summary = "启动研究任务", description = "启动一个新的深度研究任务")
     @PostMapping("/start")
@@ -54,11 +60,18 @@ public class ResearchController {
         return researchService.startResearch(request);
     }
 
-    @Operation(summary = "获取任务状态", description = "通过 SSE 流式获取任务进度")
+    @Operation(summary = "获取任务状态", description = "通过 SSE 流式获取任务进度，断线重连时根据 Last-Event-ID 补发错过的事件")
     @GetMapping(value = "/{taskId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    public SseEmitter getStatus(@Parameter(description = "任务 ID", required = true) @PathVariable String taskId) {
+    public SseEmitter getStatus(@Parameter(description = "任务 ID", required = true) @PathVariable String taskId,
+                                @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
         log.info("订阅任务状态: taskId={}", taskId);
-        return researchService.subscribeProgress(taskId);
+        return researchService.subscribeProgress(taskId, lastEventId);
+    }
+
+    @Operation(summary = "获取运行统计", description = "获取研究任务执行与进度推送的运行统计")
+    @GetMapping("/stats")
+    public Map<String, Object> getStats() {
+        return Map.of("executor", graphExecutor.getStats(), "progress", progressBus.getStats());
     }
 
     @Operation(summary = "提交用户反馈", description = "在等待确认节点提交用户反馈")
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.research.graph;
+
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.json.JSONUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RSet;
+import org.redisson.api.RedissonClient;
+import org.springframework.stereotype.Component;
+import top.codestyle.admin.research.config.ResearchProperties;
+import top.codestyle.admin.research.model.enums.ResearchStatus;
+import top.continew.starter.cache.redisson.util.RedisUtils;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * 研究任务检查点存储（Redis）
+ * <p>
+ * 未结束的任务记录在活跃集合中，服务重启后据此恢复执行
+ *
+ * @author CodeStyle
+ * @since 2026-02-22
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ResearchCheckpointStore {
+
+    private static final String TASK_KEY_PREFIX = "research:task:";
+    private static final String ACTIVE_KEY = "research:task-active";
+
+    private final RedissonClient redissonClient;
+    private final ResearchProperties researchProperties;
+
+    /**
+     * 保存检查点
+     *
+     * @param state 任务状态
+     */
+    public void save(ResearchState state) {
+        String json;
+        synchronized (state) {
+            json = JSONUtil.toJsonStr(state);
+        }
+        RedisUtils.set(TASK_KEY_PREFIX + state.getTaskId(), json, Duration.ofHours(researchProperties
+            .getCheckpointTtlHours()));
+        RSet<String> active = redissonClient.getSet(ACTIVE_KEY);
+        if (state.isFinished()) {
+            active.remove(state.getTaskId());
+        } else {
+            active.add(state.getTaskId());
+        }
+    }
+
+    /**
+     * 读取检查点
+     *
+     * @param taskId 任务 ID
+     * @return 任务状态，不存在或已过期时返回 null
+     */
+    public ResearchState load(String taskId) {
+        String json = RedisUtils.get(TASK_KEY_PREFIX + taskId);
+        return StrUtil.isBlank(json) ? null : JSONUtil.toBean(json, ResearchState.class);
+    }
+
+    /**
+     * 读取任务状态
+     *
+     * @param taskId 任务 ID
+     * @return 任务状态，不存在时返回 null
+     */
+    public ResearchStatus loadStatus(String taskId) {
+        ResearchState state = load(taskId);
+        return state != null ? state.getStatus() : null;
+    }
+
+    /**
+     * 删除检查点
+     *
+     * @param taskId 任务 ID
+     */
+    public void delete(String taskId) {
+        RedisUtils.delete(TASK_KEY_PREFIX + taskId);
+        redissonClient.getSet(ACTIVE_KEY).remove(taskId);
+    }
+
+    /**
+     * 获取未结束的任务 ID
+     *
+     * @return 任务 ID 集合
+     */
+    public Set<String> activeTaskIds() {
+        RSet<String> active = redissonClient.getSet(ACTIVE_KEY);
+        return active.readAll();
+    }
+}
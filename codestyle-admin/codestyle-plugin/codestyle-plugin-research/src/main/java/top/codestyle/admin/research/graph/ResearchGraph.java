@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.research.graph;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+import top.codestyle.admin.research.node.AnalyzerNode;
+import top.codestyle.admin.research.node.GeneratorNode;
+import top.codestyle.admin.research.node.PlannerNode;
+import top.codestyle.admin.research.node.ResearcherNode;
+import top.codestyle.admin.research.node.SourceNode;
+
+import java.util.List;
+
+/**
+ * 研究状态图
+ * <p>
+ * 按阶段顺序执行，同一阶段内的节点并行执行：
+ *
+ * <pre>
+ * SourceNode → PlannerNode [用户确认] → (ResearcherNode | AnalyzerNode) → GeneratorNode
+ * </pre>
+ *
+ * @author CodeStyle
+ * @since 2026-02-22
+ */
+@Getter
+@Component
+public class ResearchGraph {
+
+    private final List<Stage> stages;
+
+    public ResearchGraph(SourceNode sourceNode,
+                         PlannerNode plannerNode,
+                         ResearcherNode researcherNode,
+                         AnalyzerNode analyzerNode,
+                         GeneratorNode generatorNode) {
+        this.stages = List.of(new Stage(List.of(sourceNode), false), new Stage(List
+            .of(plannerNode), true), new Stage(List.of(researcherNode, analyzerNode), false), new Stage(List
+                .of(generatorNode), false));
+    }
+
+    /**
+     * 阶段
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Stage {
+
+        /**
+         * 并行执行的节点
+         */
+        private final List<ResearchNode> nodes;
+
+        /**
+         * 执行完成后是否等待用户确认（任务未开启自动确认时）
+         */
+        private final boolean interruptAfter;
+    }
+}
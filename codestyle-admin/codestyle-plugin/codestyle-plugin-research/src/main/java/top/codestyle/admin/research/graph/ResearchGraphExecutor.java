@@ -0,0 +1,337 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.research.graph;
+
+import cn.hutool.core.util.StrUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import top.codestyle.admin.research.config.ResearchProperties;
+import top.codestyle.admin.research.model.enums.NodeStatus;
+import top.codestyle.admin.research.model.enums.ResearchStatus;
+import top.codestyle.admin.research.model.resp.NodeProgressResp;
+import top.continew.starter.core.exception.BusinessException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 研究状态图执行器
+ * <p>
+ * 每个任务在任务线程池中按阶段执行状态图：
+ * - 准入控制：运行数与排队数有界，满时拒绝新任务
+ * - 检查点：每个阶段完成后写入 Redis，服务重启后从未完成的阶段继续执行
+ * - 人工确认：中断阶段完成后进入 WAITING_CONFIRM 并释放线程，确认后重新提交
+ * - 集群互斥：执行期间持有任务锁，同一任务只在一个节点上运行
+ *
+ * @author CodeStyle
+ * @since 2026-02-22
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ResearchGraphExecutor {
+
+    private static final String LOCK_KEY_PREFIX = "research:task-lock:";
+
+    private final ResearchGraph researchGraph;
+    private final ResearchCheckpointStore checkpointStore;
+    private final ResearchProperties researchProperties;
+    private final RedissonClient redissonClient;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ThreadPoolExecutor researchTaskExecutor;
+    private final ExecutorService researchNodeExecutor;
+
+    /**
+     * 本节点正在执行的任务
+     */
+    private final Map<String, Future<?>> runningTasks = new ConcurrentHashMap<>();
+
+    /**
+     * 服务启动后恢复未结束的任务（等待确认的任务保持等待）
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        if (!researchProperties.isEnabled()) {
+            return;
+        }
+        for (String taskId : checkpointStore.activeTaskIds()) {
+            try {
+                ResearchState state = checkpointStore.load(taskId);
+                if (state == null) {
+                    checkpointStore.delete(taskId);
+                } else if (state.getStatus() == ResearchStatus.PENDING || state.getStatus() == ResearchStatus.RUNNING) {
+                    log.info("恢复研究任务: taskId={}, stageIndex={}", taskId, state.getStageIndex());
+                    submit(taskId);
+                }
+            } catch (Exception e) {
+                // 线程池已满时保持检查点不变，下次启动时再恢复
+                log.warn("恢复研究任务失败: taskId={}", taskId, e);
+            }
+        }
+    }
+
+    /**
+     * 创建并提交任务
+     *
+     * @param state 初始状态
+     * @throws BusinessException 任务数已达上限
+     */
+    public void start(ResearchState state) {
+        state.setStatus(ResearchStatus.PENDING);
+        state.setCreateTime(LocalDateTime.now());
+        checkpointStore.save(state);
+        try {
+            submit(state.getTaskId());
+        } catch (BusinessException e) {
+            checkpointStore.delete(state.getTaskId());
+            throw e;
+        }
+    }
+
+    /**
+     * 确认后继续执行
+     *
+     * @param state 等待确认的任务状态
+     */
+    public void resume(ResearchState state) {
+        state.setStatus(ResearchStatus.PENDING);
+        checkpointStore.save(state);
+        try {
+            submit(state.getTaskId());
+        } catch (BusinessException e) {
+            state.setStatus(ResearchStatus.WAITING_CONFIRM);
+            checkpointStore.save(state);
+            throw e;
+        }
+    }
+
+    /**
+     * 结合用户反馈重新执行中断阶段（完成后再次等待确认）
+     *
+     * @param state 等待确认的任务状态
+     */
+    public void rerunInterruptedStage(ResearchState state) {
+        state.setStageIndex(Math.max(0, state.getStageIndex() - 1));
+        resume(state);
+    }
+
+    /**
+     * 取消任务
+     * <p>
+     * 本节点正在执行时立即中断；在其他节点执行时，执行方在下一次写检查点前发现取消状态后停止
+     *
+     * @param state 任务状态
+     */
+    public void cancel(ResearchState state) {
+        state.setStatus(ResearchStatus.CANCELLED);
+        state.setCompleteTime(LocalDateTime.now());
+        checkpointStore.save(state);
+        Future<?> future = runningTasks.get(state.getTaskId());
+        if (future != null) {
+            future.cancel(true);
+        }
+        publish(state);
+    }
+
+    /**
+     * 获取统计信息
+     */
+    public Map<String, Object> getStats() {
+        return Map.of("running", researchTaskExecutor.getActiveCount(), "queued", researchTaskExecutor.getQueue()
+            .size(), "localTasks", runningTasks.size());
+    }
+
+    private void submit(String taskId) {
+        FutureTask<Void> task = new FutureTask<>(() -> run(taskId), null);
+        runningTasks.put(taskId, task);
+        try {
+            researchTaskExecutor.execute(task);
+        } catch (RejectedExecutionException e) {
+            runningTasks.remove(taskId, task);
+            throw new BusinessException("研究任务繁忙，请稍后重试");
+        }
+    }
+
+    private void run(String taskId) {
+        RLock lock = redissonClient.getLock(LOCK_KEY_PREFIX + taskId);
+        if (!lock.tryLock()) {
+            log.info("研究任务正在其他节点执行: taskId={}", taskId);
+            runningTasks.remove(taskId);
+            return;
+        }
+        ResearchState state = null;
+        long segmentStart = System.currentTimeMillis();
+        try {
+            state = checkpointStore.load(taskId);
+            if (state == null || (state.getStatus() != ResearchStatus.PENDING && state
+                .getStatus() != ResearchStatus.RUNNING)) {
+                return;
+            }
+            state.setStatus(ResearchStatus.RUNNING);
+            checkpointStore.save(state);
+            publish(state);
+
+            long deadline = segmentStart + researchProperties.getTaskTimeoutSeconds() * 1000L - state.getRunningMs();
+            List<ResearchGraph.Stage> stages = researchGraph.getStages();
+            while (state.getStageIndex() < stages.size()) {
+                ResearchGraph.Stage stage = stages.get(state.getStageIndex());
+                runStage(state, stage, deadline);
+                state.setStageIndex(state.getStageIndex() + 1);
+                if (isCancelled(taskId)) {
+                    return;
+                }
+                if (stage.isInterruptAfter() && !state.isAutoConfirm() && state.getStageIndex() < stages.size()) {
+                    state.setStatus(ResearchStatus.WAITING_CONFIRM);
+                    break;
+                }
+                saveSegment(state, segmentStart);
+                segmentStart = System.currentTimeMillis();
+            }
+            if (state.getStatus() == ResearchStatus.RUNNING) {
+                state.setStatus(ResearchStatus.COMPLETED);
+                state.setCompleteTime(LocalDateTime.now());
+            }
+            saveSegment(state, segmentStart);
+            publish(state);
+        } catch (InterruptedException | CancellationException e) {
+            Thread.currentThread().interrupt();
+            log.info("研究任务已中断: taskId={}", taskId);
+        } catch (Exception e) {
+            if (state != null && !isCancelled(taskId)) {
+                log.error("研究任务执行失败: taskId={}", taskId, e);
+                state.setStatus(ResearchStatus.FAILED);
+                state.setError(e instanceof TimeoutException ? "研究任务超时" : rootMessage(e));
+                state.setCompleteTime(LocalDateTime.now());
+                saveSegment(state, segmentStart);
+                publish(state);
+            }
+        } finally {
+            runningTasks.remove(taskId);
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 执行阶段：节点提交到节点线程池执行（多节点并行），任务线程按剩余时间等待，超时取消未完成的节点
+     */
+    private void runStage(ResearchState state,
+                          ResearchGraph.Stage stage,
+                          long deadline) throws InterruptedException, ExecutionException, TimeoutException {
+        List<ResearchNode> nodes = stage.getNodes();
+        List<Future<String>> futures = new ArrayList<>(nodes.size());
+        try {
+            for (ResearchNode node : nodes) {
+                futures.add(researchNodeExecutor.submit(() -> runNode(state, node)));
+            }
+            for (int i = 0; i < nodes.size(); i++) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    throw new TimeoutException();
+                }
+                String output = futures.get(i).get(remaining, TimeUnit.MILLISECONDS);
+                synchronized (state) {
+                    state.getOutputs().put(nodes.get(i).getName(), output);
+                }
+            }
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private String runNode(ResearchState state, ResearchNode node) throws Exception {
+        LocalDateTime startTime = LocalDateTime.now();
+        synchronized (state) {
+            state.setCurrentNode(node.getName());
+        }
+        state.putProgress(NodeProgressResp.builder()
+            .nodeName(node.getName())
+            .status(NodeStatus.RUNNING)
+            .message(node.getDescription())
+            .startTime(startTime)
+            .build());
+        publish(state);
+
+        NodeProgressResp.NodeProgressRespBuilder progress = NodeProgressResp.builder()
+            .nodeName(node.getName())
+            .startTime(startTime);
+        try {
+            String output = node.execute(state, message -> {
+                state.putProgress(NodeProgressResp.builder()
+                    .nodeName(node.getName())
+                    .status(NodeStatus.RUNNING)
+                    .message(message)
+                    .startTime(startTime)
+                    .build());
+                publish(state);
+            });
+            progress.status(NodeStatus.COMPLETED).message("已完成").result(output);
+            return output;
+        } catch (Exception e) {
+            progress.status(NodeStatus.FAILED).message("执行失败").error(rootMessage(e));
+            throw e;
+        } finally {
+            LocalDateTime endTime = LocalDateTime.now();
+            state.putProgress(progress.endTime(endTime)
+                .durationMs(Duration.between(startTime, endTime).toMillis())
+                .build());
+            publish(state);
+        }
+    }
+
+    /**
+     * 写入检查点并累计运行时间；已被取消的任务不再覆盖检查点
+     */
+    private void saveSegment(ResearchState state, long segmentStart) {
+        if (isCancelled(state.getTaskId())) {
+            return;
+        }
+        state.setRunningMs(state.getRunningMs() + System.currentTimeMillis() - segmentStart);
+        checkpointStore.save(state);
+    }
+
+    private boolean isCancelled(String taskId) {
+        return checkpointStore.loadStatus(taskId) == ResearchStatus.CANCELLED;
+    }
+
+    private void publish(ResearchState state) {
+        eventPublisher.publishEvent(new ResearchProgressEvent(state.getTaskId(), state.toStatusResp()));
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+        return StrUtil.blankToDefault(cause.getMessage(), cause.getClass().getSimpleName());
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.research.graph;
+
+import java.util.function.Consumer;
+
+/**
+ * 研究状态图节点
+ * <p>
+ * 节点只读取状态并返回本节点的输出，状态的写入与检查点由执行器负责；
+ * 任务恢复时未完成的阶段会重新执行，因此节点需可重复执行。
+ *
+ * @author CodeStyle
+ * @since 2026-02-22
+ */
+public interface ResearchNode {
+
+    /**
+     * 节点名称（同时作为输出的 Key）
+     *
+     * @return 节点名称
+     */
+    String getName();
+
+    /**
+     * 节点开始执行时推送的进度消息
+     *
+     * @return 进度消息
+     */
+    String getDescription();
+
+    /**
+     * 执行节点
+     *
+     * @param state 任务状态
+     * @return 节点输出
+     * @throws Exception 执行失败
+     */
+    String execute(ResearchState state) throws Exception;
+
+    /**
+     * 执行节点并在执行过程中推送阶段性进度（耗时较长的节点可覆盖）
+     *
+     * @param state    任务状态
+     * @param progress 进度消息回调
+     * @return 节点输出
+     * @throws Exception 执行失败
+     */
+    default String execute(ResearchState state, Consumer<String> progress) throws Exception {
+        return execute(state);
+    }
+}
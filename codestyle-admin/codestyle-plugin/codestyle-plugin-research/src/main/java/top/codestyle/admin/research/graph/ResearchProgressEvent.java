@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.research.graph;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import top.codestyle.admin.research.model.resp.ResearchStatusResp;
+
+/**
+ * 研究任务进度事件
+ * <p>
+ * 节点开始/结束及任务状态变化时发布，由订阅方推送给客户端
+ *
+ * @author CodeStyle
+ * @since 2026-02-22
+ */
+@Getter
+@AllArgsConstructor
+public class ResearchProgressEvent {
+
+    /**
+     * 任务 ID
+     */
+    private final String taskId;
+
+    /**
+     * 发布时的任务状态快照
+     */
+    private final ResearchStatusResp status;
+}
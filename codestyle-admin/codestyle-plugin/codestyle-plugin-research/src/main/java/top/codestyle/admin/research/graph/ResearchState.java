@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.research.graph;
+
+import cn.hutool.core.collection.CollUtil;
+import lombok.Data;
+import top.codestyle.admin.research.model.enums.ResearchStatus;
+import top.codestyle.admin.research.model.enums.SourceType;
+import top.codestyle.admin.research.model.resp.NodeProgressResp;
+import top.codestyle.admin.research.model.resp.ResearchStatusResp;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 研究任务状态（检查点）
+ * <p>
+ * 每个阶段完成后整体写入 Redis，任务从 stageIndex 指向的阶段继续执行
+ *
+ * @author CodeStyle
+ * @since 2026-02-22
+ */
+@Data
+public class ResearchState implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 任务 ID
+     */
+    private String taskId;
+
+    /**
+     * 创建人
+     */
+    private Long userId;
+
+    /**
+     * 租户 ID
+     */
+    private Long tenantId;
+
+    /**
+     * 任务状态
+     */
+    private ResearchStatus status;
+
+    /**
+     * 输入源类型
+     */
+    private SourceType sourceType;
+
+    /**
+     * 输入内容
+     */
+    private String sourceContent;
+
+    /**
+     * 模板名称
+     */
+    private String templateName;
+
+    /**
+     * 模板描述
+     */
+    private String templateDescription;
+
+    /**
+     * 是否自动确认
+     */
+    private boolean autoConfirm;
+
+    /**
+     * 下一个待执行的阶段
+     */
+    private int stageIndex;
+
+    /**
+     * 当前节点
+     */
+    private String currentNode;
+
+    /**
+     * 节点输出（节点名称 → 输出）
+     */
+    private Map<String, String> outputs = new LinkedHashMap<>();
+
+    /**
+     * 用户反馈
+     */
+    private List<String> feedback = new ArrayList<>();
+
+    /**
+     * 节点进度
+     */
+    private List<NodeProgressResp> nodeProgress = new ArrayList<>();
+
+    /**
+     * 错误信息
+     */
+    private String error;
+
+    /**
+     * 创建时间
+     */
+    private LocalDateTime createTime;
+
+    /**
+     * 完成时间
+     */
+    private LocalDateTime completeTime;
+
+    /**
+     * 累计运行时间（毫秒，不含等待确认的时间）
+     */
+    private long runningMs;
+
+    /**
+     * 获取节点输出
+     *
+     * @param nodeName 节点名称
+     * @return 节点输出
+     */
+    public String getOutput(String nodeName) {
+        return outputs.get(nodeName);
+    }
+
+    /**
+     * 更新节点进度（同一阶段的并行节点并发调用）
+     *
+     * @param progress 节点进度
+     */
+    public synchronized void putProgress(NodeProgressResp progress) {
+        nodeProgress.removeIf(p -> p.getNodeName().equals(progress.getNodeName()));
+        nodeProgress.add(progress);
+    }
+
+    /**
+     * 是否已结束（完成、失败或取消）
+     */
+    public boolean isFinished() {
+        return status == ResearchStatus.COMPLETED || status == ResearchStatus.FAILED || status == ResearchStatus.CANCELLED;
+    }
+
+    /**
+     * 转换为状态响应
+     *
+     * @return 状态响应
+     */
+    public synchronized ResearchStatusResp toStatusResp() {
+        return ResearchStatusResp.builder()
+            .taskId(taskId)
+            .status(status)
+            .currentNode(currentNode)
+            .nodeProgress(CollUtil.newArrayList(nodeProgress))
+            .error(error)
+            .createTime(createTime)
+            .completeTime(completeTime)
+            .totalDurationMs(runningMs)
+            .build();
+    }
+}
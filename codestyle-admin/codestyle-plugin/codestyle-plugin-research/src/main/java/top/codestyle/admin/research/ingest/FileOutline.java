@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.research.ingest;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import top.codestyle.admin.search.helper.CodeChunkHelper;
+
+import java.util.List;
+
+/**
+ * 文件大纲
+ *
+ * @author CodeStyle
+ * @since 2026-02-22
+ */
+@Getter
+@AllArgsConstructor
+public class FileOutline {
+
+    /**
+     * 相对仓库根目录的路径（使用 / 分隔）
+     */
+    private final String path;
+
+    /**
+     * 语言（扩展名，无扩展名时为文件名）
+     */
+    private final String language;
+
+    /**
+     * 文件字节数
+     */
+    private final long size;
+
+    /**
+     * 行数
+     */
+    private final int lineCount;
+
+    /**
+     * 类型/函数/方法声明
+     */
+    private final List<CodeChunkHelper.Declaration> declarations;
+}
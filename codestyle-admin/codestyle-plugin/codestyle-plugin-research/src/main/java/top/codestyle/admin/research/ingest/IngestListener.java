@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.research.ingest;
+
+/**
+ * 代码仓库解析监听器
+ * <p>
+ * 文件解析完成后立即回调，回调在解析线程池中并发执行，实现需线程安全
+ *
+ * @author CodeStyle
+ * @since 2026-02-22
+ */
+public interface IngestListener {
+
+    /**
+     * 文件扫描完成（开始解析前）
+     *
+     * @param total 待解析的文件数
+     */
+    default void onScanned(int total) {
+    }
+
+    /**
+     * 单个文件解析完成
+     *
+     * @param outline 文件大纲
+     * @param content 文件内容
+     */
+    void onFile(FileOutline outline, String content);
+}
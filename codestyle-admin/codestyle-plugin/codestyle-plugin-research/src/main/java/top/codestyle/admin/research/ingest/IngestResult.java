@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.research.ingest;
+
+import lombok.Data;
+
+/**
+ * 代码仓库解析结果
+ *
+ * @author CodeStyle
+ * @since 2026-02-22
+ */
+@Data
+public class IngestResult {
+
+    /**
+     * 仓库名称
+     */
+    private String repositoryName;
+
+    /**
+     * 解析的提交（非 Git 仓库时为空）
+     */
+    private String revision;
+
+    /**
+     * 扫描到的文件数
+     */
+    private int scannedFiles;
+
+    /**
+     * 解析成功的文件数
+     */
+    private int parsedFiles;
+
+    /**
+     * 跳过的二进制文件数
+     */
+    private int skippedBinary;
+
+    /**
+     * 跳过的生成代码文件数
+     */
+    private int skippedGenerated;
+
+    /**
+     * 跳过的超大文件数
+     */
+    private int skippedOversize;
+
+    /**
+     * 读取失败的文件数
+     */
+    private int failedFiles;
+
+    /**
+     * 文件数或总大小超过上限，部分文件未解析
+     */
+    private boolean truncated;
+
+    /**
+     * 解析的总字节数
+     */
+    private long totalBytes;
+
+    /**
+     * 耗时（毫秒）
+     */
+    private long durationMs;
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.research.ingest;
+
+import cn.hutool.core.io.file.FileNameUtil;
+import cn.hutool.core.util.StrUtil;
+import lombok.extern.slf4j.Slf4j;
+import top.codestyle.admin.search.helper.CodeChunkHelper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 文件大纲提取任务
+ * <p>
+ * 文件列表按区间二分拆分，区间足够小时在当前工作线程中依次读取、过滤并提取声明，
+ * 每个文件完成后立即回调监听器，不在内存中保留文件内容。
+ *
+ * @author CodeStyle
+ * @since 2026-02-22
+ */
+@Slf4j
+class OutlineTask extends RecursiveAction {
+
+    /**
+     * 不再拆分的文件数
+     */
+    private static final int THRESHOLD = 8;
+
+    /**
+     * 检测二进制内容时读取的字节数
+     */
+    private static final int SNIFF_BYTES = 8000;
+
+    /**
+     * 检测生成代码标记时读取的文件头字符数
+     */
+    private static final int HEADER_CHARS = 1024;
+
+    /**
+     * 声明行的最大字符数
+     */
+    private static final int MAX_SIGNATURE_LENGTH = 160;
+
+    private static final List<String> GENERATED_MARKERS = List
+        .of("@generated", "code generated", "do not edit", "auto-generated", "autogenerated", "this file was generated", "this file is generated");
+
+    private final List<RepositoryScanner.Entry> entries;
+    private final int from;
+    private final int to;
+    private final Context context;
+
+    OutlineTask(List<RepositoryScanner.Entry> entries, int from, int to, Context context) {
+        this.entries = entries;
+        this.from = from;
+        this.to = to;
+        this.context = context;
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= THRESHOLD) {
+            for (int i = from; i < to && !context.cancelled; i++) {
+                parse(entries.get(i));
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        invokeAll(new OutlineTask(entries, from, mid, context), new OutlineTask(entries, mid, to, context));
+    }
+
+    private void parse(RepositoryScanner.Entry entry) {
+        byte[] bytes;
+        try {
+            bytes = entry.read();
+        } catch (Exception e) {
+            log.debug("读取文件失败: {}", entry.getPath(), e);
+            context.failedFiles.incrementAndGet();
+            return;
+        }
+        if (isBinary(bytes)) {
+            context.skippedBinary.incrementAndGet();
+            return;
+        }
+        String content = new String(bytes, StandardCharsets.UTF_8);
+        if (isGenerated(content)) {
+            context.skippedGenerated.incrementAndGet();
+            return;
+        }
+        String name = FileNameUtil.getName(entry.getPath());
+        String language = StrUtil.blankToDefault(FileNameUtil.extName(name), name).toLowerCase();
+        FileOutline outline = new FileOutline(entry.getPath(), language, bytes.length, StrUtil
+            .count(content, '\n') + 1, CodeChunkHelper.outline(content, context.maxSymbols, MAX_SIGNATURE_LENGTH));
+        context.listener.onFile(outline, content);
+        context.parsedFiles.incrementAndGet();
+        context.parsedBytes.addAndGet(bytes.length);
+    }
+
+    private static boolean isBinary(byte[] bytes) {
+        int limit = Math.min(bytes.length, SNIFF_BYTES);
+        for (int i = 0; i < limit; i++) {
+            if (bytes[i] == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isGenerated(String content) {
+        String header = StrUtil.maxLength(content, HEADER_CHARS).toLowerCase();
+        for (String marker : GENERATED_MARKERS) {
+            if (header.contains(marker)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 同一次解析的共享上下文
+     */
+    static class Context {
+
+        private final IngestListener listener;
+        private final int maxSymbols;
+        private final AtomicInteger parsedFiles = new AtomicInteger();
+        private final AtomicInteger skippedBinary = new AtomicInteger();
+        private final AtomicInteger skippedGenerated = new AtomicInteger();
+        private final AtomicInteger failedFiles = new AtomicInteger();
+        private final AtomicLong parsedBytes = new AtomicLong();
+        private volatile boolean cancelled;
+
+        Context(IngestListener listener, int maxSymbols) {
+            this.listener = listener;
+            this.maxSymbols = maxSymbols;
+        }
+
+        /**
+         * 停止解析尚未开始的文件
+         */
+        void cancel() {
+            cancelled = true;
+        }
+
+        /**
+         * 写入解析结果
+         *
+         * @param result 解析结果
+         */
+        void fill(IngestResult result) {
+            result.setParsedFiles(parsedFiles.get());
+            result.setSkippedBinary(result.getSkippedBinary() + skippedBinary.get());
+            result.setSkippedGenerated(result.getSkippedGenerated() + skippedGenerated.get());
+            result.setFailedFiles(failedFiles.get());
+            result.setTotalBytes(parsedBytes.get());
+        }
+    }
+}
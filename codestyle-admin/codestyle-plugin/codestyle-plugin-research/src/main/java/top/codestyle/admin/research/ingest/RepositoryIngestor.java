@@ -0,0 +1,309 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.research.ingest;
+
+import cn.hutool.core.io.FileUtil;
+import cn.hutool.core.util.StrUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jgit.api.CloneCommand;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.EmptyProgressMonitor;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+import org.eclipse.jgit.transport.UsernamePasswordCredentialsProvider;
+import org.springframework.stereotype.Component;
+import top.codestyle.admin.research.config.ResearchProperties;
+import top.codestyle.admin.research.model.enums.SourceType;
+import top.continew.starter.core.exception.BusinessException;
+import top.continew.starter.core.util.validation.CheckUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * 代码仓库解析器
+ * <p>
+ * 支持三种输入：
+ * - 本地目录或单个文件：直接遍历文件系统
+ * - 本地裸仓库：读取 HEAD 提交树，不需要工作区
+ * - 远程 Git 地址（仅 GITHUB 类型，HTTPS 且主机在允许列表中）：浅克隆为临时裸仓库后读取 HEAD，结束后删除
+ * <p>
+ * 扫描阶段只收集路径与大小，解析阶段在 fork-join 线程池中并行读取文件并提取大纲，
+ * 每个文件完成后立即回调监听器。本地路径必须位于配置的允许目录中。
+ *
+ * @author CodeStyle
+ * @since 2026-02-22
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RepositoryIngestor {
+
+    private static final long MB = 1024L * 1024;
+
+    private static final List<String> REMOTE_PREFIXES = List.of("http://", "https://", "ssh://", "git://", "git@");
+
+    private static final String FILE_URI_PREFIX = "file://";
+
+    private final ResearchProperties researchProperties;
+    private final ForkJoinPool researchIngestPool;
+
+    /**
+     * 校验输入源地址
+     *
+     * @param sourceType 输入源类型
+     * @param location   本地路径或远程 Git 地址
+     * @throws BusinessException 地址不可读取
+     */
+    public void checkLocation(SourceType sourceType, String location) {
+        if (isRemote(location)) {
+            CheckUtils.throwIf(sourceType != SourceType.GITHUB, "本地文件输入源只支持本地路径");
+            resolveRemoteUri(location);
+            return;
+        }
+        resolveLocalPath(location);
+    }
+
+    /**
+     * 解析代码仓库
+     *
+     * @param sourceType 输入源类型
+     * @param location   本地路径或远程 Git 地址
+     * @param listener   文件解析监听器
+     * @return 解析结果
+     * @throws InterruptedException 任务被取消
+     */
+    public IngestResult ingest(SourceType sourceType,
+                               String location,
+                               IngestListener listener) throws IOException, InterruptedException {
+        checkLocation(sourceType, location);
+        long startTime = System.currentTimeMillis();
+        IngestResult result = new IngestResult();
+        result.setRepositoryName(repositoryName(location));
+        RepositoryScanner scanner = newScanner();
+
+        if (isRemote(location)) {
+            Path dir = Files.createTempDirectory("research-repo-");
+            try {
+                cloneBare(resolveRemoteUri(location), dir);
+                try (Repository repository = openBare(dir)) {
+                    scanHead(repository, scanner, result);
+                    parse(scanner, listener, result);
+                }
+            } finally {
+                FileUtil.del(dir);
+            }
+        } else {
+            Path path = resolveLocalPath(location);
+            if (isBareRepository(path)) {
+                try (Repository repository = openBare(path)) {
+                    scanHead(repository, scanner, result);
+                    parse(scanner, listener, result);
+                }
+            } else {
+                result.setRevision(readWorkTreeRevision(path));
+                scanner.scanDirectory(path);
+                parse(scanner, listener, result);
+            }
+        }
+        result.setDurationMs(System.currentTimeMillis() - startTime);
+        log.info("代码仓库解析完成: repository={}, 扫描 {} 个, 解析 {} 个, 跳过二进制 {} 个, 生成代码 {} 个, 超大文件 {} 个, 截断={}, 耗时 {}ms", result
+            .getRepositoryName(), result.getScannedFiles(), result.getParsedFiles(), result.getSkippedBinary(), result
+                .getSkippedGenerated(), result.getSkippedOversize(), result.isTruncated(), result.getDurationMs());
+        return result;
+    }
+
+    /**
+     * 从地址中提取仓库名称
+     *
+     * @param location 本地路径或远程 Git 地址
+     * @return 仓库名称
+     */
+    public static String repositoryName(String location) {
+        String name = StrUtil.removeSuffix(StrUtil.removeSuffix(location.trim().replace('\\', '/'), "/"), ".git");
+        int index = Math.max(name.lastIndexOf('/'), name.lastIndexOf(':'));
+        return StrUtil.blankToDefault(name.substring(index + 1), "repository");
+    }
+
+    private RepositoryScanner newScanner() {
+        ResearchProperties.IngestConfig ingest = researchProperties.getIngest();
+        return new RepositoryScanner(ingest.getExcludeDirs(), researchProperties.getGithub()
+            .getMaxFileSizeMb() * MB, ingest.getMaxFiles(), ingest.getMaxTotalSizeMb() * MB);
+    }
+
+    private void scanHead(Repository repository, RepositoryScanner scanner, IngestResult result) throws IOException {
+        ObjectId head = repository.resolve(Constants.HEAD);
+        ObjectId tree = repository.resolve(Constants.HEAD + "^{tree}");
+        CheckUtils.throwIf(head == null || tree == null, "Git 仓库中没有提交记录");
+        result.setRevision(head.abbreviate(12).name());
+        scanner.scanTree(repository, tree);
+    }
+
+    /**
+     * 并行解析扫描到的文件；任务被中断时停止尚未开始的文件
+     */
+    private void parse(RepositoryScanner scanner,
+                       IngestListener listener,
+                       IngestResult result) throws InterruptedException {
+        result.setScannedFiles(scanner.getScannedFiles());
+        result.setSkippedBinary(scanner.getSkippedBinary());
+        result.setSkippedGenerated(scanner.getSkippedGenerated());
+        result.setSkippedOversize(scanner.getSkippedOversize());
+        result.setTruncated(scanner.isTruncated());
+
+        List<RepositoryScanner.Entry> entries = scanner.getEntries();
+        listener.onScanned(entries.size());
+        OutlineTask.Context context = new OutlineTask.Context(listener, researchProperties.getIngest()
+            .getMaxSymbolsPerFile());
+        ForkJoinTask<Void> task = researchIngestPool.submit(new OutlineTask(entries, 0, entries.size(), context));
+        try {
+            task.get();
+        } catch (InterruptedException e) {
+            context.cancel();
+            task.cancel(true);
+            throw e;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new BusinessException("解析代码文件失败: " + cause.getMessage());
+        }
+        context.fill(result);
+    }
+
+    /**
+     * 浅克隆为裸仓库；超过克隆超时时间或任务被中断时取消
+     */
+    private void cloneBare(URI uri, Path dir) throws InterruptedException {
+        ResearchProperties.GitHubConfig github = researchProperties.getGithub();
+        long deadline = System.currentTimeMillis() + github.getCloneTimeoutSeconds() * 1000L;
+        CloneCommand command = Git.cloneRepository()
+            .setURI(uri.toString())
+            .setDirectory(dir.toFile())
+            .setBare(true)
+            .setDepth(1)
+            .setTimeout(github.getCloneTimeoutSeconds())
+            .setProgressMonitor(new EmptyProgressMonitor() {
+                @Override
+                public boolean isCancelled() {
+                    return Thread.currentThread().isInterrupted() || System.currentTimeMillis() > deadline;
+                }
+            });
+        // Token 只发送给其所属主机，避免泄露给其他允许的主机
+        if (StrUtil.isNotBlank(github.getToken()) && uri.getHost().equalsIgnoreCase(github.getTokenHost())) {
+            command.setCredentialsProvider(new UsernamePasswordCredentialsProvider("x-access-token", github
+                .getToken()));
+        }
+        log.info("克隆代码仓库: {}", uri);
+        try (Git ignored = command.call()) {
+            log.debug("代码仓库克隆完成: {}", uri);
+        } catch (GitAPIException e) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedException("克隆已取消");
+            }
+            CheckUtils.throwIf(System.currentTimeMillis() > deadline, "克隆代码仓库超时");
+            throw new BusinessException("克隆代码仓库失败: " + e.getMessage());
+        }
+    }
+
+    private static Repository openBare(Path dir) throws IOException {
+        return new FileRepositoryBuilder().setGitDir(dir.toFile()).setBare().setMustExist(true).build();
+    }
+
+    /**
+     * 读取工作区所在仓库的 HEAD 提交（非 Git 仓库或读取失败时为空）
+     */
+    private static String readWorkTreeRevision(Path path) {
+        Path gitDir = path.resolve(Constants.DOT_GIT);
+        if (!Files.isDirectory(gitDir)) {
+            return null;
+        }
+        try (Repository repository = new FileRepositoryBuilder().setGitDir(gitDir.toFile()).setMustExist(true).build()) {
+            ObjectId head = repository.resolve(Constants.HEAD);
+            return head != null ? head.abbreviate(12).name() : null;
+        } catch (IOException e) {
+            log.debug("读取仓库 HEAD 失败: {}", path, e);
+            return null;
+        }
+    }
+
+    private static boolean isBareRepository(Path path) {
+        return Files.isDirectory(path) && Files.isRegularFile(path.resolve(Constants.HEAD)) && Files.isDirectory(path
+            .resolve("objects")) && Files.isDirectory(path.resolve("refs"));
+    }
+
+    private static boolean isRemote(String location) {
+        String value = location.trim().toLowerCase();
+        return REMOTE_PREFIXES.stream().anyMatch(value::startsWith);
+    }
+
+    /**
+     * 解析远程仓库地址并校验：只允许 HTTPS、不允许携带用户信息、主机必须在允许列表中
+     */
+    private URI resolveRemoteUri(String location) {
+        URI uri;
+        try {
+            uri = new URI(location.trim());
+        } catch (URISyntaxException e) {
+            throw new BusinessException("远程仓库地址格式错误: " + location);
+        }
+        CheckUtils.throwIf(!"https".equalsIgnoreCase(uri.getScheme()), "远程仓库只支持 HTTPS 地址");
+        CheckUtils.throwIf(StrUtil.isBlank(uri.getHost()) || uri.getRawUserInfo() != null, "远程仓库地址格式错误");
+        List<String> allowedHosts = researchProperties.getGithub().getAllowedHosts();
+        CheckUtils.throwIf(allowedHosts.stream()
+            .noneMatch(host -> host.equalsIgnoreCase(uri.getHost())), "远程仓库主机不在允许列表中: " + uri.getHost());
+        return uri;
+    }
+
+    /**
+     * 解析本地路径并校验是否位于允许读取的目录中（解析符号链接后比较）
+     */
+    private Path resolveLocalPath(String location) {
+        List<String> allowedRoots = researchProperties.getIngest().getAllowedRoots();
+        CheckUtils.throwIf(allowedRoots.isEmpty(), "未配置允许读取的本地目录");
+        Path path;
+        try {
+            path = Paths.get(StrUtil.removePrefix(location.trim(), FILE_URI_PREFIX)).toRealPath();
+        } catch (InvalidPathException | IOException e) {
+            throw new BusinessException("本地路径不存在: " + location);
+        }
+        for (String root : allowedRoots) {
+            try {
+                if (path.startsWith(Paths.get(root).toRealPath())) {
+                    return path;
+                }
+            } catch (InvalidPathException | IOException e) {
+                log.debug("允许读取的目录不存在: {}", root);
+            }
+        }
+        throw new BusinessException("本地路径不在允许读取的目录中: " + location);
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.research.ingest;
+
+import cn.hutool.core.io.file.FileNameUtil;
+import cn.hutool.core.util.StrUtil;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.FileMode;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.treewalk.TreeWalk;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 代码仓库文件扫描器
+ * <p>
+ * 遍历本地目录或 Git 提交树，只收集文件路径与大小（不读取内容）：
+ * 跳过排除目录、二进制扩展名、锁文件等生成文件以及超过单文件大小上限的文件，
+ * 文件数或总大小达到上限时停止遍历并标记截断。
+ *
+ * @author CodeStyle
+ * @since 2026-02-22
+ */
+@Slf4j
+@Getter
+class RepositoryScanner {
+
+    private static final Set<String> BINARY_EXTENSIONS = Set
+        .of("png", "jpg", "jpeg", "gif", "bmp", "ico", "webp", "tiff", "psd", "svg", "pdf", "doc", "docx", "xls", "xlsx", "ppt", "pptx", "zip", "jar", "war", "ear", "tar", "gz", "tgz", "bz2", "xz", "7z", "rar", "class", "so", "dll", "dylib", "exe", "o", "a", "lib", "pyc", "wasm", "bin", "dat", "db", "sqlite", "mp3", "mp4", "wav", "avi", "mov", "flv", "woff", "woff2", "ttf", "eot", "otf", "keystore", "jks", "p12");
+
+    private static final Set<String> GENERATED_NAMES = Set
+        .of("package-lock.json", "yarn.lock", "pnpm-lock.yaml", "npm-shrinkwrap.json", "composer.lock", "gemfile.lock", "cargo.lock", "poetry.lock", "go.sum");
+
+    private static final List<String> GENERATED_SUFFIXES = List
+        .of(".min.js", ".min.css", ".map", ".pb.go", "_pb2.py", "_pb2_grpc.py", ".pb.h", ".pb.cc", ".g.dart", ".freezed.dart", ".designer.cs", ".generated.cs", ".generated.ts");
+
+    private final Set<String> excludeDirs;
+    private final long maxFileSize;
+    private final int maxFiles;
+    private final long maxTotalSize;
+
+    /**
+     * 待解析的文件
+     */
+    private final List<Entry> entries = new ArrayList<>();
+
+    private int scannedFiles;
+    private int skippedBinary;
+    private int skippedGenerated;
+    private int skippedOversize;
+    private boolean truncated;
+    private long totalSize;
+
+    RepositoryScanner(List<String> excludeDirs, long maxFileSize, int maxFiles, long maxTotalSize) {
+        this.excludeDirs = new HashSet<>(excludeDirs);
+        this.maxFileSize = maxFileSize;
+        this.maxFiles = maxFiles;
+        this.maxTotalSize = maxTotalSize;
+    }
+
+    /**
+     * 遍历本地目录（不跟随符号链接）；传入文件时只收集该文件
+     *
+     * @param root 目录或文件
+     */
+    void scanDirectory(Path root) throws IOException {
+        Path base = Files.isDirectory(root) ? root : root.getParent();
+        Files.walkFileTree(root, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                if (!dir.equals(root) && excludeDirs.contains(dir.getFileName().toString())) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (attrs.isRegularFile()) {
+                    String path = base.relativize(file).toString().replace('\\', '/');
+                    accept(path, attrs.size(), () -> Files.readAllBytes(file));
+                }
+                return truncated ? FileVisitResult.TERMINATE : FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException e) {
+                log.debug("跳过无法访问的文件: {}", file, e);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    /**
+     * 遍历 Git 提交树（不需要工作区，支持裸仓库）
+     *
+     * @param repository 仓库
+     * @param tree       提交树
+     */
+    void scanTree(Repository repository, ObjectId tree) throws IOException {
+        try (ObjectReader reader = repository.newObjectReader(); TreeWalk walk = new TreeWalk(reader)) {
+            walk.addTree(tree);
+            walk.setRecursive(false);
+            while (walk.next() && !truncated) {
+                if (walk.isSubtree()) {
+                    if (!excludeDirs.contains(walk.getNameString())) {
+                        walk.enterSubtree();
+                    }
+                    continue;
+                }
+                FileMode mode = walk.getFileMode(0);
+                if (mode != FileMode.REGULAR_FILE && mode != FileMode.EXECUTABLE_FILE) {
+                    continue;
+                }
+                ObjectId blobId = walk.getObjectId(0);
+                long size = reader.getObjectSize(blobId, Constants.OBJ_BLOB);
+                accept(walk.getPathString(), size, () -> repository.open(blobId, Constants.OBJ_BLOB)
+                    .getBytes(Integer.MAX_VALUE));
+            }
+        }
+    }
+
+    private void accept(String path, long size, Loader loader) {
+        scannedFiles++;
+        String name = FileNameUtil.getName(path).toLowerCase();
+        if (BINARY_EXTENSIONS.contains(FileNameUtil.extName(name))) {
+            skippedBinary++;
+            return;
+        }
+        if (GENERATED_NAMES.contains(name) || StrUtil.endWithAny(name, GENERATED_SUFFIXES.toArray(new String[0]))) {
+            skippedGenerated++;
+            return;
+        }
+        if (size > maxFileSize) {
+            skippedOversize++;
+            return;
+        }
+        if (entries.size() >= maxFiles || totalSize + size > maxTotalSize) {
+            truncated = true;
+            return;
+        }
+        totalSize += size;
+        entries.add(new Entry(path, size, loader));
+    }
+
+    /**
+     * 文件内容读取
+     */
+    @FunctionalInterface
+    interface Loader {
+
+        byte[] load() throws IOException;
+    }
+
+    /**
+     * 待解析的文件
+     */
+    @Getter
+    static class Entry {
+
+        private final String path;
+        private final long size;
+        private final Loader loader;
+
+        Entry(String path, long size, Loader loader) {
+            this.path = path;
+            this.size = size;
+            this.loader = loader;
+        }
+
+        byte[] read() throws IOException {
+            return loader.load();
+        }
+    }
+}
@@ -18,6 +18,7 @@ package top.codestyle.admin.research.model.req;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 import top.codestyle.admin.research.model.enums.SourceType;
 
@@ -41,7 +42,7 @@ public class ResearchStartReq implements Serializable {
      * 输入源类型
      */
     @Schema(description = "输入源类型", example = "GITHUB")
-    @NotBlank(message = "输入源类型不能为空")
+    @NotNull(message = "输入源类型不能为空")
     private SourceType sourceType;
 
     /**
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.research.node;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import top.codestyle.admin.research.client.ResearchChatClient;
+import top.codestyle.admin.research.graph.ResearchNode;
+import top.codestyle.admin.research.graph.ResearchState;
+
+/**
+ * 分析节点：按已确认的计划分析输入源的结构与模式
+ *
+ * @author CodeStyle
+ * @since 2026-02-22
+ */
+@Component
+@RequiredArgsConstructor
+public class AnalyzerNode implements ResearchNode {
+
+    public static final String NAME = "AnalyzerNode";
+
+    private static final String SYSTEM_PROMPT = "你是资深代码审查专家。请按给定的模板抽取计划分析输入源，\n"
+        + "说明其分层结构、命名约定、依赖关系以及每个模板变量在代码中出现的位置。";
+
+    private final ResearchChatClient researchChatClient;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public String getDescription() {
+        return "正在分析代码结构...";
+    }
+
+    @Override
+    public String execute(ResearchState state) {
+        return researchChatClient.call(SYSTEM_PROMPT, ResearchPrompts.source(state) + "模板抽取计划：\n" + state
+            .getOutput(PlannerNode.NAME) + "\n" + ResearchPrompts.feedback(state));
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.research.node;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import top.codestyle.admin.research.client.ResearchChatClient;
+import top.codestyle.admin.research.graph.ResearchNode;
+import top.codestyle.admin.research.graph.ResearchState;
+
+/**
+ * 生成节点：根据计划、分析结果与参考模板生成最终模板
+ *
+ * @author CodeStyle
+ * @since 2026-02-22
+ */
+@Component
+@RequiredArgsConstructor
+public class GeneratorNode implements ResearchNode {
+
+    public static final String NAME = "GeneratorNode";
+
+    private static final String SYSTEM_PROMPT = "你是代码模板生成专家。请根据模板抽取计划、代码分析结果与参考模板生成 FreeMarker 代码模板：\n"
+        + "- 变量使用 ${变量名} 占位\n"
+        + "- 每个文件先输出一行 \"### 文件: 相对路径\"，再输出该文件的代码块\n"
+        + "- 最后列出全部变量及其说明";
+
+    private final ResearchChatClient researchChatClient;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public String getDescription() {
+        return "正在生成模板...";
+    }
+
+    @Override
+    public String execute(ResearchState state) {
+        String user = ResearchPrompts.template(state) + ResearchPrompts.source(state) + "模板抽取计划：\n" + state
+            .getOutput(PlannerNode.NAME) + "\n代码分析：\n" + state.getOutput(AnalyzerNode.NAME) + "\n参考模板：\n" + state
+                .getOutput(ResearcherNode.NAME) + "\n" + ResearchPrompts.feedback(state);
+        return researchChatClient.callStrong(SYSTEM_PROMPT, user);
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.research.node;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import top.codestyle.admin.research.client.ResearchChatClient;
+import top.codestyle.admin.research.graph.ResearchNode;
+import top.codestyle.admin.research.graph.ResearchState;
+
+/**
+ * 规划节点：确定模板的组成、可变部分与生成步骤（完成后等待用户确认）
+ *
+ * @author CodeStyle
+ * @since 2026-02-22
+ */
+@Component
+@RequiredArgsConstructor
+public class PlannerNode implements ResearchNode {
+
+    public static final String NAME = "PlannerNode";
+
+    private static final String SYSTEM_PROMPT = "你是代码模板设计专家。请阅读输入源，制定将其抽取为可复用代码模板的计划，包括：\n"
+        + "1. 模板包含的文件及各自职责\n"
+        + "2. 需要参数化的变量（名称、含义、示例值）\n"
+        + "3. 需要保留的约定与最佳实践\n"
+        + "请使用简洁的 Markdown 列表输出。";
+
+    private final ResearchChatClient researchChatClient;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public String getDescription() {
+        return "正在制定模板抽取计划...";
+    }
+
+    @Override
+    public String execute(ResearchState state) {
+        return researchChatClient.callStrong(SYSTEM_PROMPT, ResearchPrompts.template(state) + ResearchPrompts
+            .source(state) + ResearchPrompts.feedback(state));
+    }
+}
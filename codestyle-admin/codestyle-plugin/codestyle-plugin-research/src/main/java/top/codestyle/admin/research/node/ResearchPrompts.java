@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.research.node;
+
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.util.StrUtil;
+import top.codestyle.admin.research.graph.ResearchState;
+
+/**
+ * 研究节点提示词片段
+ *
+ * @author CodeStyle
+ * @since 2026-02-22
+ */
+final class ResearchPrompts {
+
+    /**
+     * 提示词中输入源的最大字符数
+     */
+    private static final int MAX_SOURCE_CHARS = 20000;
+
+    private ResearchPrompts() {
+    }
+
+    /**
+     * 模板基本信息
+     */
+    static String template(ResearchState state) {
+        StringBuilder sb = new StringBuilder();
+        if (StrUtil.isNotBlank(state.getTemplateName())) {
+            sb.append("模板名称：").append(state.getTemplateName()).append('\n');
+        }
+        if (StrUtil.isNotBlank(state.getTemplateDescription())) {
+            sb.append("模板描述：").append(state.getTemplateDescription()).append('\n');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 输入源内容（超长截断）
+     */
+    static String source(ResearchState state) {
+        return "输入源：\n" + StrUtil.maxLength(state.getOutput(SourceNode.NAME), MAX_SOURCE_CHARS) + "\n";
+    }
+
+    /**
+     * 用户反馈，无反馈时为空串
+     */
+    static String feedback(ResearchState state) {
+        if (CollUtil.isEmpty(state.getFeedback())) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder("用户反馈（请优先遵循）：\n");
+        for (String feedback : state.getFeedback()) {
+            sb.append("- ").append(feedback).append('\n');
+        }
+        return sb.toString();
+    }
+}
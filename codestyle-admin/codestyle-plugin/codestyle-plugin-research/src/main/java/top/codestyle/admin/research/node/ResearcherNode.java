@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.research.node;
+
+import cn.hutool.core.util.StrUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import top.codestyle.admin.research.graph.ResearchNode;
+import top.codestyle.admin.research.graph.ResearchState;
+import top.codestyle.admin.search.model.SearchRequest;
+import top.codestyle.admin.search.model.SearchResult;
+import top.codestyle.admin.search.service.SearchService;
+
+import java.util.List;
+
+/**
+ * 检索节点：从模板库检索相似模板作为生成参考
+ *
+ * @author CodeStyle
+ * @since 2026-02-22
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ResearcherNode implements ResearchNode {
+
+    public static final String NAME = "ResearcherNode";
+
+    private static final int TOP_K = 5;
+
+    private final SearchService searchService;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public String getDescription() {
+        return "正在检索相似模板...";
+    }
+
+    @Override
+    public String execute(ResearchState state) {
+        String query = StrUtil.blankToDefault(StrUtil.join(" ", state.getTemplateName(), state
+            .getTemplateDescription()).trim(), StrUtil.maxLength(state.getOutput(SourceNode.NAME), 200));
+        SearchRequest request = new SearchRequest();
+        request.setQuery(query);
+        request.setTopK(TOP_K);
+        request.setTenantId(state.getTenantId());
+        List<SearchResult> results;
+        try {
+            results = searchService.search(request);
+        } catch (Exception e) {
+            // 参考模板不是必需的，检索失败不影响后续生成
+            log.warn("检索相似模板失败: taskId={}", state.getTaskId(), e);
+            return "未检索到相似模板";
+        }
+        if (results == null || results.isEmpty()) {
+            return "未检索到相似模板";
+        }
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < results.size(); i++) {
+            SearchResult r = results.get(i);
+            sb.append(String.format("[%d] %s (%s:%s:%s)\n", i + 1, r.getTitle(), r.getGroupId(), r.getArtifactId(), r
+                .getVersion()));
+            if (StrUtil.isNotBlank(r.getSnippet())) {
+                sb.append(r.getSnippet()).append('\n');
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.research.node;
+
+import cn.hutool.core.io.file.FileNameUtil;
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.crypto.digest.DigestUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import top.codestyle.admin.research.config.ResearchProperties;
+import top.codestyle.admin.research.graph.ResearchNode;
+import top.codestyle.admin.research.graph.ResearchState;
+import top.codestyle.admin.research.ingest.FileOutline;
+import top.codestyle.admin.research.ingest.IngestListener;
+import top.codestyle.admin.research.ingest.IngestResult;
+import top.codestyle.admin.research.ingest.RepositoryIngestor;
+import top.codestyle.admin.research.model.enums.SourceType;
+import top.codestyle.admin.search.helper.CodeChunkHelper;
+import top.codestyle.admin.search.indexer.CodeContentIndexer;
+import top.continew.starter.core.exception.BusinessException;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 输入源节点：解析输入源内容
+ * <p>
+ * 文本直接作为输入；本地目录、Git 仓库按文件并行提取大纲，汇总为仓库概览、关键文件与代码大纲，
+ * 解析过程中推送进度。开启自动索引时，解析出的文件同时按类/方法分块写入代码索引，
+ * 同一仓库再次解析时替换旧的分块。
+ *
+ * @author CodeStyle
+ * @since 2026-02-22
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SourceNode implements ResearchNode {
+
+    public static final String NAME = "SourceNode";
+
+    /**
+     * 代码索引中研究仓库使用的 groupId
+     */
+    private static final String INDEX_GROUP_ID = "research";
+
+    /**
+     * 推送解析进度的最小间隔（毫秒）
+     */
+    private static final long PROGRESS_INTERVAL_MS = 1000;
+
+    /**
+     * 原文附在输出中的关键文件（README、构建描述等）
+     */
+    private static final List<String> KEY_FILES = List
+        .of("readme.md", "readme", "readme.txt", "pom.xml", "build.gradle", "build.gradle.kts", "package.json", "go.mod", "cargo.toml", "pyproject.toml", "requirements.txt");
+
+    private static final int MAX_KEY_FILES = 4;
+
+    private static final int MAX_KEY_FILE_CHARS = 1500;
+
+    private final RepositoryIngestor repositoryIngestor;
+    private final CodeContentIndexer codeContentIndexer;
+    private final ResearchProperties researchProperties;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public String getDescription() {
+        return "正在解析输入源...";
+    }
+
+    @Override
+    public String execute(ResearchState state) throws Exception {
+        return execute(state, message -> {
+        });
+    }
+
+    @Override
+    public String execute(ResearchState state, Consumer<String> progress) throws Exception {
+        SourceType sourceType = state.getSourceType();
+        if (sourceType == SourceType.TEXT) {
+            return state.getSourceContent();
+        }
+        if (sourceType == SourceType.FILE || sourceType == SourceType.GITHUB) {
+            return ingestRepository(state, progress);
+        }
+        throw new BusinessException("暂不支持的输入源类型: " + sourceType.getDescription());
+    }
+
+    private String ingestRepository(ResearchState state, Consumer<String> progress) throws Exception {
+        String location = state.getSourceContent().trim();
+        CodeContentIndexer.ChunkWriter writer = null;
+        if (researchProperties.getTemplate().isAutoIndex() && codeContentIndexer.isEnabled()) {
+            writer = codeContentIndexer.openWriter(state.getTenantId() != null
+                ? state.getTenantId()
+                : 0L, INDEX_GROUP_ID + ":" + DigestUtil.md5Hex(location), INDEX_GROUP_ID, RepositoryIngestor
+                    .repositoryName(location), "latest");
+        }
+        OutlineCollector collector = new OutlineCollector(progress, writer);
+        try {
+            IngestResult result = repositoryIngestor.ingest(state.getSourceType(), location, collector);
+            if (writer != null) {
+                commitIndex(state, writer);
+            }
+            return collector.render(result, researchProperties.getIngest().getMaxOutlineChars());
+        } finally {
+            if (writer != null) {
+                writer.close();
+            }
+        }
+    }
+
+    /**
+     * 索引失败不影响研究流程
+     */
+    private void commitIndex(ResearchState state, CodeContentIndexer.ChunkWriter writer) {
+        try {
+            writer.commit();
+            log.info("研究仓库已写入代码索引: taskId={}, 分块 {} 个", state.getTaskId(), writer.getChunkCount());
+        } catch (Exception e) {
+            log.warn("研究仓库写入代码索引失败: taskId={}", state.getTaskId(), e);
+        }
+    }
+
+    /**
+     * 收集解析线程回调的文件大纲，并节流推送进度
+     */
+    private static class OutlineCollector implements IngestListener {
+
+        private final Consumer<String> progress;
+        private final CodeContentIndexer.ChunkWriter writer;
+        private final Queue<FileOutline> outlines = new ConcurrentLinkedQueue<>();
+        private final Map<String, String> keyFiles = new TreeMap<>();
+        private final AtomicInteger parsed = new AtomicInteger();
+        private final AtomicLong lastProgressTime = new AtomicLong();
+        private volatile int total;
+
+        OutlineCollector(Consumer<String> progress, CodeContentIndexer.ChunkWriter writer) {
+            this.progress = progress;
+            this.writer = writer;
+        }
+
+        @Override
+        public void onScanned(int total) {
+            this.total = total;
+            progress.accept(String.format("扫描到 %d 个代码文件，正在解析...", total));
+        }
+
+        @Override
+        public void onFile(FileOutline outline, String content) {
+            outlines.add(outline);
+            if (writer != null) {
+                writer.add(outline.getPath(), outline.getLanguage(), content);
+            }
+            String path = outline.getPath();
+            if (KEY_FILES.contains(FileNameUtil.getName(path).toLowerCase()) && StrUtil.count(path, '/') <= 1) {
+                synchronized (keyFiles) {
+                    if (keyFiles.size() < MAX_KEY_FILES) {
+                        keyFiles.put(path, StrUtil.maxLength(content, MAX_KEY_FILE_CHARS));
+                    }
+                }
+            }
+            int count = parsed.incrementAndGet();
+            long now = System.currentTimeMillis();
+            long last = lastProgressTime.get();
+            if (now - last >= PROGRESS_INTERVAL_MS && lastProgressTime.compareAndSet(last, now)) {
+                progress.accept(String.format("正在解析代码文件 (%d/%d)...", count, total));
+            }
+        }
+
+        /**
+         * 按仓库概览、关键文件、代码大纲的顺序输出，超过字符上限时截断大纲
+         */
+        String render(IngestResult result, int maxChars) {
+            List<FileOutline> sorted = new ArrayList<>(outlines);
+            sorted.sort(Comparator.comparing(FileOutline::getPath));
+            Map<String, Integer> languages = new TreeMap<>();
+            sorted.forEach(o -> languages.merge(o.getLanguage(), 1, Integer::sum));
+
+            StringBuilder sb = new StringBuilder();
+            sb.append("仓库: ").append(result.getRepositoryName());
+            if (result.getRevision() != null) {
+                sb.append(" (").append(result.getRevision()).append(')');
+            }
+            sb.append('\n');
+            sb.append(String.format("文件: 解析 %d 个，共 %d KB；跳过二进制 %d 个、生成代码 %d 个、超大文件 %d 个", result
+                .getParsedFiles(), result.getTotalBytes() / 1024, result.getSkippedBinary(), result
+                    .getSkippedGenerated(), result.getSkippedOversize()));
+            if (result.isTruncated()) {
+                sb.append("；文件数或总大小超过上限，部分文件未解析");
+            }
+            sb.append('\n');
+            sb.append("语言分布: ");
+            languages.entrySet()
+                .stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .limit(10)
+                .forEach(e -> sb.append(e.getKey()).append(' ').append(e.getValue()).append("  "));
+            sb.append("\n\n");
+
+            synchronized (keyFiles) {
+                keyFiles.forEach((path, content) -> sb.append("--- ")
+                    .append(path)
+                    .append(" ---\n")
+                    .append(content)
+                    .append("\n\n"));
+            }
+
+            sb.append("代码大纲:\n");
+            for (int i = 0; i < sorted.size(); i++) {
+                FileOutline outline = sorted.get(i);
+                StringBuilder entry = new StringBuilder();
+                entry.append(outline.getPath()).append(" (").append(outline.getLineCount()).append(" 行)\n");
+                for (CodeChunkHelper.Declaration declaration : outline.getDeclarations()) {
+                    entry.append("  L").append(declaration.getLine()).append(' ').append(declaration.getSignature()).append('\n');
+                }
+                if (sb.length() + entry.length() > maxChars) {
+                    sb.append("...（其余 ").append(sorted.size() - i).append(" 个文件省略）\n");
+                    break;
+                }
+                sb.append(entry);
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,334 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.research.progress;
+
+import cn.hutool.core.thread.NamedThreadFactory;
+import cn.hutool.json.JSONUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RAtomicLong;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import top.codestyle.admin.research.config.ResearchProperties;
+import top.codestyle.admin.research.graph.ResearchProgressEvent;
+import top.codestyle.admin.research.model.enums.ResearchStatus;
+import top.codestyle.admin.research.model.resp.ResearchStatusResp;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 研究任务进度总线
+ * <p>
+ * - 每个任务一个环形缓冲区，保存最近的进度事件，客户端携带 Last-Event-ID 重连时补发
+ * - 同一任务支持多个订阅者，所有 SSE 连接由一个共享调度线程发送心跳，不为连接单独占用线程
+ * - 进度事件经 Redis 发布/订阅广播，订阅者连接到任意节点都能收到执行节点的进度
+ * <p>
+ * 事件数据是完整的任务状态快照，缓冲区无法覆盖断开期间的事件时直接发送最新快照。
+ *
+ * @author CodeStyle
+ * @since 2026-02-22
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ResearchProgressBus {
+
+    private static final String TOPIC = "research:progress";
+    private static final String SEQ_KEY_PREFIX = "research:progress-seq:";
+    private static final String EVENT_NAME = "progress";
+
+    /**
+     * 无订阅者的已结束任务缓冲区保留时间
+     */
+    private static final long IDLE_CHANNEL_RETENTION_MS = TimeUnit.MINUTES.toMillis(10);
+
+    private final RedissonClient redissonClient;
+    private final ResearchProperties researchProperties;
+
+    private final Map<String, TaskChannel> channels = new ConcurrentHashMap<>();
+    private final LongAdder publishedCount = new LongAdder();
+    private final LongAdder replayedCount = new LongAdder();
+
+    private ScheduledExecutorService heartbeatScheduler;
+    private RTopic topic;
+    private int listenerId;
+
+    @PostConstruct
+    public void init() {
+        topic = redissonClient.getTopic(TOPIC);
+        listenerId = topic.addListener(String.class, (channel, json) -> dispatch(JSONUtil
+            .toBean(json, ProgressMessage.class)));
+        heartbeatScheduler = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("research-sse-heartbeat-", true));
+        long interval = Math.max(1, researchProperties.getSseHeartbeatSeconds());
+        heartbeatScheduler.scheduleWithFixedDelay(this::heartbeat, interval, interval, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        topic.removeListener(listenerId);
+        heartbeatScheduler.shutdownNow();
+        channels.values().forEach(TaskChannel::completeAll);
+    }
+
+    /**
+     * 发布执行器产生的进度事件
+     */
+    @EventListener
+    public void onProgress(ResearchProgressEvent event) {
+        publish(event.getTaskId(), event.getStatus());
+    }
+
+    /**
+     * 发布进度事件（分配全局递增的事件 ID 后广播到所有节点）
+     *
+     * @param taskId 任务 ID
+     * @param status 任务状态快照
+     */
+    public void publish(String taskId, ResearchStatusResp status) {
+        ProgressMessage message;
+        try {
+            RAtomicLong seq = redissonClient.getAtomicLong(SEQ_KEY_PREFIX + taskId);
+            long id = seq.incrementAndGet();
+            if (id == 1) {
+                seq.expire(Duration.ofHours(researchProperties.getCheckpointTtlHours()));
+            }
+            message = new ProgressMessage(taskId, id, status);
+            topic.publish(JSONUtil.toJsonStr(message));
+        } catch (Exception e) {
+            // Redis 不可用时至少推送给本节点的订阅者
+            log.warn("广播研究任务进度失败: taskId={}", taskId, e);
+            TaskChannel channel = channels.get(taskId);
+            dispatch(new ProgressMessage(taskId, channel != null ? channel.lastId() + 1 : 1, status));
+        }
+        publishedCount.increment();
+    }
+
+    /**
+     * 订阅任务进度
+     *
+     * @param taskId      任务 ID
+     * @param lastEventId 客户端最后收到的事件 ID（重连时由浏览器携带），首次订阅为 null
+     * @param snapshot    当前任务状态（缓冲区中没有事件时发送）
+     * @return SSE Emitter
+     */
+    public SseEmitter subscribe(String taskId, Long lastEventId, ResearchStatusResp snapshot) {
+        SseEmitter emitter = new SseEmitter(researchProperties.getTaskTimeoutSeconds() * 1000L);
+        TaskChannel channel = channels.computeIfAbsent(taskId, k -> new TaskChannel(researchProperties
+            .getProgressBufferSize()));
+        emitter.onCompletion(() -> channel.subscribers.remove(emitter));
+        emitter.onTimeout(() -> channel.subscribers.remove(emitter));
+        emitter.onError(e -> channel.subscribers.remove(emitter));
+
+        synchronized (channel) {
+            try {
+                emitter.send(SseEmitter.event().name("connected").data("已连接到任务进度流"));
+                List<ProgressMessage> missed = channel.since(lastEventId);
+                if (missed == null) {
+                    // 缓冲区为空或已覆盖断开期间的事件：发送最新快照
+                    ProgressMessage latest = channel.latest();
+                    if (latest != null) {
+                        send(emitter, latest);
+                        snapshot = latest.getStatus();
+                    } else {
+                        emitter.send(SseEmitter.event().name(EVENT_NAME).data(snapshot));
+                    }
+                } else {
+                    for (ProgressMessage message : missed) {
+                        send(emitter, message);
+                        snapshot = message.getStatus();
+                    }
+                    replayedCount.add(missed.size());
+                }
+                if (isFinished(snapshot)) {
+                    emitter.complete();
+                    return emitter;
+                }
+                channel.subscribers.add(emitter);
+            } catch (Exception e) {
+                log.debug("发送 SSE 消息失败: taskId={}, {}", taskId, e.getMessage());
+                emitter.completeWithError(e);
+            }
+        }
+        return emitter;
+    }
+
+    /**
+     * 获取统计信息
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("channels", channels.size());
+        stats.put("subscribers", channels.values().stream().mapToInt(c -> c.subscribers.size()).sum());
+        stats.put("publishedCount", publishedCount.sum());
+        stats.put("replayedCount", replayedCount.sum());
+        return stats;
+    }
+
+    /**
+     * 写入缓冲区并推送给本节点的订阅者，任务结束后关闭连接
+     */
+    private void dispatch(ProgressMessage message) {
+        TaskChannel channel = channels.computeIfAbsent(message.getTaskId(), k -> new TaskChannel(researchProperties
+            .getProgressBufferSize()));
+        boolean finished = isFinished(message.getStatus());
+        synchronized (channel) {
+            if (!channel.append(message)) {
+                return;
+            }
+            for (SseEmitter emitter : channel.subscribers) {
+                try {
+                    send(emitter, message);
+                    if (finished) {
+                        emitter.complete();
+                    }
+                } catch (Exception e) {
+                    channel.subscribers.remove(emitter);
+                }
+            }
+            if (finished) {
+                channel.subscribers.clear();
+            }
+        }
+    }
+
+    /**
+     * 向所有连接发送心跳，并清理长时间无订阅者的缓冲区
+     */
+    private void heartbeat() {
+        long now = System.currentTimeMillis();
+        channels.forEach((taskId, channel) -> {
+            for (SseEmitter emitter : channel.subscribers) {
+                try {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                } catch (Exception e) {
+                    channel.subscribers.remove(emitter);
+                }
+            }
+            if (channel.subscribers.isEmpty() && now - channel.lastActiveTime > IDLE_CHANNEL_RETENTION_MS) {
+                channels.remove(taskId, channel);
+            }
+        });
+    }
+
+    private static void send(SseEmitter emitter, ProgressMessage message) throws Exception {
+        emitter.send(SseEmitter.event().id(String.valueOf(message.getId())).name(EVENT_NAME).data(message.getStatus()));
+    }
+
+    private static boolean isFinished(ResearchStatusResp status) {
+        ResearchStatus s = status != null ? status.getStatus() : null;
+        return s == ResearchStatus.COMPLETED || s == ResearchStatus.FAILED || s == ResearchStatus.CANCELLED;
+    }
+
+    /**
+     * 任务通道：环形缓冲区与订阅者（缓冲区读写在通道锁内完成）
+     */
+    private static class TaskChannel {
+
+        private final ProgressMessage[] ring;
+        private final Set<SseEmitter> subscribers = new CopyOnWriteArraySet<>();
+        private long count;
+        private volatile long lastActiveTime = System.currentTimeMillis();
+
+        TaskChannel(int capacity) {
+            this.ring = new ProgressMessage[Math.max(1, capacity)];
+        }
+
+        /**
+         * 追加事件，忽略重复或乱序到达的旧事件
+         */
+        boolean append(ProgressMessage message) {
+            ProgressMessage latest = latest();
+            if (latest != null && message.getId() <= latest.getId()) {
+                return false;
+            }
+            ring[(int)(count % ring.length)] = message;
+            count++;
+            lastActiveTime = System.currentTimeMillis();
+            return true;
+        }
+
+        ProgressMessage latest() {
+            return count == 0 ? null : ring[(int)((count - 1) % ring.length)];
+        }
+
+        long lastId() {
+            ProgressMessage latest = latest();
+            return latest != null ? latest.getId() : 0;
+        }
+
+        /**
+         * 获取 lastEventId 之后的事件
+         *
+         * @return 事件列表；未携带 ID、缓冲区为空或已无法覆盖时返回 null
+         */
+        List<ProgressMessage> since(Long lastEventId) {
+            if (lastEventId == null || count == 0) {
+                return null;
+            }
+            long size = Math.min(count, ring.length);
+            ProgressMessage oldest = ring[(int)((count - size) % ring.length)];
+            if (oldest.getId() > lastEventId + 1) {
+                return null;
+            }
+            List<ProgressMessage> missed = new ArrayList<>();
+            for (long i = count - size; i < count; i++) {
+                ProgressMessage message = ring[(int)(i % ring.length)];
+                if (message.getId() > lastEventId) {
+                    missed.add(message);
+                }
+            }
+            return missed;
+        }
+
+        void completeAll() {
+            subscribers.forEach(SseEmitter::complete);
+            subscribers.clear();
+        }
+    }
+
+    /**
+     * 跨节点广播的进度消息
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ProgressMessage {
+
+        private String taskId;
+        private long id;
+        private ResearchStatusResp status;
+    }
+}
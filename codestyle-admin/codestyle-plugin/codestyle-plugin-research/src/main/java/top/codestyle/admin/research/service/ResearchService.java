@@ -40,10 +40,11 @@ public interface ResearchService {
     /**
      * 订阅任务进度（SSE 流式返回）
      *
-     * @param taskId 任务 ID
+     * @param taskId      任务 ID
+     * @param lastEventId 断线重连时客户端最后收到的事件 ID，首次订阅为 null
      * @return SSE Emitter
      */
-    SseEmitter subscribeProgress(String taskId);
+    SseEmitter subscribeProgress(String taskId, String lastEventId);
 
     /**
      * 提交用户反馈
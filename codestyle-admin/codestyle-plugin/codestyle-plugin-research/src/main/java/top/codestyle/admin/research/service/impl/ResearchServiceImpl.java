@@ -16,19 +16,29 @@
 
 package top.codestyle.admin.research.service.impl;
 
+import cn.hutool.core.util.IdUtil;
+import cn.hutool.core.util.NumberUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import top.codestyle.admin.common.context.UserContextHolder;
 import top.codestyle.admin.research.config.ResearchProperties;
+import top.codestyle.admin.research.graph.ResearchCheckpointStore;
+import top.codestyle.admin.research.graph.ResearchGraphExecutor;
+import top.codestyle.admin.research.graph.ResearchState;
+import top.codestyle.admin.research.ingest.RepositoryIngestor;
+import top.codestyle.admin.research.model.enums.ResearchStatus;
+import top.codestyle.admin.research.model.enums.SourceType;
 import top.codestyle.admin.research.model.req.ResearchFeedbackReq;
 import top.codestyle.admin.research.model.req.ResearchStartReq;
 import top.codestyle.admin.research.model.resp.ResearchStatusResp;
+import top.codestyle.admin.research.progress.ResearchProgressBus;
 import top.codestyle.admin.research.service.ResearchService;
+import top.codestyle.admin.search.util.SearchTenantUtils;
+import top.continew.starter.core.util.validation.CheckUtils;
 
-import java.io.IOException;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Objects;
 
 /**
  * 深度研究服务实现
@@ -42,109 +52,81 @@ import java.util.concurrent.ConcurrentHashMap;
 public class ResearchServiceImpl implements ResearchService {
 
     private final ResearchProperties researchProperties;
-
-    /**
-     * 任务状态缓存（实际应使用 Redis）
-     */
-    private final Map<String, ResearchStatusResp> taskCache = new ConcurrentHashMap<>();
-
-    /**
-     * SSE Emitter 缓存
-     */
-    private final Map<String, SseEmitter> emitterCache = new ConcurrentHashMap<>();
+    private final ResearchCheckpointStore checkpointStore;
+    private final ResearchGraphExecutor graphExecutor;
+    private final ResearchProgressBus progressBus;
+    private final RepositoryIngestor repositoryIngestor;
 
     @Override
     public ResearchStatusResp startResearch(ResearchStartReq request) {
         log.info("启动研究任务: sourceType={}, sourceContent={}", request.getSourceType(), request.getSourceContent());
+        CheckUtils.throwIf(!researchProperties.isEnabled(), "深度研究功能未启用");
 
-        // TODO: 实现研究任务启动逻辑
-        // 1. 生成任务 ID
-        // 2. 创建状态图实例
-        // 3. 异步执行状态图
-        // 4. 返回任务状态
+        SourceType sourceType = request.getSourceType();
+        CheckUtils.throwIf(sourceType == SourceType.URL, "暂不支持的输入源类型: {}", sourceType.getDescription());
+        if (sourceType == SourceType.FILE || sourceType == SourceType.GITHUB) {
+            repositoryIngestor.checkLocation(sourceType, request.getSourceContent());
+        }
 
-        throw new UnsupportedOperationException("研究任务启动功能待实现");
+        ResearchState state = new ResearchState();
+        state.setTaskId(IdUtil.fastSimpleUUID());
+        state.setUserId(UserContextHolder.getUserId());
+        state.setTenantId(SearchTenantUtils.resolveCurrentTenantId());
+        state.setSourceType(request.getSourceType());
+        state.setSourceContent(request.getSourceContent());
+        state.setTemplateName(request.getTemplateName());
+        state.setTemplateDescription(request.getTemplateDescription());
+        state.setAutoConfirm(Boolean.TRUE.equals(request.getAutoConfirm()));
+        graphExecutor.start(state);
+        return state.toStatusResp();
     }
 
     @Override
-    public SseEmitter subscribeProgress(String taskId) {
-        log.info("订阅任务进度: taskId={}", taskId);
-
-        // 创建 SSE Emitter
-        SseEmitter emitter = new SseEmitter(researchProperties.getTaskTimeoutSeconds() * 1000L);
-
-        // 缓存 Emitter
-        emitterCache.put(taskId, emitter);
-
-        // 设置完成和超时回调
-        emitter.onCompletion(() -> {
-            log.info("SSE 连接完成: taskId={}", taskId);
-            emitterCache.remove(taskId);
-        });
-
-        emitter.onTimeout(() -> {
-            log.warn("SSE 连接超时: taskId={}", taskId);
-            emitterCache.remove(taskId);
-        });
-
-        emitter.onError((ex) -> {
-            log.error("SSE 连接错误: taskId={}", taskId, ex);
-            emitterCache.remove(taskId);
-        });
-
-        // TODO: 实现进度推送逻辑
-        // 1. 从任务缓存获取当前状态
-        // 2. 定期推送进度更新
-        // 3. 任务完成后关闭连接
-
-        try {
-            // 发送初始消息
-            emitter.send(SseEmitter.event().name("connected").data("已连接到任务进度流"));
-        } catch (IOException e) {
-            log.error("发送 SSE 消息失败", e);
-        }
-
-        return emitter;
+    public SseEmitter subscribeProgress(String taskId, String lastEventId) {
+        log.info("订阅任务进度: taskId={}, lastEventId={}", taskId, lastEventId);
+        ResearchState state = getOwnedTask(taskId);
+        Long lastId = NumberUtil.isLong(lastEventId) ? Long.valueOf(lastEventId) : null;
+        return progressBus.subscribe(taskId, lastId, state.toStatusResp());
     }
 
     @Override
     public void submitFeedback(String taskId, ResearchFeedbackReq request) {
         log.info("提交用户反馈: taskId={}, feedback={}", taskId, request.getFeedback());
-
-        // TODO: 实现用户反馈处理逻辑
-        // 1. 验证任务状态
-        // 2. 将反馈传递给状态图
-        // 3. 根据 continueExecution 决定是否继续
-
-        throw new UnsupportedOperationException("用户反馈功能待实现");
+        ResearchState state = getWaitingTask(taskId);
+        state.getFeedback().add(request.getFeedback());
+        if (Boolean.FALSE.equals(request.getContinueExecution())) {
+            // 不继续：结合反馈重新执行中断前的阶段，完成后再次等待确认
+            graphExecutor.rerunInterruptedStage(state);
+        } else {
+            graphExecutor.resume(state);
+        }
     }
 
     @Override
     public void confirmContinue(String taskId) {
         log.info("确认继续执行: taskId={}", taskId);
-
-        // TODO: 实现确认继续逻辑
-        // 1. 验证任务状态
-        // 2. 通知状态图继续执行
-
-        throw new UnsupportedOperationException("确认继续功能待实现");
+        graphExecutor.resume(getWaitingTask(taskId));
     }
 
     @Override
     public void cancelTask(String taskId) {
         log.info("取消任务: taskId={}", taskId);
+        ResearchState state = getOwnedTask(taskId);
+        CheckUtils.throwIf(state.isFinished(), "任务已结束: {}", state.getStatus().getDescription());
+        graphExecutor.cancel(state);
+    }
 
-        // TODO: 实现任务取消逻辑
-        // 1. 验证任务状态
-        // 2. 中断状态图执行
-        // 3. 清理资源
-        // 4. 关闭 SSE 连接
-
-        SseEmitter emitter = emitterCache.remove(taskId);
-        if (emitter != null) {
-            emitter.complete();
-        }
+    private ResearchState getOwnedTask(String taskId) {
+        ResearchState state = checkpointStore.load(taskId);
+        CheckUtils.throwIf(state == null || !Objects.equals(state.getUserId(), UserContextHolder
+            .getUserId()), "研究任务不存在或已过期: {}", taskId);
+        return state;
+    }
 
-        throw new UnsupportedOperationException("任务取消功能待实现");
+    private ResearchState getWaitingTask(String taskId) {
+        ResearchState state = getOwnedTask(taskId);
+        CheckUtils.throwIf(state.getStatus() != ResearchStatus.WAITING_CONFIRM, "任务当前状态不允许继续: {}", state.getStatus()
+            .getDescription());
+        return state;
     }
 }
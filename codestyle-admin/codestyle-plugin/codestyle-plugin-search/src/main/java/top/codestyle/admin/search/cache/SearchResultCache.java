@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.search.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RedissonClient;
+import org.springframework.stereotype.Component;
+import top.codestyle.admin.search.config.SearchProperties;
+import top.codestyle.admin.search.helper.CacheHelper;
+import top.codestyle.admin.search.model.SearchRequest;
+import top.codestyle.admin.search.model.SearchResult;
+import top.codestyle.admin.search.util.SearchTenantUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 检索结果缓存
+ * <p>
+ * 核心职责：
+ * 1. 基于租户 + 完整归一化请求生成缓存 Key
+ * 2. 维护租户索引代数（模板上传/删除时递增，旧缓存自动失效）
+ * 3. 两级缓存读写（L1 Caffeine + L2 Redis）
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SearchResultCache {
+
+    private final Cache<String, List<SearchResult>> localCache;
+    private final Cache<Long, Long> generationCache;
+    private final RedissonClient redissonClient;
+    private final SearchProperties properties;
+
+    /**
+     * 生成缓存 Key
+     *
+     * @param request 检索请求
+     * @return 缓存 Key
+     */
+    public String generateKey(SearchRequest request) {
+        Long tenantId = SearchTenantUtils.resolveSearchTenantId(request);
+        return CacheHelper.generateCacheKey(request, tenantId, currentGeneration(tenantId));
+    }
+
+    /**
+     * 获取缓存结果（L1 → L2）
+     *
+     * @param key 缓存 Key
+     * @return 缓存结果，未命中返回 null
+     */
+    public List<SearchResult> get(String key) {
+        // L1: 本地缓存
+        List<SearchResult> local = localCache.getIfPresent(key);
+        if (local != null) {
+            log.debug("命中本地缓存 (L1)");
+            return local;
+        }
+
+        // L2: Redis 缓存
+        try {
+            Optional<List<SearchResult>> redis = CacheHelper.getFromRedis(key);
+            if (redis.isPresent()) {
+                log.debug("命中 Redis 缓存 (L2)");
+                // 回填本地缓存
+                localCache.put(key, redis.get());
+                return redis.get();
+            }
+        } catch (Exception e) {
+            log.warn("读取 Redis 缓存失败", e);
+        }
+        return null;
+    }
+
+    /**
+     * 写入缓存（L1 + L2）
+     *
+     * @param key     缓存 Key
+     * @param results 检索结果
+     */
+    public void put(String key, List<SearchResult> results) {
+        // 写入本地缓存
+        localCache.put(key, results);
+
+        // 写入 Redis 缓存
+        try {
+            CacheHelper.setToRedis(key, results, properties.getCache().getRedis().getTtl());
+            log.debug("写入缓存成功: {}", key);
+        } catch (Exception e) {
+            log.warn("写入 Redis 缓存失败", e);
+        }
+    }
+
+    /**
+     * 获取租户当前索引代数
+     * <p>
+     * 本地短时缓存，跨节点失效的最大延迟为 search.cache.generation-ttl
+     *
+     * @param tenantId 租户 ID
+     * @return 索引代数
+     */
+    public long currentGeneration(Long tenantId) {
+        return generationCache.get(tenantId, this::loadGeneration);
+    }
+
+    /**
+     * 使租户下的检索缓存失效（递增索引代数）
+     * <p>
+     * 模板上传、删除后调用，旧代数的缓存 Key 不再可达，由 TTL 自然淘汰
+     *
+     * @param tenantId 租户 ID
+     */
+    public void invalidateTenant(Long tenantId) {
+        try {
+            long generation = redissonClient.getAtomicLong(CacheHelper.generateGenerationKey(tenantId))
+                .incrementAndGet();
+            generationCache.put(tenantId, generation);
+            log.info("检索缓存已失效: tenantId={}, generation={}", tenantId, generation);
+        } catch (Exception e) {
+            // Redis 不可用时至少保证本节点失效：本地代数跳到当前时间戳（远大于 Redis 递增的代数，不会与其他节点的有效代数重合），
+            // 同时清除本节点该租户的 L1 缓存，避免本地代数过期、重新读取 Redis 代数后旧结果再次可达
+            generationCache.asMap()
+                .merge(tenantId, System.currentTimeMillis(), (current, now) -> Math.max(current + 1, now));
+            String prefix = CacheHelper.generateTenantKeyPrefix(tenantId);
+            localCache.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+            log.warn("递增租户索引代数失败: tenantId={}", tenantId, e);
+        }
+    }
+
+    /**
+     * 从 Redis 加载租户索引代数
+     */
+    private Long loadGeneration(Long tenantId) {
+        try {
+            return redissonClient.getAtomicLong(CacheHelper.generateGenerationKey(tenantId)).get();
+        } catch (Exception e) {
+            log.warn("读取租户索引代数失败: tenantId={}", tenantId, e);
+            return 0L;
+        }
+    }
+}
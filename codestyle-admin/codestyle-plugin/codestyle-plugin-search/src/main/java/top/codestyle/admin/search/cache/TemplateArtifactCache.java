@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.search.cache;
+
+import cn.hutool.core.io.FileUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import top.codestyle.admin.search.config.SearchProperties;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * 模板制品缓存
+ * <p>
+ * 打包好的模板 ZIP 按 {租户}/{groupId}/{artifactId}/{version}/{指纹}.zip 存放在本地磁盘：
+ * - 文件集合变化（覆盖上传）后指纹随之变化，旧制品不会被命中，无需跨节点通知
+ * - 写入时先落到临时文件，完成后原子重命名，读取方不会看到不完整的文件
+ * - 总大小超过上限时按最近访问时间淘汰
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TemplateArtifactCache {
+
+    private static final String ARTIFACT_SUFFIX = ".zip";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final SearchProperties properties;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    /**
+     * 是否启用制品缓存
+     */
+    public boolean isEnabled() {
+        return Boolean.TRUE.equals(properties.getDownload().getCacheEnabled());
+    }
+
+    /**
+     * 获取已缓存的制品
+     *
+     * @return 制品文件，未命中返回 null
+     */
+    public File get(Long tenantId, String groupId, String artifactId, String version, String fingerprint) {
+        if (!isEnabled()) {
+            return null;
+        }
+        File file = resolveDir(tenantId, groupId, artifactId, version).resolve(fingerprint + ARTIFACT_SUFFIX)
+            .toFile();
+        if (!file.isFile()) {
+            missCount.increment();
+            return null;
+        }
+        hitCount.increment();
+        // 以修改时间记录最近访问时间，用于淘汰
+        file.setLastModified(System.currentTimeMillis());
+        return file;
+    }
+
+    /**
+     * 创建写入中的临时文件（与最终文件位于同一目录，保证可原子重命名）
+     */
+    public Path createTempFile(Long tenantId, String groupId, String artifactId, String version) throws IOException {
+        Path dir = Files.createDirectories(resolveDir(tenantId, groupId, artifactId, version));
+        return Files.createTempFile(dir, "artifact-", TEMP_SUFFIX);
+    }
+
+    /**
+     * 发布制品：临时文件重命名为最终文件，并清理该版本的旧制品
+     */
+    public void commit(Path tempFile,
+                       Long tenantId,
+                       String groupId,
+                       String artifactId,
+                       String version,
+                       String fingerprint) throws IOException {
+        Path dir = resolveDir(tenantId, groupId, artifactId, version);
+        Path target = dir.resolve(fingerprint + ARTIFACT_SUFFIX);
+        try {
+            Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        try (Stream<Path> stream = Files.list(dir)) {
+            stream.filter(p -> p.getFileName().toString().endsWith(ARTIFACT_SUFFIX) && !p.equals(target))
+                .forEach(p -> FileUtil.del(p.toFile()));
+        }
+        log.debug("模板制品已缓存: {}", target);
+        evictIfNecessary();
+    }
+
+    /**
+     * 丢弃写入失败的临时文件
+     */
+    public void discard(Path tempFile) {
+        if (tempFile != null) {
+            FileUtil.del(tempFile.toFile());
+        }
+    }
+
+    /**
+     * 删除模板版本的所有制品
+     */
+    public void evict(Long tenantId, String groupId, String artifactId, String version) {
+        FileUtil.del(resolveDir(tenantId, groupId, artifactId, version).toFile());
+    }
+
+    /**
+     * 获取统计信息
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", isEnabled());
+        stats.put("hitCount", hitCount.sum());
+        stats.put("missCount", missCount.sum());
+        return stats;
+    }
+
+    private Path resolveDir(Long tenantId, String groupId, String artifactId, String version) {
+        // 路径片段均来自模板坐标，逐段校验防止目录穿越
+        Path root = Paths.get(properties.getDownload().getCacheDir()).toAbsolutePath().normalize();
+        Path dir = root.resolve(String.valueOf(tenantId))
+            .resolve(groupId)
+            .resolve(artifactId)
+            .resolve(version)
+            .normalize();
+        if (!dir.startsWith(root) || dir.getNameCount() != root.getNameCount() + 4) {
+            throw new IllegalArgumentException("非法的模板坐标: " + groupId + ":" + artifactId + ":" + version);
+        }
+        return dir;
+    }
+
+    /**
+     * 总大小超过上限时按最近访问时间淘汰（同一时间只有一个线程执行）
+     */
+    private void evictIfNecessary() {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        Path root = Paths.get(properties.getDownload().getCacheDir());
+        try (Stream<Path> stream = Files.walk(root)) {
+            List<File> artifacts = stream.filter(p -> p.getFileName().toString().endsWith(ARTIFACT_SUFFIX))
+                .map(Path::toFile)
+                .sorted(Comparator.comparingLong(File::lastModified))
+                .toList();
+            long total = artifacts.stream().mapToLong(File::length).sum();
+            long maxSize = properties.getDownload().getCacheMaxSize();
+            for (File artifact : artifacts) {
+                if (total <= maxSize) {
+                    break;
+                }
+                total -= artifact.length();
+                FileUtil.del(artifact);
+                log.debug("淘汰模板制品: {}", artifact);
+            }
+        } catch (IOException e) {
+            log.warn("模板制品缓存淘汰失败", e);
+        } finally {
+            evicting.set(false);
+        }
+    }
+}
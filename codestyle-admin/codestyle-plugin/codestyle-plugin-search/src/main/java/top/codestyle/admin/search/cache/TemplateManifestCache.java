@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.search.cache;
+
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.json.JSONUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.springframework.stereotype.Component;
+import top.codestyle.admin.search.config.SearchProperties;
+import top.codestyle.admin.search.constant.SearchIndexConstants;
+import top.codestyle.admin.search.helper.TemplateManifestHelper;
+import top.codestyle.admin.search.model.TemplateManifest;
+import top.codestyle.admin.system.enums.FileTypeEnum;
+import top.codestyle.admin.system.mapper.FileMapper;
+import top.codestyle.admin.system.model.entity.FileDO;
+import top.codestyle.admin.system.model.entity.StorageDO;
+import top.codestyle.admin.system.service.StorageService;
+import top.continew.starter.cache.redisson.util.RedisUtils;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 模板文件清单缓存
+ * <p>
+ * 模板版本上传后文件集合不再变化，文件树与文件定位都基于清单完成，不再访问文件表：
+ * - L1：本地 Caffeine，保存已构建文件树与路径索引的清单
+ * - L2：Redis，保存序列化后的文件列表
+ * - 覆盖上传/删除时清除 L2 并广播失效消息，各节点清除 L1
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TemplateManifestCache {
+
+    private static final String MANIFEST_KEY_PREFIX = "template_manifest:";
+    private static final String INVALIDATE_TOPIC = "template_manifest:invalidate";
+
+    private final FileMapper fileMapper;
+    private final StorageService storageService;
+    private final RedissonClient redissonClient;
+    private final SearchProperties properties;
+
+    private final LongAdder localHitCount = new LongAdder();
+    private final LongAdder redisHitCount = new LongAdder();
+    private final LongAdder loadCount = new LongAdder();
+
+    private Cache<String, Optional<TemplateManifest>> localCache;
+    private RTopic invalidateTopic;
+    private int listenerId;
+
+    @PostConstruct
+    public void init() {
+        SearchProperties.CacheProperties.ManifestProperties manifest = properties.getCache().getManifest();
+        localCache = Caffeine.newBuilder()
+            .maximumSize(manifest.getLocalMaxSize())
+            .expireAfterWrite(manifest.getLocalTtl(), TimeUnit.SECONDS)
+            .build();
+        invalidateTopic = redissonClient.getTopic(INVALIDATE_TOPIC);
+        listenerId = invalidateTopic.addListener(String.class, (channel, key) -> localCache.invalidate(key));
+    }
+
+    @PreDestroy
+    public void destroy() {
+        invalidateTopic.removeListener(listenerId);
+    }
+
+    /**
+     * 获取模板版本的文件清单（L1 → L2 → 文件表）
+     *
+     * @return 文件清单，模板不存在时返回 null
+     */
+    public TemplateManifest get(Long tenantId, String groupId, String artifactId, String version) {
+        String key = buildKey(tenantId, groupId, artifactId, version);
+        Optional<TemplateManifest> cached = localCache.getIfPresent(key);
+        if (cached != null) {
+            localHitCount.increment();
+            return cached.orElse(null);
+        }
+        // 同一节点的并发未命中只加载一次；模板不存在时不保留缓存，避免上传完成后仍返回不存在
+        Optional<TemplateManifest> loaded = localCache.get(key, k -> Optional
+            .ofNullable(loadManifest(k, groupId, artifactId, version)));
+        if (loaded.isEmpty()) {
+            localCache.invalidate(key);
+        }
+        return loaded.orElse(null);
+    }
+
+    /**
+     * 重新加载并缓存文件清单（模板上传事务提交后调用）
+     */
+    public void refresh(Long tenantId, String groupId, String artifactId, String version) {
+        evict(tenantId, groupId, artifactId, version);
+        get(tenantId, groupId, artifactId, version);
+    }
+
+    /**
+     * 清除文件清单缓存并通知其他节点
+     */
+    public void evict(Long tenantId, String groupId, String artifactId, String version) {
+        String key = buildKey(tenantId, groupId, artifactId, version);
+        localCache.invalidate(key);
+        try {
+            RedisUtils.delete(key);
+            invalidateTopic.publish(key);
+        } catch (Exception e) {
+            log.warn("清除模板文件清单缓存失败: {}", key, e);
+        }
+    }
+
+    /**
+     * 获取统计信息
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("localSize", localCache.estimatedSize());
+        stats.put("localHitCount", localHitCount.sum());
+        stats.put("redisHitCount", redisHitCount.sum());
+        stats.put("loadCount", loadCount.sum());
+        return stats;
+    }
+
+    private TemplateManifest loadManifest(String key, String groupId, String artifactId, String version) {
+        try {
+            String json = RedisUtils.get(key);
+            if (StrUtil.isNotBlank(json)) {
+                redisHitCount.increment();
+                return TemplateManifestHelper.materialize(JSONUtil.toBean(json, TemplateManifest.class));
+            }
+        } catch (Exception e) {
+            log.warn("读取模板文件清单缓存失败: {}", key, e);
+        }
+
+        loadCount.increment();
+        String templatePrefix = SearchIndexConstants.TEMPLATE_PATH_PREFIX + groupId + "/" + artifactId + "/" + version;
+        List<FileDO> files = fileMapper.lambdaQuery()
+            .likeRight(FileDO::getParentPath, templatePrefix)
+            .ne(FileDO::getType, FileTypeEnum.DIR)
+            .list();
+        Map<Long, StorageDO> storageCache = new HashMap<>();
+        TemplateManifest manifest = TemplateManifestHelper.build(files, templatePrefix, storageId -> storageCache
+            .computeIfAbsent(storageId, storageService::getById)
+            .getCode());
+        if (manifest.getFiles().isEmpty()) {
+            return null;
+        }
+        try {
+            RedisUtils.set(key, JSONUtil.toJsonStr(manifest), Duration.ofSeconds(properties.getCache()
+                .getManifest()
+                .getRedisTtl()));
+        } catch (Exception e) {
+            log.warn("写入模板文件清单缓存失败: {}", key, e);
+        }
+        return TemplateManifestHelper.materialize(manifest);
+    }
+
+    private String buildKey(Long tenantId, String groupId, String artifactId, String version) {
+        return MANIFEST_KEY_PREFIX + tenantId + ":" + groupId + ":" + artifactId + ":" + version;
+    }
+}
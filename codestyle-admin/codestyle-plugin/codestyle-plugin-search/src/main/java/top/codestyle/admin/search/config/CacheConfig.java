@@ -55,4 +55,31 @@ public class CacheConfig {
             .recordStats()  // 记录统计信息
             .build();
     }
+
+    /**
+     * 查询向量缓存（Caffeine，LRU）
+     */
+    @Bean
+    public Cache<String, float[]> embeddingCache() {
+        SearchProperties.EmbeddingProperties.CacheProperties cache = properties.getEmbedding().getCache();
+
+        return Caffeine.newBuilder()
+            .maximumSize(cache.getMaxSize())
+            .expireAfterWrite(cache.getTtl(), TimeUnit.SECONDS)
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * 租户索引代数本地缓存（Caffeine）
+     * <p>
+     * 避免每次检索都访问 Redis 读取索引代数
+     */
+    @Bean
+    public Cache<Long, Long> searchGenerationCache() {
+        return Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(properties.getCache().getGenerationTtl(), TimeUnit.SECONDS)
+            .build();
+    }
 }
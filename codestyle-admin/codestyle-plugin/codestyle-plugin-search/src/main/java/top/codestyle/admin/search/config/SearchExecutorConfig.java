@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.search.config;
+
+import cn.hutool.core.thread.NamedThreadFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 检索线程池配置
+ * <p>
+ * ES/Milvus 检索属于阻塞 I/O，使用独立线程池，避免占用公共 ForkJoinPool：
+ * - BOUNDED：有界线程池（队列满时拒绝，对应数据源按失败处理）
+ * - VIRTUAL：虚拟线程（需 JDK 21+ 运行时，不支持时回退为有界线程池）
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class SearchExecutorConfig {
+
+    private static final String MODE_VIRTUAL = "VIRTUAL";
+
+    private final SearchProperties properties;
+
+    /**
+     * 检索线程池
+     */
+    @Bean
+    public ExecutorService searchTaskExecutor() {
+        SearchProperties.ExecutorProperties executor = properties.getExecutor();
+        if (MODE_VIRTUAL.equalsIgnoreCase(executor.getMode())) {
+            try {
+                ExecutorService virtualExecutor = (ExecutorService)Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+                log.info("初始化检索线程池：虚拟线程");
+                return virtualExecutor;
+            } catch (ReflectiveOperationException e) {
+                log.warn("当前 JDK 不支持虚拟线程，检索线程池回退为有界线程池");
+            }
+        }
+
+        log.info("初始化检索线程池：core={}, max={}, queue={}", executor.getCorePoolSize(), executor
+            .getMaxPoolSize(), executor.getQueueCapacity());
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(executor.getCorePoolSize(), executor
+            .getMaxPoolSize(), executor.getKeepAliveSeconds(), TimeUnit.SECONDS, new LinkedBlockingQueue<>(executor
+                .getQueueCapacity()), new NamedThreadFactory("search-pool-", true), new ThreadPoolExecutor.AbortPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /**
+     * 模板上传线程池
+     * <p>
+     * 压缩包条目由请求线程顺序读取，上传交给该线程池并行执行，并发量由调用方按在途文件数限流
+     */
+    @Bean
+    public ExecutorService templateUploadExecutor() {
+        SearchProperties.UploadProperties upload = properties.getUpload();
+        log.info("初始化模板上传线程池：parallelism={}, maxInFlight={}", upload.getParallelism(), upload
+            .getMaxInFlight());
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(upload.getParallelism(), upload
+            .getParallelism(), 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new NamedThreadFactory("template-upload-", true));
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /**
+     * 模板下载线程池
+     * <p>
+     * 打包下载时并行预读存储中的文件，由请求线程按顺序写入 ZIP，预读数量由调用方限制
+     */
+    @Bean
+    public ExecutorService templateDownloadExecutor() {
+        SearchProperties.DownloadProperties download = properties.getDownload();
+        log.info("初始化模板下载线程池：parallelism={}, prefetch={}", download.getParallelism(), download
+            .getPrefetch());
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(download.getParallelism(), download
+            .getParallelism(), 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new NamedThreadFactory("template-download-", true));
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+}
@@ -54,11 +54,46 @@ public class SearchProperties {
      */
     private RerankProperties rerank = new RerankProperties();
 
+    /**
+     * 向量化配置
+     */
+    private EmbeddingProperties embedding = new EmbeddingProperties();
+
     /**
      * 缓存配置
      */
     private CacheProperties cache = new CacheProperties();
 
+    /**
+     * 检索线程池配置
+     */
+    private ExecutorProperties executor = new ExecutorProperties();
+
+    /**
+     * 请求合并配置
+     */
+    private CoalescingProperties coalescing = new CoalescingProperties();
+
+    /**
+     * 模板上传配置
+     */
+    private UploadProperties upload = new UploadProperties();
+
+    /**
+     * 索引同步配置
+     */
+    private IndexingProperties indexing = new IndexingProperties();
+
+    /**
+     * 代码内容索引配置
+     */
+    private CodeProperties code = new CodeProperties();
+
+    /**
+     * 模板下载配置
+     */
+    private DownloadProperties download = new DownloadProperties();
+
     @Data
     public static class ElasticsearchProperties {
         private Boolean enabled = true;
@@ -75,6 +110,15 @@ public class SearchProperties {
         private Integer port = 19530;
         private String collection = "codestyle_templates";
         private Integer dimension = 1024;
+        private Boolean autoCreate = true; // 启动时自动创建集合与索引
+        private String metricType = "COSINE"; // 度量方式: COSINE, IP, L2
+        private String indexType = "HNSW"; // 索引类型: HNSW, IVF_PQ
+        private Integer hnswM = 16;
+        private Integer efConstruction = 200;
+        private Integer ef = 64; // HNSW 检索参数
+        private Integer nlist = 1024;
+        private Integer pqM = 16;
+        private Integer nprobe = 16; // IVF_PQ 检索参数
     }
 
     @Data
@@ -92,11 +136,48 @@ public class SearchProperties {
         private Integer topK = 10;
     }
 
+    @Data
+    public static class EmbeddingProperties {
+        private String provider = "HASH"; // 向量化引擎: HASH（模拟，仅开发测试）, HTTP, ONNX
+        private String model = "BAAI/bge-m3";
+        private String apiUrl = "http://localhost:8002/v1/embeddings";
+        private Integer connectTimeout = 5000;
+        private Integer readTimeout = 30000;
+        private Long timeout = 10000L; // 单条向量化等待超时（毫秒）
+        private OnnxProperties onnx = new OnnxProperties();
+        private BatchProperties batch = new BatchProperties();
+        private CacheProperties cache = new CacheProperties();
+
+        @Data
+        public static class OnnxProperties {
+            private String modelPath = "./models/bge-m3/model.onnx";
+            private String tokenizerPath = "./models/bge-m3/tokenizer.json";
+            private Integer maxLength = 512;
+            private String pooling = "CLS"; // 池化方式: CLS, MEAN
+        }
+
+        @Data
+        public static class BatchProperties {
+            private Integer maxSize = 32;
+            private Long maxWait = 5L; // 攒批等待时间（毫秒）
+            private Integer queueCapacity = 1024;
+            private Long offerTimeout = 100L; // 队列满时入队等待时间（毫秒）
+        }
+
+        @Data
+        public static class CacheProperties {
+            private Integer maxSize = 10000;
+            private Long ttl = 3600L; // 1 小时
+        }
+    }
+
     @Data
     public static class CacheProperties {
         private Boolean enabled = true;
+        private Long generationTtl = 5L; // 租户索引代数本地缓存时间（秒）
         private LocalProperties local = new LocalProperties();
         private RedisProperties redis = new RedisProperties();
+        private ManifestProperties manifest = new ManifestProperties();
 
         @Data
         public static class LocalProperties {
@@ -108,5 +189,68 @@ public class SearchProperties {
         public static class RedisProperties {
             private Long ttl = 3600L; // 1 小时
         }
+
+        @Data
+        public static class ManifestProperties {
+            private Integer localMaxSize = 500; // 本地缓存的模板版本数
+            private Long localTtl = 3600L; // 1 小时
+            private Long redisTtl = 7 * 86400L; // 模板版本不可变，覆盖上传/删除时主动失效
+        }
+    }
+
+    @Data
+    public static class ExecutorProperties {
+        private String mode = "BOUNDED"; // 线程模式: BOUNDED, VIRTUAL
+        private Integer corePoolSize = 16;
+        private Integer maxPoolSize = 64;
+        private Integer queueCapacity = 256;
+        private Long keepAliveSeconds = 60L;
+    }
+
+    @Data
+    public static class CoalescingProperties {
+        private Boolean enabled = true;
+        private Boolean distributed = false; // 是否跨节点合并（基于 Redis 锁）
+        private Long pollInterval = 50L; // 跨节点等待时轮询 L2 缓存的间隔（毫秒）
+    }
+
+    @Data
+    public static class UploadProperties {
+        private Integer parallelism = 8; // 并行上传线程数
+        private Integer maxInFlight = 16; // 已读取待上传的最大文件数（限制内存占用）
+        private Long maxEntrySize = 20L * 1024 * 1024; // 单个文件最大字节数
+        private Integer batchSize = 500; // 文件记录批量写入大小
+    }
+
+    @Data
+    public static class IndexingProperties {
+        private Long pollInterval = 1000L; // 发件箱轮询间隔（毫秒）
+        private Integer batchSize = 500; // 单次拉取及单个 bulk 请求的最大操作数
+        private Integer maxBatchesPerCycle = 10;
+        private Integer maxRetries = 8; // 超过后标记为失败，等待全量重建修复
+        private Long backoffBase = 1000L; // 重试退避基数（毫秒），按 2^n 递增
+        private Long backoffMax = 300000L; // 最大退避时间（毫秒）
+        private Integer reindexPageSize = 200;
+        private Boolean deleteOldIndex = true; // 别名切换后删除旧索引
+    }
+
+    @Data
+    public static class CodeProperties {
+        private Boolean enabled = true;
+        private String index = "codestyle_template_code";
+        private Integer minChunkLines = 20; // 遇到类/方法声明时切分所需的最少行数
+        private Integer maxChunkLines = 80;
+        private Integer maxChunkChars = 4000;
+        private Long maxFileSize = 512L * 1024; // 超过该大小的文件不建立内容索引
+    }
+
+    @Data
+    public static class DownloadProperties {
+        private Integer parallelism = 8; // 并行读取存储的线程数
+        private Integer prefetch = 8; // 按顺序写入 ZIP 时提前读取的文件数
+        private Long prefetchMaxSize = 4L * 1024 * 1024; // 超过该大小的文件不预读，写入时直接流式复制
+        private Boolean cacheEnabled = true; // 是否缓存打包好的 ZIP
+        private String cacheDir = System.getProperty("java.io.tmpdir") + "/codestyle/template-artifacts";
+        private Long cacheMaxSize = 1024L * 1024 * 1024; // 缓存目录总大小上限，超过后淘汰最久未访问的文件
     }
 }
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package top.codestyle.admin.search.constant;
+
+import java.util.List;
+
+/**
+ * Milvus 集合字段常量
+ * <p>
+ * 主键与 ES 文档 ID 保持一致：tenantId:groupId:artifactId:version，便于 RRF 融合按 ID 合并
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+public final class MilvusConstants {
+
+    /**
+     * 主键（与 ES 文档 ID 一致）
+     */
+    public static final String FIELD_ID = "id";
+
+    /**
+     * 租户 ID（Partition Key）
+     */
+    public static final String FIELD_TENANT_ID = "tenant_id";
+
+    public static final String FIELD_GROUP_ID = "group_id";
+
+    public static final String FIELD_ARTIFACT_ID = "artifact_id";
+
+    public static final String FIELD_VERSION = "version";
+
+    public static final String FIELD_TITLE = "title";
+
+    public static final String FIELD_CONTENT = "content";
+
+    /**
+     * 向量字段
+     */
+    public static final String FIELD_EMBEDDING = "embedding";
+
+    /**
+     * 向量索引名称
+     */
+    public static final String INDEX_NAME = "idx_embedding";
+
+    /**
+     * 检索返回字段
+     */
+    public static final List<String> OUT_FIELDS = List
+        .of(FIELD_TENANT_ID, FIELD_GROUP_ID, FIELD_ARTIFACT_ID, FIELD_VERSION, FIELD_TITLE, FIELD_CONTENT);
+
+    private MilvusConstants() {
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.search.constant;
+
+/**
+ * 检索索引常量
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+public final class SearchIndexConstants {
+
+    /**
+     * 模板文件在文件管理系统中的统一前缀
+     */
+    public static final String TEMPLATE_PATH_PREFIX = "/templates/";
+
+    /**
+     * 操作类型：写入
+     */
+    public static final String OP_INDEX = "INDEX";
+
+    /**
+     * 操作类型：删除
+     */
+    public static final String OP_DELETE = "DELETE";
+
+    /**
+     * 操作类型：重建模板代码内容索引
+     */
+    public static final String OP_CODE_INDEX = "CODE";
+
+    /**
+     * 操作类型：删除模板代码内容索引
+     */
+    public static final String OP_CODE_DELETE = "CODE_DEL";
+
+    /**
+     * 发件箱状态：待处理
+     */
+    public static final int STATUS_PENDING = 0;
+
+    /**
+     * 发件箱状态：失败（超过最大重试次数）
+     */
+    public static final int STATUS_FAILED = 2;
+
+    /**
+     * 发件箱处理锁（同一时刻只有一个节点消费）
+     */
+    public static final String OUTBOX_LOCK_KEY = "lock:search:index:outbox";
+
+    /**
+     * 全量重建索引锁
+     */
+    public static final String REINDEX_LOCK_KEY = "lock:search:index:reindex";
+
+    private SearchIndexConstants() {
+    }
+}
@@ -16,18 +16,26 @@
 
 package top.codestyle.admin.search.controller;
 
+import cn.dev33.satoken.annotation.SaCheckPermission;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
+import top.codestyle.admin.search.cache.TemplateArtifactCache;
+import top.codestyle.admin.search.cache.TemplateManifestCache;
+import top.codestyle.admin.search.embedding.EmbeddingBatcher;
+import top.codestyle.admin.search.executor.SearchCoalescer;
 import top.codestyle.admin.search.model.SearchRequest;
 import top.codestyle.admin.search.model.SearchResult;
 import top.codestyle.admin.search.service.SearchService;
+import top.codestyle.admin.search.service.TemplateIndexService;
 import top.codestyle.admin.search.util.SearchTenantUtils;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 检索 API
@@ -42,6 +50,11 @@ import java.util.List;
 public class SearchController {
 
     private final SearchService searchService;
+    private final SearchCoalescer searchCoalescer;
+    private final EmbeddingBatcher embeddingBatcher;
+    private final TemplateIndexService templateIndexService;
+    private final TemplateArtifactCache templateArtifactCache;
+    private final TemplateManifestCache templateManifestCache;
 
     /**
      * 模板检索接口（唯一接口）
@@ -88,4 +101,24 @@ public class SearchController {
         log.info("OpenAPI 搜索请求写入 tenantId: query={}, topK={}, tenantId={}", query, topK, tenantId);
         return searchService.search(request);
     }
+
+    @Operation(summary = "检索统计", description = "查看检索请求合并、向量化批处理、索引同步统计信息")
+    @SaCheckPermission("search:index:stats")
+    @GetMapping("/search/stats")
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("coalescing", searchCoalescer.getStats());
+        stats.put("embedding", embeddingBatcher.getStats());
+        stats.put("indexing", templateIndexService.getStats());
+        stats.put("download", templateArtifactCache.getStats());
+        stats.put("manifest", templateManifestCache.getStats());
+        return stats;
+    }
+
+    @Operation(summary = "重建索引", description = "从模板文件记录全量重建 ES 索引，完成后原子切换别名")
+    @SaCheckPermission("search:index:rebuild")
+    @PostMapping("/search/index/rebuild")
+    public Map<String, Object> rebuildIndex() {
+        return templateIndexService.reindex();
+    }
 }
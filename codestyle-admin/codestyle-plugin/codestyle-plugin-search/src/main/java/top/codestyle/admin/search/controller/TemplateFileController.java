@@ -16,18 +16,21 @@
 
 package top.codestyle.admin.search.controller;
 
-import cn.hutool.core.io.FileUtil;
-import cn.hutool.core.io.IoUtil;
+import cn.hutool.core.util.StrUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import top.codestyle.admin.common.util.FileRangeUtils;
+import top.codestyle.admin.search.model.TemplateArtifact;
 import top.codestyle.admin.search.model.resp.TemplateUploadResp;
 import top.codestyle.admin.search.service.TemplateFileService;
 import top.continew.starter.core.util.validation.CheckUtils;
@@ -35,9 +38,8 @@ import top.continew.starter.core.util.validation.ValidationUtils;
 import top.continew.starter.log.annotation.Log;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.OutputStream;
+import java.nio.file.NoSuchFileException;
 import java.time.LocalDateTime;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -133,7 +135,8 @@ public class TemplateFileController {
     /**
      * 下载模板
      * <p>
-     * 从存储系统中读取指定模板版本的所有文件，按原始目录结构打包为 ZIP 并返回。
+     * 将模板版本的所有文件按原始目录结构打包为 ZIP，边打包边写入响应。
+     * 文件集合指纹作为 ETag，支持 If-None-Match 协商缓存；命中制品缓存时直接返回已打包的文件，并支持 Range 断点续传。
      * </p>
      */
     @Log(ignore = true)
@@ -145,29 +148,32 @@ public class TemplateFileController {
     public void download(@RequestParam String groupId,
                          @RequestParam String artifactId,
                          @RequestParam String version,
+                         HttpServletRequest request,
                          HttpServletResponse response) throws IOException {
-        File zipFile = null;
-        try {
-            // 从存储系统中打包模板文件为 ZIP
-            zipFile = templateFileService.createTemplateZip(groupId, artifactId, version);
-
-            // 设置响应头
-            String fileName = String.format("%s-%s-%s.zip", groupId, artifactId, version);
-            response.setContentType("application/zip");
-            response.setHeader("Content-Disposition", "attachment; filename=\"" + fileName + "\"");
-            response.setContentLengthLong(zipFile.length());
+        TemplateArtifact artifact = templateFileService.prepareDownload(groupId, artifactId, version);
+        String etag = artifact.getETag();
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        if (matchesETag(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
 
-            // 写入响应流
-            try (FileInputStream fis = new FileInputStream(zipFile); OutputStream os = response.getOutputStream()) {
-                IoUtil.copy(fis, os);
-                os.flush();
-            }
-        } finally {
-            // 清理临时 ZIP 文件
-            if (zipFile != null && zipFile.exists()) {
-                FileUtil.del(zipFile);
+        response.setContentType("application/zip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + artifact.getFileName() + "\"");
+        File cachedFile = artifact.getCachedFile();
+        if (cachedFile != null) {
+            try {
+                writeCachedFile(cachedFile, etag, request, response);
+                return;
+            } catch (NoSuchFileException e) {
+                // 制品在准备下载后被淘汰（尚未写出任何内容），改为流式打包
+                log.info("模板制品缓存已失效，改为流式打包: {}", artifact.getFileName());
             }
         }
+        // 未命中制品缓存：流式打包写入响应（长度未知，忽略 Range）
+        templateFileService.writeTemplateZip(artifact, response.getOutputStream());
+        response.flushBuffer();
     }
 
     @Log(ignore = true)
@@ -184,4 +190,31 @@ public class TemplateFileController {
         data.put("deleteTime", LocalDateTime.now().toString());
         return data;
     }
+
+    /**
+     * 返回已缓存的制品（支持单个 Range，If-Range 不匹配时返回完整文件）
+     *
+     * @throws NoSuchFileException 制品已被淘汰（此时尚未写入任何响应头）
+     */
+    private void writeCachedFile(File file,
+                                 String etag,
+                                 HttpServletRequest request,
+                                 HttpServletResponse response) throws IOException {
+        // 制品响应不提供 Last-Modified，If-Range 只按 ETag 匹配
+        FileRangeUtils.write(file.toPath(), etag, -1, request, response);
+        response.flushBuffer();
+    }
+
+    private boolean matchesETag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = StrUtil.removePrefix(candidate.trim(), "W/");
+            if ("*".equals(value) || etag.equals(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package top.codestyle.admin.search.embedding;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import top.codestyle.admin.search.config.SearchProperties;
+import top.continew.starter.core.exception.BusinessException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Embedding 微批处理器
+ * <p>
+ * 并发的单条向量化请求先进入有界队列，由调度线程在 maxWait 毫秒内攒批（最多 maxSize 条），
+ * 合并为一次 {@link EmbeddingEngine#embed(List)} 调用；队列满时在 offerTimeout 内阻塞等待，
+ * 仍无法入队则拒绝请求（背压）。
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EmbeddingBatcher {
+
+    private final EmbeddingEngine embeddingEngine;
+    private final SearchProperties searchProperties;
+
+    private final LongAdder batchCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+
+    private BlockingQueue<PendingEmbedding> queue;
+    private Thread dispatcher;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        SearchProperties.EmbeddingProperties.BatchProperties batch = searchProperties.getEmbedding().getBatch();
+        queue = new ArrayBlockingQueue<>(batch.getQueueCapacity());
+        running = true;
+        dispatcher = new Thread(this::dispatchLoop, "embedding-batcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+        log.info("Embedding 微批处理器已启动，模型: {}, maxSize: {}, maxWait: {}ms", embeddingEngine.getModel(), batch
+            .getMaxSize(), batch.getMaxWait());
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        dispatcher.interrupt();
+        List<PendingEmbedding> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        remaining.forEach(pending -> pending.getFuture().completeExceptionally(new BusinessException("向量化服务已关闭")));
+    }
+
+    /**
+     * 提交单条向量化请求
+     *
+     * @param text 文本
+     * @return 向量 Future
+     */
+    public CompletableFuture<float[]> submit(String text) {
+        PendingEmbedding pending = new PendingEmbedding(text);
+        boolean accepted;
+        try {
+            accepted = queue.offer(pending, searchProperties.getEmbedding()
+                .getBatch()
+                .getOfferTimeout(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            accepted = false;
+        }
+        if (!accepted) {
+            rejectedCount.increment();
+            throw new BusinessException("向量化请求繁忙，请稍后重试");
+        }
+        return pending.getFuture();
+    }
+
+    /**
+     * 获取统计信息
+     *
+     * @return 统计信息
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("queueSize", queue.size());
+        stats.put("batchCount", batchCount.sum());
+        stats.put("rejectedCount", rejectedCount.sum());
+        return stats;
+    }
+
+    /**
+     * 调度循环：阻塞等待首条请求，随后在 maxWait 内攒批
+     */
+    private void dispatchLoop() {
+        SearchProperties.EmbeddingProperties.BatchProperties config = searchProperties.getEmbedding().getBatch();
+        int maxSize = config.getMaxSize();
+        long maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(config.getMaxWait());
+        List<PendingEmbedding> batch = new ArrayList<>(maxSize);
+        while (running) {
+            try {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (batch.size() < maxSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingEmbedding next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        queue.drainTo(batch, maxSize - batch.size());
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                batch.forEach(pending -> pending.getFuture()
+                    .completeExceptionally(new BusinessException("向量化服务已关闭")));
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * 执行一个批次（相同文本只计算一次）
+     */
+    private void flush(List<PendingEmbedding> batch) {
+        Map<String, Integer> indexes = new LinkedHashMap<>();
+        batch.forEach(pending -> indexes.putIfAbsent(pending.getText(), indexes.size()));
+        try {
+            float[][] vectors = embeddingEngine.embed(new ArrayList<>(indexes.keySet()));
+            batchCount.increment();
+            Map<String, float[]> byText = new HashMap<>(indexes.size());
+            indexes.forEach((text, index) -> byText.put(text, vectors[index]));
+            batch.forEach(pending -> pending.getFuture().complete(byText.get(pending.getText())));
+        } catch (Exception e) {
+            log.error("Embedding 批处理失败，批大小: {}", indexes.size(), e);
+            batch.forEach(pending -> pending.getFuture().completeExceptionally(e));
+        }
+    }
+
+    /**
+     * 待处理的向量化请求
+     */
+    @Getter
+    private static class PendingEmbedding {
+        private final String text;
+        private final CompletableFuture<float[]> future = new CompletableFuture<>();
+
+        PendingEmbedding(String text) {
+            this.text = text;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package top.codestyle.admin.search.embedding;
+
+import java.util.List;
+
+/**
+ * Embedding 引擎
+ * <p>
+ * 向量化的实际执行者，由 search.embedding.provider 选择实现：
+ * HASH（模拟向量，仅用于开发测试）、HTTP（本地 Embedding 服务）、ONNX（进程内模型）
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+public interface EmbeddingEngine {
+
+    /**
+     * 批量将文本转换为向量
+     *
+     * @param texts 文本列表
+     * @return 向量列表（与 texts 顺序一一对应，已 L2 归一化）
+     */
+    float[][] embed(List<String> texts);
+
+    /**
+     * 获取模型名称（用于向量缓存 Key）
+     *
+     * @return 模型名称
+     */
+    String getModel();
+
+    /**
+     * L2 归一化向量
+     *
+     * @param vector 向量
+     */
+    static void normalize(float[] vector) {
+        double sum = 0.0;
+        for (float v : vector) {
+            sum += v * v;
+        }
+        double norm = Math.sqrt(sum);
+
+        if (norm > 0) {
+            for (int i = 0; i < vector.length; i++) {
+                vector[i] /= norm;
+            }
+        }
+    }
+}
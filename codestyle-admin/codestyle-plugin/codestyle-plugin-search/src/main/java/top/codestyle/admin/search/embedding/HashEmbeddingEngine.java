@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package top.codestyle.admin.search.embedding;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import top.codestyle.admin.search.config.SearchProperties;
+
+import java.util.List;
+
+/**
+ * 哈希模拟 Embedding 引擎
+ * <p>
+ * 基于文本哈希生成模拟向量，不具备语义能力，仅用于开发测试
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "search.embedding", name = "provider", havingValue = "HASH", matchIfMissing = true)
+public class HashEmbeddingEngine implements EmbeddingEngine {
+
+    private final SearchProperties searchProperties;
+
+    @Override
+    public float[][] embed(List<String> texts) {
+        int dimension = searchProperties.getMilvus().getDimension();
+        float[][] vectors = new float[texts.size()][];
+        for (int i = 0; i < texts.size(); i++) {
+            float[] vector = new float[dimension];
+            int hash = texts.get(i).hashCode();
+            for (int j = 0; j < dimension; j++) {
+                vector[j] = (float)Math.sin(hash + j);
+            }
+            EmbeddingEngine.normalize(vector);
+            vectors[i] = vector;
+        }
+        return vectors;
+    }
+
+    @Override
+    public String getModel() {
+        return "hash";
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package top.codestyle.admin.search.embedding;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+import top.codestyle.admin.search.config.SearchProperties;
+import top.continew.starter.core.exception.BusinessException;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * HTTP Embedding 引擎
+ * <p>
+ * 调用本地部署的 Embedding 服务（OpenAI 兼容的 /v1/embeddings 接口，如 TEI、Xinference、vLLM），
+ * 一个批次对应一次 HTTP 请求
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "search.embedding", name = "provider", havingValue = "HTTP")
+public class HttpEmbeddingEngine implements EmbeddingEngine {
+
+    private final SearchProperties searchProperties;
+    private final RestTemplate restTemplate;
+
+    public HttpEmbeddingEngine(SearchProperties searchProperties) {
+        this.searchProperties = searchProperties;
+        SearchProperties.EmbeddingProperties embedding = searchProperties.getEmbedding();
+        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
+        factory.setConnectTimeout(embedding.getConnectTimeout());
+        factory.setReadTimeout(embedding.getReadTimeout());
+        this.restTemplate = new RestTemplate(factory);
+    }
+
+    @Override
+    public float[][] embed(List<String> texts) {
+        SearchProperties.EmbeddingProperties embedding = searchProperties.getEmbedding();
+        log.debug("调用 Embedding API: {}, 批大小: {}", embedding.getApiUrl(), texts.size());
+
+        // 构建请求
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("model", embedding.getModel());
+        requestBody.put("input", texts);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        // 调用 API
+        EmbeddingResponse response = restTemplate.postForObject(embedding
+            .getApiUrl(), new HttpEntity<>(requestBody, headers), EmbeddingResponse.class);
+        if (response == null || response.getData() == null || response.getData().size() != texts.size()) {
+            throw new BusinessException("Embedding 服务返回结果数量不匹配");
+        }
+
+        // 按 index 还原顺序（未返回 index 时按响应顺序）
+        float[][] vectors = new float[texts.size()][];
+        List<EmbeddingData> dataList = response.getData();
+        for (int i = 0; i < dataList.size(); i++) {
+            EmbeddingData data = dataList.get(i);
+            int index = data.getIndex() != null ? data.getIndex() : i;
+            if (index < 0 || index >= vectors.length || vectors[index] != null || data.getEmbedding() == null) {
+                throw new BusinessException("Embedding 服务返回结果不完整");
+            }
+            float[] vector = data.getEmbedding();
+            EmbeddingEngine.normalize(vector);
+            vectors[index] = vector;
+        }
+        return vectors;
+    }
+
+    @Override
+    public String getModel() {
+        return searchProperties.getEmbedding().getModel();
+    }
+
+    /**
+     * Embedding API 响应
+     */
+    @Data
+    public static class EmbeddingResponse {
+        private List<EmbeddingData> data;
+        private String model;
+    }
+
+    @Data
+    public static class EmbeddingData {
+        private Integer index;
+        private float[] embedding;
+    }
+}
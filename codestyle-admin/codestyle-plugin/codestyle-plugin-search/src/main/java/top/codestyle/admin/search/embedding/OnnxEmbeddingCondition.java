@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package top.codestyle.admin.search.embedding;
+
+import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
+import org.springframework.boot.autoconfigure.condition.SpringBootCondition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.util.ClassUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ONNX Embedding 引擎启用条件
+ * <p>
+ * search.embedding.provider=ONNX 时启用；此时若缺少 onnxruntime 或 djl tokenizers 依赖，直接启动失败并提示缺少的依赖，
+ * 而不是静默跳过引擎导致找不到 {@link EmbeddingEngine}。
+ * </p>
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+class OnnxEmbeddingCondition extends SpringBootCondition {
+
+    private static final String PROVIDER = "ONNX";
+    private static final String[][] REQUIRED_CLASSES = {{"ai.onnxruntime.OrtSession", "com.microsoft.onnxruntime:onnxruntime"},
+        {"ai.djl.huggingface.tokenizers.HuggingFaceTokenizer", "ai.djl.huggingface:tokenizers"}};
+
+    @Override
+    public ConditionOutcome getMatchOutcome(ConditionContext context, AnnotatedTypeMetadata metadata) {
+        String provider = context.getEnvironment().getProperty("search.embedding.provider");
+        if (!PROVIDER.equalsIgnoreCase(provider)) {
+            return ConditionOutcome.noMatch("search.embedding.provider 不是 " + PROVIDER);
+        }
+        List<String> missing = new ArrayList<>();
+        for (String[] required : REQUIRED_CLASSES) {
+            if (!ClassUtils.isPresent(required[0], context.getClassLoader())) {
+                missing.add(required[1]);
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("search.embedding.provider=ONNX 需要在运行模块中引入依赖: " + String
+                .join(", ", missing));
+        }
+        return ConditionOutcome.match("search.embedding.provider=ONNX 且 ONNX 依赖已引入");
+    }
+}
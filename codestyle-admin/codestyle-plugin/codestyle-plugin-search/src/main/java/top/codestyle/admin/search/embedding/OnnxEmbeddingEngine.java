@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package top.codestyle.admin.search.embedding;
+
+import ai.djl.huggingface.tokenizers.Encoding;
+import ai.djl.huggingface.tokenizers.HuggingFaceTokenizer;
+import ai.onnxruntime.OnnxTensor;
+import ai.onnxruntime.OrtEnvironment;
+import ai.onnxruntime.OrtException;
+import ai.onnxruntime.OrtSession;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.stereotype.Component;
+import top.codestyle.admin.search.config.SearchProperties;
+import top.continew.starter.core.exception.BusinessException;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ONNX Embedding 引擎
+ * <p>
+ * 进程内加载 ONNX 模型（如 bge-m3 导出的 model.onnx + tokenizer.json）执行向量化，
+ * 一个批次对应一次模型推理，无网络开销。
+ * 需在 codestyle-server 中引入 onnxruntime 与 djl tokenizers 依赖（缺少时启动失败，见 {@link OnnxEmbeddingCondition}）。
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+@Slf4j
+@Component
+@Conditional(OnnxEmbeddingCondition.class)
+public class OnnxEmbeddingEngine implements EmbeddingEngine {
+
+    private static final String POOLING_MEAN = "MEAN";
+
+    private final SearchProperties.EmbeddingProperties embedding;
+    private final OrtEnvironment environment;
+    private final OrtSession session;
+    private final HuggingFaceTokenizer tokenizer;
+
+    public OnnxEmbeddingEngine(SearchProperties searchProperties) throws OrtException, IOException {
+        this.embedding = searchProperties.getEmbedding();
+        SearchProperties.EmbeddingProperties.OnnxProperties onnx = embedding.getOnnx();
+        log.info("加载 ONNX Embedding 模型: {}", onnx.getModelPath());
+        this.environment = OrtEnvironment.getEnvironment();
+        this.session = environment.createSession(onnx.getModelPath(), new OrtSession.SessionOptions());
+        this.tokenizer = HuggingFaceTokenizer.builder()
+            .optTokenizerPath(Paths.get(onnx.getTokenizerPath()))
+            .optMaxLength(onnx.getMaxLength())
+            .optTruncation(true)
+            .optPadding(true)
+            .build();
+    }
+
+    @Override
+    public float[][] embed(List<String> texts) {
+        Encoding[] encodings = tokenizer.batchEncode(texts);
+        int batchSize = encodings.length;
+        long[][] inputIds = new long[batchSize][];
+        long[][] attentionMask = new long[batchSize][];
+        long[][] typeIds = new long[batchSize][];
+        for (int i = 0; i < batchSize; i++) {
+            inputIds[i] = encodings[i].getIds();
+            attentionMask[i] = encodings[i].getAttentionMask();
+            typeIds[i] = encodings[i].getTypeIds();
+        }
+
+        Map<String, OnnxTensor> inputs = new HashMap<>();
+        try {
+            inputs.put("input_ids", OnnxTensor.createTensor(environment, inputIds));
+            inputs.put("attention_mask", OnnxTensor.createTensor(environment, attentionMask));
+            if (session.getInputNames().contains("token_type_ids")) {
+                inputs.put("token_type_ids", OnnxTensor.createTensor(environment, typeIds));
+            }
+            try (OrtSession.Result result = session.run(inputs)) {
+                float[][][] hiddenStates = (float[][][])result.get(0).getValue();
+                return pool(hiddenStates, attentionMask);
+            }
+        } catch (OrtException e) {
+            log.error("ONNX 模型推理失败，批大小: {}", batchSize, e);
+            throw new BusinessException("向量化失败");
+        } finally {
+            inputs.values().forEach(OnnxTensor::close);
+        }
+    }
+
+    @Override
+    public String getModel() {
+        return embedding.getModel();
+    }
+
+    @PreDestroy
+    public void destroy() throws OrtException {
+        tokenizer.close();
+        session.close();
+    }
+
+    /**
+     * 池化 last_hidden_state 得到句向量（CLS 或 MEAN）
+     */
+    private float[][] pool(float[][][] hiddenStates, long[][] attentionMask) {
+        boolean mean = POOLING_MEAN.equalsIgnoreCase(embedding.getOnnx().getPooling());
+        float[][] vectors = new float[hiddenStates.length][];
+        for (int i = 0; i < hiddenStates.length; i++) {
+            float[][] tokens = hiddenStates[i];
+            float[] vector;
+            if (mean) {
+                vector = new float[tokens[0].length];
+                int count = 0;
+                for (int t = 0; t < tokens.length; t++) {
+                    if (attentionMask[i][t] == 0) {
+                        continue;
+                    }
+                    for (int d = 0; d < vector.length; d++) {
+                        vector[d] += tokens[t][d];
+                    }
+                    count++;
+                }
+                for (int d = 0; d < vector.length && count > 0; d++) {
+                    vector[d] /= count;
+                }
+            } else {
+                vector = tokens[0].clone();
+            }
+            EmbeddingEngine.normalize(vector);
+            vectors[i] = vector;
+        }
+        return vectors;
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.search.executor;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.stereotype.Component;
+import top.codestyle.admin.search.cache.SearchResultCache;
+import top.codestyle.admin.search.config.SearchProperties;
+import top.codestyle.admin.search.model.SearchResult;
+import top.continew.starter.core.exception.BusinessException;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 检索请求合并器（Single-Flight）
+ * <p>
+ * 相同缓存 Key 的并发检索只有一个请求（Leader）真正访问 ES/Milvus 并执行 RRF 融合，
+ * 其余请求（Follower）等待并共享同一结果：
+ * 1. 节点内：基于 Key → Future 的在途请求表
+ * 2. 跨节点（可选）：基于 Redis 锁选出 Leader，其他节点轮询 L2 缓存获取结果
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SearchCoalescer {
+
+    private static final String LOCK_PREFIX = "lock:search:inflight:";
+
+    private final SearchResultCache searchResultCache;
+    private final RedissonClient redissonClient;
+    private final SearchProperties properties;
+
+    /**
+     * 节点内在途请求表
+     */
+    private final Map<String, CompletableFuture<List<SearchResult>>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder leaderCount = new LongAdder();
+    private final LongAdder localCoalescedCount = new LongAdder();
+    private final LongAdder remoteCoalescedCount = new LongAdder();
+
+    /**
+     * 执行检索（相同 Key 的并发请求合并为一次）
+     *
+     * @param key     缓存 Key
+     * @param timeout 等待超时时间（毫秒）
+     * @param loader  实际检索逻辑（需负责写入缓存）
+     * @return 检索结果
+     */
+    public List<SearchResult> execute(String key, long timeout, Supplier<List<SearchResult>> loader) {
+        if (!Boolean.TRUE.equals(properties.getCoalescing().getEnabled())) {
+            return loader.get();
+        }
+
+        CompletableFuture<List<SearchResult>> future = new CompletableFuture<>();
+        CompletableFuture<List<SearchResult>> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            localCoalescedCount.increment();
+            log.debug("合并节点内在途检索: {}", key);
+            return await(existing, timeout, loader);
+        }
+
+        try {
+            List<SearchResult> results = Boolean.TRUE.equals(properties.getCoalescing().getDistributed())
+                ? executeAcrossNodes(key, timeout, loader)
+                : executeAsLeader(loader);
+            future.complete(results);
+            return results;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * 获取合并统计信息
+     *
+     * @return 统计信息
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("leaderCount", leaderCount.sum());
+        stats.put("localCoalescedCount", localCoalescedCount.sum());
+        stats.put("remoteCoalescedCount", remoteCoalescedCount.sum());
+        stats.put("inFlight", inFlight.size());
+        return stats;
+    }
+
+    private List<SearchResult> executeAsLeader(Supplier<List<SearchResult>> loader) {
+        leaderCount.increment();
+        return loader.get();
+    }
+
+    /**
+     * 跨节点合并
+     * <p>
+     * 获取 Redis 锁的节点作为 Leader 执行检索；未获取到锁的节点轮询 L2 缓存，
+     * 直到 Leader 写入结果或锁释放/超时后自行执行检索。
+     */
+    private List<SearchResult> executeAcrossNodes(String key, long timeout, Supplier<List<SearchResult>> loader) {
+        RLock lock = redissonClient.getLock(LOCK_PREFIX + key);
+        boolean locked;
+        try {
+            locked = lock.tryLock(0, timeout, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException("检索被中断");
+        } catch (Exception e) {
+            log.warn("获取跨节点检索锁失败，降级为本地执行: {}", key, e);
+            return executeAsLeader(loader);
+        }
+
+        if (locked) {
+            try {
+                return executeAsLeader(loader);
+            } finally {
+                if (lock.isHeldByCurrentThread()) {
+                    lock.unlock();
+                }
+            }
+        }
+
+        List<SearchResult> cached = waitForRemoteLeader(key, lock, timeout);
+        return cached != null ? cached : executeAsLeader(loader);
+    }
+
+    /**
+     * 轮询 L2 缓存等待其他节点的 Leader 写入结果
+     *
+     * @return 检索结果，Leader 结束仍未命中缓存或超时返回 null
+     */
+    private List<SearchResult> waitForRemoteLeader(String key, RLock lock, long timeout) {
+        long deadline = System.currentTimeMillis() + timeout;
+        long pollInterval = properties.getCoalescing().getPollInterval();
+        try {
+            while (System.currentTimeMillis() < deadline) {
+                TimeUnit.MILLISECONDS.sleep(pollInterval);
+                List<SearchResult> cached = searchResultCache.get(key);
+                if (cached != null) {
+                    remoteCoalescedCount.increment();
+                    log.debug("合并跨节点在途检索: {}", key);
+                    return cached;
+                }
+                if (!lock.isLocked()) {
+                    return null;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException("检索被中断");
+        } catch (Exception e) {
+            log.warn("等待跨节点检索结果失败: {}", key, e);
+        }
+        return null;
+    }
+
+    /**
+     * 等待在途请求结果
+     * <p>
+     * Leader 超时未返回时自行执行检索（与跨节点合并一致）；Leader 失败时抛出其异常
+     */
+    private List<SearchResult> await(CompletableFuture<List<SearchResult>> future,
+                                     long timeout,
+                                     Supplier<List<SearchResult>> loader) {
+        try {
+            return future.get(timeout, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("等待合并检索超时（{}ms），降级为本地执行", timeout);
+            return executeAsLeader(loader);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException("检索被中断");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new BusinessException("检索失败", cause);
+        }
+    }
+}
@@ -27,8 +27,13 @@ import top.codestyle.admin.search.service.MilvusSearchService;
 import top.codestyle.admin.search.spi.SearchProvider;
 
 import java.util.*;
-import java.util.concurrent.CompletableFuture;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 /**
  * 检索执行器
@@ -36,7 +41,7 @@ import java.util.stream.Collectors;
  * 核心职责：
  * 1. 管理标准数据源（ES、Milvus）的检索
  * 2. 管理自定义 SPI Provider 的注册和调用
- * 3. 协调混合检索的并行执行
+ * 3. 协调混合检索的并行执行（独立线程池 + 统一截止时间）
  *
  * @author CodeStyle Team
  * @since 2.0.0
@@ -48,6 +53,7 @@ public class SearchExecutor {
 
     private final ElasticsearchSearchService esSearchService;
     private final Optional<MilvusSearchService> milvusSearchService;
+    private final ExecutorService searchTaskExecutor;
 
     /**
      * 通过 SPI 自动加载的自定义 Provider 列表
@@ -98,18 +104,64 @@ public class SearchExecutor {
      * @return 检索结果
      */
     public List<SearchResult> executeHybrid(SearchRequest request) {
-        // 并行执行 ES 和 Milvus 检索
-        List<CompletableFuture<List<SearchResult>>> futures = new ArrayList<>();
+        Map<String, Supplier<List<SearchResult>>> tasks = new LinkedHashMap<>();
 
         // ES 检索
-        futures.add(CompletableFuture.supplyAsync(() -> esSearchService.search(request)));
+        tasks.put("ES", () -> esSearchService.search(request));
 
         // Milvus 检索（如果可用）
-        milvusSearchService.ifPresent(service -> futures.add(CompletableFuture.supplyAsync(() -> service
-            .search(request))));
+        milvusSearchService.ifPresent(service -> tasks.put("Milvus", () -> service.search(request)));
 
-        // 等待所有检索完成
-        return futures.stream().map(CompletableFuture::join).flatMap(List::stream).collect(Collectors.toList());
+        // 并行执行，共享同一截止时间
+        return invokeAll(tasks, request.getTimeout()).getResults();
+    }
+
+    /**
+     * 并行执行多个数据源检索（共享同一截止时间）
+     * <p>
+     * 所有数据源共用一个请求级截止时间，总耗时不超过 timeout；
+     * 截止时间到达时取消未完成的检索，仅返回已完成数据源的结果（部分结果）。
+     * 单个数据源超时、失败或被拒绝执行时按空结果处理，并记录为未完成数据源。
+     *
+     * @param tasks   数据源名称 → 检索任务
+     * @param timeout 超时时间（毫秒）
+     * @return 检索结果（含未完成的数据源）
+     */
+    public SearchOutcome invokeAll(Map<String, Supplier<List<SearchResult>>> tasks, long timeout) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+
+        SearchOutcome outcome = new SearchOutcome();
+
+        // 1. 提交所有检索任务
+        Map<String, Future<List<SearchResult>>> futures = new LinkedHashMap<>();
+        tasks.forEach((name, task) -> {
+            try {
+                futures.put(name, searchTaskExecutor.submit(task::get));
+            } catch (RejectedExecutionException e) {
+                outcome.markIncomplete(name);
+                log.warn("检索线程池已满，跳过数据源: {}", name);
+            }
+        });
+
+        // 2. 在统一截止时间内收集结果，超时的检索直接取消
+        futures.forEach((name, future) -> {
+            long remaining = deadline - System.nanoTime();
+            try {
+                outcome.addResults(future.get(Math.max(remaining, 0L), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                outcome.markIncomplete(name);
+                log.warn("{} 检索超时（{}ms），已取消，使用部分结果", name, timeout);
+            } catch (InterruptedException e) {
+                future.cancel(true);
+                outcome.markIncomplete(name);
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                outcome.markIncomplete(name);
+                log.error("{} 检索失败", name, e.getCause());
+            }
+        });
+        return outcome;
     }
 
     /**
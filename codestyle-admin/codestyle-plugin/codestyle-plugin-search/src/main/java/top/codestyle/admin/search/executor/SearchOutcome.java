@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.search.executor;
+
+import lombok.Getter;
+import top.codestyle.admin.search.model.SearchResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 并行检索结果
+ * <p>
+ * 记录截止时间内未返回、被拒绝执行或执行失败的数据源，存在此类数据源时结果为部分结果，不应写入缓存
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+@Getter
+public class SearchOutcome {
+
+    /**
+     * 已完成数据源的检索结果（按任务顺序合并）
+     */
+    private final List<SearchResult> results = new ArrayList<>();
+
+    /**
+     * 未完成的数据源名称
+     */
+    private final List<String> incompleteSources = new ArrayList<>();
+
+    /**
+     * 是否所有数据源均已完成
+     *
+     * @return true：完整结果；false：部分结果
+     */
+    public boolean isComplete() {
+        return incompleteSources.isEmpty();
+    }
+
+    void addResults(List<SearchResult> sourceResults) {
+        results.addAll(sourceResults);
+    }
+
+    void markIncomplete(String source) {
+        incompleteSources.add(source);
+    }
+}
@@ -19,6 +19,7 @@ package top.codestyle.admin.search.helper;
 import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
+import java.util.TreeMap;
 
 import cn.hutool.core.util.StrUtil;
 import cn.hutool.crypto.digest.DigestUtil;
@@ -39,6 +40,7 @@ import top.continew.starter.cache.redisson.util.RedisUtils;
 public class CacheHelper {
 
     private static final String CACHE_PREFIX = "search:";
+    private static final String GENERATION_PREFIX = "search_generation:";
     private static final long CACHE_TTL = 3600L; // 1 小时
 
     /**
@@ -65,6 +67,71 @@ public class CacheHelper {
         return CACHE_PREFIX + DigestUtil.md5Hex(content);
     }
 
+    /**
+     * 生成缓存 Key（租户 + 索引代数 + 完整归一化请求）
+     * <p>
+     * 索引代数由模板上传/删除时递增，旧代数的缓存 Key 不再可达，无需 KEYS 扫描清理
+     *
+     * @param request    检索请求
+     * @param tenantId   租户 ID
+     * @param generation 租户索引代数
+     * @return 缓存 Key
+     */
+    public static String generateCacheKey(SearchRequest request, Long tenantId, long generation) {
+        return generateTenantKeyPrefix(tenantId) + generation + ":" + DigestUtil.md5Hex(normalizeRequest(request));
+    }
+
+    /**
+     * 生成租户检索缓存 Key 前缀
+     *
+     * @param tenantId 租户 ID
+     * @return 缓存 Key 前缀
+     */
+    public static String generateTenantKeyPrefix(Long tenantId) {
+        return CACHE_PREFIX + tenantId + ":";
+    }
+
+    /**
+     * 生成租户索引代数 Key
+     *
+     * @param tenantId 租户 ID
+     * @return 索引代数 Key
+     */
+    public static String generateGenerationKey(Long tenantId) {
+        return GENERATION_PREFIX + tenantId;
+    }
+
+    /**
+     * 归一化检索请求
+     * <p>
+     * 查询文本去除首尾及连续空白，过滤条件按 Key 排序，保证语义相同的请求得到相同的缓存 Key
+     *
+     * @param request 检索请求
+     * @return 归一化后的请求描述
+     */
+    public static String normalizeRequest(SearchRequest request) {
+        StringBuilder filters = new StringBuilder();
+        if (request.getFilters() != null) {
+            new TreeMap<>(request.getFilters()).forEach((key, value) -> filters.append(key)
+                .append('=')
+                .append(JSONUtil.toJsonStr(value))
+                .append(';'));
+        }
+        return String.format("%s|%s|%d|%b|%s|%s|%s", request.getSourceType(), normalizeQuery(request
+            .getQuery()), request.getTopK(), Boolean.TRUE.equals(request.getEnableRerank()), request
+                .getVectorWeight(), request.getKeywordWeight(), filters);
+    }
+
+    /**
+     * 归一化查询文本
+     *
+     * @param query 查询文本
+     * @return 归一化后的查询文本
+     */
+    public static String normalizeQuery(String query) {
+        return StrUtil.isBlank(query) ? "" : query.trim().replaceAll("\\s+", " ");
+    }
+
     /**
      * 从 Redis 获取缓存
      *
@@ -86,7 +153,18 @@ public class CacheHelper {
      * @param results 检索结果
      */
     public static void setToRedis(String key, List<SearchResult> results) {
-        RedisUtils.set(key, JSONUtil.toJsonStr(results), Duration.ofSeconds(CACHE_TTL));
+        setToRedis(key, results, CACHE_TTL);
+    }
+
+    /**
+     * 设置 Redis 缓存
+     *
+     * @param key        缓存 Key
+     * @param results    检索结果
+     * @param ttlSeconds 过期时间（秒）
+     */
+    public static void setToRedis(String key, List<SearchResult> results, long ttlSeconds) {
+        RedisUtils.set(key, JSONUtil.toJsonStr(results), Duration.ofSeconds(ttlSeconds));
     }
 
     /**
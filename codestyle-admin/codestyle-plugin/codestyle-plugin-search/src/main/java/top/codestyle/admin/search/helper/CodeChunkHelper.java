@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.search.helper;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 代码分块助手
+ * <p>
+ * 按类/方法声明边界切分源码，单块超过行数或字符上限时强制切分；
+ * 不依赖具体语言的语法树，使用常见声明关键字做启发式识别。
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+public class CodeChunkHelper {
+
+    /**
+     * 类型/函数声明（class、interface、def、func、function 等）
+     */
+    private static final Pattern TYPE_OR_FUNCTION = Pattern
+        .compile("^\\s{0,4}(?:(?:public|protected|private|internal|static|final|abstract|sealed|open|data|export|default|async|pub)\\s+)*(?:class|interface|enum|record|object|trait|struct|impl|def|fun|func|function|fn)\\s+([A-Za-z_$][\\w$]*)");
+
+    /**
+     * 带修饰符的方法声明（Java / C# / Kotlin 等）
+     */
+    private static final Pattern METHOD = Pattern
+        .compile("^\\s{0,8}(?:(?:public|protected|private|static|final|abstract|synchronized|override|virtual)\\s+)+[\\w<>\\[\\],.?\\s]*?([A-Za-z_$][\\w$]*)\\s*\\(");
+
+    private CodeChunkHelper() {
+    }
+
+    /**
+     * 代码块
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Chunk {
+
+        /**
+         * 起始行号（从 1 开始）
+         */
+        private final int startLine;
+
+        /**
+         * 结束行号（包含）
+         */
+        private final int endLine;
+
+        /**
+         * 块内第一个声明的名称（可能为空）
+         */
+        private final String symbol;
+
+        /**
+         * 块内容
+         */
+        private final String content;
+    }
+
+    /**
+     * 声明
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Declaration {
+
+        /**
+         * 行号（从 1 开始）
+         */
+        private final int line;
+
+        /**
+         * 声明名称
+         */
+        private final String name;
+
+        /**
+         * 声明所在行（去除首尾空白与行尾的左花括号）
+         */
+        private final String signature;
+    }
+
+    /**
+     * 切分文本
+     *
+     * @param text     文本内容
+     * @param minLines 遇到声明边界时切分所需的最少行数
+     * @param maxLines 单块最大行数
+     * @param maxChars 单块最大字符数
+     * @return 代码块列表
+     */
+    public static List<Chunk> split(String text, int minLines, int maxLines, int maxChars) {
+        List<Chunk> chunks = new ArrayList<>();
+        String[] lines = text.split("\\r?\\n", -1);
+        StringBuilder current = new StringBuilder();
+        int startLine = 1;
+        String symbol = null;
+
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i];
+            int lineCount = i + 1 - startLine;
+            String declared = matchSymbol(line);
+            boolean boundary = declared != null && lineCount >= minLines;
+            boolean full = lineCount >= maxLines || current.length() + line.length() > maxChars;
+            if (lineCount > 0 && (boundary || full)) {
+                addChunk(chunks, startLine, i, symbol, current);
+                current.setLength(0);
+                startLine = i + 1;
+                symbol = null;
+            }
+            if (symbol == null) {
+                symbol = declared;
+            }
+            current.append(line).append('\n');
+        }
+        addChunk(chunks, startLine, lines.length, symbol, current);
+        return chunks;
+    }
+
+    /**
+     * 提取文件大纲（按出现顺序的类型/函数/方法声明）
+     *
+     * @param text            文本内容
+     * @param limit           最多提取的声明数
+     * @param maxSignatureLen 声明行的最大字符数
+     * @return 声明列表
+     */
+    public static List<Declaration> outline(String text, int limit, int maxSignatureLen) {
+        List<Declaration> declarations = new ArrayList<>();
+        String[] lines = text.split("\\r?\\n", -1);
+        for (int i = 0; i < lines.length && declarations.size() < limit; i++) {
+            String name = matchSymbol(lines[i]);
+            if (name == null) {
+                continue;
+            }
+            String signature = lines[i].strip();
+            if (signature.endsWith("{")) {
+                signature = signature.substring(0, signature.length() - 1).stripTrailing();
+            }
+            if (signature.length() > maxSignatureLen) {
+                signature = signature.substring(0, maxSignatureLen) + "...";
+            }
+            declarations.add(new Declaration(i + 1, name, signature));
+        }
+        return declarations;
+    }
+
+    private static void addChunk(List<Chunk> chunks, int startLine, int endLine, String symbol, StringBuilder content) {
+        if (content.toString().isBlank()) {
+            return;
+        }
+        chunks.add(new Chunk(startLine, endLine, symbol, content.toString()));
+    }
+
+    private static String matchSymbol(String line) {
+        Matcher matcher = TYPE_OR_FUNCTION.matcher(line);
+        if (matcher.find()) {
+            return matcher.group(1);
+        }
+        matcher = METHOD.matcher(line);
+        if (matcher.find()) {
+            return matcher.group(1);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,288 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.search.helper;
+
+import cn.hutool.core.io.FileUtil;
+import cn.hutool.core.util.StrUtil;
+import lombok.Getter;
+import org.apache.commons.compress.archivers.ArchiveEntry;
+import org.apache.commons.compress.archivers.sevenz.SevenZArchiveEntry;
+import org.apache.commons.compress.archivers.sevenz.SevenZFile;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorInputStream;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * 模板压缩包流式读取助手
+ * <p>
+ * 直接从上传流中逐个读取 ZIP / TAR.GZ / 7Z 条目，不再解压到临时目录：
+ * - 第一遍只扫描条目名称并缓存 meta.json、README 等小文件，用于定位模板根目录和参数校验
+ * - 第二遍按条目回调处理器，由调用方决定如何上传
+ * 7Z 格式依赖随机访问，仅会将压缩包本身落盘，条目内容同样按流读取。
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+public class TemplateArchiveHelper {
+
+    /** 模板描述文件 */
+    public static final String META_JSON = "meta.json";
+
+    /** README 候选文件名（按优先级） */
+    public static final String[] README_NAMES = {"README.md", "readme.md", "README.MD", "README", "readme"};
+
+    /** 第一遍扫描时缓存的文本条目最大字节数 */
+    private static final int TEXT_ENTRY_LIMIT = 1024 * 1024;
+
+    private TemplateArchiveHelper() {
+    }
+
+    /**
+     * 压缩包条目处理器
+     */
+    @FunctionalInterface
+    public interface EntryHandler {
+
+        /**
+         * 处理单个文件条目
+         *
+         * @param name 条目路径（已规范化，使用 / 分隔）
+         * @param size 条目大小（未知时为 -1）
+         * @param in   条目内容流（由读取方负责关闭，处理器不得关闭）
+         * @throws IOException 读取失败
+         */
+        void handle(String name, long size, InputStream in) throws IOException;
+    }
+
+    /**
+     * 压缩包扫描结果
+     */
+    @Getter
+    public static class ArchiveManifest {
+
+        /** 所有文件条目路径 */
+        private final Set<String> entryNames = new LinkedHashSet<>();
+
+        /** meta.json / README 等小文件内容 */
+        private final Map<String, String> textEntries = new HashMap<>();
+
+        /** 模板根目录前缀（为空或以 / 结尾） */
+        private String rootPrefix = "";
+
+        /**
+         * 是否包含模板根目录下的指定文件
+         */
+        public boolean contains(String relativePath) {
+            return entryNames.contains(rootPrefix + relativePath);
+        }
+
+        /**
+         * 获取模板根目录下的文本文件内容
+         */
+        public String getText(String relativePath) {
+            return textEntries.get(rootPrefix + relativePath);
+        }
+    }
+
+    /**
+     * 扫描压缩包，收集条目名称并定位模板根目录
+     *
+     * @param file 压缩包
+     * @return 扫描结果
+     * @throws IOException 读取失败
+     */
+    public static ArchiveManifest scan(MultipartFile file) throws IOException {
+        ArchiveManifest manifest = new ArchiveManifest();
+        read(file, (name, size, in) -> {
+            manifest.entryNames.add(name);
+            if (isTextCandidate(name) && size <= TEXT_ENTRY_LIMIT) {
+                byte[] bytes = readFully(in, TEXT_ENTRY_LIMIT);
+                if (bytes != null) {
+                    manifest.textEntries.put(name, new String(bytes, StandardCharsets.UTF_8));
+                }
+            }
+        });
+        manifest.rootPrefix = locateRootPrefix(manifest.entryNames);
+        return manifest;
+    }
+
+    /**
+     * 顺序读取压缩包中的所有文件条目
+     *
+     * @param file    压缩包
+     * @param handler 条目处理器
+     * @throws IOException 读取失败
+     */
+    public static void read(MultipartFile file, EntryHandler handler) throws IOException {
+        String name = StrUtil.blankToDefault(file.getOriginalFilename(), "").toLowerCase();
+        if (name.endsWith(".tar.gz") || name.endsWith(".tgz")) {
+            readTarGz(file, handler);
+        } else if (name.endsWith(".7z")) {
+            read7z(file, handler);
+        } else {
+            readZip(file, handler);
+        }
+    }
+
+    /**
+     * 读取条目全部内容，超过上限时返回 null
+     *
+     * @param in       条目内容流
+     * @param maxBytes 最大字节数
+     * @return 条目内容
+     * @throws IOException 读取失败
+     */
+    public static byte[] readFully(InputStream in, long maxBytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        long total = 0;
+        int len;
+        while ((len = in.read(buffer)) != -1) {
+            total += len;
+            if (total > maxBytes) {
+                return null;
+            }
+            out.write(buffer, 0, len);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 自动定位模板根目录
+     * <p>
+     * 压缩包可能有外层嵌套目录（如 template-v1/meta.json），
+     * 在只有唯一子目录时逐层向下，直到找到包含 meta.json 的目录。
+     * </p>
+     */
+    private static String locateRootPrefix(Set<String> entryNames) {
+        String prefix = "";
+        while (!entryNames.contains(prefix + META_JSON)) {
+            String onlyChild = null;
+            for (String entryName : entryNames) {
+                int slash = entryName.indexOf('/', prefix.length());
+                if (slash < 0) {
+                    return prefix;
+                }
+                String child = entryName.substring(prefix.length(), slash);
+                if (onlyChild != null && !onlyChild.equals(child)) {
+                    return prefix;
+                }
+                onlyChild = child;
+            }
+            if (onlyChild == null) {
+                return prefix;
+            }
+            prefix = prefix + onlyChild + "/";
+        }
+        return prefix;
+    }
+
+    private static boolean isTextCandidate(String name) {
+        String fileName = name.substring(name.lastIndexOf('/') + 1);
+        if (META_JSON.equals(fileName)) {
+            return true;
+        }
+        for (String readmeName : README_NAMES) {
+            if (readmeName.equals(fileName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** 读取 TAR.GZ 格式 */
+    private static void readTarGz(MultipartFile file, EntryHandler handler) throws IOException {
+        try (InputStream in = new BufferedInputStream(file.getInputStream());
+            GzipCompressorInputStream gzIn = new GzipCompressorInputStream(in);
+            TarArchiveInputStream tarIn = new TarArchiveInputStream(gzIn)) {
+            ArchiveEntry entry;
+            while ((entry = tarIn.getNextEntry()) != null) {
+                if (!entry.isDirectory()) {
+                    handler.handle(normalizeEntryName(entry.getName()), entry.getSize(), tarIn);
+                }
+            }
+        }
+    }
+
+    /** 读取 7Z 格式（需随机访问，压缩包落盘后按条目流式读取） */
+    private static void read7z(MultipartFile file, EntryHandler handler) throws IOException {
+        File archive = Files.createTempFile("upload-", ".7z").toFile();
+        try {
+            try (InputStream in = file.getInputStream()) {
+                Files.copy(in, archive.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            try (SevenZFile szf = SevenZFile.builder().setFile(archive).get()) {
+                SevenZArchiveEntry entry;
+                while ((entry = szf.getNextEntry()) != null) {
+                    if (!entry.isDirectory()) {
+                        handler.handle(normalizeEntryName(entry.getName()), entry.getSize(), szf
+                            .getInputStream(entry));
+                    }
+                }
+            }
+        } finally {
+            FileUtil.del(archive);
+        }
+    }
+
+    /** 读取 ZIP 格式（Java 原生） */
+    private static void readZip(MultipartFile file, EntryHandler handler) throws IOException {
+        try (ZipInputStream zis = new ZipInputStream(new BufferedInputStream(file.getInputStream()))) {
+            ZipEntry zipEntry;
+            while ((zipEntry = zis.getNextEntry()) != null) {
+                if (!zipEntry.isDirectory()) {
+                    handler.handle(normalizeEntryName(zipEntry.getName()), zipEntry.getSize(), zis);
+                }
+                zis.closeEntry();
+            }
+        }
+    }
+
+    /**
+     * 规范化条目路径（防止 Zip Slip 目录遍历漏洞）
+     */
+    private static String normalizeEntryName(String entryName) throws IOException {
+        String name = entryName.replace("\r", "").replace("\n", "").replace('\\', '/');
+        while (name.startsWith("./")) {
+            name = name.substring(2);
+        }
+        if (name.startsWith("/") || name.contains(":")) {
+            throw new IOException("Entry is outside of the target dir: " + entryName);
+        }
+        for (String part : name.split("/")) {
+            if ("..".equals(part)) {
+                throw new IOException("Entry is outside of the target dir: " + entryName);
+            }
+        }
+        return name;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.search.helper;
+
+import cn.hutool.core.util.StrUtil;
+import top.codestyle.admin.search.model.MetaJson;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 模板索引文档助手
+ * <p>
+ * 上传写入与全量重建共用同一套文档结构，保证两条路径生成的 ES 文档一致
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+public class TemplateIndexHelper {
+
+    private TemplateIndexHelper() {
+    }
+
+    /**
+     * 构建索引文档 ID（tenantId:groupId:artifactId:version）
+     */
+    public static String buildDocId(Long tenantId, String groupId, String artifactId, String version) {
+        return tenantId + ":" + groupId + ":" + artifactId + ":" + version;
+    }
+
+    /**
+     * 构建模板级索引文档
+     *
+     * @param tenantId   租户 ID
+     * @param groupId    groupId
+     * @param artifactId artifactId
+     * @param version    版本号
+     * @param metaJson   meta.json
+     * @param fileCount  文件数量
+     * @param createTime 创建时间
+     * @return 索引文档
+     */
+    public static Map<String, Object> buildDocument(Long tenantId,
+                                                    String groupId,
+                                                    String artifactId,
+                                                    String version,
+                                                    MetaJson metaJson,
+                                                    long fileCount,
+                                                    LocalDateTime createTime) {
+        Map<String, Object> doc = new HashMap<>();
+        doc.put("tenantId", tenantId);
+        doc.put("id", buildDocId(tenantId, groupId, artifactId, version));
+        doc.put("title", artifactId);
+        doc.put("name", metaJson.getName());
+        doc.put("summary", buildSummary(metaJson, fileCount));
+        doc.put("groupId", groupId);
+        doc.put("artifactId", artifactId);
+        doc.put("version", version);
+        doc.put("tags", metaJson.getTags());
+        doc.put("description", metaJson.getDescription());
+        doc.put("fileCount", fileCount);
+        doc.put("keywords", buildKeywords(metaJson, groupId, artifactId));
+        doc.put("createTime", createTime != null ? createTime.toString() : null);
+        return doc;
+    }
+
+    private static String buildSummary(MetaJson metaJson, long fileCount) {
+        String description = StrUtil.blankToDefault(metaJson.getDescription(), StrUtil.blankToDefault(metaJson
+            .getName(), ""));
+        String summary = description;
+        if (summary.length() > 300) {
+            summary = summary.substring(0, 300);
+        }
+        return summary + " | fileCount=" + fileCount;
+    }
+
+    private static List<String> buildKeywords(MetaJson metaJson, String groupId, String artifactId) {
+        Set<String> keywords = new LinkedHashSet<>();
+        keywords.add(groupId);
+        keywords.add(artifactId);
+        if (StrUtil.isNotBlank(metaJson.getName())) {
+            keywords.add(metaJson.getName());
+        }
+        if (metaJson.getTags() != null) {
+            keywords.addAll(metaJson.getTags());
+        }
+        if (metaJson.getFiles() != null) {
+            metaJson.getFiles().stream().limit(20).forEach(file -> {
+                if (StrUtil.isNotBlank(file.getFilename())) {
+                    keywords.add(file.getFilename());
+                }
+                if (StrUtil.isNotBlank(file.getFilePath())) {
+                    keywords.add(file.getFilePath());
+                }
+            });
+        }
+        return new ArrayList<>(keywords);
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.search.helper;
+
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.crypto.SecureUtil;
+import org.dromara.x.file.storage.core.FileInfo;
+import top.codestyle.admin.search.model.TemplateManifest;
+import top.codestyle.admin.system.model.entity.FileDO;
+import top.codestyle.admin.system.model.entity.StorageDO;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 模板文件清单助手
+ * <p>
+ * 负责从文件记录构建清单，以及一次遍历构建文件树和路径索引
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+public class TemplateManifestHelper {
+
+    private TemplateManifestHelper() {
+    }
+
+    /**
+     * 从文件记录构建清单
+     *
+     * @param files            模板版本下的文件记录（不含目录）
+     * @param templatePrefix   模板存储前缀路径
+     * @param platformResolver 存储 ID → 存储平台编码
+     * @return 文件清单
+     */
+    public static TemplateManifest build(List<FileDO> files,
+                                         String templatePrefix,
+                                         Function<Long, String> platformResolver) {
+        List<TemplateManifest.FileEntry> entries = new ArrayList<>(files.size());
+        for (FileDO file : files) {
+            String parentPath = file.getParentPath();
+            // likeRight 会匹配到同名前缀的其他版本（如 1.0.0 与 1.0.0-beta），需要按目录边界过滤
+            if (!parentPath.equals(templatePrefix) && !parentPath.startsWith(templatePrefix + "/")) {
+                continue;
+            }
+            String relativeDir = StrUtil.removePrefix(parentPath.substring(templatePrefix.length()), "/");
+            TemplateManifest.FileEntry entry = new TemplateManifest.FileEntry();
+            entry.setId(file.getId());
+            entry.setPath(relativeDir.isEmpty() ? file.getOriginalName() : relativeDir + "/" + file.getOriginalName());
+            entry.setName(file.getName());
+            entry.setOriginalName(file.getOriginalName());
+            entry.setSize(file.getSize());
+            entry.setParentPath(parentPath);
+            entry.setStoragePath(file.getPath());
+            entry.setExtension(file.getExtension());
+            entry.setContentType(file.getContentType());
+            entry.setSha256(file.getSha256());
+            entry.setPlatform(platformResolver.apply(file.getStorageId()));
+            entries.add(entry);
+        }
+        entries.sort(Comparator.comparing(TemplateManifest.FileEntry::getPath));
+
+        TemplateManifest manifest = new TemplateManifest();
+        manifest.setFingerprint(fingerprint(entries));
+        manifest.setFiles(entries);
+        return manifest;
+    }
+
+    /**
+     * 构建文件树与路径索引（每个文件和目录只处理一次）
+     *
+     * @param manifest 文件清单
+     * @return 文件清单
+     */
+    public static TemplateManifest materialize(TemplateManifest manifest) {
+        Map<String, TemplateManifest.FileEntry> fileIndex = new HashMap<>(manifest.getFiles().size() * 2);
+        Map<String, DirNode> dirs = new HashMap<>();
+        DirNode root = new DirNode("", "");
+        dirs.put("", root);
+        for (TemplateManifest.FileEntry entry : manifest.getFiles()) {
+            fileIndex.put(entry.getPath(), entry);
+            int index = entry.getPath().lastIndexOf('/');
+            resolveDir(dirs, index < 0 ? "" : entry.getPath().substring(0, index)).files.add(entry);
+        }
+        manifest.setFileIndex(Collections.unmodifiableMap(fileIndex));
+        manifest.setTree(Collections.unmodifiableList(toTree(root)));
+        return manifest;
+    }
+
+    /**
+     * 转换为存储文件信息
+     *
+     * @param entry 清单中的文件
+     * @return 存储文件信息
+     */
+    public static FileInfo toFileInfo(TemplateManifest.FileEntry entry) {
+        FileDO file = new FileDO();
+        file.setName(entry.getName());
+        file.setOriginalName(entry.getOriginalName());
+        file.setSize(entry.getSize());
+        file.setParentPath(entry.getParentPath());
+        file.setPath(entry.getStoragePath());
+        file.setExtension(entry.getExtension());
+        file.setContentType(entry.getContentType());
+        StorageDO storage = new StorageDO();
+        storage.setCode(entry.getPlatform());
+        return file.toFileInfo(storage);
+    }
+
+    /**
+     * 文件集合指纹：相对路径 + 文件记录 ID + 大小 + 内容哈希，增量覆盖时原位更新的文件记录 ID 不变，由内容哈希区分
+     */
+    private static String fingerprint(List<TemplateManifest.FileEntry> entries) {
+        return SecureUtil.sha256(entries.stream()
+            .map(e -> e.getPath() + ":" + e.getId() + ":" + e.getSize() + ":" + e.getSha256())
+            .collect(Collectors.joining("\n"))).substring(0, 32);
+    }
+
+    private static DirNode resolveDir(Map<String, DirNode> dirs, String dirPath) {
+        DirNode node = dirs.get(dirPath);
+        if (node != null) {
+            return node;
+        }
+        int index = dirPath.lastIndexOf('/');
+        DirNode parent = resolveDir(dirs, index < 0 ? "" : dirPath.substring(0, index));
+        node = new DirNode(dirPath.substring(index + 1), dirPath);
+        parent.dirs.add(node);
+        dirs.put(dirPath, node);
+        return node;
+    }
+
+    /** 子目录在前（按名称排序），文件在后（按名称忽略大小写排序） */
+    private static List<Map<String, Object>> toTree(DirNode dir) {
+        dir.dirs.sort(Comparator.comparing(d -> d.name));
+        dir.files.sort(Comparator.comparing(f -> f.getOriginalName().toLowerCase()));
+        List<Map<String, Object>> nodes = new ArrayList<>(dir.dirs.size() + dir.files.size());
+        for (DirNode child : dir.dirs) {
+            Map<String, Object> dirNode = new LinkedHashMap<>();
+            dirNode.put("name", child.name);
+            dirNode.put("path", child.path);
+            dirNode.put("isDir", true);
+            dirNode.put("children", toTree(child));
+            nodes.add(dirNode);
+        }
+        for (TemplateManifest.FileEntry file : dir.files) {
+            Map<String, Object> fileNode = new LinkedHashMap<>();
+            fileNode.put("name", file.getOriginalName());
+            fileNode.put("path", file.getPath());
+            fileNode.put("isDir", false);
+            fileNode.put("size", file.getSize());
+            nodes.add(fileNode);
+        }
+        return nodes;
+    }
+
+    /**
+     * 构建中的目录节点
+     */
+    private static class DirNode {
+
+        private final String name;
+        private final String path;
+        private final List<DirNode> dirs = new ArrayList<>();
+        private final List<TemplateManifest.FileEntry> files = new ArrayList<>();
+
+        private DirNode(String name, String path) {
+            this.name = name;
+            this.path = path;
+        }
+    }
+}
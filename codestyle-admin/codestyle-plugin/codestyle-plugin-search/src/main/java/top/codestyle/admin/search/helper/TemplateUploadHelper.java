@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package top.codestyle.admin.search.helper;
+
+import cn.hutool.core.util.StrUtil;
+import top.codestyle.admin.system.enums.FileTypeEnum;
+import top.codestyle.admin.system.model.entity.FileDO;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * 模板上传差异助手
+ * <p>
+ * 负责判断压缩包中的文件与模板版本已有记录的差异（新增、更新、未变更、移除），以及移除文件后需要清理的空目录
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+public class TemplateUploadHelper {
+
+    private TemplateUploadHelper() {
+    }
+
+    /**
+     * 文件上传方式
+     */
+    public enum Decision {
+
+        /**
+         * 内容与存储均未变化，跳过上传
+         */
+        UNCHANGED,
+
+        /**
+         * 写入新内容，已有记录改为指向新内容（保留记录 ID）
+         */
+        REPLACE,
+
+        /**
+         * 写入新内容并新增记录（已有记录随后删除）
+         */
+        ADD
+    }
+
+    /**
+     * 判断压缩包中的文件如何上传
+     * <p>
+     * 与已有记录位于同一存储且内容哈希相同时未变更；同一存储中指向共享内容对象的记录原地替换，
+     * 其余（新文件、存储变更或非共享存储的旧记录）作为新记录写入。
+     * </p>
+     *
+     * @param previous      模板版本中相同相对路径的已有记录（新文件为 null）
+     * @param sha256        文件内容 SHA-256
+     * @param storageId     当前存储 ID
+     * @param blobPredicate 已有记录是否指向共享内容对象
+     * @return 上传方式
+     */
+    public static Decision decide(FileDO previous, String sha256, Long storageId, Predicate<FileDO> blobPredicate) {
+        boolean sameStorage = previous != null && storageId.equals(previous.getStorageId());
+        if (sameStorage && sha256.equalsIgnoreCase(previous.getSha256())) {
+            return Decision.UNCHANGED;
+        }
+        return sameStorage && blobPredicate.test(previous) ? Decision.REPLACE : Decision.ADD;
+    }
+
+    /**
+     * 收集需要删除的已有文件记录
+     * <p>
+     * 包括压缩包中已不存在的文件，以及作为新记录重新写入的文件（存储变更或非共享存储的旧记录）
+     * </p>
+     *
+     * @param existingFiles 模板版本已有的文件记录（按相对路径）
+     * @param seenPaths     压缩包中的文件（相对路径）
+     * @param addedPaths    作为新记录写入的文件（相对路径）
+     * @return 需要删除的文件记录
+     */
+    public static List<FileDO> collectRemoved(Map<String, FileDO> existingFiles,
+                                              Set<String> seenPaths,
+                                              Set<String> addedPaths) {
+        List<FileDO> removed = new ArrayList<>();
+        existingFiles.forEach((relativePath, record) -> {
+            if (!seenPaths.contains(relativePath) || addedPaths.contains(relativePath)) {
+                removed.add(record);
+            }
+        });
+        return removed;
+    }
+
+    /**
+     * 收集需要删除的记录 ID：已移除的文件，以及不再包含任何文件的目录（模板根目录与其他版本的目录不受影响）
+     *
+     * @param removed         需要删除的文件记录
+     * @param currentRecords  模板版本当前的文件及目录记录（含本次新增的记录）
+     * @param existingRecords 上传前模板版本的文件及目录记录
+     * @param templatePrefix  模板存储前缀路径
+     * @return 需要删除的记录 ID（文件在前，目录在后）
+     */
+    public static List<Long> collectDeleteIds(List<FileDO> removed,
+                                              List<FileDO> currentRecords,
+                                              List<FileDO> existingRecords,
+                                              String templatePrefix) {
+        Set<Long> removedIds = new LinkedHashSet<>();
+        removed.forEach(record -> removedIds.add(record.getId()));
+        Set<String> usedDirs = new HashSet<>();
+        for (FileDO record : currentRecords) {
+            if (FileTypeEnum.DIR.equals(record.getType()) || removedIds.contains(record.getId())) {
+                continue;
+            }
+            for (String dir = record.getParentPath(); dir.startsWith(templatePrefix + "/"); dir = dir.substring(0, dir
+                .lastIndexOf('/'))) {
+                usedDirs.add(dir);
+            }
+        }
+        List<Long> ids = new ArrayList<>(removedIds);
+        for (FileDO record : existingRecords) {
+            if (FileTypeEnum.DIR.equals(record.getType()) && record.getPath()
+                .startsWith(templatePrefix + "/") && !usedDirs.contains(record.getPath())) {
+                ids.add(record.getId());
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * 文件记录在模板内的相对路径
+     *
+     * @param record         文件记录
+     * @param templatePrefix 模板存储前缀路径
+     * @return 相对路径
+     */
+    public static String relativePath(FileDO record, String templatePrefix) {
+        String relativeDir = StrUtil.removePrefix(record.getParentPath().substring(templatePrefix.length()), "/");
+        return relativeDir.isEmpty() ? record.getOriginalName() : relativeDir + "/" + record.getOriginalName();
+    }
+}
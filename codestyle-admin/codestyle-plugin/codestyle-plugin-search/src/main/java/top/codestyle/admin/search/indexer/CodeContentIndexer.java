@@ -0,0 +1,332 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.search.indexer;
+
+import cn.hutool.core.io.file.FileNameUtil;
+import cn.hutool.core.util.IdUtil;
+import cn.hutool.core.util.StrUtil;
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.Conflicts;
+import co.elastic.clients.elasticsearch._helpers.bulk.BulkIngester;
+import co.elastic.clients.elasticsearch._helpers.bulk.BulkListener;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.x.file.storage.core.FileStorageService;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+import top.codestyle.admin.search.config.SearchProperties;
+import top.codestyle.admin.search.helper.CodeChunkHelper;
+import top.codestyle.admin.search.mapper.TemplateFileMapper;
+import top.codestyle.admin.system.enums.FileTypeEnum;
+import top.codestyle.admin.system.model.entity.FileDO;
+import top.codestyle.admin.system.model.entity.StorageDO;
+import top.codestyle.admin.system.service.StorageService;
+import top.continew.starter.core.exception.BusinessException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 模板代码内容索引器
+ * <p>
+ * 将模板中的文本文件按类/方法边界分块写入独立的代码索引（code_analyzer 拆分驼峰/下划线，
+ * ngram 子字段支持标识符片段匹配）。重建时先写入带新批次号的分块，再按模板删除旧批次，
+ * 检索过程中不会出现空窗。由索引发件箱消费者调用，失败时随发件箱记录重试。
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CodeContentIndexer {
+
+    private static final String INDEX_DEFINITION = "elasticsearch/code-index.json";
+
+    private final ElasticsearchClient esClient;
+    private final TemplateFileMapper templateFileMapper;
+    private final StorageService storageService;
+    private final FileStorageService fileStorageService;
+    private final SearchProperties searchProperties;
+
+    /**
+     * 应用启动后自动创建代码索引
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!isEnabled()) {
+            return;
+        }
+        try {
+            ensureIndex();
+        } catch (Exception e) {
+            log.error("代码索引初始化失败", e);
+        }
+    }
+
+    /**
+     * 是否启用代码内容索引
+     */
+    public boolean isEnabled() {
+        return Boolean.TRUE.equals(searchProperties.getCode().getEnabled());
+    }
+
+    /**
+     * 创建代码索引（已存在时跳过）
+     */
+    public void ensureIndex() throws IOException {
+        String index = searchProperties.getCode().getIndex();
+        if (esClient.indices().exists(e -> e.index(index)).value()) {
+            return;
+        }
+        try (InputStream in = new ClassPathResource(INDEX_DEFINITION).getInputStream()) {
+            esClient.indices().create(c -> c.index(index).withJson(in));
+        }
+        log.info("代码索引已创建: {}", index);
+    }
+
+    /**
+     * 重建模板版本的代码分块
+     *
+     * @param tenantId       租户 ID
+     * @param templateId     模板文档 ID
+     * @param groupId        groupId
+     * @param artifactId     artifactId
+     * @param version        版本号
+     * @param templatePrefix 模板存储前缀路径
+     * @return 写入的分块数量
+     */
+    public int indexTemplate(Long tenantId,
+                             String templateId,
+                             String groupId,
+                             String artifactId,
+                             String version,
+                             String templatePrefix) throws IOException {
+        List<FileDO> files = templateFileMapper.selectTemplateFiles(tenantId, templatePrefix);
+        Map<Long, StorageDO> storageCache = new HashMap<>();
+        int chunkCount;
+        try (ChunkWriter writer = openWriter(tenantId, templateId, groupId, artifactId, version)) {
+            for (FileDO file : files) {
+                String text = readText(file, storageCache);
+                if (text == null) {
+                    continue;
+                }
+                String relativePath = StrUtil.removePrefix(StrUtil.removePrefix(file.getParentPath(), templatePrefix), "/");
+                String filePath = relativePath.isEmpty()
+                    ? file.getOriginalName()
+                    : relativePath + "/" + file.getOriginalName();
+                writer.add(filePath, StrUtil.blankToDefault(file.getExtension(), FileNameUtil.extName(file
+                    .getOriginalName())), text);
+            }
+            writer.commit();
+            chunkCount = writer.getChunkCount();
+        }
+        log.info("模板代码索引完成: templateId={}, 文件 {} 个, 分块 {} 个", templateId, files.size(), chunkCount);
+        return chunkCount;
+    }
+
+    /**
+     * 打开代码分块写入器
+     * <p>
+     * 文件可由多个线程并发写入；调用 {@link ChunkWriter#commit()} 后删除该模板的旧批次，
+     * 未提交就关闭时只刷出已写入的分块，旧批次保留。
+     *
+     * @param tenantId   租户 ID
+     * @param templateId 模板文档 ID
+     * @param groupId    groupId
+     * @param artifactId artifactId
+     * @param version    版本号
+     * @return 写入器
+     */
+    public ChunkWriter openWriter(Long tenantId, String templateId, String groupId, String artifactId, String version) {
+        return new ChunkWriter(tenantId, templateId, groupId, artifactId, version);
+    }
+
+    /**
+     * 删除模板的代码分块
+     *
+     * @param templateId 模板文档 ID
+     */
+    public void deleteTemplate(String templateId) throws IOException {
+        deleteChunks(templateId, null);
+    }
+
+    private void deleteChunks(String templateId, String keepBatchId) throws IOException {
+        esClient.deleteByQuery(d -> d.index(searchProperties.getCode().getIndex())
+            .conflicts(Conflicts.Proceed)
+            .query(q -> q.bool(b -> {
+                b.filter(f -> f.term(t -> t.field("templateId").value(templateId)));
+                if (keepBatchId != null) {
+                    b.mustNot(m -> m.term(t -> t.field("batchId").value(keepBatchId)));
+                }
+                return b;
+            })));
+    }
+
+    /**
+     * 读取文本文件内容（非代码类型、超过大小上限或包含二进制内容时返回 null）
+     */
+    private String readText(FileDO file, Map<Long, StorageDO> storageCache) {
+        String extension = StrUtil.blankToDefault(file.getExtension(), FileNameUtil.extName(file.getOriginalName()));
+        boolean textFile = FileTypeEnum.CODE.getExtensions().contains(StrUtil.emptyIfNull(extension).toLowerCase())
+            || "txt".equalsIgnoreCase(extension);
+        if (!textFile || file.getSize() == null || file.getSize() > searchProperties.getCode().getMaxFileSize()) {
+            return null;
+        }
+        StorageDO storage = storageCache.computeIfAbsent(file.getStorageId(), storageService::getById);
+        byte[] bytes = fileStorageService.download(file.toFileInfo(storage)).bytes();
+        for (byte b : bytes) {
+            if (b == 0) {
+                return null;
+            }
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 代码分块写入器（同一批次号）
+     */
+    public class ChunkWriter implements AutoCloseable {
+
+        private final Long tenantId;
+        private final String templateId;
+        private final String groupId;
+        private final String artifactId;
+        private final String version;
+        private final String batchId = IdUtil.fastSimpleUUID();
+        private final AtomicReference<String> bulkError = new AtomicReference<>();
+        private final AtomicInteger chunkCount = new AtomicInteger();
+        private final BulkIngester<Void> ingester;
+        private boolean closed;
+
+        private ChunkWriter(Long tenantId, String templateId, String groupId, String artifactId, String version) {
+            this.tenantId = tenantId;
+            this.templateId = templateId;
+            this.groupId = groupId;
+            this.artifactId = artifactId;
+            this.version = version;
+            this.ingester = BulkIngester.of(b -> b.client(esClient)
+                .maxOperations(searchProperties.getIndexing().getBatchSize())
+                .listener(new ErrorCollectingListener(bulkError)));
+        }
+
+        /**
+         * 写入文件（按类/方法边界切分）
+         *
+         * @param filePath 文件相对路径
+         * @param language 语言（扩展名）
+         * @param text     文件内容
+         */
+        public void add(String filePath, String language, String text) {
+            SearchProperties.CodeProperties code = searchProperties.getCode();
+            List<CodeChunkHelper.Chunk> chunks = CodeChunkHelper.split(text, code.getMinChunkLines(), code
+                .getMaxChunkLines(), code.getMaxChunkChars());
+            String fileName = FileNameUtil.getName(filePath);
+            for (int i = 0; i < chunks.size(); i++) {
+                CodeChunkHelper.Chunk chunk = chunks.get(i);
+                Map<String, Object> doc = new HashMap<>();
+                doc.put("tenantId", tenantId);
+                doc.put("templateId", templateId);
+                doc.put("batchId", batchId);
+                doc.put("groupId", groupId);
+                doc.put("artifactId", artifactId);
+                doc.put("version", version);
+                doc.put("filePath", filePath);
+                doc.put("fileName", fileName);
+                doc.put("language", language);
+                doc.put("symbol", chunk.getSymbol());
+                doc.put("startLine", chunk.getStartLine());
+                doc.put("endLine", chunk.getEndLine());
+                doc.put("content", chunk.getContent());
+                String docId = templateId + ":" + filePath + "#" + i;
+                ingester.add(o -> o.index(idx -> idx.index(code.getIndex()).id(docId).document(doc)));
+            }
+            chunkCount.addAndGet(chunks.size());
+        }
+
+        /**
+         * 刷出全部分块并删除旧批次
+         *
+         * @throws BusinessException 分块写入失败
+         */
+        public void commit() throws IOException {
+            close();
+            if (bulkError.get() != null) {
+                throw new BusinessException("代码分块写入失败: " + bulkError.get());
+            }
+            deleteChunks(templateId, batchId);
+        }
+
+        /**
+         * 已写入的分块数量
+         */
+        public int getChunkCount() {
+            return chunkCount.get();
+        }
+
+        @Override
+        public synchronized void close() {
+            if (!closed) {
+                closed = true;
+                ingester.close();
+            }
+        }
+    }
+
+    /**
+     * 记录 bulk 写入中的首个错误
+     */
+    @RequiredArgsConstructor
+    private static class ErrorCollectingListener implements BulkListener<Void> {
+
+        private final AtomicReference<String> error;
+
+        @Override
+        public void beforeBulk(long executionId, BulkRequest request, List<Void> contexts) {
+            // 无需处理
+        }
+
+        @Override
+        public void afterBulk(long executionId, BulkRequest request, List<Void> contexts, BulkResponse response) {
+            if (!response.errors()) {
+                return;
+            }
+            for (BulkResponseItem item : response.items()) {
+                if (item.error() != null) {
+                    error.compareAndSet(null, item.error().reason());
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public void afterBulk(long executionId, BulkRequest request, List<Void> contexts, Throwable failure) {
+            error.compareAndSet(null, StrUtil.nullToDefault(failure.getMessage(), failure.getClass().getSimpleName()));
+        }
+    }
+}
@@ -0,0 +1,322 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.search.indexer;
+
+import cn.hutool.core.thread.NamedThreadFactory;
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.json.JSONObject;
+import cn.hutool.json.JSONUtil;
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._helpers.bulk.BulkIngester;
+import co.elastic.clients.elasticsearch._helpers.bulk.BulkListener;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.stereotype.Component;
+import top.codestyle.admin.search.cache.SearchResultCache;
+import top.codestyle.admin.search.config.SearchProperties;
+import top.codestyle.admin.search.constant.SearchIndexConstants;
+import top.codestyle.admin.search.mapper.IndexOutboxMapper;
+import top.codestyle.admin.search.model.entity.IndexOutboxDO;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * 索引发件箱消费者
+ * <p>
+ * 定时（或事务提交后被唤醒）拉取到期的发件箱记录，通过 {@link BulkIngester} 批量写入/删除 ES 文档：
+ * - 成功：删除发件箱记录，并使对应租户的检索缓存失效
+ * - 失败：按指数退避推迟下次处理时间，超过最大重试次数后标记为失败
+ * 全量重建期间会同时写入新索引（影子索引），保证别名切换后不丢失增量。
+ * 代码内容索引记录不经过 BulkIngester，由 {@link CodeContentIndexer} 逐个模板同步处理。
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IndexOutboxWorker {
+
+    private final IndexOutboxMapper indexOutboxMapper;
+    private final ElasticsearchClient esClient;
+    private final RedissonClient redissonClient;
+    private final SearchResultCache searchResultCache;
+    private final CodeContentIndexer codeContentIndexer;
+    private final SearchProperties searchProperties;
+
+    private final LongAdder succeededCount = new LongAdder();
+    private final LongAdder retriedCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private final AtomicBoolean wakeUpRequested = new AtomicBoolean();
+
+    private ScheduledExecutorService scheduler;
+    private volatile String shadowIndex;
+
+    @PostConstruct
+    public void start() {
+        long pollInterval = searchProperties.getIndexing().getPollInterval();
+        scheduler = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("search-index-outbox-", true));
+        scheduler.scheduleWithFixedDelay(this::drain, pollInterval, pollInterval, TimeUnit.MILLISECONDS);
+        log.info("索引发件箱消费者已启动，轮询间隔: {}ms", pollInterval);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * 唤醒消费者立即处理（事务提交后调用，合并重复唤醒）
+     */
+    public void wakeUp() {
+        if (!wakeUpRequested.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            scheduler.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            wakeUpRequested.set(false);
+        }
+    }
+
+    /**
+     * 设置影子索引（全量重建期间增量同时写入新索引，传 null 取消）
+     */
+    public void setShadowIndex(String shadowIndex) {
+        this.shadowIndex = shadowIndex;
+    }
+
+    /**
+     * 获取统计信息
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("succeededCount", succeededCount.sum());
+        stats.put("retriedCount", retriedCount.sum());
+        stats.put("failedCount", failedCount.sum());
+        stats.put("shadowIndex", shadowIndex);
+        return stats;
+    }
+
+    private void drain() {
+        wakeUpRequested.set(false);
+        RLock lock = redissonClient.getLock(SearchIndexConstants.OUTBOX_LOCK_KEY);
+        boolean locked = false;
+        try {
+            // 租约为 -1 时由 Redisson 看门狗续期，避免大批量处理超过固定租约后被其他节点并发处理
+            locked = lock.tryLock(0, -1, TimeUnit.MILLISECONDS);
+            if (locked) {
+                processPending();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("索引发件箱处理失败", e);
+        } finally {
+            if (locked && lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void processPending() {
+        SearchProperties.IndexingProperties indexing = searchProperties.getIndexing();
+        String alias = searchProperties.getElasticsearch().getIndex();
+        String shadow = shadowIndex;
+
+        Map<Long, IndexOutboxDO> inFlight = new LinkedHashMap<>();
+        List<IndexOutboxDO> codeRows = new ArrayList<>();
+        Set<Long> succeeded = ConcurrentHashMap.newKeySet();
+        Map<Long, String> failures = new ConcurrentHashMap<>();
+        BulkIngester<Long> ingester = BulkIngester.of(b -> b.client(esClient)
+            .maxOperations(indexing.getBatchSize())
+            .listener(new OutboxBulkListener(succeeded, failures)));
+        try {
+            long lastId = 0L;
+            for (int i = 0; i < indexing.getMaxBatchesPerCycle(); i++) {
+                List<IndexOutboxDO> rows = indexOutboxMapper.lambdaQuery()
+                    .eq(IndexOutboxDO::getStatus, SearchIndexConstants.STATUS_PENDING)
+                    .le(IndexOutboxDO::getNextRetryTime, LocalDateTime.now())
+                    .gt(IndexOutboxDO::getId, lastId)
+                    .orderByAsc(IndexOutboxDO::getId)
+                    .last("LIMIT " + indexing.getBatchSize())
+                    .list();
+                for (IndexOutboxDO row : rows) {
+                    inFlight.put(row.getId(), row);
+                    if (isCodeOperation(row)) {
+                        codeRows.add(row);
+                        continue;
+                    }
+                    ingester.add(buildOperation(row, alias), row.getId());
+                    if (shadow != null) {
+                        // 影子索引写入不单独跟踪结果，失败由全量重建兜底
+                        ingester.add(buildOperation(row, shadow), null);
+                    }
+                }
+                if (rows.size() < indexing.getBatchSize()) {
+                    break;
+                }
+                lastId = rows.get(rows.size() - 1).getId();
+            }
+        } finally {
+            // 刷新剩余操作并等待所有 bulk 请求完成
+            ingester.close();
+        }
+        for (IndexOutboxDO row : codeRows) {
+            processCode(row, succeeded, failures);
+        }
+        if (!inFlight.isEmpty()) {
+            applyResults(inFlight, succeeded, failures);
+        }
+    }
+
+    private boolean isCodeOperation(IndexOutboxDO row) {
+        return SearchIndexConstants.OP_CODE_INDEX.equals(row.getOpType()) || SearchIndexConstants.OP_CODE_DELETE
+            .equals(row.getOpType());
+    }
+
+    private void processCode(IndexOutboxDO row, Set<Long> succeeded, Map<Long, String> failures) {
+        // 功能关闭后遗留的记录直接丢弃
+        if (!codeContentIndexer.isEnabled()) {
+            succeeded.add(row.getId());
+            return;
+        }
+        try {
+            if (SearchIndexConstants.OP_CODE_DELETE.equals(row.getOpType())) {
+                codeContentIndexer.deleteTemplate(row.getDocId());
+            } else {
+                JSONObject payload = JSONUtil.parseObj(row.getPayload());
+                codeContentIndexer.indexTemplate(row.getTenantId(), row.getDocId(), payload
+                    .getStr("groupId"), payload.getStr("artifactId"), payload.getStr("version"), payload
+                        .getStr("templatePrefix"));
+            }
+            succeeded.add(row.getId());
+        } catch (Exception e) {
+            failures.put(row.getId(), StrUtil.nullToDefault(e.getMessage(), e.getClass().getSimpleName()));
+        }
+    }
+
+    private BulkOperation buildOperation(IndexOutboxDO row, String index) {
+        if (SearchIndexConstants.OP_DELETE.equals(row.getOpType())) {
+            return BulkOperation.of(o -> o.delete(d -> d.index(index).id(row.getDocId())));
+        }
+        Map<String, Object> document = JSONUtil.parseObj(row.getPayload());
+        return BulkOperation.of(o -> o.index(i -> i.index(index).id(row.getDocId()).document(document)));
+    }
+
+    private void applyResults(Map<Long, IndexOutboxDO> inFlight, Set<Long> succeeded, Map<Long, String> failures) {
+        if (!succeeded.isEmpty()) {
+            indexOutboxMapper.deleteByIds(succeeded);
+            succeededCount.add(succeeded.size());
+            // 索引变更对检索可见后再使缓存失效
+            succeeded.stream()
+                .map(id -> inFlight.get(id).getTenantId())
+                .collect(Collectors.toSet())
+                .forEach(searchResultCache::invalidateTenant);
+        }
+
+        SearchProperties.IndexingProperties indexing = searchProperties.getIndexing();
+        LocalDateTime now = LocalDateTime.now();
+        failures.forEach((id, error) -> {
+            IndexOutboxDO row = inFlight.get(id);
+            int retryCount = row.getRetryCount() + 1;
+            boolean exhausted = retryCount >= indexing.getMaxRetries();
+            long backoff = Math.min(indexing.getBackoffBase() << Math.min(retryCount - 1, 20), indexing
+                .getBackoffMax());
+            indexOutboxMapper.lambdaUpdate()
+                .eq(IndexOutboxDO::getId, id)
+                .set(IndexOutboxDO::getRetryCount, retryCount)
+                .set(IndexOutboxDO::getStatus, exhausted
+                    ? SearchIndexConstants.STATUS_FAILED
+                    : SearchIndexConstants.STATUS_PENDING)
+                .set(IndexOutboxDO::getNextRetryTime, now.plusNanos(TimeUnit.MILLISECONDS.toNanos(backoff)))
+                .set(IndexOutboxDO::getLastError, StrUtil.maxLength(error, 490))
+                .set(IndexOutboxDO::getUpdateTime, now)
+                .update();
+            if (exhausted) {
+                failedCount.increment();
+                log.error("索引同步失败且超过最大重试次数: docId={}, op={}, error={}", row.getDocId(), row
+                    .getOpType(), error);
+            } else {
+                retriedCount.increment();
+                log.warn("索引同步失败，{}ms 后重试: docId={}, op={}, error={}", backoff, row.getDocId(), row
+                    .getOpType(), error);
+            }
+        });
+    }
+
+    /**
+     * 收集每个 bulk 条目的处理结果（上下文为发件箱记录 ID，影子索引条目为 null）
+     */
+    @RequiredArgsConstructor
+    private static class OutboxBulkListener implements BulkListener<Long> {
+
+        private final Set<Long> succeeded;
+        private final Map<Long, String> failures;
+
+        @Override
+        public void beforeBulk(long executionId, BulkRequest request, List<Long> contexts) {
+            // 无需处理
+        }
+
+        @Override
+        public void afterBulk(long executionId, BulkRequest request, List<Long> contexts, BulkResponse response) {
+            List<BulkResponseItem> items = response.items();
+            for (int i = 0; i < items.size(); i++) {
+                Long id = contexts.get(i);
+                if (id == null) {
+                    continue;
+                }
+                BulkResponseItem item = items.get(i);
+                // 删除不存在的文档返回 not_found，不视为错误
+                if (item.error() == null) {
+                    succeeded.add(id);
+                } else {
+                    failures.put(id, StrUtil.nullToDefault(item.error().reason(), item.error().type()));
+                }
+            }
+        }
+
+        @Override
+        public void afterBulk(long executionId, BulkRequest request, List<Long> contexts, Throwable failure) {
+            String error = StrUtil.nullToDefault(failure.getMessage(), failure.getClass().getSimpleName());
+            contexts.stream().filter(Objects::nonNull).forEach(id -> failures.put(id, error));
+        }
+    }
+}
@@ -0,0 +1,373 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.search.indexer;
+
+import cn.hutool.core.date.DatePattern;
+import cn.hutool.core.thread.NamedThreadFactory;
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.json.JSONUtil;
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._helpers.bulk.BulkIngester;
+import co.elastic.clients.elasticsearch._helpers.bulk.BulkListener;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import co.elastic.clients.elasticsearch.indices.IndexSettings;
+import co.elastic.clients.elasticsearch.indices.IndexSettingsAnalysis;
+import co.elastic.clients.elasticsearch.indices.IndexState;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.x.file.storage.core.FileStorageService;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.stereotype.Component;
+import top.codestyle.admin.search.cache.SearchResultCache;
+import top.codestyle.admin.search.config.SearchProperties;
+import top.codestyle.admin.search.constant.SearchIndexConstants;
+import top.codestyle.admin.search.helper.TemplateIndexHelper;
+import top.codestyle.admin.search.mapper.TemplateFileMapper;
+import top.codestyle.admin.search.model.MetaJson;
+import top.codestyle.admin.system.model.entity.FileDO;
+import top.codestyle.admin.system.model.entity.StorageDO;
+import top.codestyle.admin.system.service.StorageService;
+import top.continew.starter.core.util.validation.CheckUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 模板索引全量重建任务
+ * <p>
+ * 零停机重建流程：
+ * 1. 复制当前索引的 mappings/analysis 创建带时间戳的新索引
+ * 2. 开启影子写入，发件箱增量同时写入新索引
+ * 3. 按 ID 游标遍历所有租户的模板 meta.json，批量写入新索引
+ * 4. 原子切换别名到新索引，删除旧索引
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TemplateReindexJob {
+
+    private final ElasticsearchClient esClient;
+    private final TemplateFileMapper templateFileMapper;
+    private final IndexOutboxWorker indexOutboxWorker;
+    private final CodeContentIndexer codeContentIndexer;
+    private final StorageService storageService;
+    private final FileStorageService fileStorageService;
+    private final SearchResultCache searchResultCache;
+    private final RedissonClient redissonClient;
+    private final SearchProperties searchProperties;
+
+    private final ExecutorService executor = Executors
+        .newSingleThreadExecutor(new NamedThreadFactory("search-reindex-", true));
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final LongAdder indexedCount = new LongAdder();
+    private final LongAdder skippedCount = new LongAdder();
+
+    private volatile String targetIndex;
+    private volatile String status = "IDLE";
+    private volatile String lastError;
+    private volatile LocalDateTime startTime;
+    private volatile LocalDateTime finishTime;
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 启动全量重建（异步执行）
+     *
+     * @return 任务状态
+     */
+    public Map<String, Object> start() {
+        CheckUtils.throwIf(!running.compareAndSet(false, true), "索引重建任务正在执行中");
+        String alias = searchProperties.getElasticsearch().getIndex();
+        targetIndex = alias + "_" + LocalDateTime.now().format(DatePattern.PURE_DATETIME_FORMATTER);
+        indexedCount.reset();
+        skippedCount.reset();
+        status = "RUNNING";
+        lastError = null;
+        startTime = LocalDateTime.now();
+        finishTime = null;
+        executor.execute(() -> run(alias, targetIndex));
+        return getStats();
+    }
+
+    /**
+     * 获取任务状态
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("status", status);
+        stats.put("targetIndex", targetIndex);
+        stats.put("indexedCount", indexedCount.sum());
+        stats.put("skippedCount", skippedCount.sum());
+        stats.put("startTime", startTime);
+        stats.put("finishTime", finishTime);
+        stats.put("lastError", lastError);
+        return stats;
+    }
+
+    private void run(String alias, String target) {
+        RLock lock = redissonClient.getLock(SearchIndexConstants.REINDEX_LOCK_KEY);
+        boolean locked = false;
+        boolean swapped = false;
+        try {
+            locked = lock.tryLock();
+            CheckUtils.throwIf(!locked, "其他节点正在重建索引");
+            log.info("索引全量重建开始: alias={}, target={}", alias, target);
+
+            Set<String> oldIndices = resolveAliasIndices(alias);
+            createTargetIndex(target, oldIndices);
+            indexOutboxWorker.setShadowIndex(target);
+
+            Set<Long> tenantIds = streamTemplates(target);
+            esClient.indices().refresh(r -> r.index(target));
+            swapAlias(alias, target, oldIndices);
+            swapped = true;
+            indexOutboxWorker.setShadowIndex(null);
+            tenantIds.forEach(searchResultCache::invalidateTenant);
+
+            // 原别名即为实体索引时已在切换时删除
+            oldIndices.remove(alias);
+            if (Boolean.TRUE.equals(searchProperties.getIndexing().getDeleteOldIndex()) && !oldIndices.isEmpty()) {
+                esClient.indices().delete(d -> d.index(new ArrayList<>(oldIndices)));
+            }
+            status = "SUCCESS";
+            log.info("索引全量重建完成: target={}, indexed={}, skipped={}", target, indexedCount.sum(), skippedCount
+                .sum());
+        } catch (Exception e) {
+            indexOutboxWorker.setShadowIndex(null);
+            status = "FAILED";
+            lastError = e.getMessage();
+            log.error("索引全量重建失败: target={}", target, e);
+            // 别名切换前失败：新索引未投入使用，删除以免残留
+            if (!swapped) {
+                deleteTargetIndex(target);
+            }
+        } finally {
+            if (locked && lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+            finishTime = LocalDateTime.now();
+            running.set(false);
+        }
+    }
+
+    /**
+     * 删除重建失败的新索引
+     */
+    private void deleteTargetIndex(String target) {
+        try {
+            if (esClient.indices().exists(e -> e.index(target)).value()) {
+                esClient.indices().delete(d -> d.index(target));
+                log.info("已删除重建失败的索引: {}", target);
+            }
+        } catch (Exception e) {
+            log.warn("删除重建失败的索引 [{}] 失败: {}", target, e.getMessage());
+        }
+    }
+
+    /**
+     * 查询别名当前指向的实体索引（兼容别名本身就是实体索引的旧部署）
+     */
+    private Set<String> resolveAliasIndices(String alias) throws IOException {
+        if (!esClient.indices().exists(e -> e.index(alias)).value()) {
+            return new HashSet<>();
+        }
+        return new HashSet<>(esClient.indices().get(g -> g.index(alias)).result().keySet());
+    }
+
+    /**
+     * 创建新索引，沿用旧索引的 mappings 与分词器配置
+     */
+    private void createTargetIndex(String target, Set<String> oldIndices) throws IOException {
+        IndexState source = null;
+        if (!oldIndices.isEmpty()) {
+            String sourceIndex = oldIndices.iterator().next();
+            source = esClient.indices().get(g -> g.index(sourceIndex)).result().get(sourceIndex);
+        }
+        IndexState state = source;
+        esClient.indices().create(c -> {
+            c.index(target);
+            if (state != null && state.mappings() != null) {
+                c.mappings(state.mappings());
+            }
+            IndexSettingsAnalysis analysis = state != null ? resolveAnalysis(state.settings()) : null;
+            if (analysis != null) {
+                c.settings(s -> s.analysis(analysis));
+            }
+            return c;
+        });
+    }
+
+    private IndexSettingsAnalysis resolveAnalysis(IndexSettings settings) {
+        if (settings == null) {
+            return null;
+        }
+        if (settings.analysis() != null) {
+            return settings.analysis();
+        }
+        return settings.index() != null ? settings.index().analysis() : null;
+    }
+
+    /**
+     * 遍历所有模板并批量写入新索引
+     *
+     * @return 涉及的租户 ID
+     */
+    private Set<Long> streamTemplates(String target) {
+        SearchProperties.IndexingProperties indexing = searchProperties.getIndexing();
+        Set<Long> tenantIds = new HashSet<>();
+        Map<Long, StorageDO> storageCache = new HashMap<>();
+        BulkIngester<String> ingester = BulkIngester.of(b -> b.client(esClient)
+            .maxOperations(indexing.getBatchSize())
+            .listener(new ReindexBulkListener()));
+        try {
+            long lastId = 0L;
+            List<FileDO> metaFiles;
+            do {
+                metaFiles = templateFileMapper.selectTemplateMetaFiles(lastId, indexing.getReindexPageSize());
+                for (FileDO metaFile : metaFiles) {
+                    try {
+                        Map<String, Object> document = buildDocument(metaFile, storageCache);
+                        if (document == null) {
+                            continue;
+                        }
+                        String docId = (String)document.get("id");
+                        ingester.add(o -> o.index(i -> i.index(target).id(docId).document(document)), docId);
+                        tenantIds.add(metaFile.getTenantId());
+                    } catch (Exception e) {
+                        skippedCount.increment();
+                        log.warn("索引重建跳过模板: {}, 原因: {}", metaFile.getParentPath(), e.getMessage());
+                        continue;
+                    }
+                    reindexCode(metaFile);
+                }
+                if (!metaFiles.isEmpty()) {
+                    lastId = metaFiles.get(metaFiles.size() - 1).getId();
+                }
+            } while (metaFiles.size() == indexing.getReindexPageSize());
+        } finally {
+            ingester.close();
+        }
+        return tenantIds;
+    }
+
+    /**
+     * 重建模板的代码内容索引（代码索引按批次号原地替换，不参与别名切换）
+     */
+    private void reindexCode(FileDO metaFile) {
+        if (!codeContentIndexer.isEnabled()) {
+            return;
+        }
+        String templatePrefix = metaFile.getParentPath();
+        List<String> parts = StrUtil.split(StrUtil
+            .removePrefix(templatePrefix, SearchIndexConstants.TEMPLATE_PATH_PREFIX), '/');
+        Long tenantId = metaFile.getTenantId();
+        try {
+            codeContentIndexer.indexTemplate(tenantId, TemplateIndexHelper.buildDocId(tenantId, parts.get(0), parts
+                .get(1), parts.get(2)), parts.get(0), parts.get(1), parts.get(2), templatePrefix);
+        } catch (Exception e) {
+            log.warn("代码索引重建失败: {}, 原因: {}", templatePrefix, e.getMessage());
+        }
+    }
+
+    /**
+     * 根据 meta.json 记录构建索引文档（仅处理 /templates/{groupId}/{artifactId}/{version} 下的 meta.json）
+     */
+    private Map<String, Object> buildDocument(FileDO metaFile, Map<Long, StorageDO> storageCache) {
+        String templatePrefix = metaFile.getParentPath();
+        List<String> parts = StrUtil.split(StrUtil
+            .removePrefix(templatePrefix, SearchIndexConstants.TEMPLATE_PATH_PREFIX), '/');
+        if (parts.size() != 3) {
+            return null;
+        }
+        StorageDO storage = storageCache.computeIfAbsent(metaFile.getStorageId(), storageService::getById);
+        byte[] bytes = fileStorageService.download(metaFile.toFileInfo(storage)).bytes();
+        MetaJson metaJson = JSONUtil.toBean(new String(bytes, StandardCharsets.UTF_8), MetaJson.class);
+        Long tenantId = metaFile.getTenantId();
+        long fileCount = templateFileMapper.countTemplateFiles(tenantId, templatePrefix);
+        return TemplateIndexHelper.buildDocument(tenantId, parts.get(0), parts.get(1), parts
+            .get(2), metaJson, fileCount, metaFile.getCreateTime());
+    }
+
+    /**
+     * 原子切换别名
+     */
+    private void swapAlias(String alias, String target, Set<String> oldIndices) throws IOException {
+        esClient.indices().updateAliases(u -> {
+            for (String oldIndex : oldIndices) {
+                if (oldIndex.equals(alias)) {
+                    // 旧部署直接使用实体索引，需在同一请求中删除才能创建同名别名
+                    u.actions(a -> a.removeIndex(r -> r.index(oldIndex)));
+                } else {
+                    u.actions(a -> a.remove(r -> r.index(oldIndex).alias(alias)));
+                }
+            }
+            return u.actions(a -> a.add(ad -> ad.index(target).alias(alias)));
+        });
+        log.info("索引别名已切换: alias={}, from={}, to={}", alias, oldIndices, target);
+    }
+
+    /**
+     * 统计重建写入结果
+     */
+    private class ReindexBulkListener implements BulkListener<String> {
+
+        @Override
+        public void beforeBulk(long executionId, BulkRequest request, List<String> contexts) {
+            // 无需处理
+        }
+
+        @Override
+        public void afterBulk(long executionId, BulkRequest request, List<String> contexts, BulkResponse response) {
+            for (BulkResponseItem item : response.items()) {
+                if (item.error() == null) {
+                    indexedCount.increment();
+                } else {
+                    skippedCount.increment();
+                    log.warn("索引重建写入失败: docId={}, error={}", item.id(), item.error().reason());
+                }
+            }
+        }
+
+        @Override
+        public void afterBulk(long executionId, BulkRequest request, List<String> contexts, Throwable failure) {
+            skippedCount.add(contexts.size());
+            log.warn("索引重建批量写入失败: {} 条, error={}", contexts.size(), failure.getMessage());
+        }
+    }
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.search.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import top.codestyle.admin.search.model.entity.IndexOutboxDO;
+import top.continew.starter.data.mapper.BaseMapper;
+
+/**
+ * 检索索引发件箱 Mapper
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+@Mapper
+public interface IndexOutboxMapper extends BaseMapper<IndexOutboxDO> {
+}
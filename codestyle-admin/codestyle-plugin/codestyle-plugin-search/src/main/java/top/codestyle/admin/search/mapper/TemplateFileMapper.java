@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package top.codestyle.admin.search.mapper;
+
+import com.baomidou.mybatisplus.annotation.InterceptorIgnore;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import top.codestyle.admin.system.model.entity.FileDO;
+
+import java.util.List;
+
+/**
+ * 模板文件查询 Mapper（检索索引构建使用的 sys_file 只读查询，跨租户）
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+@Mapper
+public interface TemplateFileMapper {
+
+    /**
+     * 按 ID 游标分页查询所有租户的模板 meta.json 文件记录（全量重建索引使用）
+     *
+     * @param lastId 上一页最后一条记录 ID
+     * @param limit  每页数量
+     * @return meta.json 文件记录列表
+     */
+    @InterceptorIgnore(tenantLine = "true")
+    @Select("SELECT * FROM sys_file WHERE deleted = 0 AND original_name = 'meta.json' AND parent_path LIKE '/templates/%' AND id > #{lastId} ORDER BY id LIMIT #{limit}")
+    List<FileDO> selectTemplateMetaFiles(@Param("lastId") Long lastId, @Param("limit") Integer limit);
+
+    /**
+     * 统计指定租户下模板版本的文件数量
+     *
+     * @param tenantId       租户 ID
+     * @param templatePrefix 模板存储前缀路径
+     * @return 文件数量
+     */
+    @InterceptorIgnore(tenantLine = "true")
+    @Select("SELECT COUNT(1) FROM sys_file WHERE deleted = 0 AND type != 0 AND tenant_id = #{tenantId} AND (parent_path = #{templatePrefix} OR parent_path LIKE CONCAT(#{templatePrefix}, '/%'))")
+    Long countTemplateFiles(@Param("tenantId") Long tenantId, @Param("templatePrefix") String templatePrefix);
+
+    /**
+     * 查询指定租户下模板版本的所有文件记录（不含文件夹）
+     *
+     * @param tenantId       租户 ID
+     * @param templatePrefix 模板存储前缀路径
+     * @return 文件记录列表
+     */
+    @InterceptorIgnore(tenantLine = "true")
+    @Select("SELECT * FROM sys_file WHERE deleted = 0 AND type != 0 AND tenant_id = #{tenantId} AND (parent_path = #{templatePrefix} OR parent_path LIKE CONCAT(#{templatePrefix}, '/%'))")
+    List<FileDO> selectTemplateFiles(@Param("tenantId") Long tenantId, @Param("templatePrefix") String templatePrefix);
+}
@@ -39,6 +39,11 @@ public enum SearchSourceType {
      */
     MILVUS("Milvus", "向量检索"),
 
+    /**
+     * 代码内容检索（模板文件分块）
+     */
+    CODE("Code", "代码检索"),
+
     /**
      * 混合检索
      */
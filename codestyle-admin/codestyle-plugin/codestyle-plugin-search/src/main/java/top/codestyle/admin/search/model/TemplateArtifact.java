@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.search.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import org.dromara.x.file.storage.core.FileInfo;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * 模板下载制品
+ * <p>
+ * 同一模板版本的文件集合不变时 ETag 不变，对应的 ZIP 可作为不可变制品缓存
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+@Data
+public class TemplateArtifact {
+
+    /**
+     * 租户 ID
+     */
+    private Long tenantId;
+
+    /**
+     * groupId
+     */
+    private String groupId;
+
+    /**
+     * artifactId
+     */
+    private String artifactId;
+
+    /**
+     * 版本号
+     */
+    private String version;
+
+    /**
+     * 下载文件名
+     */
+    private String fileName;
+
+    /**
+     * 文件集合指纹
+     */
+    private String fingerprint;
+
+    /**
+     * 已缓存的 ZIP 文件（未命中缓存时为 null）
+     */
+    private File cachedFile;
+
+    /**
+     * ZIP 条目（按写入顺序）
+     */
+    private List<Entry> entries;
+
+    /**
+     * HTTP ETag
+     */
+    public String getETag() {
+        return "\"" + fingerprint + "\"";
+    }
+
+    /**
+     * ZIP 条目
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Entry {
+
+        /**
+         * 模板内相对路径
+         */
+        private final String path;
+
+        /**
+         * 文件大小
+         */
+        private final long size;
+
+        /**
+         * 存储文件信息
+         */
+        private final FileInfo fileInfo;
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.search.model;
+
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 模板文件清单
+ * <p>
+ * 模板版本的文件列表快照，序列化后缓存到 Redis；文件树与路径索引在加载到本地缓存时构建，不参与序列化
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+@Data
+public class TemplateManifest {
+
+    /**
+     * 文件集合指纹（文件集合变化时随之变化）
+     */
+    private String fingerprint;
+
+    /**
+     * 文件列表（按相对路径排序）
+     */
+    private List<FileEntry> files;
+
+    /**
+     * 文件树
+     */
+    private transient List<Map<String, Object>> tree;
+
+    /**
+     * 相对路径 → 文件
+     */
+    private transient Map<String, FileEntry> fileIndex;
+
+    /**
+     * 清单中的文件
+     */
+    @Data
+    public static class FileEntry {
+
+        /**
+         * 文件记录 ID
+         */
+        private Long id;
+
+        /**
+         * 模板内相对路径
+         */
+        private String path;
+
+        /**
+         * 存储文件名
+         */
+        private String name;
+
+        /**
+         * 原始文件名
+         */
+        private String originalName;
+
+        /**
+         * 大小（字节）
+         */
+        private Long size;
+
+        /**
+         * 上级目录
+         */
+        private String parentPath;
+
+        /**
+         * 存储路径
+         */
+        private String storagePath;
+
+        /**
+         * 扩展名
+         */
+        private String extension;
+
+        /**
+         * 内容类型
+         */
+        private String contentType;
+
+        /**
+         * 内容 SHA-256
+         */
+        private String sha256;
+
+        /**
+         * 存储平台编码
+         */
+        private String platform;
+    }
+}
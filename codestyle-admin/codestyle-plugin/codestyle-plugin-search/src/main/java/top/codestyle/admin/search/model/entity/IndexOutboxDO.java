@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.search.model.entity;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+import top.continew.starter.extension.crud.model.entity.BaseIdDO;
+
+import java.io.Serial;
+import java.time.LocalDateTime;
+
+/**
+ * 检索索引发件箱实体
+ * <p>
+ * 与模板文件记录在同一事务中写入，由 {@code IndexOutboxWorker} 异步批量同步到 Elasticsearch。
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+@Data
+@TableName("search_index_outbox")
+public class IndexOutboxDO extends BaseIdDO {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 租户 ID
+     */
+    private Long tenantId;
+
+    /**
+     * 索引文档 ID
+     */
+    private String docId;
+
+    /**
+     * 操作类型（INDEX：写入；DELETE：删除）
+     */
+    private String opType;
+
+    /**
+     * 索引文档内容（JSON）
+     */
+    private String payload;
+
+    /**
+     * 状态（0：待处理；2：失败）
+     */
+    private Integer status;
+
+    /**
+     * 重试次数
+     */
+    private Integer retryCount;
+
+    /**
+     * 下次处理时间
+     */
+    private LocalDateTime nextRetryTime;
+
+    /**
+     * 最近一次错误信息
+     */
+    private String lastError;
+
+    /**
+     * 创建时间
+     */
+    private LocalDateTime createTime;
+
+    /**
+     * 修改时间
+     */
+    private LocalDateTime updateTime;
+}
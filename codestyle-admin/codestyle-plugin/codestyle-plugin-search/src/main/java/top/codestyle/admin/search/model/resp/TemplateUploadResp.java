@@ -91,6 +91,30 @@ public class TemplateUploadResp implements Serializable {
     @Schema(description = "模板文件列表")
     private List<TemplateFileInfo> files;
 
+    /**
+     * 新增文件数
+     */
+    @Schema(description = "新增文件数", example = "2")
+    private Integer addedCount;
+
+    /**
+     * 内容变更的文件数
+     */
+    @Schema(description = "内容变更的文件数", example = "1")
+    private Integer updatedCount;
+
+    /**
+     * 内容未变更（跳过上传）的文件数
+     */
+    @Schema(description = "内容未变更（跳过上传）的文件数", example = "40")
+    private Integer unchangedCount;
+
+    /**
+     * 删除的文件数
+     */
+    @Schema(description = "删除的文件数", example = "0")
+    private Integer removedCount;
+
     /**
      * 上传时间
      */
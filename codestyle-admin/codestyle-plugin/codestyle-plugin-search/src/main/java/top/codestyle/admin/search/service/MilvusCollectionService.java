@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package top.codestyle.admin.search.service;
+
+/**
+ * Milvus 集合管理服务接口
+ * <p>
+ * 负责集合、向量索引的创建与加载
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+public interface MilvusCollectionService {
+
+    /**
+     * 确保集合存在（不存在则创建集合、向量索引），并加载到内存
+     */
+    void ensureCollection();
+
+    /**
+     * 构建检索参数（根据索引类型返回 ef 或 nprobe）
+     *
+     * @param topK 返回结果数量
+     * @return 检索参数 JSON
+     */
+    String buildSearchParams(int topK);
+}
@@ -17,10 +17,11 @@
 package top.codestyle.admin.search.service;
 
 import org.springframework.web.multipart.MultipartFile;
+import top.codestyle.admin.search.model.TemplateArtifact;
 import top.codestyle.admin.search.model.resp.TemplateUploadResp;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
 
@@ -87,19 +88,30 @@ public interface TemplateFileService {
     String readFileContent(String groupId, String artifactId, String version, String filePath) throws IOException;
 
     /**
-     * 将模板打包为 ZIP 临时文件
+     * 准备模板下载
      * <p>
-     * 从存储系统中下载指定模板版本的所有文件，
-     * 按原始目录结构打包到临时 ZIP 文件中。调用方负责删除临时文件。
+     * 查询模板版本的文件集合并计算指纹（作为 ETag），命中制品缓存时返回已打包的 ZIP 文件。
      * </p>
      *
      * @param groupId    组ID
      * @param artifactId 项目ID
      * @param version    版本号
-     * @return 打包好的临时 ZIP 文件
+     * @return 模板下载制品
+     */
+    TemplateArtifact prepareDownload(String groupId, String artifactId, String version);
+
+    /**
+     * 将模板流式打包为 ZIP 写入输出流
+     * <p>
+     * 并行预读存储中的文件并按顺序写入，启用制品缓存时同时写入缓存，完整写出后发布为制品。
+     * 不关闭输出流。
+     * </p>
+     *
+     * @param artifact 模板下载制品
+     * @param out      输出流
      * @throws IOException IO 异常
      */
-    File createTemplateZip(String groupId, String artifactId, String version) throws IOException;
+    void writeTemplateZip(TemplateArtifact artifact, OutputStream out) throws IOException;
 
     void deleteTemplateFiles(String groupId, String artifactId, String version);
 }
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.search.service;
+
+import java.util.Map;
+
+/**
+ * 模板索引服务接口
+ * <p>
+ * 索引变更先写入发件箱（与业务数据同一事务），再由后台消费者批量同步到 Elasticsearch
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+public interface TemplateIndexService {
+
+    /**
+     * 提交写入索引文档
+     *
+     * @param tenantId 租户 ID
+     * @param docId    文档 ID
+     * @param document 文档内容
+     */
+    void submitIndex(Long tenantId, String docId, Map<String, Object> document);
+
+    /**
+     * 提交删除索引文档
+     *
+     * @param tenantId 租户 ID
+     * @param docId    文档 ID
+     */
+    void submitDelete(Long tenantId, String docId);
+
+    /**
+     * 提交重建模板代码内容索引（未启用代码检索时忽略）
+     *
+     * @param tenantId       租户 ID
+     * @param docId          模板文档 ID
+     * @param groupId        groupId
+     * @param artifactId     artifactId
+     * @param version        版本号
+     * @param templatePrefix 模板存储前缀路径
+     */
+    void submitCodeIndex(Long tenantId,
+                         String docId,
+                         String groupId,
+                         String artifactId,
+                         String version,
+                         String templatePrefix);
+
+    /**
+     * 提交删除模板代码内容索引（未启用代码检索时忽略）
+     *
+     * @param tenantId 租户 ID
+     * @param docId    模板文档 ID
+     */
+    void submitCodeDelete(Long tenantId, String docId);
+
+    /**
+     * 启动全量重建索引（别名切换，零停机）
+     *
+     * @return 重建任务状态
+     */
+    Map<String, Object> reindex();
+
+    /**
+     * 获取索引同步统计信息
+     *
+     * @return 统计信息
+     */
+    Map<String, Object> getStats();
+}
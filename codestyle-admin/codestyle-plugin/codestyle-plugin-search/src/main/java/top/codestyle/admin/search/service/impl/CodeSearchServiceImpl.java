@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.search.service.impl;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.query_dsl.TextQueryType;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import top.codestyle.admin.search.config.SearchProperties;
+import top.codestyle.admin.search.model.SearchRequest;
+import top.codestyle.admin.search.model.SearchResult;
+import top.codestyle.admin.search.model.SearchSourceType;
+import top.codestyle.admin.search.service.CodeSearchService;
+import top.codestyle.admin.search.util.SearchTenantUtils;
+import top.continew.starter.core.exception.BusinessException;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 代码内容检索服务实现
+ * <p>
+ * 在代码索引中按内容、标识符片段、符号名和文件路径检索，返回命中的文件与行号范围
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CodeSearchServiceImpl implements CodeSearchService {
+
+    private final ElasticsearchClient esClient;
+    private final SearchProperties properties;
+
+    @Override
+    public List<SearchResult> search(SearchRequest request) {
+        if (!Boolean.TRUE.equals(properties.getCode().getEnabled())) {
+            return List.of();
+        }
+        Long tenantId = SearchTenantUtils.resolveSearchTenantId(request);
+        try {
+            SearchResponse<Map> response = esClient.search(s -> s.index(properties.getCode().getIndex())
+                .query(q -> q.bool(b -> b.must(m -> m.multiMatch(mm -> mm.query(request.getQuery())
+                    .fields("symbol.text^3", "content^2", "content.ngram", "filePath.text")
+                    .type(TextQueryType.MostFields)))
+                    .filter(f -> f.term(t -> t.field("tenantId").value(String.valueOf(tenantId))))))
+                .size(request.getTopK())
+                .source(src -> src.filter(f -> f.excludes("batchId")))
+                .highlight(h -> h.fields("content", f -> f.numberOfFragments(1).fragmentSize(200))), Map.class);
+            List<SearchResult> results = response.hits().hits().stream().map(this::convertHit).toList();
+            log.info("代码检索完成，查询: {}, 返回 {} 条结果", request.getQuery(), results.size());
+            return results;
+        } catch (IOException e) {
+            log.error("代码检索失败，查询: {}", request.getQuery(), e);
+            throw new BusinessException("代码检索服务异常");
+        }
+    }
+
+    private SearchResult convertHit(Hit<Map> hit) {
+        Map<String, Object> source = hit.source();
+        String filePath = getStringValue(source, "filePath");
+        String content = getStringValue(source, "content");
+        String highlight = null;
+        if (hit.highlight() != null && hit.highlight().containsKey("content") && !hit.highlight()
+            .get("content")
+            .isEmpty()) {
+            highlight = hit.highlight().get("content").get(0);
+        }
+        return SearchResult.builder()
+            .id(hit.id())
+            .sourceType(SearchSourceType.CODE)
+            .title("%s#L%s-%s".formatted(filePath, source.get("startLine"), source.get("endLine")))
+            .content(content)
+            .snippet(highlight != null ? highlight : content)
+            .score(hit.score())
+            .highlight(highlight)
+            .metadata(source)
+            .groupId(getStringValue(source, "groupId"))
+            .artifactId(getStringValue(source, "artifactId"))
+            .version(getStringValue(source, "version"))
+            .fileType(getStringValue(source, "language"))
+            .build();
+    }
+
+    private String getStringValue(Map<String, Object> map, String key) {
+        Object value = map.get(key);
+        return value != null ? value.toString() : null;
+    }
+}
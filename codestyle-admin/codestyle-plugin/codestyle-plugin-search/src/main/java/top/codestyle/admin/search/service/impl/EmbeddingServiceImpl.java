@@ -13,20 +13,33 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package top.codestyle.admin.search.service.impl;
 
+import cn.hutool.crypto.digest.DigestUtil;
+import com.github.benmanes.caffeine.cache.Cache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import top.codestyle.admin.search.config.SearchProperties;
+import top.codestyle.admin.search.embedding.EmbeddingBatcher;
+import top.codestyle.admin.search.embedding.EmbeddingEngine;
+import top.codestyle.admin.search.helper.CacheHelper;
 import top.codestyle.admin.search.service.EmbeddingService;
+import top.continew.starter.core.exception.BusinessException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Embedding 服务实现
  * <p>
- * TODO: 集成实际的 Embedding 模型（如 BGE-M3）
- * 当前使用简单的哈希算法生成模拟向量
+ * 核心职责：
+ * 1. 向量缓存（LRU，Key 为模型 + 归一化文本）
+ * 2. 单条请求经微批处理器合并为批量推理
+ * 3. 批量请求按 maxSize 分块直接调用引擎
  *
  * @author CodeStyle Team
  * @since 1.0.0
@@ -36,26 +49,36 @@ import top.codestyle.admin.search.service.EmbeddingService;
 @RequiredArgsConstructor
 public class EmbeddingServiceImpl implements EmbeddingService {
 
+    private final EmbeddingEngine embeddingEngine;
+    private final EmbeddingBatcher embeddingBatcher;
+    private final Cache<String, float[]> embeddingCache;
     private final SearchProperties searchProperties;
 
     @Override
     public float[] encode(String text) {
         log.debug("将文本转换为向量: {}", text.substring(0, Math.min(50, text.length())));
 
-        int dimension = searchProperties.getMilvus().getDimension();
-        float[] vector = new float[dimension];
-
-        // TODO: 调用实际的 Embedding API
-        // 当前使用简单的哈希算法生成模拟向量
-        int hash = text.hashCode();
-        for (int i = 0; i < dimension; i++) {
-            vector[i] = (float)Math.sin(hash + i);
+        // 1. 查询向量缓存
+        String cacheKey = buildCacheKey(text);
+        float[] cached = embeddingCache.getIfPresent(cacheKey);
+        if (cached != null) {
+            return cached;
         }
 
-        // 归一化向量
-        normalizeVector(vector);
-
-        return vector;
+        // 2. 提交到微批处理器
+        try {
+            float[] vector = embeddingBatcher.submit(CacheHelper.normalizeQuery(text))
+                .get(searchProperties.getEmbedding().getTimeout(), TimeUnit.MILLISECONDS);
+            embeddingCache.put(cacheKey, vector);
+            return vector;
+        } catch (TimeoutException e) {
+            throw new BusinessException("向量化超时");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException("向量化被中断");
+        } catch (ExecutionException e) {
+            throw new BusinessException("向量化失败: " + e.getCause().getMessage());
+        }
     }
 
     @Override
@@ -63,27 +86,34 @@ public class EmbeddingServiceImpl implements EmbeddingService {
         log.debug("批量将 {} 个文本转换为向量", texts.length);
 
         float[][] vectors = new float[texts.length][];
+        List<Integer> missing = new ArrayList<>();
         for (int i = 0; i < texts.length; i++) {
-            vectors[i] = encode(texts[i]);
+            vectors[i] = embeddingCache.getIfPresent(buildCacheKey(texts[i]));
+            if (vectors[i] == null) {
+                missing.add(i);
+            }
         }
 
+        // 未命中缓存的文本按批大小分块调用引擎
+        int maxSize = searchProperties.getEmbedding().getBatch().getMaxSize();
+        for (int from = 0; from < missing.size(); from += maxSize) {
+            List<Integer> chunk = missing.subList(from, Math.min(from + maxSize, missing.size()));
+            float[][] embedded = embeddingEngine.embed(chunk.stream()
+                .map(i -> CacheHelper.normalizeQuery(texts[i]))
+                .toList());
+            for (int j = 0; j < chunk.size(); j++) {
+                int index = chunk.get(j);
+                vectors[index] = embedded[j];
+                embeddingCache.put(buildCacheKey(texts[index]), embedded[j]);
+            }
+        }
         return vectors;
     }
 
     /**
-     * 归一化向量（L2 范数）
+     * 构建向量缓存 Key（模型 + 归一化文本）
      */
-    private void normalizeVector(float[] vector) {
-        double sum = 0.0;
-        for (float v : vector) {
-            sum += v * v;
-        }
-        double norm = Math.sqrt(sum);
-
-        if (norm > 0) {
-            for (int i = 0; i < vector.length; i++) {
-                vector[i] /= norm;
-            }
-        }
+    private String buildCacheKey(String text) {
+        return embeddingEngine.getModel() + ":" + DigestUtil.md5Hex(CacheHelper.normalizeQuery(text));
     }
 }
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package top.codestyle.admin.search.service.impl;
+
+import cn.hutool.json.JSONUtil;
+import io.milvus.client.MilvusServiceClient;
+import io.milvus.grpc.DataType;
+import io.milvus.param.IndexType;
+import io.milvus.param.MetricType;
+import io.milvus.param.R;
+import io.milvus.param.collection.CreateCollectionParam;
+import io.milvus.param.collection.FieldType;
+import io.milvus.param.collection.HasCollectionParam;
+import io.milvus.param.collection.LoadCollectionParam;
+import io.milvus.param.index.CreateIndexParam;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import top.codestyle.admin.search.config.SearchProperties;
+import top.codestyle.admin.search.constant.MilvusConstants;
+import top.codestyle.admin.search.service.MilvusCollectionService;
+import top.continew.starter.core.exception.BusinessException;
+
+import java.util.Map;
+
+/**
+ * Milvus 集合管理服务实现
+ * <p>
+ * 集合结构：
+ * - id：VarChar 主键，与 ES 文档 ID 一致（tenantId:groupId:artifactId:version）
+ * - tenant_id：Partition Key，检索时按租户表达式过滤，只扫描对应分区
+ * - embedding：向量字段，支持 HNSW / IVF_PQ 索引，度量方式默认 COSINE
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "search.milvus", name = "enabled", havingValue = "true")
+@ConditionalOnBean(MilvusServiceClient.class)
+public class MilvusCollectionServiceImpl implements MilvusCollectionService {
+
+    private static final String INDEX_TYPE_IVF_PQ = "IVF_PQ";
+
+    private final MilvusServiceClient milvusClient;
+    private final SearchProperties searchProperties;
+
+    /**
+     * 应用启动后自动初始化集合
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!Boolean.TRUE.equals(searchProperties.getMilvus().getAutoCreate())) {
+            return;
+        }
+        try {
+            ensureCollection();
+        } catch (Exception e) {
+            log.error("Milvus 集合初始化失败", e);
+        }
+    }
+
+    @Override
+    public void ensureCollection() {
+        SearchProperties.MilvusProperties milvus = searchProperties.getMilvus();
+        String collection = milvus.getCollection();
+
+        R<Boolean> exists = milvusClient.hasCollection(HasCollectionParam.newBuilder()
+            .withCollectionName(collection)
+            .build());
+        checkResponse(exists, "检查集合");
+        if (!Boolean.TRUE.equals(exists.getData())) {
+            createCollection(milvus);
+            createIndex(milvus);
+        }
+
+        checkResponse(milvusClient.loadCollection(LoadCollectionParam.newBuilder()
+            .withCollectionName(collection)
+            .build()), "加载集合");
+        log.info("Milvus 集合已就绪: {}", collection);
+    }
+
+    @Override
+    public String buildSearchParams(int topK) {
+        SearchProperties.MilvusProperties milvus = searchProperties.getMilvus();
+        if (isIvfPq(milvus)) {
+            return JSONUtil.toJsonStr(Map.of("nprobe", milvus.getNprobe()));
+        }
+        // HNSW 要求 ef >= topK
+        return JSONUtil.toJsonStr(Map.of("ef", Math.max(milvus.getEf(), topK)));
+    }
+
+    /**
+     * 创建集合（tenant_id 作为 Partition Key）
+     */
+    private void createCollection(SearchProperties.MilvusProperties milvus) {
+        log.info("创建 Milvus 集合: {}, 维度: {}", milvus.getCollection(), milvus.getDimension());
+        CreateCollectionParam param = CreateCollectionParam.newBuilder()
+            .withCollectionName(milvus.getCollection())
+            .withDescription("CodeStyle 模板向量")
+            .addFieldType(FieldType.newBuilder()
+                .withName(MilvusConstants.FIELD_ID)
+                .withDataType(DataType.VarChar)
+                .withMaxLength(512)
+                .withPrimaryKey(true)
+                .withAutoID(false)
+                .build())
+            .addFieldType(FieldType.newBuilder()
+                .withName(MilvusConstants.FIELD_TENANT_ID)
+                .withDataType(DataType.Int64)
+                .withPartitionKey(true)
+                .build())
+            .addFieldType(varcharField(MilvusConstants.FIELD_GROUP_ID, 128))
+            .addFieldType(varcharField(MilvusConstants.FIELD_ARTIFACT_ID, 128))
+            .addFieldType(varcharField(MilvusConstants.FIELD_VERSION, 64))
+            .addFieldType(varcharField(MilvusConstants.FIELD_TITLE, 512))
+            .addFieldType(varcharField(MilvusConstants.FIELD_CONTENT, 4096))
+            .addFieldType(FieldType.newBuilder()
+                .withName(MilvusConstants.FIELD_EMBEDDING)
+                .withDataType(DataType.FloatVector)
+                .withDimension(milvus.getDimension())
+                .build())
+            .build();
+        checkResponse(milvusClient.createCollection(param), "创建集合");
+    }
+
+    /**
+     * 创建向量索引（HNSW 或 IVF_PQ）
+     */
+    private void createIndex(SearchProperties.MilvusProperties milvus) {
+        boolean ivfPq = isIvfPq(milvus);
+        String extraParam = ivfPq
+            ? JSONUtil.toJsonStr(Map.of("nlist", milvus.getNlist(), "m", milvus.getPqM(), "nbits", 8))
+            : JSONUtil.toJsonStr(Map.of("M", milvus.getHnswM(), "efConstruction", milvus.getEfConstruction()));
+        log.info("创建 Milvus 向量索引: {}, 类型: {}, 度量: {}, 参数: {}", milvus.getCollection(), ivfPq
+            ? INDEX_TYPE_IVF_PQ
+            : IndexType.HNSW, milvus.getMetricType(), extraParam);
+
+        CreateIndexParam param = CreateIndexParam.newBuilder()
+            .withCollectionName(milvus.getCollection())
+            .withFieldName(MilvusConstants.FIELD_EMBEDDING)
+            .withIndexName(MilvusConstants.INDEX_NAME)
+            .withIndexType(ivfPq ? IndexType.IVF_PQ : IndexType.HNSW)
+            .withMetricType(MetricType.valueOf(milvus.getMetricType()))
+            .withExtraParam(extraParam)
+            .withSyncMode(Boolean.FALSE)
+            .build();
+        checkResponse(milvusClient.createIndex(param), "创建索引");
+    }
+
+    private FieldType varcharField(String name, int maxLength) {
+        return FieldType.newBuilder().withName(name).withDataType(DataType.VarChar).withMaxLength(maxLength).build();
+    }
+
+    private boolean isIvfPq(SearchProperties.MilvusProperties milvus) {
+        return INDEX_TYPE_IVF_PQ.equalsIgnoreCase(milvus.getIndexType());
+    }
+
+    private void checkResponse(R<?> response, String action) {
+        if (response.getStatus() != R.Status.Success.getCode()) {
+            throw new BusinessException("Milvus %s失败: %s".formatted(action, response.getMessage()));
+        }
+    }
+}
@@ -17,25 +17,31 @@
 package top.codestyle.admin.search.service.impl;
 
 import io.milvus.client.MilvusServiceClient;
+import io.milvus.common.clientenum.ConsistencyLevelEnum;
 import io.milvus.grpc.SearchResults;
 import io.milvus.param.MetricType;
 import io.milvus.param.R;
 import io.milvus.param.dml.SearchParam;
+import io.milvus.response.SearchResultsWrapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 import top.codestyle.admin.search.config.SearchProperties;
+import top.codestyle.admin.search.constant.MilvusConstants;
 import top.codestyle.admin.search.model.SearchRequest;
 import top.codestyle.admin.search.model.SearchResult;
 import top.codestyle.admin.search.model.SearchSourceType;
 import top.codestyle.admin.search.service.EmbeddingService;
+import top.codestyle.admin.search.service.MilvusCollectionService;
 import top.codestyle.admin.search.service.MilvusSearchService;
+import top.codestyle.admin.search.util.SearchTenantUtils;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Milvus 向量检索服务实现
@@ -53,6 +59,7 @@ public class MilvusSearchServiceImpl implements MilvusSearchService {
     private final MilvusServiceClient milvusClient;
     private final SearchProperties searchProperties;
     private final EmbeddingService embeddingService;
+    private final MilvusCollectionService milvusCollectionService;
 
     @Override
     public List<SearchResult> search(SearchRequest request) {
@@ -63,14 +70,18 @@ public class MilvusSearchServiceImpl implements MilvusSearchService {
             // 1. 将查询文本转换为向量
             float[] queryVector = textToVector(request.getQuery());
 
-            // 2. 构建 Milvus 检索参数
+            // 2. 构建 Milvus 检索参数（按租户 Partition Key 过滤，只扫描对应分区）
+            Long tenantId = SearchTenantUtils.resolveSearchTenantId(request);
             SearchParam searchParam = SearchParam.newBuilder()
                 .withCollectionName(collection)
-                .withMetricType(MetricType.L2)
-                .withOutFields(List.of("id", "title", "content"))
+                .withMetricType(MetricType.valueOf(searchProperties.getMilvus().getMetricType()))
+                .withOutFields(MilvusConstants.OUT_FIELDS)
                 .withTopK(request.getTopK())
-                .withVectors(List.of(queryVector))
-                .withVectorFieldName("embedding")
+                .withVectors(List.of(toFloatList(queryVector)))
+                .withVectorFieldName(MilvusConstants.FIELD_EMBEDDING)
+                .withExpr(MilvusConstants.FIELD_TENANT_ID + " == " + tenantId)
+                .withParams(milvusCollectionService.buildSearchParams(request.getTopK()))
+                .withConsistencyLevel(ConsistencyLevelEnum.BOUNDED)
                 .build();
 
             // 3. 执行检索
@@ -100,26 +111,37 @@ public class MilvusSearchServiceImpl implements MilvusSearchService {
 
     /**
      * 转换 Milvus 响应为检索结果
+     * <p>
+     * 主键与 ES 文档 ID 一致，COSINE/IP 度量下分数越大越相似
      */
     private List<SearchResult> convertToSearchResults(SearchResults searchResults) {
         List<SearchResult> results = new ArrayList<>();
 
-        if (searchResults.getResults() == null || searchResults.getResults().getFieldsDataList().isEmpty()) {
+        if (searchResults.getResults() == null || searchResults.getResults().getTopK() == 0) {
             return results;
         }
 
-        // 获取结果数量
-        int numResults = (int)searchResults.getResults().getTopK();
+        // 单个查询向量，取第 0 组结果
+        List<SearchResultsWrapper.IDScore> idScores = new SearchResultsWrapper(searchResults.getResults())
+            .getIDScore(0);
 
-        for (int i = 0; i < numResults; i++) {
+        for (int i = 0; i < idScores.size(); i++) {
             try {
+                SearchResultsWrapper.IDScore idScore = idScores.get(i);
+                Map<String, Object> fields = idScore.getFieldValues();
+                String content = getStringValue(fields, MilvusConstants.FIELD_CONTENT);
                 SearchResult result = SearchResult.builder()
-                    .id(String.valueOf(i))
+                    .id(idScore.getStrID())
                     .sourceType(SearchSourceType.MILVUS)
-                    .title("") // 从 fields 中提取
-                    .content("") // 从 fields 中提取
-                    .score(0.0) // 从 distances 中提取
-                    .rank(i)
+                    .title(getStringValue(fields, MilvusConstants.FIELD_TITLE))
+                    .content(content)
+                    .snippet(content)
+                    .score((double)idScore.getScore())
+                    .rank(i + 1)
+                    .metadata(fields)
+                    .groupId(getStringValue(fields, MilvusConstants.FIELD_GROUP_ID))
+                    .artifactId(getStringValue(fields, MilvusConstants.FIELD_ARTIFACT_ID))
+                    .version(getStringValue(fields, MilvusConstants.FIELD_VERSION))
                     .build();
 
                 results.add(result);
@@ -130,4 +152,20 @@ public class MilvusSearchServiceImpl implements MilvusSearchService {
 
         return results;
     }
+
+    private List<Float> toFloatList(float[] vector) {
+        List<Float> list = new ArrayList<>(vector.length);
+        for (float v : vector) {
+            list.add(v);
+        }
+        return list;
+    }
+
+    /**
+     * 安全获取字符串值
+     */
+    private String getStringValue(Map<String, Object> map, String key) {
+        Object value = map.get(key);
+        return value != null ? value.toString() : null;
+    }
 }
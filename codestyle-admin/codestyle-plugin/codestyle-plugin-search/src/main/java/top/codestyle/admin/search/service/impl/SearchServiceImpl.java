@@ -16,35 +16,35 @@
 
 package top.codestyle.admin.search.service.impl;
 
-import com.github.benmanes.caffeine.cache.Cache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import top.codestyle.admin.search.cache.SearchResultCache;
 import top.codestyle.admin.search.config.SearchProperties;
-import top.codestyle.admin.search.helper.CacheHelper;
-import top.codestyle.admin.search.helper.FallbackHelper;
+import top.codestyle.admin.search.executor.SearchCoalescer;
+import top.codestyle.admin.search.executor.SearchExecutor;
+import top.codestyle.admin.search.executor.SearchOutcome;
 import top.codestyle.admin.search.helper.FusionHelper;
 import top.codestyle.admin.search.model.SearchRequest;
 import top.codestyle.admin.search.model.SearchResult;
+import top.codestyle.admin.search.model.SearchSourceType;
+import top.codestyle.admin.search.service.CodeSearchService;
 import top.codestyle.admin.search.service.ElasticsearchSearchService;
 import top.codestyle.admin.search.service.MilvusSearchService;
 import top.codestyle.admin.search.service.SearchService;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
-import java.util.stream.Collectors;
+import java.util.function.Supplier;
 
 /**
  * 检索服务实现（简化版）
  * <p>
  * 核心职责：
  * 1. 缓存管理（L1 Caffeine + L2 Redis）
- * 2. 并行执行 ES 和 Milvus 检索
+ * 2. 合并相同的并发请求，并行执行 ES 和 Milvus 检索
  * 3. RRF 融合结果
  * 4. 容错处理
  *
@@ -56,9 +56,22 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class SearchServiceImpl implements SearchService {
 
+    /**
+     * 默认检索超时时间（毫秒）
+     */
+    private static final long DEFAULT_TIMEOUT = 5000L;
+
+    /**
+     * 最大检索超时时间（毫秒）
+     */
+    private static final long MAX_TIMEOUT = 30000L;
+
     private final ElasticsearchSearchService esSearchService;
     private final Optional<MilvusSearchService> milvusSearchService;
-    private final Cache<String, List<SearchResult>> localCache;
+    private final CodeSearchService codeSearchService;
+    private final SearchResultCache searchResultCache;
+    private final SearchCoalescer searchCoalescer;
+    private final SearchExecutor searchExecutor;
     private final SearchProperties properties;
 
     /**
@@ -66,121 +79,90 @@ public class SearchServiceImpl implements SearchService {
      * <p>
      * 执行流程：
      * 1. 检查缓存（L1 → L2）
-     * 2. 并行执行 ES + Milvus 检索
-     * 3. RRF 融合结果
-     * 4. 写入缓存
-     * 5. 返回结果
+     * 2. 合并相同的并发请求（Single-Flight）
+     * 3. 并行执行 ES + Milvus 检索
+     * 4. RRF 融合结果
+     * 5. 写入缓存
+     * 6. 返回结果
      */
     @Override
     public List<SearchResult> search(SearchRequest request) {
-        // 1. 生成缓存 Key
-        String cacheKey = CacheHelper.generateCacheKey(request);
+        // 0. 归一化超时时间（未传或非正数使用默认值，超出上限时截断）
+        request.setTimeout(resolveTimeout(request.getTimeout()));
+
+        // 1. 生成缓存 Key（租户 + 索引代数 + 完整请求）
+        String cacheKey = searchResultCache.generateKey(request);
 
         // 2. 检查缓存
-        List<SearchResult> cached = getCachedResults(cacheKey);
+        List<SearchResult> cached = searchResultCache.get(cacheKey);
         if (cached != null) {
             log.debug("命中缓存: {}, 返回 {} 条结果", cacheKey, cached.size());
             return cached;
         }
 
-        // 3. 执行混合检索
-        log.info("开始混合检索，查询: {}, topK: {}", request.getQuery(), request.getTopK());
-        List<SearchResult> allResults = executeHybridSearch(request);
-
-        // 4. RRF 融合
-        List<SearchResult> fused = FusionHelper.reciprocalRankFusion(allResults);
+        // 3. 相同请求并发时合并为一次检索
+        return searchCoalescer.execute(cacheKey, request.getTimeout(), () -> searchAndCache(request, cacheKey));
+    }
 
-        // 5. 写入缓存
-        if (!fused.isEmpty()) {
-            cacheResults(cacheKey, fused);
+    /**
+     * 解析检索超时时间
+     */
+    private long resolveTimeout(Long timeout) {
+        if (timeout == null || timeout <= 0) {
+            return DEFAULT_TIMEOUT;
         }
-
-        log.info("混合检索完成，查询: {}, 返回 {} 条结果", request.getQuery(), fused.size());
-        return fused;
+        return Math.min(timeout, MAX_TIMEOUT);
     }
 
     /**
-     * 执行混合检索（ES + Milvus 并行）
+     * 执行检索、融合并写入缓存
      */
-    private List<SearchResult> executeHybridSearch(SearchRequest request) {
-        List<CompletableFuture<List<SearchResult>>> futures = new ArrayList<>();
+    private List<SearchResult> searchAndCache(SearchRequest request, String cacheKey) {
+        // 1. 执行混合检索
+        log.info("开始混合检索，查询: {}, topK: {}", request.getQuery(), request.getTopK());
+        SearchOutcome outcome = executeHybridSearch(request);
 
-        // ES 检索
-        futures.add(CompletableFuture.supplyAsync(() -> {
-            try {
-                log.debug("开始 ES 检索");
-                return FallbackHelper.executeWithFallback(() -> esSearchService.search(request), Collections
-                    .emptyList());
-            } catch (Exception e) {
-                log.error("ES 检索失败", e);
-                return Collections.emptyList();
-            }
-        }));
+        // 2. RRF 融合
+        List<SearchResult> fused = FusionHelper.reciprocalRankFusion(outcome.getResults());
 
-        // Milvus 检索（如果启用）
-        if (milvusSearchService.isPresent() && properties.getMilvus().getEnabled()) {
-            futures.add(CompletableFuture.supplyAsync(() -> {
-                try {
-                    log.debug("开始 Milvus 检索");
-                    return FallbackHelper.executeWithFallback(() -> milvusSearchService.get()
-                        .search(request), Collections.emptyList());
-                } catch (Exception e) {
-                    log.error("Milvus 检索失败", e);
-                    return Collections.emptyList();
-                }
-            }));
+        // 3. 写入缓存（部分结果不缓存，避免超时/失败的数据源在整个 TTL 内缺失）
+        if (!outcome.isComplete()) {
+            log.warn("数据源未完成，检索结果不写入缓存: {}", outcome.getIncompleteSources());
+        } else if (!fused.isEmpty()) {
+            searchResultCache.put(cacheKey, fused);
         }
 
-        // 等待所有检索完成（带超时）
-        return futures.stream().map(future -> {
-            try {
-                return future.get(request.getTimeout(), TimeUnit.MILLISECONDS);
-            } catch (TimeoutException e) {
-                log.warn("检索超时: {}ms", request.getTimeout());
-                return Collections.<SearchResult>emptyList();
-            } catch (Exception e) {
-                log.error("检索异常", e);
-                return Collections.<SearchResult>emptyList();
-            }
-        }).flatMap(List::stream).collect(Collectors.toList());
+        log.info("混合检索完成，查询: {}, 返回 {} 条结果", request.getQuery(), fused.size());
+        return fused;
     }
 
     /**
-     * 获取缓存结果（L1 → L2）
+     * 执行混合检索（ES + Milvus 并行，共享同一截止时间）
      */
-    private List<SearchResult> getCachedResults(String key) {
-        // L1: 本地缓存
-        List<SearchResult> local = localCache.getIfPresent(key);
-        if (local != null) {
-            log.debug("命中本地缓存 (L1)");
-            return local;
-        }
+    private SearchOutcome executeHybridSearch(SearchRequest request) {
+        Map<String, Supplier<List<SearchResult>>> tasks = new LinkedHashMap<>();
 
-        // L2: Redis 缓存
-        Optional<List<SearchResult>> redis = CacheHelper.getFromRedis(key);
-        if (redis.isPresent()) {
-            log.debug("命中 Redis 缓存 (L2)");
-            // 回填本地缓存
-            localCache.put(key, redis.get());
-            return redis.get();
+        // 代码检索：仅查询代码分块索引
+        if (request.getSourceType() == SearchSourceType.CODE) {
+            tasks.put("Code", () -> codeSearchService.search(request));
+            return searchExecutor.invokeAll(tasks, request.getTimeout());
         }
 
-        return null;
-    }
+        // ES 检索
+        tasks.put("ES", () -> {
+            log.debug("开始 ES 检索");
+            return esSearchService.search(request);
+        });
 
-    /**
-     * 写入缓存（L1 + L2）
-     */
-    private void cacheResults(String key, List<SearchResult> results) {
-        // 写入本地缓存
-        localCache.put(key, results);
-
-        // 写入 Redis 缓存
-        try {
-            CacheHelper.setToRedis(key, results);
-            log.debug("写入缓存成功: {}", key);
-        } catch (Exception e) {
-            log.warn("写入 Redis 缓存失败", e);
+        // Milvus 检索（如果启用）
+        if (milvusSearchService.isPresent() && properties.getMilvus().getEnabled()) {
+            tasks.put("Milvus", () -> {
+                log.debug("开始 Milvus 检索");
+                return milvusSearchService.get().search(request);
+            });
         }
+
+        // 超时或失败的数据源按空结果参与融合（由执行器降级并记录为未完成）
+        return searchExecutor.invokeAll(tasks, request.getTimeout());
     }
 }
@@ -16,56 +16,75 @@
 
 package top.codestyle.admin.search.service.impl;
 
-import cn.hutool.core.io.FileUtil;
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.io.IoUtil;
+import cn.hutool.core.io.file.FileNameUtil;
+import cn.hutool.core.util.ArrayUtil;
+import cn.hutool.core.util.ObjectUtil;
 import cn.hutool.core.util.StrUtil;
+import cn.hutool.crypto.digest.DigestUtil;
 import cn.hutool.json.JSONUtil;
+import lombok.Data;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.compress.archivers.ArchiveEntry;
-import org.apache.commons.compress.archivers.sevenz.SevenZArchiveEntry;
-import org.apache.commons.compress.archivers.sevenz.SevenZFile;
-import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
-import org.apache.commons.compress.compressors.gzip.GzipCompressorInputStream;
-import org.dromara.x.file.storage.core.FileInfo;
 import org.dromara.x.file.storage.core.FileStorageService;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 import top.codestyle.admin.common.context.UserContext;
 import top.codestyle.admin.common.context.UserContextHolder;
+import top.codestyle.admin.common.enums.DisEnableStatusEnum;
+import top.codestyle.admin.search.cache.TemplateArtifactCache;
+import top.codestyle.admin.search.cache.TemplateManifestCache;
 import top.codestyle.admin.search.config.SearchProperties;
+import top.codestyle.admin.search.constant.SearchIndexConstants;
+import top.codestyle.admin.search.helper.TemplateArchiveHelper;
+import top.codestyle.admin.search.helper.TemplateIndexHelper;
+import top.codestyle.admin.search.helper.TemplateManifestHelper;
+import top.codestyle.admin.search.helper.TemplateUploadHelper;
 import top.codestyle.admin.search.model.MetaJson;
+import top.codestyle.admin.search.model.TemplateArtifact;
+import top.codestyle.admin.search.model.TemplateManifest;
 import top.codestyle.admin.search.model.resp.TemplateUploadResp;
 import top.codestyle.admin.search.service.TemplateFileService;
+import top.codestyle.admin.search.service.TemplateIndexService;
 import top.codestyle.admin.search.util.SearchTenantUtils;
 import top.codestyle.admin.system.enums.FileTypeEnum;
 import top.codestyle.admin.system.mapper.FileMapper;
 import top.codestyle.admin.system.model.entity.FileDO;
 import top.codestyle.admin.system.model.entity.StorageDO;
+import top.codestyle.admin.system.service.FileBlobService;
 import top.codestyle.admin.system.service.FileService;
 import top.codestyle.admin.system.service.StorageService;
 import top.continew.starter.cache.redisson.util.RedisLockUtils;
 import top.continew.starter.core.exception.BusinessException;
+import top.continew.starter.core.util.CollUtils;
 import top.continew.starter.core.util.validation.CheckUtils;
 
-import co.elastic.clients.elasticsearch.ElasticsearchClient;
-
 import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
 import java.util.stream.Collectors;
 import java.util.zip.ZipEntry;
-import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
 
 /**
  * 模板文件服务实现
  * <p>
  * 所有模板文件通过系统 FileService 存储，确保在文件管理器中可见。
- * 上传流程：接收压缩包 → 解压到临时目录 → 逐个文件上传到 FileService → 清理临时目录。
+ * 上传流程：扫描压缩包条目定位模板根目录 → 流式读取条目，按内容哈希与已有文件对比后并行写入新增/变更的文件
+ * → 在一个短事务中批量写入文件记录、删除已移除的文件并写入索引发件箱。存储写入不占用数据库事务，
+ * 文件内容按哈希存储为共享内容对象，不同版本、不同租户的相同文件只保存一份。
  * </p>
  *
  * @author CodeStyle Team
@@ -76,62 +95,52 @@ import java.util.zip.ZipOutputStream;
 @RequiredArgsConstructor
 public class TemplateFileServiceImpl implements TemplateFileService {
 
-    /** 模板文件在文件管理系统中的统一前缀 */
-    private static final String TEMPLATE_PATH_PREFIX = "/templates/";
+    /**
+     * ZIP 条目固定修改时间（DOS 时间下限，与时区无关），保证同一指纹的 ZIP 字节一致，与强 ETag 语义相符
+     */
+    private static final LocalDateTime ZIP_ENTRY_TIME = LocalDateTime.of(1980, 1, 1, 0, 0);
 
     private final FileService fileService;
+    private final FileBlobService fileBlobService;
     private final FileStorageService fileStorageService;
     private final StorageService storageService;
     private final FileMapper fileMapper;
-    private final ElasticsearchClient esClient;
     private final SearchProperties searchProperties;
+    private final TemplateIndexService templateIndexService;
+    private final ExecutorService templateUploadExecutor;
+    private final ExecutorService templateDownloadExecutor;
+    private final TemplateArtifactCache templateArtifactCache;
+    private final TemplateManifestCache templateManifestCache;
+    private final TransactionTemplate transactionTemplate;
 
     // ==================== 公开接口实现 ====================
 
     @Override
-    @Transactional(rollbackFor = Exception.class)
     public TemplateUploadResp uploadTemplate(MultipartFile file,
                                              String groupIdParam,
                                              String artifactIdParam,
                                              String versionParam,
                                              Boolean overwrite) throws IOException {
-        Path tempDir = null;
-        File tempArchiveFile = null;
         Long tenantId = SearchTenantUtils.resolveCurrentTenantId();
 
         // 确保有用户上下文（开放 API 可能无登录状态）
         UserContext originalContext = ensureUserContext(tenantId);
 
         try {
-            // 1. 创建临时目录
-            tempDir = Files.createTempDirectory("template-upload-");
-
-            // 2. 保存压缩包到临时文件（保留原始扩展名，用于格式识别）
-            String origName = file.getOriginalFilename();
-            String suffix = origName != null && origName.contains(".")
-                ? origName.substring(origName.indexOf('.'))
-                : ".zip";
-            tempArchiveFile = Files.createTempFile("upload-", suffix).toFile();
-            file.transferTo(tempArchiveFile);
-
-            // 3. 解压到临时目录
-            File tempDirFile = tempDir.toFile();
-            extractArchive(tempArchiveFile, tempDirFile);
-
-            // 4. 自动定位模板根目录（处理压缩包外层嵌套目录）
-            File templateRoot = locateTemplateRoot(tempDirFile);
-
-            // 5. 解析 meta.json，自动补全参数
-            MetaJson metaJson = parseMetaJson(templateRoot);
+            // 1. 扫描压缩包条目（不解压），自动定位模板根目录（处理压缩包外层嵌套目录）
+            TemplateArchiveHelper.ArchiveManifest manifest = TemplateArchiveHelper.scan(file);
+
+            // 2. 解析 meta.json，自动补全参数
+            MetaJson metaJson = parseMetaJson(manifest);
             String groupId = firstNonBlank(groupIdParam, metaJson.getGroupId());
             String artifactId = firstNonBlank(artifactIdParam, metaJson.getArtifactId());
             String version = firstNonBlank(versionParam, metaJson.getVersion());
             CheckUtils.throwIfBlank(groupId, "groupId 不能为空，请在 meta.json 中指定");
             CheckUtils.throwIfBlank(artifactId, "artifactId 不能为空，请在 meta.json 中指定");
             CheckUtils.throwIfBlank(version, "version 不能为空，请在 meta.json 中指定");
-            validateTemplateFiles(templateRoot, metaJson);
+            validateTemplateFiles(manifest, metaJson);
 
-            // 6. 上传幂等控制
+            // 3. 上传幂等控制
             String lockKey = String.format("lock:template:upload:%s:%s:%s", groupId, artifactId, version);
             log.info("模板上传开始: groupId={}, artifactId={}, version={}, lockKey={}", groupId, artifactId, version, lockKey);
             try (RedisLockUtils lock = RedisLockUtils.tryLock(lockKey, 30, 60)) {
@@ -140,44 +149,56 @@ public class TemplateFileServiceImpl implements TemplateFileService {
                 }
                 log.info("模板上传获取分布式锁成功: lockKey={}", lockKey);
 
-                // 6.1 检查是否已存在同版本文件
+                // 3.1 检查是否已存在同版本文件
                 String templatePrefix = buildTemplatePrefix(groupId, artifactId, version);
-                boolean exists = fileMapper.lambdaQuery().likeRight(FileDO::getParentPath, templatePrefix).exists();
-                if (exists) {
-                    if (Boolean.TRUE.equals(overwrite)) {
-                        deleteOldVersionFiles(groupId, artifactId, version);
-                        deleteFromElasticsearch(tenantId, groupId, artifactId, version);
-                    } else {
-                        CheckUtils.throwIf(true, "模板 %s:%s:%s 已存在，如需覆盖请设置 overwrite=true"
-                            .formatted(groupId, artifactId, version));
+                List<FileDO> existingRecords = listTemplateRecords(templatePrefix);
+                CheckUtils.throwIf(!existingRecords.isEmpty() && !Boolean.TRUE
+                    .equals(overwrite), "模板 %s:%s:%s 已存在，如需覆盖请设置 overwrite=true"
+                        .formatted(groupId, artifactId, version));
+
+                // 4. 流式读取条目，与已有文件按内容哈希对比，只上传新增或变更的文件（不占用数据库事务）
+                StorageDO storage = storageService.getDefaultStorage();
+                CheckUtils.throwIf(DisEnableStatusEnum.DISABLE.equals(storage.getStatus()), "请先启用存储 [{}]", storage
+                    .getCode());
+                Map<String, FileDO> existingFiles = new HashMap<>();
+                for (FileDO record : existingRecords) {
+                    if (!FileTypeEnum.DIR.equals(record.getType())) {
+                        existingFiles.put(TemplateUploadHelper.relativePath(record, templatePrefix), record);
                     }
                 }
+                UploadDiff diff = uploadArchiveEntries(file, manifest
+                    .getRootPrefix(), templatePrefix, existingFiles, storage);
+                diff.setMetadataChanged(diff.isMetadataChanged() || existingRecords.isEmpty());
 
-                // 7. 逐个文件上传到 FileService
-                uploadExtractedFiles(templateRoot, templateRoot, templatePrefix);
-
-                // 8. 若 meta.json 没有 description，尝试从 README 中提取
+                // 5. 若 meta.json 没有 description，尝试从 README 中提取
                 if (StrUtil.isBlank(metaJson.getDescription())) {
-                    metaJson.setDescription(readReadmeContent(templateRoot));
+                    metaJson.setDescription(readReadmeContent(manifest));
                 }
 
-                // 9. 写入 ES 索引（租户隔离）
-                indexToElasticsearch(tenantId, groupId, artifactId, version, templatePrefix, metaJson);
+                // 6. 短事务：写入文件记录、删除已移除的文件并写入索引发件箱（租户隔离，ES 同步成功后再使检索缓存失效）
+                transactionTemplate.executeWithoutResult(status -> {
+                    // 内容对象引用在写入存储时已生效，事务回滚时归还，避免内容对象无法回收
+                    fileBlobService.releaseOnRollback(CollUtils.mapToList(diff
+                        .getUploaded(), UploadedEntry::getRecord), storage);
+                    saveUploadedEntries(diff, existingFiles, existingRecords, templatePrefix, storage);
+                    // 元数据与文件数不变时不重建模板文档
+                    if (diff.hasChanges()) {
+                        submitIndex(tenantId, groupId, artifactId, version, templatePrefix, metaJson, diff
+                            .isMetadataChanged());
+
+                        // 7. 事务提交后生成文件清单缓存
+                        afterCommit(() -> templateManifestCache.refresh(tenantId, groupId, artifactId, version));
+                    }
+                });
+                log.info("模板上传完成: groupId={}, artifactId={}, version={}, 新增 {} 个, 更新 {} 个, 未变更 {} 个, 删除 {} 个", groupId, artifactId, version, diff
+                    .getAdded(), diff.getUpdated(), diff.getUnchanged(), diff.getRemoved());
+
+                // 8. 构建响应
+                String downloadUrl = String
+                    .format("/open-api/template/download?groupId=%s&artifactId=%s&version=%s", groupId, artifactId, version);
+                return buildUploadResponse(groupId, artifactId, version, metaJson, downloadUrl, diff);
             }
-
-            // 10. 构建响应
-            String downloadUrl = String
-                .format("/open-api/template/download?groupId=%s&artifactId=%s&version=%s", groupId, artifactId, version);
-            return buildUploadResponse(groupId, artifactId, version, metaJson, downloadUrl);
-
         } finally {
-            // 清理临时文件
-            if (tempDir != null && Files.exists(tempDir)) {
-                FileUtil.del(tempDir.toFile());
-            }
-            if (tempArchiveFile != null && tempArchiveFile.exists()) {
-                FileUtil.del(tempArchiveFile);
-            }
             // 恢复用户上下文
             restoreUserContext(originalContext);
         }
@@ -185,17 +206,8 @@ public class TemplateFileServiceImpl implements TemplateFileService {
 
     @Override
     public List<Map<String, Object>> listFiles(String groupId, String artifactId, String version) {
-        String templatePrefix = buildTemplatePrefix(groupId, artifactId, version);
-
-        // 查询该模板版本下的所有文件记录
-        List<FileDO> files = fileMapper.lambdaQuery()
-            .likeRight(FileDO::getParentPath, templatePrefix)
-            .ne(FileDO::getType, FileTypeEnum.DIR)
-            .list();
-        CheckUtils.throwIf(files.isEmpty(), "模板不存在: {}/{}/{}", groupId, artifactId, version);
-
-        // 将平铺的文件列表重建为树形结构
-        return buildFileTreeFromRecords(files, templatePrefix);
+        // 文件树随清单缓存，版本不变时无需再查询文件表
+        return getManifest(groupId, artifactId, version).getTree();
     }
 
     @Override
@@ -203,72 +215,65 @@ public class TemplateFileServiceImpl implements TemplateFileService {
                                   String artifactId,
                                   String version,
                                   String filePath) throws IOException {
-        // 从 filePath 分离出目录和文件名
-        String fileName = filePath.contains("/") ? filePath.substring(filePath.lastIndexOf('/') + 1) : filePath;
-        String relativeDir = filePath.contains("/") ? filePath.substring(0, filePath.lastIndexOf('/')) : "";
-
-        // 构建 parentPath 查询条件
-        String templatePrefix = buildTemplatePrefix(groupId, artifactId, version);
-        String parentPath = relativeDir.isEmpty() ? templatePrefix : templatePrefix + "/" + relativeDir;
-
-        // 查询文件记录
-        FileDO fileDO = fileMapper.lambdaQuery()
-            .eq(FileDO::getParentPath, parentPath)
-            .eq(FileDO::getOriginalName, fileName)
-            .ne(FileDO::getType, FileTypeEnum.DIR)
-            .one();
-        CheckUtils.throwIfNull(fileDO, "文件不存在: {}", filePath);
-        CheckUtils.throwIf(fileDO.getSize() != null && fileDO.getSize() > 512 * 1024, "文件过大，不支持在线预览");
+        // 通过清单定位文件记录
+        TemplateManifest.FileEntry entry = getManifest(groupId, artifactId, version).getFileIndex()
+            .get(normalizeRelativePath(filePath));
+        CheckUtils.throwIfNull(entry, "文件不存在: {}", filePath);
+        CheckUtils.throwIf(entry.getSize() != null && entry.getSize() > 512 * 1024, "文件过大，不支持在线预览");
 
         // 通过存储系统下载文件内容
-        StorageDO storage = storageService.getById(fileDO.getStorageId());
-        FileInfo fileInfo = fileDO.toFileInfo(storage);
-        byte[] bytes = fileStorageService.download(fileInfo).bytes();
+        byte[] bytes = fileStorageService.download(TemplateManifestHelper.toFileInfo(entry)).bytes();
         return new String(bytes, StandardCharsets.UTF_8);
     }
 
     @Override
-    public File createTemplateZip(String groupId, String artifactId, String version) throws IOException {
-        String templatePrefix = buildTemplatePrefix(groupId, artifactId, version);
+    public TemplateArtifact prepareDownload(String groupId, String artifactId, String version) {
+        Long tenantId = SearchTenantUtils.resolveCurrentTenantId();
+        TemplateManifest manifest = getManifest(groupId, artifactId, version);
 
-        // 查询所有非目录文件
-        List<FileDO> files = fileMapper.lambdaQuery()
-            .likeRight(FileDO::getParentPath, templatePrefix)
-            .ne(FileDO::getType, FileTypeEnum.DIR)
-            .list();
-        CheckUtils.throwIf(files.isEmpty(), "模板不存在: {}/{}/{}", groupId, artifactId, version);
-
-        // 创建临时 ZIP 文件
-        File zipFile = Files.createTempFile("template-download-", ".zip").toFile();
-        StorageDO storage = storageService.getDefaultStorage();
-
-        try (ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(zipFile))) {
-            for (FileDO fileDO : files) {
-                // 还原文件的相对路径
-                String relativePath = fileDO.getParentPath().substring(templatePrefix.length());
-                if (relativePath.startsWith("/")) {
-                    relativePath = relativePath.substring(1);
-                }
-                String entryPath = relativePath.isEmpty()
-                    ? fileDO.getOriginalName()
-                    : relativePath + "/" + fileDO.getOriginalName();
-
-                // 从存储系统下载文件内容并写入 ZIP 条目
-                StorageDO fileStorage = fileDO.getStorageId().equals(storage.getId())
-                    ? storage
-                    : storageService.getById(fileDO.getStorageId());
-                FileInfo fileInfo = fileDO.toFileInfo(fileStorage);
-                byte[] bytes = fileStorageService.download(fileInfo).bytes();
-
-                zos.putNextEntry(new ZipEntry(entryPath));
-                zos.write(bytes);
-                zos.closeEntry();
-            }
-        } catch (Exception e) {
-            FileUtil.del(zipFile);
-            throw new IOException("模板打包失败: " + e.getMessage(), e);
+        // 清单中的文件已按相对路径排序，ZIP 条目顺序稳定
+        List<TemplateArtifact.Entry> entries = new ArrayList<>(manifest.getFiles().size());
+        for (TemplateManifest.FileEntry file : manifest.getFiles()) {
+            entries.add(new TemplateArtifact.Entry(file.getPath(), ObjectUtil.defaultIfNull(file
+                .getSize(), 0L), TemplateManifestHelper.toFileInfo(file)));
+        }
+
+        TemplateArtifact artifact = new TemplateArtifact();
+        artifact.setTenantId(tenantId);
+        artifact.setGroupId(groupId);
+        artifact.setArtifactId(artifactId);
+        artifact.setVersion(version);
+        artifact.setFileName(String.format("%s-%s-%s.zip", groupId, artifactId, version));
+        artifact.setFingerprint(manifest.getFingerprint());
+        artifact.setEntries(entries);
+        artifact.setCachedFile(templateArtifactCache.get(tenantId, groupId, artifactId, version, manifest
+            .getFingerprint()));
+        return artifact;
+    }
+
+    @Override
+    public void writeTemplateZip(TemplateArtifact artifact, OutputStream out) throws IOException {
+        if (!templateArtifactCache.isEnabled()) {
+            writeZipEntries(artifact.getEntries(), new TeeOutputStream(out, null));
+            return;
+        }
+
+        // 同时写入响应与缓存临时文件，完整写出后发布为制品
+        Path tempFile = templateArtifactCache.createTempFile(artifact.getTenantId(), artifact.getGroupId(), artifact
+            .getArtifactId(), artifact.getVersion());
+        try (OutputStream cacheOut = new BufferedOutputStream(Files.newOutputStream(tempFile))) {
+            writeZipEntries(artifact.getEntries(), new TeeOutputStream(out, cacheOut));
+        } catch (IOException | RuntimeException e) {
+            templateArtifactCache.discard(tempFile);
+            throw e;
+        }
+        try {
+            templateArtifactCache.commit(tempFile, artifact.getTenantId(), artifact.getGroupId(), artifact
+                .getArtifactId(), artifact.getVersion(), artifact.getFingerprint());
+        } catch (IOException e) {
+            templateArtifactCache.discard(tempFile);
+            log.warn("模板制品缓存失败: {}", artifact.getFileName(), e);
         }
-        return zipFile;
     }
 
     @Override
@@ -281,293 +286,304 @@ public class TemplateFileServiceImpl implements TemplateFileService {
                 throw new BusinessException("模板删除处理中，请勿重复提交");
             }
             log.info("模板删除获取分布式锁成功: lockKey={}", lockKey);
-            deleteOldVersionFiles(groupId, artifactId, version);
-            deleteFromElasticsearch(tenantId, groupId, artifactId, version);
+            // 文件记录删除与索引发件箱在同一事务中写入
+            transactionTemplate.executeWithoutResult(status -> {
+                deleteOldVersionFiles(groupId, artifactId, version);
+                submitDelete(tenantId, groupId, artifactId, version);
+            });
         }
     }
 
-    // ==================== 压缩包解压 ====================
+    // ==================== 模板解析与校验 ====================
 
-    /**
-     * 根据文件后缀自动选择解压方式
-     *
-     * @param archiveFile 压缩包文件
-     * @param destDir     解压目标目录
-     * @throws IOException 解压失败
-     */
-    private void extractArchive(File archiveFile, File destDir) throws IOException {
-        String name = archiveFile.getName().toLowerCase();
-        if (name.endsWith(".tar.gz") || name.endsWith(".tgz")) {
-            extractTarGz(archiveFile, destDir);
-        } else if (name.endsWith(".7z")) {
-            extract7z(archiveFile, destDir);
-        } else {
-            unzipFile(archiveFile, destDir);
-        }
+    /** 解析 meta.json 文件 */
+    private MetaJson parseMetaJson(TemplateArchiveHelper.ArchiveManifest manifest) {
+        String content = manifest.getText(TemplateArchiveHelper.META_JSON);
+        CheckUtils.throwIf(content == null, "模板缺少 meta.json 文件");
+        return JSONUtil.toBean(content, MetaJson.class);
     }
 
-    /** 解压 TAR.GZ 格式 */
-    private void extractTarGz(File tarGzFile, File destDir) throws IOException {
-        try (FileInputStream fis = new FileInputStream(tarGzFile);
-            GzipCompressorInputStream gzIn = new GzipCompressorInputStream(fis);
-            TarArchiveInputStream tarIn = new TarArchiveInputStream(gzIn)) {
-            ArchiveEntry entry;
-            while ((entry = tarIn.getNextEntry()) != null) {
-                File newFile = newFile(destDir, entry.getName());
-                if (entry.isDirectory()) {
-                    if (!newFile.isDirectory() && !newFile.mkdirs()) {
-                        throw new IOException("创建目录失败: " + newFile);
-                    }
-                } else {
-                    Files.createDirectories(newFile.getParentFile().toPath());
-                    try (FileOutputStream fos = new FileOutputStream(newFile)) {
-                        tarIn.transferTo(fos);
-                    }
-                }
-            }
+    /** 校验 meta.json 中声明的文件是否都存在 */
+    private void validateTemplateFiles(TemplateArchiveHelper.ArchiveManifest manifest, MetaJson metaJson) {
+        for (MetaJson.FileInfo fi : metaJson.getFiles()) {
+            String filePath = fi.getFilePath() + "/" + fi.getFilename();
+            CheckUtils.throwIf(!manifest.contains(normalizeRelativePath(filePath)), "模板文件不存在: {}", filePath);
         }
     }
 
-    /** 解压 7Z 格式 */
-    private void extract7z(File sevenZFile, File destDir) throws IOException {
-        try (SevenZFile szf = SevenZFile.builder().setFile(sevenZFile).get()) {
-            SevenZArchiveEntry entry;
-            while ((entry = szf.getNextEntry()) != null) {
-                File newFile = newFile(destDir, entry.getName());
-                if (entry.isDirectory()) {
-                    if (!newFile.isDirectory() && !newFile.mkdirs()) {
-                        throw new IOException("创建目录失败: " + newFile);
-                    }
-                } else {
-                    Files.createDirectories(newFile.getParentFile().toPath());
-                    try (FileOutputStream fos = new FileOutputStream(newFile)) {
-                        byte[] buffer = new byte[4096];
-                        int len;
-                        while ((len = szf.read(buffer)) > 0) {
-                            fos.write(buffer, 0, len);
-                        }
-                    }
+    // ==================== 文件上传与管理 ====================
+
+    /**
+     * 流式读取压缩包条目并行上传到存储，与已有文件按内容哈希对比
+     * <p>
+     * 请求线程顺序读取条目并计算 SHA-256，与已有文件记录相同（且位于同一存储）的文件跳过上传；
+     * 其余文件写入共享内容对象（存储中已有相同内容时只增加引用）。写入交给独立线程池并行执行，
+     * 在途文件数受 maxInFlight 限制，内存占用与压缩包大小无关。此阶段不开启数据库事务，
+     * 读取失败或任一文件写入存储失败时直接归还已写入内容对象的引用，并使上传失败。
+     * </p>
+     *
+     * @param file           压缩包
+     * @param rootPrefix     模板根目录在压缩包中的前缀
+     * @param templatePrefix FileService 中的存储前缀路径
+     * @param existingFiles  模板版本已有的文件记录（按相对路径）
+     * @param storage        存储配置
+     * @return 上传结果（文件记录尚未写入）
+     */
+    private UploadDiff uploadArchiveEntries(MultipartFile file,
+                                            String rootPrefix,
+                                            String templatePrefix,
+                                            Map<String, FileDO> existingFiles,
+                                            StorageDO storage) throws IOException {
+        SearchProperties.UploadProperties upload = searchProperties.getUpload();
+        List<String> allowedExtensions = FileTypeEnum.getAllExtensions();
+        UploadDiff diff = new UploadDiff();
+        Semaphore inFlight = new Semaphore(upload.getMaxInFlight());
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        List<String> failedPaths = Collections.synchronizedList(new ArrayList<>());
+        try {
+            TemplateArchiveHelper.read(file, (name, size, in) -> {
+                if (!name.startsWith(rootPrefix)) {
+                    return;
+                }
+                String relativePath = name.substring(rootPrefix.length());
+                int slash = relativePath.lastIndexOf('/');
+                String fileName = relativePath.substring(slash + 1);
+                String parentPath = slash < 0 ? templatePrefix : templatePrefix + "/" + relativePath.substring(0, slash);
+                boolean metadataFile = isMetadataFile(relativePath);
+                if (!allowedExtensions.contains(FileNameUtil.extName(fileName))) {
+                    log.warn("文件上传失败: {}/{}, 原因: 不支持的文件类型", parentPath, fileName);
+                    // 无法与已有记录对比，按已变更处理
+                    diff.setMetadataChanged(diff.isMetadataChanged() || metadataFile);
+                    return;
                 }
-            }
-        }
-    }
 
-    /** 解压 ZIP 格式（Java 原生） */
-    private void unzipFile(File zipFile, File destDir) throws IOException {
-        byte[] buffer = new byte[4096];
-        try (ZipInputStream zis = new ZipInputStream(new FileInputStream(zipFile))) {
-            ZipEntry zipEntry = zis.getNextEntry();
-            while (zipEntry != null) {
-                String entryName = zipEntry.getName().replace("\r", "").replace("\n", "");
-                File newFile = newFile(destDir, entryName);
-                if (zipEntry.isDirectory()) {
-                    if (!newFile.isDirectory() && !newFile.mkdirs()) {
-                        throw new IOException("创建目录失败: " + newFile);
-                    }
-                } else {
-                    Files.createDirectories(newFile.getParentFile().toPath());
-                    try (FileOutputStream fos = new FileOutputStream(newFile)) {
-                        int len;
-                        while ((len = zis.read(buffer)) > 0) {
-                            fos.write(buffer, 0, len);
-                        }
-                    }
+                byte[] bytes = TemplateArchiveHelper.readFully(in, upload.getMaxEntrySize());
+                CheckUtils.throwIfNull(bytes, "模板文件过大: {}", relativePath);
+                diff.getSeenPaths().add(relativePath);
+                String sha256 = DigestUtil.sha256Hex(bytes);
+                FileDO previous = existingFiles.get(relativePath);
+                TemplateUploadHelper.Decision decision = TemplateUploadHelper.decide(previous, sha256, storage
+                    .getId(), fileBlobService::isBlob);
+                if (decision == TemplateUploadHelper.Decision.UNCHANGED) {
+                    diff.setUnchanged(diff.getUnchanged() + 1);
+                    return;
                 }
-                zipEntry = zis.getNextEntry();
-            }
-            zis.closeEntry();
+                diff.setMetadataChanged(diff.isMetadataChanged() || metadataFile);
+                // 同一存储中指向内容对象的已有记录改为指向新内容（保留记录 ID），其余作为新文件写入
+                FileDO replaced = decision == TemplateUploadHelper.Decision.REPLACE ? previous : null;
+                try {
+                    inFlight.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("模板上传被中断", e);
+                }
+                futures.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        diff.getUploaded()
+                            .add(new UploadedEntry(relativePath, fileBlobService
+                                .store(bytes, sha256, fileName, parentPath, storage), replaced));
+                        log.debug("文件已上传: {}/{}", parentPath, fileName);
+                    } catch (Exception e) {
+                        failedPaths.add(relativePath);
+                        log.warn("文件上传失败: {}/{}", parentPath, fileName, e);
+                    } finally {
+                        inFlight.release();
+                    }
+                }, templateUploadExecutor));
+            });
+        } catch (IOException | RuntimeException e) {
+            // 等待在途写入结束后归还已写入内容对象的引用（无事务，立即生效）
+            awaitUploads(futures);
+            releaseUploaded(diff.getUploaded(), storage);
+            throw e;
         }
-    }
-
-    /**
-     * 创建目标文件（防止 Zip Slip 目录遍历漏洞）
-     */
-    private File newFile(File destinationDir, String entryName) throws IOException {
-        File destFile = new File(destinationDir, entryName);
-        String destDirPath = destinationDir.getCanonicalPath();
-        String destFilePath = destFile.getCanonicalPath();
-        if (!destFilePath.startsWith(destDirPath + File.separator)) {
-            throw new IOException("Entry is outside of the target dir: " + entryName);
+        awaitUploads(futures);
+        if (!failedPaths.isEmpty()) {
+            releaseUploaded(diff.getUploaded(), storage);
+            throw new BusinessException("模板文件上传失败 %d 个，如: %s".formatted(failedPaths.size(), failedPaths.get(0)));
         }
-        return destFile;
+        return diff;
     }
 
-    // ==================== 模板解析与校验 ====================
-
     /**
-     * 自动定位模板根目录
+     * 写入已上传文件的记录（在上传事务中执行）
      * <p>
-     * 压缩包可能有外层嵌套目录（如 template-v1/meta.json），
-     * 递归向下查找直到找到包含 meta.json 的目录。
+     * 内容变化的文件更新记录指向新的内容对象并归还旧引用，新增文件批量写入记录，压缩包中已不存在的文件及其空目录被删除。
      * </p>
      */
-    private File locateTemplateRoot(File dir) {
-        if (new File(dir, "meta.json").exists()) {
-            return dir;
-        }
-        File[] children = dir.listFiles();
-        if (children != null && children.length == 1 && children[0].isDirectory()) {
-            return locateTemplateRoot(children[0]);
+    private void saveUploadedEntries(UploadDiff diff,
+                                     Map<String, FileDO> existingFiles,
+                                     List<FileDO> existingRecords,
+                                     String templatePrefix,
+                                     StorageDO storage) {
+        List<FileDO> added = new ArrayList<>();
+        Set<String> addedPaths = new HashSet<>();
+        for (UploadedEntry entry : diff.getUploaded()) {
+            if (entry.getReplaced() == null) {
+                added.add(entry.getRecord());
+                addedPaths.add(entry.getRelativePath());
+            } else {
+                updateFileRecord(entry.getReplaced(), entry.getRecord(), storage);
+            }
         }
-        return dir;
+        saveFileRecords(added, storage, searchProperties.getUpload().getBatchSize());
+        diff.setAdded(added.size());
+        diff.setUpdated(diff.getUploaded().size() - added.size());
+
+        // 压缩包中已不存在的文件，以及作为新记录重新写入的文件（存储变更或非共享存储的旧记录）
+        List<FileDO> removed = TemplateUploadHelper.collectRemoved(existingFiles, diff.getSeenPaths(), addedPaths);
+        diff.setRemoved(removed.size());
+        diff.setMetadataChanged(diff.isMetadataChanged() || added.size() != removed.size());
+        deleteRemovedRecords(removed, existingRecords, templatePrefix);
     }
 
-    /** 解析 meta.json 文件 */
-    private MetaJson parseMetaJson(File tempDir) {
-        File metaJsonFile = new File(tempDir, "meta.json");
-        CheckUtils.throwIf(!metaJsonFile.exists(), "模板缺少 meta.json 文件");
-        String content = FileUtil.readUtf8String(metaJsonFile);
-        return JSONUtil.toBean(content, MetaJson.class);
+    /** 等待在途的存储写入结束 */
+    private void awaitUploads(List<CompletableFuture<Void>> futures) {
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).exceptionally(ex -> null).join();
     }
 
-    /** 校验 meta.json 中声明的文件是否都存在 */
-    private void validateTemplateFiles(File tempDir, MetaJson metaJson) {
-        for (MetaJson.FileInfo fi : metaJson.getFiles()) {
-            String filePath = fi.getFilePath() + "/" + fi.getFilename();
-            File templateFile = new File(tempDir, filePath);
-            CheckUtils.throwIf(!templateFile.exists(), "模板文件不存在: {}", filePath);
+    /** 归还已写入内容对象的引用（上传中途失败时调用） */
+    private void releaseUploaded(List<UploadedEntry> uploaded, StorageDO storage) {
+        for (UploadedEntry entry : uploaded) {
+            try {
+                fileBlobService.release(entry.getRecord(), storage);
+            } catch (Exception e) {
+                // 引用计数偏大只会使内容对象无法回收，不影响文件读取
+                log.warn("归还内容对象引用失败: {}", entry.getRecord().getPath(), e);
+            }
         }
     }
 
-    // ==================== 文件上传与管理 ====================
-
     /**
-     * 将解压后的模板文件逐个上传到 FileService
-     *
-     * @param currentDir     当前遍历的目录
-     * @param templateRoot   模板根目录（用于计算相对路径）
-     * @param templatePrefix FileService 中的存储前缀路径
+     * 删除已移除的文件记录及其存储对象，同时删除不再包含文件的目录记录
      */
-    private void uploadExtractedFiles(File currentDir, File templateRoot, String templatePrefix) throws IOException {
-        File[] children = currentDir.listFiles();
-        if (children == null) {
+    private void deleteRemovedRecords(List<FileDO> removed, List<FileDO> existingRecords, String templatePrefix) {
+        if (removed.isEmpty()) {
             return;
         }
-        for (File child : children) {
-            if (child.isDirectory()) {
-                uploadExtractedFiles(child, templateRoot, templatePrefix);
-            } else {
-                // 计算文件在 FileService 中的 parentPath
-                String relativePath = templateRoot.toPath()
-                    .relativize(child.getParentFile().toPath())
-                    .toString()
-                    .replace("\\", "/");
-                String parentPath = relativePath.isEmpty() ? templatePrefix : templatePrefix + "/" + relativePath;
+        List<Long> ids = TemplateUploadHelper
+            .collectDeleteIds(removed, listTemplateRecords(templatePrefix), existingRecords, templatePrefix);
+        fileService.delete(ids);
+        log.info("已删除模板中移除的文件 {} 个, 目录 {} 个", removed.size(), ids.size() - removed.size());
+    }
 
-                try {
-                    fileService.upload(child, parentPath);
-                    log.debug("文件已上传: {}/{}", parentPath, child.getName());
-                } catch (Exception e) {
-                    log.warn("文件上传失败: {}/{}, 原因: {}", parentPath, child.getName(), e.getMessage());
-                }
-            }
+    /**
+     * 更新文件记录指向新的内容对象（保留记录 ID 与创建时间），并归还旧内容对象的引用
+     */
+    private void updateFileRecord(FileDO previous, FileDO record, StorageDO storage) {
+        record.setId(previous.getId());
+        record.setCreateTime(previous.getCreateTime());
+        fileMapper.updateById(record);
+        fileBlobService.release(previous, storage);
+    }
+
+    /**
+     * 批量写入文件记录（先按去重后的上级目录创建文件夹记录）
+     */
+    private void saveFileRecords(List<FileDO> records, StorageDO storage, int batchSize) {
+        if (records.isEmpty()) {
+            return;
+        }
+        Set<String> parentPaths = new TreeSet<>();
+        for (FileDO record : records) {
+            parentPaths.add(record.getParentPath());
+        }
+        parentPaths.forEach(parentPath -> fileService.createParentDir(parentPath, storage));
+        for (List<FileDO> batch : CollUtil.split(records, batchSize)) {
+            fileMapper.insertBatch(batch);
         }
+        log.info("模板文件记录已写入: 文件 {} 个, 目录 {} 个", records.size(), parentPaths.size());
     }
 
     /**
-     * 删除指定模板版本的所有旧文件
-     * <p>
-     * 重新上传同版本模板时，先清理旧文件避免残留。
-     * </p>
+     * 删除指定模板版本的所有文件
      */
     private void deleteOldVersionFiles(String groupId, String artifactId, String version) {
-        String templatePrefix = buildTemplatePrefix(groupId, artifactId, version);
-        List<FileDO> oldFiles = fileMapper.lambdaQuery().likeRight(FileDO::getParentPath, templatePrefix).list();
+        List<FileDO> oldFiles = listTemplateRecords(buildTemplatePrefix(groupId, artifactId, version));
         if (!oldFiles.isEmpty()) {
             List<Long> ids = oldFiles.stream().map(FileDO::getId).collect(Collectors.toList());
             fileService.delete(ids);
-            log.info("已删除旧版本模板文件 {} 个", ids.size());
+            log.info("已删除模板版本文件 {} 个", ids.size());
         }
     }
 
-    // ==================== 文件树构建 ====================
+    /**
+     * 查询模板版本下的文件及目录记录（按目录边界匹配，不包含同名前缀的其他版本，如 1.0.0 与 1.0.0-beta）
+     */
+    private List<FileDO> listTemplateRecords(String templatePrefix) {
+        return fileMapper.lambdaQuery()
+            .and(w -> w.eq(FileDO::getParentPath, templatePrefix)
+                .or()
+                .likeRight(FileDO::getParentPath, templatePrefix + "/"))
+            .list();
+    }
+
+    /** 是否为影响模板索引文档的文件（meta.json 或根目录 README） */
+    private boolean isMetadataFile(String relativePath) {
+        return TemplateArchiveHelper.META_JSON.equals(relativePath) || ArrayUtil
+            .contains(TemplateArchiveHelper.README_NAMES, relativePath);
+    }
+
+    // ==================== 打包下载 ====================
 
     /**
-     * 从数据库文件记录重建树形结构
+     * 按顺序写入 ZIP 条目
      * <p>
-     * 将平铺的 FileDO 列表，按 parentPath 分组，
-     * 还原为前端所需的嵌套树形 JSON 结构。
+     * 后续 prefetch 个文件提前在下载线程池中并行读取，超过 prefetchMaxSize 的文件写入时直接从存储流式复制，
+     * 内存占用上限约为 prefetch × prefetchMaxSize。
      * </p>
      */
-    private List<Map<String, Object>> buildFileTreeFromRecords(List<FileDO> files, String templatePrefix) {
-        // 收集所有相对路径
-        Set<String> dirPaths = new TreeSet<>();
-        Map<String, List<FileDO>> filesByDir = new HashMap<>();
-
-        for (FileDO file : files) {
-            String relativePath = file.getParentPath().substring(templatePrefix.length());
-            if (relativePath.startsWith("/")) {
-                relativePath = relativePath.substring(1);
-            }
-            filesByDir.computeIfAbsent(relativePath, k -> new ArrayList<>()).add(file);
-            // 收集所有中间目录
-            String[] parts = relativePath.split("/");
-            StringBuilder sb = new StringBuilder();
-            for (String part : parts) {
-                if (!part.isEmpty()) {
-                    if (!sb.isEmpty()) {
-                        sb.append("/");
-                    }
-                    sb.append(part);
-                    dirPaths.add(sb.toString());
+    private void writeZipEntries(List<TemplateArtifact.Entry> entries, TeeOutputStream out) throws IOException {
+        SearchProperties.DownloadProperties download = searchProperties.getDownload();
+        int prefetch = Math.max(download.getPrefetch(), 0);
+        Deque<CompletableFuture<byte[]>> window = new ArrayDeque<>();
+        int submitted = 0;
+        try (ZipOutputStream zos = new ZipOutputStream(out)) {
+            for (TemplateArtifact.Entry entry : entries) {
+                while (submitted < entries.size() && window.size() <= prefetch) {
+                    window.addLast(prefetchEntry(entries.get(submitted++), download.getPrefetchMaxSize()));
                 }
+                byte[] bytes = awaitEntry(window.removeFirst(), entry);
+                ZipEntry zipEntry = new ZipEntry(entry.getPath());
+                zipEntry.setTimeLocal(ZIP_ENTRY_TIME);
+                zos.putNextEntry(zipEntry);
+                if (bytes != null) {
+                    zos.write(bytes);
+                } else {
+                    fileStorageService.download(entry.getFileInfo()).inputStream(in -> IoUtil.copy(in, zos));
+                }
+                zos.closeEntry();
             }
+        } finally {
+            window.forEach(future -> future.cancel(true));
         }
-
-        // 递归构建树
-        return buildTreeLevel("", dirPaths, filesByDir);
     }
 
-    /** 递归构建某一层级的树节点 */
-    private List<Map<String, Object>> buildTreeLevel(String currentPath,
-                                                     Set<String> allDirPaths,
-                                                     Map<String, List<FileDO>> filesByDir) {
-        List<Map<String, Object>> nodes = new ArrayList<>();
-
-        // 添加子目录
-        Set<String> directChildDirs = new TreeSet<>();
-        String prefix = currentPath.isEmpty() ? "" : currentPath + "/";
-        for (String dirPath : allDirPaths) {
-            if (dirPath.startsWith(prefix) && !dirPath.equals(currentPath)) {
-                String remaining = dirPath.substring(prefix.length());
-                if (!remaining.contains("/")) {
-                    directChildDirs.add(dirPath);
-                }
-            }
-        }
-        for (String dirPath : directChildDirs) {
-            String dirName = dirPath.contains("/") ? dirPath.substring(dirPath.lastIndexOf('/') + 1) : dirPath;
-            Map<String, Object> dirNode = new LinkedHashMap<>();
-            dirNode.put("name", dirName);
-            dirNode.put("path", dirPath);
-            dirNode.put("isDir", true);
-            dirNode.put("children", buildTreeLevel(dirPath, allDirPaths, filesByDir));
-            nodes.add(dirNode);
+    /** 预读文件内容（大文件返回 null，写入时流式复制） */
+    private CompletableFuture<byte[]> prefetchEntry(TemplateArtifact.Entry entry, long prefetchMaxSize) {
+        if (entry.getSize() > prefetchMaxSize) {
+            return CompletableFuture.completedFuture(null);
         }
+        return CompletableFuture.supplyAsync(() -> fileStorageService.download(entry.getFileInfo())
+            .bytes(), templateDownloadExecutor);
+    }
 
-        // 添加当前目录下的文件
-        List<FileDO> currentFiles = filesByDir.getOrDefault(currentPath, Collections.emptyList());
-        currentFiles.sort(Comparator.comparing(f -> f.getOriginalName().toLowerCase()));
-        for (FileDO file : currentFiles) {
-            String filePath = currentPath.isEmpty()
-                ? file.getOriginalName()
-                : currentPath + "/" + file.getOriginalName();
-            Map<String, Object> fileNode = new LinkedHashMap<>();
-            fileNode.put("name", file.getOriginalName());
-            fileNode.put("path", filePath);
-            fileNode.put("isDir", false);
-            fileNode.put("size", file.getSize());
-            nodes.add(fileNode);
+    private byte[] awaitEntry(CompletableFuture<byte[]> future, TemplateArtifact.Entry entry) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("模板打包被中断");
+        } catch (ExecutionException e) {
+            throw new IOException("读取模板文件失败: " + entry.getPath(), e.getCause());
         }
-
-        return nodes;
     }
 
     // ==================== 辅助方法 ====================
 
     /** 构建模板在 FileService 中的存储前缀路径 */
     private String buildTemplatePrefix(String groupId, String artifactId, String version) {
-        return TEMPLATE_PATH_PREFIX + groupId + "/" + artifactId + "/" + version;
+        return SearchIndexConstants.TEMPLATE_PATH_PREFIX + groupId + "/" + artifactId + "/" + version;
     }
 
     /** 优先取第一个非空字符串 */
@@ -583,30 +599,32 @@ public class TemplateFileServiceImpl implements TemplateFileService {
     /**
      * 从模板根目录读取 README 文件内容作为描述
      */
-    private String readReadmeContent(File templateRoot) {
-        String[] readmeNames = {"README.md", "readme.md", "README.MD", "README", "readme"};
-        for (String name : readmeNames) {
-            File readme = new File(templateRoot, name);
-            if (readme.exists() && readme.isFile()) {
-                try {
-                    String content = FileUtil.readUtf8String(readme);
-                    if (StrUtil.isNotBlank(content)) {
-                        return content;
-                    }
-                } catch (Exception e) {
-                    log.warn("读取 README 失败: {}", readme.getAbsolutePath(), e);
-                }
+    private String readReadmeContent(TemplateArchiveHelper.ArchiveManifest manifest) {
+        for (String name : TemplateArchiveHelper.README_NAMES) {
+            String content = manifest.getText(name);
+            if (StrUtil.isNotBlank(content)) {
+                return content;
             }
         }
         return null;
     }
 
+    /** 规范化模板内相对路径（统一分隔符，去除多余的 / 和 ./ 前缀） */
+    private String normalizeRelativePath(String path) {
+        String normalized = path.replace('\\', '/').replaceAll("/{2,}", "/");
+        while (normalized.startsWith("/") || normalized.startsWith("./")) {
+            normalized = normalized.substring(normalized.indexOf('/') + 1);
+        }
+        return normalized;
+    }
+
     /** 构建上传响应 */
     private TemplateUploadResp buildUploadResponse(String groupId,
                                                    String artifactId,
                                                    String version,
                                                    MetaJson metaJson,
-                                                   String downloadUrl) {
+                                                   String downloadUrl,
+                                                   UploadDiff diff) {
         List<TemplateUploadResp.TemplateFileInfo> fileInfoList = new ArrayList<>();
         for (MetaJson.FileInfo fi : metaJson.getFiles()) {
             fileInfoList.add(TemplateUploadResp.TemplateFileInfo.builder()
@@ -625,6 +643,10 @@ public class TemplateFileServiceImpl implements TemplateFileService {
             .description(metaJson.getDescription())
             .downloadUrl(downloadUrl)
             .files(fileInfoList)
+            .addedCount(diff.getAdded())
+            .updatedCount(diff.getUpdated())
+            .unchangedCount(diff.getUnchanged())
+            .removedCount(diff.getRemoved())
             .uploadTime(LocalDateTime.now())
             .build();
     }
@@ -654,98 +676,153 @@ public class TemplateFileServiceImpl implements TemplateFileService {
         }
     }
 
-    private void indexToElasticsearch(Long tenantId,
-                                      String groupId,
-                                      String artifactId,
-                                      String version,
-                                      String templatePrefix,
-                                      MetaJson metaJson) {
-        try {
-            List<FileDO> files = fileMapper.lambdaQuery()
-                .likeRight(FileDO::getParentPath, templatePrefix)
-                .ne(FileDO::getType, FileTypeEnum.DIR)
-                .list();
-            if (files.isEmpty()) {
-                return;
-            }
-            String docId = buildEsDocId(tenantId, groupId, artifactId, version);
-            log.info("ES 索引模板: index={}, docId={}, tenantId={}, groupId={}, artifactId={}, version={}", searchProperties
-                .getElasticsearch()
-                .getIndex(), docId, tenantId, groupId, artifactId, version);
-
-            Map<String, Object> doc = new HashMap<>();
-            doc.put("tenantId", tenantId);
-            doc.put("id", docId);
-            doc.put("title", artifactId);
-            doc.put("name", metaJson.getName());
-            doc.put("summary", buildSummary(metaJson, files.size()));
-            doc.put("groupId", groupId);
-            doc.put("artifactId", artifactId);
-            doc.put("version", version);
-            doc.put("tags", metaJson.getTags());
-            doc.put("description", metaJson.getDescription());
-            doc.put("fileCount", files.size());
-            doc.put("keywords", buildKeywords(metaJson, groupId, artifactId));
-            doc.put("createTime", files.get(0).getCreateTime() != null
-                ? files.get(0).getCreateTime().toString()
-                : null);
-
-            esClient.index(i -> i.index(searchProperties.getElasticsearch().getIndex()).id(docId).document(doc));
-            log.info("ES 索引写入成功: docId={}", docId);
-        } catch (Exception e) {
-            log.error("ES 索引写入失败: groupId={}, artifactId={}, version={}", groupId, artifactId, version, e);
-            throw new BusinessException("模板索引失败");
+    /**
+     * 事务提交后执行；无事务时立即执行
+     */
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
         }
     }
 
-    private void deleteFromElasticsearch(Long tenantId, String groupId, String artifactId, String version) {
-        try {
-            String docId = buildEsDocId(tenantId, groupId, artifactId, version);
-            log.info("ES 删除模板: index={}, docId={}, tenantId={}, groupId={}, artifactId={}, version={}", searchProperties
-                .getElasticsearch()
-                .getIndex(), docId, tenantId, groupId, artifactId, version);
-            esClient.delete(d -> d.index(searchProperties.getElasticsearch().getIndex()).id(docId));
-            log.info("ES 删除成功: docId={}", docId);
-        } catch (Exception e) {
-            log.warn("删除 ES 索引失败: {}/{}/{}", groupId, artifactId, version, e);
+    /**
+     * 写入索引发件箱（与文件记录同一事务，提交后由后台消费者批量同步到 ES）
+     *
+     * @param documentChanged 模板元数据或文件数是否变化（未变化时只重建代码内容索引）
+     */
+    private void submitIndex(Long tenantId,
+                             String groupId,
+                             String artifactId,
+                             String version,
+                             String templatePrefix,
+                             MetaJson metaJson,
+                             boolean documentChanged) {
+        long fileCount = fileMapper.lambdaQuery()
+            .and(w -> w.eq(FileDO::getParentPath, templatePrefix)
+                .or()
+                .likeRight(FileDO::getParentPath, templatePrefix + "/"))
+            .ne(FileDO::getType, FileTypeEnum.DIR)
+            .count();
+        String docId = TemplateIndexHelper.buildDocId(tenantId, groupId, artifactId, version);
+        if (fileCount == 0) {
+            templateIndexService.submitDelete(tenantId, docId);
+            templateIndexService.submitCodeDelete(tenantId, docId);
+            return;
         }
+        if (documentChanged) {
+            templateIndexService.submitIndex(tenantId, docId, TemplateIndexHelper
+                .buildDocument(tenantId, groupId, artifactId, version, metaJson, fileCount, LocalDateTime.now()));
+        }
+        templateIndexService.submitCodeIndex(tenantId, docId, groupId, artifactId, version, templatePrefix);
     }
 
-    private String buildEsDocId(Long tenantId, String groupId, String artifactId, String version) {
-        return tenantId + ":" + groupId + ":" + artifactId + ":" + version;
+    private void submitDelete(Long tenantId, String groupId, String artifactId, String version) {
+        afterCommit(() -> {
+            templateManifestCache.evict(tenantId, groupId, artifactId, version);
+            templateArtifactCache.evict(tenantId, groupId, artifactId, version);
+        });
+        String docId = TemplateIndexHelper.buildDocId(tenantId, groupId, artifactId, version);
+        templateIndexService.submitDelete(tenantId, docId);
+        templateIndexService.submitCodeDelete(tenantId, docId);
     }
 
-    private String buildSummary(MetaJson metaJson, int fileCount) {
-        String description = StrUtil.blankToDefault(metaJson.getDescription(), StrUtil.blankToDefault(metaJson
-            .getName(), ""));
-        String summary = description;
-        if (summary.length() > 300) {
-            summary = summary.substring(0, 300);
+    /**
+     * 增量上传结果
+     */
+    @Data
+    private static class UploadDiff {
+
+        /**
+         * 压缩包中的文件（相对路径）
+         */
+        private final Set<String> seenPaths = new HashSet<>();
+
+        /**
+         * 已写入存储的文件（上传线程并发添加）
+         */
+        private final List<UploadedEntry> uploaded = Collections.synchronizedList(new ArrayList<>());
+
+        private int added;
+        private int updated;
+        private int unchanged;
+        private int removed;
+
+        /**
+         * meta.json、README 或文件数量是否变化（需要重建模板索引文档）
+         */
+        private boolean metadataChanged;
+
+        boolean hasChanges() {
+            return added + updated + removed > 0;
         }
-        return summary + " | fileCount=" + fileCount;
     }
 
-    private List<String> buildKeywords(MetaJson metaJson, String groupId, String artifactId) {
-        Set<String> keywords = new LinkedHashSet<>();
-        keywords.add(groupId);
-        keywords.add(artifactId);
-        if (StrUtil.isNotBlank(metaJson.getName())) {
-            keywords.add(metaJson.getName());
+    /**
+     * 已上传的文件
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static class UploadedEntry {
+
+        private final String relativePath;
+
+        /**
+         * 指向内容对象的文件记录（未保存）
+         */
+        private final FileDO record;
+
+        /**
+         * 被替换内容的已有记录（新增文件为 null）
+         */
+        private final FileDO replaced;
+    }
+
+    /**
+     * 同时写入响应与缓存文件的输出流
+     * <p>
+     * 关闭时只刷新不关闭下游：响应流由容器关闭，缓存文件由调用方关闭
+     * </p>
+     */
+    @RequiredArgsConstructor
+    private static class TeeOutputStream extends OutputStream {
+
+        private final OutputStream out;
+        private final OutputStream copy;
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            if (copy != null) {
+                copy.write(b);
+            }
         }
-        if (metaJson.getTags() != null) {
-            keywords.addAll(metaJson.getTags());
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            if (copy != null) {
+                copy.write(b, off, len);
+            }
         }
-        if (metaJson.getFiles() != null) {
-            metaJson.getFiles().stream().limit(20).forEach(file -> {
-                if (StrUtil.isNotBlank(file.getFilename())) {
-                    keywords.add(file.getFilename());
-                }
-                if (StrUtil.isNotBlank(file.getFilePath())) {
-                    keywords.add(file.getFilePath());
-                }
-            });
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+            if (copy != null) {
+                copy.flush();
+            }
         }
-        return new ArrayList<>(keywords);
-    }
 
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
 }
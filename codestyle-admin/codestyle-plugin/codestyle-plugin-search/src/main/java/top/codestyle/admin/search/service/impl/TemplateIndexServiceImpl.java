@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.search.service.impl;
+
+import cn.hutool.json.JSONUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import top.codestyle.admin.search.constant.SearchIndexConstants;
+import top.codestyle.admin.search.indexer.CodeContentIndexer;
+import top.codestyle.admin.search.indexer.IndexOutboxWorker;
+import top.codestyle.admin.search.indexer.TemplateReindexJob;
+import top.codestyle.admin.search.mapper.IndexOutboxMapper;
+import top.codestyle.admin.search.model.entity.IndexOutboxDO;
+import top.codestyle.admin.search.service.TemplateIndexService;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 模板索引服务实现
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TemplateIndexServiceImpl implements TemplateIndexService {
+
+    private final IndexOutboxMapper indexOutboxMapper;
+    private final IndexOutboxWorker indexOutboxWorker;
+    private final TemplateReindexJob templateReindexJob;
+    private final CodeContentIndexer codeContentIndexer;
+
+    @Override
+    public void submitIndex(Long tenantId, String docId, Map<String, Object> document) {
+        submit(tenantId, docId, SearchIndexConstants.OP_INDEX, JSONUtil.toJsonStr(document));
+    }
+
+    @Override
+    public void submitDelete(Long tenantId, String docId) {
+        submit(tenantId, docId, SearchIndexConstants.OP_DELETE, null);
+    }
+
+    @Override
+    public void submitCodeIndex(Long tenantId,
+                                String docId,
+                                String groupId,
+                                String artifactId,
+                                String version,
+                                String templatePrefix) {
+        if (!codeContentIndexer.isEnabled()) {
+            return;
+        }
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("groupId", groupId);
+        payload.put("artifactId", artifactId);
+        payload.put("version", version);
+        payload.put("templatePrefix", templatePrefix);
+        submit(tenantId, docId, SearchIndexConstants.OP_CODE_INDEX, JSONUtil.toJsonStr(payload));
+    }
+
+    @Override
+    public void submitCodeDelete(Long tenantId, String docId) {
+        if (!codeContentIndexer.isEnabled()) {
+            return;
+        }
+        submit(tenantId, docId, SearchIndexConstants.OP_CODE_DELETE, null);
+    }
+
+    @Override
+    public Map<String, Object> reindex() {
+        return templateReindexJob.start();
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>(indexOutboxWorker.getStats());
+        stats.put("pendingCount", indexOutboxMapper.lambdaQuery()
+            .eq(IndexOutboxDO::getStatus, SearchIndexConstants.STATUS_PENDING)
+            .count());
+        stats.put("deadCount", indexOutboxMapper.lambdaQuery()
+            .eq(IndexOutboxDO::getStatus, SearchIndexConstants.STATUS_FAILED)
+            .count());
+        stats.put("reindex", templateReindexJob.getStats());
+        return stats;
+    }
+
+    private void submit(Long tenantId, String docId, String opType, String payload) {
+        LocalDateTime now = LocalDateTime.now();
+        IndexOutboxDO outbox = new IndexOutboxDO();
+        outbox.setTenantId(tenantId);
+        outbox.setDocId(docId);
+        outbox.setOpType(opType);
+        outbox.setPayload(payload);
+        outbox.setStatus(SearchIndexConstants.STATUS_PENDING);
+        outbox.setRetryCount(0);
+        outbox.setNextRetryTime(now);
+        outbox.setCreateTime(now);
+        indexOutboxMapper.insert(outbox);
+        log.info("索引变更已写入发件箱: docId={}, op={}", docId, opType);
+
+        // 事务提交后唤醒消费者；无事务时立即唤醒
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    indexOutboxWorker.wakeUp();
+                }
+            });
+        } else {
+            indexOutboxWorker.wakeUp();
+        }
+    }
+}
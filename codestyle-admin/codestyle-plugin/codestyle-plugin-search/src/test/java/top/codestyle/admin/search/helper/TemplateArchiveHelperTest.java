@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package top.codestyle.admin.search.helper;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 模板压缩包流式读取助手测试
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+class TemplateArchiveHelperTest {
+
+    @Test
+    void scanLocatesNestedRootPrefix() throws IOException {
+        TemplateArchiveHelper.ArchiveManifest manifest = TemplateArchiveHelper
+            .scan(zip("crud-template/meta.json", "crud-template/README.md", "crud-template/src/Entity.java.ftl"));
+
+        assertEquals("crud-template/", manifest.getRootPrefix());
+        assertTrue(manifest.contains("meta.json"));
+        assertTrue(manifest.contains("src/Entity.java.ftl"));
+        assertEquals("content of crud-template/meta.json", manifest.getText("meta.json"));
+        assertEquals("content of crud-template/README.md", manifest.getText("README.md"));
+    }
+
+    @Test
+    void scanDescendsThroughSingleChildDirectories() throws IOException {
+        TemplateArchiveHelper.ArchiveManifest manifest = TemplateArchiveHelper
+            .scan(zip("a/b/meta.json", "a/b/c/Mapper.xml.ftl"));
+
+        assertEquals("a/b/", manifest.getRootPrefix());
+    }
+
+    @Test
+    void scanKeepsRootWhenMetaJsonIsAtTopLevel() throws IOException {
+        TemplateArchiveHelper.ArchiveManifest manifest = TemplateArchiveHelper
+            .scan(zip("meta.json", "src/Entity.java.ftl"));
+
+        assertEquals("", manifest.getRootPrefix());
+        assertTrue(manifest.contains("src/Entity.java.ftl"));
+    }
+
+    @Test
+    void scanStopsAtDirectoryWithSeveralChildren() throws IOException {
+        TemplateArchiveHelper.ArchiveManifest manifest = TemplateArchiveHelper
+            .scan(zip("root/a/meta.json", "root/b/meta.json"));
+
+        assertEquals("root/", manifest.getRootPrefix());
+        assertFalse(manifest.contains("meta.json"));
+    }
+
+    @Test
+    void readNormalizesEntryNames() throws IOException {
+        List<String> names = new ArrayList<>();
+        TemplateArchiveHelper.read(zip("./meta.json", "././src\\main\\Entity.java.ftl"), (name, size, in) -> names
+            .add(name));
+
+        assertEquals(List.of("meta.json", "src/main/Entity.java.ftl"), names);
+    }
+
+    @Test
+    void readRejectsEntriesOutsideTargetDir() {
+        for (String name : List
+            .of("../evil.sh", "a/../../evil.sh", "a\\..\\..\\evil.sh", "/etc/passwd", "C:/Windows/evil.dll", "./../evil.sh")) {
+            MockMultipartFile file = zip(name);
+            IOException e = assertThrows(IOException.class, () -> TemplateArchiveHelper
+                .read(file, (entryName, size, in) -> fail("不应处理越界条目: " + entryName)), name);
+            assertTrue(e.getMessage().contains("outside of the target dir"), name);
+        }
+    }
+
+    @Test
+    void readFullyReturnsNullWhenLimitExceeded() throws IOException {
+        byte[] bytes = "0123456789".getBytes(StandardCharsets.UTF_8);
+
+        assertArrayEquals(bytes, TemplateArchiveHelper.readFully(new ByteArrayInputStream(bytes), bytes.length));
+        assertNull(TemplateArchiveHelper.readFully(new ByteArrayInputStream(bytes), bytes.length - 1));
+    }
+
+    /**
+     * 构建 ZIP 压缩包（条目内容为 "content of " + 条目名）
+     */
+    private static MockMultipartFile zip(String... names) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zos = new ZipOutputStream(out)) {
+            for (String name : names) {
+                zos.putNextEntry(new ZipEntry(name));
+                zos.write(("content of " + name).getBytes(StandardCharsets.UTF_8));
+                zos.closeEntry();
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return new MockMultipartFile("file", "template.zip", "application/zip", out.toByteArray());
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package top.codestyle.admin.search.helper;
+
+import org.junit.jupiter.api.Test;
+import top.codestyle.admin.search.model.TemplateManifest;
+import top.codestyle.admin.system.model.entity.FileDO;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 模板文件清单助手测试
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+class TemplateManifestHelperTest {
+
+    private static final String PREFIX = "/templates/top.codestyle/crud-template/1.0.0";
+
+    @Test
+    void buildExcludesVersionsSharingThePrefix() {
+        List<FileDO> files = List.of(file(1L, PREFIX, "meta.json", "a"), file(2L, PREFIX + "/src", "Entity.java.ftl", "b"),
+            file(3L, PREFIX + "-beta", "meta.json", "c"), file(4L, PREFIX + "-beta/src", "Entity.java.ftl", "d"),
+            file(5L, PREFIX + ".1/src", "Mapper.xml.ftl", "e"));
+
+        TemplateManifest manifest = TemplateManifestHelper.build(files, PREFIX, storageId -> "local");
+
+        assertEquals(List.of("meta.json", "src/Entity.java.ftl"), manifest.getFiles()
+            .stream()
+            .map(TemplateManifest.FileEntry::getPath)
+            .toList());
+        assertEquals(List.of(1L, 2L), manifest.getFiles().stream().map(TemplateManifest.FileEntry::getId).toList());
+        assertEquals("local", manifest.getFiles().get(0).getPlatform());
+    }
+
+    @Test
+    void betaVersionDoesNotIncludeReleaseFiles() {
+        String betaPrefix = PREFIX + "-beta";
+        List<FileDO> files = List.of(file(1L, PREFIX, "meta.json", "a"), file(3L, betaPrefix, "meta.json", "c"));
+
+        TemplateManifest manifest = TemplateManifestHelper.build(files, betaPrefix, storageId -> "local");
+
+        assertEquals(1, manifest.getFiles().size());
+        assertEquals(3L, manifest.getFiles().get(0).getId());
+    }
+
+    @Test
+    void fingerprintIgnoresOtherVersionsAndTracksContent() {
+        List<FileDO> files = List
+            .of(file(1L, PREFIX, "meta.json", "a"), file(2L, PREFIX + "/src", "Entity.java.ftl", "b"));
+        String fingerprint = TemplateManifestHelper.build(files, PREFIX, storageId -> "local").getFingerprint();
+
+        List<FileDO> withBeta = List.of(file(1L, PREFIX, "meta.json", "a"), file(2L, PREFIX + "/src", "Entity.java.ftl", "b"),
+            file(3L, PREFIX + "-beta", "meta.json", "c"));
+        assertEquals(fingerprint, TemplateManifestHelper.build(withBeta, PREFIX, storageId -> "local").getFingerprint());
+
+        List<FileDO> changed = List
+            .of(file(1L, PREFIX, "meta.json", "a"), file(2L, PREFIX + "/src", "Entity.java.ftl", "x"));
+        assertNotEquals(fingerprint, TemplateManifestHelper.build(changed, PREFIX, storageId -> "local")
+            .getFingerprint());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void materializeBuildsTreeAndIndex() {
+        List<FileDO> files = List.of(file(1L, PREFIX, "meta.json", "a"), file(2L, PREFIX + "/src/main", "Entity.java.ftl", "b"),
+            file(3L, PREFIX + "/src", "README.md", "c"), file(4L, PREFIX + "-beta/src", "Beta.java.ftl", "d"));
+
+        TemplateManifest manifest = TemplateManifestHelper.materialize(TemplateManifestHelper
+            .build(files, PREFIX, storageId -> "local"));
+
+        assertEquals(3, manifest.getFileIndex().size());
+        assertEquals(2L, manifest.getFileIndex().get("src/main/Entity.java.ftl").getId());
+        assertNull(manifest.getFileIndex().get("src/Beta.java.ftl"));
+
+        // 目录在前，文件在后
+        List<Map<String, Object>> tree = manifest.getTree();
+        assertEquals(2, tree.size());
+        assertEquals("src", tree.get(0).get("name"));
+        assertEquals(true, tree.get(0).get("isDir"));
+        assertEquals("meta.json", tree.get(1).get("name"));
+
+        List<Map<String, Object>> src = (List<Map<String, Object>>)tree.get(0).get("children");
+        assertEquals(List.of("main", "README.md"), src.stream().map(node -> node.get("name")).toList());
+        assertEquals("src/main", src.get(0).get("path"));
+        List<Map<String, Object>> main = (List<Map<String, Object>>)src.get(0).get("children");
+        assertEquals("src/main/Entity.java.ftl", main.get(0).get("path"));
+    }
+
+    private static FileDO file(Long id, String parentPath, String originalName, String sha256) {
+        FileDO file = new FileDO();
+        file.setId(id);
+        file.setParentPath(parentPath);
+        file.setOriginalName(originalName);
+        file.setName(sha256);
+        file.setPath("/.blobs/" + sha256);
+        file.setSize(1L);
+        file.setSha256(sha256);
+        file.setStorageId(1L);
+        return file;
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package top.codestyle.admin.search.helper;
+
+import org.junit.jupiter.api.Test;
+import top.codestyle.admin.system.enums.FileTypeEnum;
+import top.codestyle.admin.system.model.entity.FileDO;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 模板上传差异助手测试
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+class TemplateUploadHelperTest {
+
+    private static final String PREFIX = "/templates/top.codestyle/crud-template/1.0.0";
+    private static final Long STORAGE_ID = 1L;
+
+    @Test
+    void unchangedFileIsSkipped() {
+        FileDO previous = file(1L, PREFIX, "meta.json", "ABC", STORAGE_ID);
+
+        assertEquals(TemplateUploadHelper.Decision.UNCHANGED, TemplateUploadHelper
+            .decide(previous, "abc", STORAGE_ID, record -> true));
+    }
+
+    @Test
+    void changedFileReplacesSharedBlobInPlace() {
+        FileDO previous = file(1L, PREFIX, "meta.json", "abc", STORAGE_ID);
+
+        assertEquals(TemplateUploadHelper.Decision.REPLACE, TemplateUploadHelper
+            .decide(previous, "def", STORAGE_ID, record -> true));
+        assertEquals(TemplateUploadHelper.Decision.ADD, TemplateUploadHelper
+            .decide(previous, "def", STORAGE_ID, record -> false));
+    }
+
+    @Test
+    void newFileOrStorageChangeIsAdded() {
+        FileDO previous = file(1L, PREFIX, "meta.json", "abc", 2L);
+
+        assertEquals(TemplateUploadHelper.Decision.ADD, TemplateUploadHelper
+            .decide(null, "abc", STORAGE_ID, record -> true));
+        // 内容相同但存储已变更，仍需写入新存储
+        assertEquals(TemplateUploadHelper.Decision.ADD, TemplateUploadHelper
+            .decide(previous, "abc", STORAGE_ID, record -> true));
+    }
+
+    @Test
+    void collectRemovedIncludesMissingAndReAddedFiles() {
+        FileDO meta = file(1L, PREFIX, "meta.json", "a", STORAGE_ID);
+        FileDO entity = file(2L, PREFIX + "/src", "Entity.java.ftl", "b", STORAGE_ID);
+        FileDO mapper = file(3L, PREFIX + "/src/mapper", "Mapper.xml.ftl", "c", STORAGE_ID);
+        Map<String, FileDO> existingFiles = new LinkedHashMap<>();
+        existingFiles.put("meta.json", meta);
+        existingFiles.put("src/Entity.java.ftl", entity);
+        existingFiles.put("src/mapper/Mapper.xml.ftl", mapper);
+
+        List<FileDO> removed = TemplateUploadHelper.collectRemoved(existingFiles, Set
+            .of("meta.json", "src/Entity.java.ftl"), Set.of("src/Entity.java.ftl"));
+
+        assertEquals(List.of(entity, mapper), removed);
+    }
+
+    @Test
+    void collectDeleteIdsPrunesEmptyDirectories() {
+        FileDO root = dir(10L, PREFIX);
+        FileDO src = dir(11L, PREFIX + "/src");
+        FileDO mapperDir = dir(12L, PREFIX + "/src/mapper");
+        FileDO meta = file(1L, PREFIX, "meta.json", "a", STORAGE_ID);
+        FileDO entity = file(2L, PREFIX + "/src", "Entity.java.ftl", "b", STORAGE_ID);
+        FileDO mapper = file(3L, PREFIX + "/src/mapper", "Mapper.xml.ftl", "c", STORAGE_ID);
+        List<FileDO> records = List.of(root, src, mapperDir, meta, entity, mapper);
+
+        List<Long> ids = TemplateUploadHelper.collectDeleteIds(List.of(mapper), records, records, PREFIX);
+
+        // src 仍包含 Entity.java.ftl，模板根目录不删除
+        assertEquals(List.of(3L, 12L), ids);
+    }
+
+    @Test
+    void collectDeleteIdsKeepsDirectoriesOfReAddedFiles() {
+        FileDO src = dir(11L, PREFIX + "/src");
+        FileDO entity = file(2L, PREFIX + "/src", "Entity.java.ftl", "b", 2L);
+        FileDO reAdded = file(20L, PREFIX + "/src", "Entity.java.ftl", "b", STORAGE_ID);
+
+        List<Long> ids = TemplateUploadHelper.collectDeleteIds(List.of(entity), List
+            .of(src, entity, reAdded), List.of(src, entity), PREFIX);
+
+        assertEquals(List.of(2L), ids);
+    }
+
+    @Test
+    void collectDeleteIdsIgnoresVersionsSharingThePrefix() {
+        String betaPrefix = PREFIX + "-beta";
+        FileDO betaSrc = dir(21L, betaPrefix + "/src");
+        FileDO src = dir(11L, PREFIX + "/src");
+        FileDO entity = file(2L, PREFIX + "/src", "Entity.java.ftl", "b", STORAGE_ID);
+        FileDO betaEntity = file(22L, betaPrefix + "/src", "Entity.java.ftl", "b", STORAGE_ID);
+
+        List<Long> ids = TemplateUploadHelper.collectDeleteIds(List.of(entity), List
+            .of(src, entity, betaSrc, betaEntity), List.of(src, entity, betaSrc), PREFIX);
+
+        assertEquals(List.of(2L, 11L), ids);
+    }
+
+    @Test
+    void relativePathIsRelativeToTemplateRoot() {
+        assertEquals("meta.json", TemplateUploadHelper
+            .relativePath(file(1L, PREFIX, "meta.json", "a", STORAGE_ID), PREFIX));
+        assertEquals("src/mapper/Mapper.xml.ftl", TemplateUploadHelper
+            .relativePath(file(3L, PREFIX + "/src/mapper", "Mapper.xml.ftl", "c", STORAGE_ID), PREFIX));
+    }
+
+    private static FileDO file(Long id, String parentPath, String originalName, String sha256, Long storageId) {
+        FileDO file = new FileDO();
+        file.setId(id);
+        file.setParentPath(parentPath);
+        file.setOriginalName(originalName);
+        file.setPath(parentPath + "/" + originalName);
+        file.setSha256(sha256);
+        file.setStorageId(storageId);
+        file.setType(FileTypeEnum.CODE);
+        return file;
+    }
+
+    private static FileDO dir(Long id, String path) {
+        FileDO dir = new FileDO();
+        dir.setId(id);
+        dir.setParentPath(path.substring(0, path.lastIndexOf('/')));
+        dir.setOriginalName(path.substring(path.lastIndexOf('/') + 1));
+        dir.setPath(path);
+        dir.setType(FileTypeEnum.DIR);
+        return dir;
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.template.cache;
+
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.crypto.digest.DigestUtil;
+import cn.hutool.json.JSONUtil;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import top.codestyle.admin.search.cache.SearchResultCache;
+import top.codestyle.admin.search.helper.CacheHelper;
+import top.codestyle.admin.search.model.SearchRequest;
+import top.codestyle.admin.search.model.SearchResult;
+import top.codestyle.admin.search.service.EmbeddingService;
+import top.codestyle.admin.search.util.SearchTenantUtils;
+import top.codestyle.admin.template.config.ChatProperties;
+import top.continew.starter.cache.redisson.util.RedisUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 语义应答缓存
+ * <p>
+ * 以“租户 + 检索索引代数 + 检索到的模板集合”划分缓存桶，桶内按问题向量的余弦相似度匹配已有回答。
+ * 引用的模板版本变化时检索结果集合不同，模板上传或删除时租户索引代数递增，旧桶均不再可达，由 TTL 淘汰。
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatAnswerCache {
+
+    private static final String CACHE_KEY_PREFIX = "chat_answer:";
+
+    private final EmbeddingService embeddingService;
+    private final SearchResultCache searchResultCache;
+    private final ChatProperties chatProperties;
+
+    private final LongAdder lookupCount = new LongAdder();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder putCount = new LongAdder();
+    private final LongAdder errorCount = new LongAdder();
+
+    /**
+     * 查找语义相近的缓存回答
+     *
+     * @param question      用户问题
+     * @param searchRequest 检索请求（用于确定索引代数）
+     * @param references    检索到的模板
+     * @return 查找结果（含回写所需的 Key 与问题向量），未启用、未检索到模板或出错时返回 null
+     */
+    public Lookup lookup(String question, SearchRequest searchRequest, List<SearchResult> references) {
+        ChatProperties.AnswerCacheConfig config = chatProperties.getAnswerCache();
+        // 未检索到模板时所有问题会落入同一个桶，仅凭问题相似度匹配容易误命中，不使用缓存
+        if (!config.isEnabled() || StrUtil.isBlank(question) || CollUtil.isEmpty(references)) {
+            return null;
+        }
+        lookupCount.increment();
+        try {
+            long generation = searchResultCache.currentGeneration(SearchTenantUtils.resolveSearchTenantId(searchRequest));
+            String key = buildKey(SearchTenantUtils.resolveCurrentTenantId(), generation, references);
+            float[] vector = embeddingService.encode(CacheHelper.normalizeQuery(question));
+
+            Entry best = null;
+            double bestScore = config.getSimilarityThreshold();
+            for (Entry entry : load(key)) {
+                double score = cosine(vector, entry.getVector());
+                if (score >= bestScore) {
+                    best = entry;
+                    bestScore = score;
+                }
+            }
+            if (best != null) {
+                hitCount.increment();
+                log.debug("命中语义应答缓存: similarity={}, cachedQuestion={}", bestScore, best.getQuestion());
+            }
+            return new Lookup(key, question, vector, best != null ? best.getAnswer() : null);
+        } catch (Exception e) {
+            errorCount.increment();
+            log.warn("查找语义应答缓存失败", e);
+            return null;
+        }
+    }
+
+    /**
+     * 写入回答
+     *
+     * @param lookup 查找结果
+     * @param answer 模型回答
+     */
+    public void put(Lookup lookup, String answer) {
+        ChatProperties.AnswerCacheConfig config = chatProperties.getAnswerCache();
+        if (lookup == null || StrUtil.isBlank(answer) || answer.length() > config.getMaxAnswerChars()) {
+            return;
+        }
+        try {
+            // 同一桶的并发写入可能丢失其中一条，对缓存可以接受
+            List<Entry> entries = new ArrayList<>(load(lookup.getKey()));
+            entries.add(new Entry(lookup.getQuestion(), lookup.getVector(), answer));
+            if (entries.size() > config.getMaxEntriesPerContext()) {
+                entries = entries.subList(entries.size() - config.getMaxEntriesPerContext(), entries.size());
+            }
+            RedisUtils.set(lookup.getKey(), JSONUtil.toJsonStr(entries), Duration.ofSeconds(config.getTtl()));
+            putCount.increment();
+        } catch (Exception e) {
+            errorCount.increment();
+            log.warn("写入语义应答缓存失败: {}", lookup.getKey(), e);
+        }
+    }
+
+    /**
+     * 获取统计信息
+     */
+    public Map<String, Object> getStats() {
+        long lookups = lookupCount.sum();
+        long hits = hitCount.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("lookupCount", lookups);
+        stats.put("hitCount", hits);
+        stats.put("hitRate", lookups == 0 ? 0D : (double)hits / lookups);
+        stats.put("putCount", putCount.sum());
+        stats.put("errorCount", errorCount.sum());
+        return stats;
+    }
+
+    private List<Entry> load(String key) {
+        String json = RedisUtils.get(key);
+        if (StrUtil.isBlank(json)) {
+            return List.of();
+        }
+        return JSONUtil.toList(json, Entry.class);
+    }
+
+    /**
+     * 缓存 Key：chat_answer:{租户}:{索引代数}:{检索模板集合摘要}
+     */
+    private static String buildKey(Long tenantId, long generation, List<SearchResult> references) {
+        TreeSet<String> templates = new TreeSet<>();
+        for (SearchResult reference : references) {
+            templates.add(reference.getGroupId() != null
+                ? reference.getGroupId() + ":" + reference.getArtifactId() + ":" + reference.getVersion()
+                : String.valueOf(reference.getId()));
+        }
+        return CACHE_KEY_PREFIX + tenantId + ":" + generation + ":" + DigestUtil.md5Hex(String.join(",", templates));
+    }
+
+    private static double cosine(float[] a, float[] b) {
+        if (a == null || b == null || a.length != b.length) {
+            return 0;
+        }
+        double dot = 0;
+        double normA = 0;
+        double normB = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+            normA += a[i] * a[i];
+            normB += b[i] * b[i];
+        }
+        return normA == 0 || normB == 0 ? 0 : dot / Math.sqrt(normA * normB);
+    }
+
+    /**
+     * 查找结果
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Lookup {
+
+        private final String key;
+        private final String question;
+        private final float[] vector;
+
+        /**
+         * 命中的缓存回答，未命中为 null
+         */
+        private final String answer;
+    }
+
+    /**
+     * 缓存条目
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Entry {
+
+        private String question;
+        private float[] vector;
+        private String answer;
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.template.cache;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.springframework.stereotype.Component;
+import top.codestyle.admin.template.config.ChatProperties;
+import top.codestyle.admin.template.mapper.ChatSessionMapper;
+import top.codestyle.admin.template.model.entity.ChatSessionDO;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 会话缓存
+ * <p>
+ * 缓存会话的所属用户与滚动摘要，每轮对话的权限校验与记忆加载不再查询会话表。
+ * 摘要只会向前推进，其他节点缓存的旧摘要与其之后的消息仍构成完整历史，因此摘要更新只刷新本节点；
+ * 会话删除时广播失效消息，各节点清除本地缓存。
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatSessionCache {
+
+    private static final String INVALIDATE_TOPIC = "chat_session:invalidate";
+
+    private final ChatSessionMapper chatSessionMapper;
+    private final RedissonClient redissonClient;
+    private final ChatProperties chatProperties;
+
+    private Cache<Long, ChatSessionDO> localCache;
+    private RTopic invalidateTopic;
+    private int listenerId;
+
+    @PostConstruct
+    public void init() {
+        ChatProperties.SessionCacheConfig config = chatProperties.getSessionCache();
+        localCache = Caffeine.newBuilder()
+            .maximumSize(config.getMaxSize())
+            .expireAfterWrite(config.getTtl(), TimeUnit.SECONDS)
+            .build();
+        invalidateTopic = redissonClient.getTopic(INVALIDATE_TOPIC);
+        listenerId = invalidateTopic.addListener(Long.class, (channel, sessionId) -> localCache.invalidate(sessionId));
+    }
+
+    @PreDestroy
+    public void destroy() {
+        invalidateTopic.removeListener(listenerId);
+    }
+
+    /**
+     * 获取会话（仅含所属用户与摘要字段）
+     *
+     * @param sessionId 会话 ID
+     * @return 会话，不存在时返回 null（不缓存）
+     */
+    public ChatSessionDO get(Long sessionId) {
+        return localCache.get(sessionId, id -> chatSessionMapper.selectOne(new LambdaQueryWrapper<ChatSessionDO>()
+            .select(ChatSessionDO::getId, ChatSessionDO::getUserId, ChatSessionDO::getSummary, ChatSessionDO::getSummaryMessageId)
+            .eq(ChatSessionDO::getId, id)));
+    }
+
+    /**
+     * 新建会话后写入缓存
+     */
+    public void put(ChatSessionDO session) {
+        localCache.put(session.getId(), snapshot(session.getId(), session.getUserId(), session
+            .getSummary(), session.getSummaryMessageId()));
+    }
+
+    /**
+     * 摘要推进后刷新本节点缓存
+     */
+    public void updateSummary(Long sessionId, String summary, Long summaryMessageId) {
+        ChatSessionDO cached = localCache.getIfPresent(sessionId);
+        if (cached != null) {
+            localCache.put(sessionId, snapshot(sessionId, cached.getUserId(), summary, summaryMessageId));
+        }
+    }
+
+    /**
+     * 清除会话缓存并通知其他节点
+     */
+    public void evict(Long sessionId) {
+        localCache.invalidate(sessionId);
+        try {
+            invalidateTopic.publish(sessionId);
+        } catch (Exception e) {
+            log.warn("广播会话缓存失效失败: sessionId={}", sessionId, e);
+        }
+    }
+
+    private static ChatSessionDO snapshot(Long sessionId, Long userId, String summary, Long summaryMessageId) {
+        // 缓存对象不可被调用方修改，更新时整体替换
+        ChatSessionDO session = new ChatSessionDO();
+        session.setId(sessionId);
+        session.setUserId(userId);
+        session.setSummary(summary);
+        session.setSummaryMessageId(summaryMessageId);
+        return session;
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.template.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 代码助手对话配置属性
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "template.chat")
+public class ChatProperties {
+
+    /**
+     * 对话记忆配置
+     */
+    private MemoryConfig memory = new MemoryConfig();
+
+    /**
+     * 语义应答缓存配置
+     */
+    private AnswerCacheConfig answerCache = new AnswerCacheConfig();
+
+    /**
+     * 会话缓存配置
+     */
+    private SessionCacheConfig sessionCache = new SessionCacheConfig();
+
+    @Data
+    public static class MemoryConfig {
+
+        /**
+         * 历史消息 Token 预算（超出预算的较早消息折叠进会话摘要）
+         */
+        private int historyTokenBudget = 3000;
+
+        /**
+         * 每轮最多读取的最近消息数
+         */
+        private int recentWindowSize = 40;
+
+        /**
+         * 单条历史消息最多计入的 Token 数（超长消息截断）
+         */
+        private int maxMessageTokens = 1000;
+
+        /**
+         * 单次折叠进摘要的最大消息数
+         */
+        private int summaryBatchSize = 20;
+
+        /**
+         * 摘要最大字符数
+         */
+        private int summaryMaxChars = 1500;
+    }
+
+    @Data
+    public static class AnswerCacheConfig {
+
+        /**
+         * 是否启用
+         */
+        private boolean enabled = true;
+
+        /**
+         * 命中所需的最小问题向量余弦相似度
+         */
+        private double similarityThreshold = 0.92;
+
+        /**
+         * 缓存过期时间（秒）
+         */
+        private long ttl = 86400;
+
+        /**
+         * 同一检索上下文下最多保留的问答数
+         */
+        private int maxEntriesPerContext = 50;
+
+        /**
+         * 超过该长度的回答不缓存
+         */
+        private int maxAnswerChars = 20000;
+    }
+
+    @Data
+    public static class SessionCacheConfig {
+
+        /**
+         * 本地缓存的最大会话数
+         */
+        private long maxSize = 10000;
+
+        /**
+         * 本地缓存过期时间（秒）
+         */
+        private long ttl = 1800;
+    }
+}
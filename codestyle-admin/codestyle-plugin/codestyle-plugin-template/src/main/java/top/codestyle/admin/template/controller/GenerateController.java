@@ -24,12 +24,14 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.http.MediaType;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import top.codestyle.admin.research.model.req.ResearchStartReq;
 import top.codestyle.admin.research.model.resp.ResearchStatusResp;
 import top.codestyle.admin.research.service.ResearchService;
+import top.codestyle.admin.template.cache.ChatAnswerCache;
 import top.codestyle.admin.template.model.req.*;
 import top.codestyle.admin.template.model.resp.*;
 import top.codestyle.admin.template.service.ChatSessionService;
@@ -37,6 +39,7 @@ import top.codestyle.admin.template.service.TemplateService;
 import top.continew.starter.extension.tenant.annotation.TenantIgnore;
 
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Tag(name = "AI 代码生成 API")
@@ -51,6 +54,7 @@ public class GenerateController {
     private final ChatSessionService chatSessionService;
     private final TemplateService templateService;
     private final ResearchService researchService;
+    private final ChatAnswerCache chatAnswerCache;
 
     @Operation(summary = "发送对话消息")
     @SaCheckPermission("template:generate:chat")
@@ -59,6 +63,20 @@ public class GenerateController {
         return chatSessionService.chat(req);
     }
 
+    @Operation(summary = "发送对话消息 (SSE 流式)")
+    @SaCheckPermission("template:generate:chat")
+    @PostMapping(value = "/chat/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter chatStream(@Valid @RequestBody ChatMessageReq req) {
+        return chatSessionService.streamChat(req);
+    }
+
+    @Operation(summary = "对话统计", description = "查看语义应答缓存命中情况")
+    @SaCheckPermission("template:generate:chat")
+    @GetMapping("/chat/stats")
+    public Map<String, Object> chatStats() {
+        return Map.of("answerCache", chatAnswerCache.getStats());
+    }
+
     @Operation(summary = "创建新会话")
     @SaCheckPermission("template:generate:session")
     @PostMapping("/session")
@@ -123,8 +141,9 @@ public class GenerateController {
     @Operation(summary = "订阅研究任务进度 (SSE)")
     @SaCheckPermission("template:generate:research")
     @GetMapping("/research/{taskId}/progress")
-    public SseEmitter getResearchProgress(@Parameter(description = "任务ID") @PathVariable String taskId) {
-        return researchService.subscribeProgress(taskId);
+    public SseEmitter getResearchProgress(@Parameter(description = "任务ID") @PathVariable String taskId,
+                                          @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return researchService.subscribeProgress(taskId, lastEventId);
     }
 
     @Operation(summary = "取消研究任务")
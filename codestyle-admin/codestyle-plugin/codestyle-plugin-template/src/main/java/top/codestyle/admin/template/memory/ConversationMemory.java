@@ -0,0 +1,269 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.template.memory;
+
+import cn.hutool.core.thread.NamedThreadFactory;
+import cn.hutool.core.util.ObjectUtil;
+import cn.hutool.core.util.StrUtil;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.stereotype.Component;
+import top.codestyle.admin.template.cache.ChatSessionCache;
+import top.codestyle.admin.template.config.ChatProperties;
+import top.codestyle.admin.template.mapper.ChatMessageMapper;
+import top.codestyle.admin.template.mapper.ChatSessionMapper;
+import top.codestyle.admin.template.model.entity.ChatMessageDO;
+import top.codestyle.admin.template.model.entity.ChatSessionDO;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 对话记忆
+ * <p>
+ * 每轮只按 ID 倒序读取摘要之后的最近消息窗口，按 Token 预算从新到旧保留；
+ * 超出预算的较早消息在后台折叠进会话的滚动摘要（chat_session.summary），
+ * 使长会话的提示词长度与数据库读取量保持有界。
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnClass(name = "org.springframework.ai.chat.client.ChatClient")
+public class ConversationMemory {
+
+    /**
+     * 单次摘要任务最多连续折叠的批次数
+     */
+    private static final int MAX_SUMMARY_ROUNDS = 5;
+
+    /**
+     * 摘要输入中单条消息的最大字符数
+     */
+    private static final int SUMMARY_MESSAGE_MAX_CHARS = 500;
+
+    private final ChatSessionMapper chatSessionMapper;
+    private final ChatSessionCache chatSessionCache;
+    private final ChatMessageMapper chatMessageMapper;
+    private final ChatClient.Builder chatClientBuilder;
+    private final ChatProperties chatProperties;
+
+    private final ThreadPoolExecutor summaryExecutor = new ThreadPoolExecutor(1, 2, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(100), new NamedThreadFactory("chat-summary-", true), new ThreadPoolExecutor.DiscardPolicy());
+    private final Set<Long> summarizing = ConcurrentHashMap.newKeySet();
+
+    @PreDestroy
+    public void destroy() {
+        summaryExecutor.shutdownNow();
+    }
+
+    /**
+     * 加载会话记忆（当前提问在回复生成后才写入，不在历史中）
+     *
+     * @param sessionId 会话 ID
+     * @return 会话摘要与预算内的最近消息
+     */
+    public Memory load(Long sessionId) {
+        ChatProperties.MemoryConfig config = chatProperties.getMemory();
+        ChatSessionDO session = chatSessionCache.get(sessionId);
+        if (session == null) {
+            return new Memory(null, List.of());
+        }
+        long summarizedId = ObjectUtil.defaultIfNull(session.getSummaryMessageId(), 0L);
+        List<ChatMessageDO> window = chatMessageMapper.selectList(new LambdaQueryWrapper<ChatMessageDO>()
+            .eq(ChatMessageDO::getSessionId, sessionId)
+            .gt(ChatMessageDO::getId, summarizedId)
+            .orderByDesc(ChatMessageDO::getId)
+            .last("LIMIT " + config.getRecentWindowSize()));
+
+        // 从新到旧累计 Token，超出预算时停止
+        List<ChatMessageDO> recent = new ArrayList<>();
+        int used = 0;
+        boolean overflow = window.size() >= config.getRecentWindowSize();
+        for (ChatMessageDO message : window) {
+            int tokens = Math.min(estimateTokens(message.getContent()), config.getMaxMessageTokens());
+            if (used + tokens > config.getHistoryTokenBudget() && !recent.isEmpty()) {
+                overflow = true;
+                break;
+            }
+            used += tokens;
+            message.setContent(truncate(message.getContent(), config.getMaxMessageTokens()));
+            recent.add(0, message);
+        }
+
+        // 未放入提示词的较早消息折叠进摘要（本轮仍使用已有摘要）
+        if (overflow && !recent.isEmpty()) {
+            scheduleSummary(sessionId, summarizedId, recent.get(0).getId());
+        }
+        return new Memory(session.getSummary(), recent);
+    }
+
+    /**
+     * 估算文本 Token 数
+     * <p>
+     * 中日韩字符约 1 Token/字，其他字符约 4 字符/Token
+     *
+     * @param text 文本
+     * @return Token 数
+     */
+    public static int estimateTokens(String text) {
+        if (StrUtil.isEmpty(text)) {
+            return 0;
+        }
+        int cjk = 0;
+        int other = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isIdeographic(c) || Character.UnicodeBlock.of(c) == Character.UnicodeBlock.HANGUL_SYLLABLES) {
+                cjk++;
+            } else if (!Character.isWhitespace(c)) {
+                other++;
+            }
+        }
+        return cjk + (other + 3) / 4;
+    }
+
+    /**
+     * 按 Token 上限截断文本
+     */
+    private static String truncate(String text, int maxTokens) {
+        int tokens = estimateTokens(text);
+        if (tokens <= maxTokens) {
+            return text;
+        }
+        return text.substring(0, (int)((long)text.length() * maxTokens / tokens)) + "...";
+    }
+
+    private void scheduleSummary(Long sessionId, long summarizedId, long keepFromId) {
+        if (!summarizing.add(sessionId)) {
+            return;
+        }
+        try {
+            summaryExecutor.execute(() -> {
+                try {
+                    summarize(sessionId, summarizedId, keepFromId);
+                } catch (Exception e) {
+                    log.warn("会话摘要生成失败: sessionId={}", sessionId, e);
+                } finally {
+                    summarizing.remove(sessionId);
+                }
+            });
+        } catch (RuntimeException e) {
+            summarizing.remove(sessionId);
+        }
+    }
+
+    /**
+     * 将 (summarizedId, keepFromId) 区间内的消息分批折叠进摘要
+     */
+    private void summarize(Long sessionId, long summarizedId, long keepFromId) {
+        ChatProperties.MemoryConfig config = chatProperties.getMemory();
+        ChatSessionDO session = chatSessionMapper.selectById(sessionId);
+        if (session == null) {
+            return;
+        }
+        if (ObjectUtil.defaultIfNull(session.getSummaryMessageId(), 0L) != summarizedId) {
+            // 本节点缓存的摘要已落后于其他节点
+            chatSessionCache.updateSummary(sessionId, session.getSummary(), session.getSummaryMessageId());
+            return;
+        }
+        String summary = session.getSummary();
+        long fromId = summarizedId;
+        for (int round = 0; round < MAX_SUMMARY_ROUNDS && fromId < keepFromId; round++) {
+            List<ChatMessageDO> batch = chatMessageMapper.selectList(new LambdaQueryWrapper<ChatMessageDO>()
+                .eq(ChatMessageDO::getSessionId, sessionId)
+                .gt(ChatMessageDO::getId, fromId)
+                .lt(ChatMessageDO::getId, keepFromId)
+                .orderByAsc(ChatMessageDO::getId)
+                .last("LIMIT " + config.getSummaryBatchSize()));
+            if (batch.isEmpty()) {
+                return;
+            }
+            String newSummary = StrUtil.maxLength(callSummary(summary, batch, config.getSummaryMaxChars()), config
+                .getSummaryMaxChars());
+            long lastId = batch.get(batch.size() - 1).getId();
+
+            // 乐观更新：其他节点已推进摘要时放弃本次结果
+            int updated = chatSessionMapper.update(null, new LambdaUpdateWrapper<ChatSessionDO>()
+                .set(ChatSessionDO::getSummary, newSummary)
+                .set(ChatSessionDO::getSummaryMessageId, lastId)
+                .eq(ChatSessionDO::getId, sessionId)
+                .eq(ChatSessionDO::getSummaryMessageId, fromId));
+            if (updated == 0) {
+                return;
+            }
+            chatSessionCache.updateSummary(sessionId, newSummary, lastId);
+            log.debug("会话摘要已更新: sessionId={}, summaryMessageId={}", sessionId, lastId);
+            summary = newSummary;
+            fromId = lastId;
+        }
+    }
+
+    private String callSummary(String summary, List<ChatMessageDO> messages, int maxChars) {
+        StringBuilder dialog = new StringBuilder();
+        for (ChatMessageDO message : messages) {
+            dialog.append("user".equals(message.getRole()) ? "User: " : "Assistant: ")
+                .append(StrUtil.maxLength(message.getContent(), SUMMARY_MESSAGE_MAX_CHARS))
+                .append("\n");
+        }
+        String user = (StrUtil.isNotBlank(summary) ? "已有摘要：\n" + summary + "\n\n" : "") + "新增对话：\n" + dialog;
+        return chatClientBuilder.build()
+            .prompt()
+            .system("你负责压缩对话历史。请将已有摘要与新增对话合并为一份新的摘要，保留用户目标、已确认的技术选型、关键结论与未解决的问题，省略寒暄与完整代码。摘要不超过 " + maxChars + " 字，直接输出摘要正文。")
+            .user(user)
+            .call()
+            .content();
+    }
+
+    /**
+     * 会话记忆
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Memory {
+
+        /**
+         * 较早对话的滚动摘要
+         */
+        private final String summary;
+
+        /**
+         * 预算内的最近消息（按时间正序）
+         */
+        private final List<ChatMessageDO> recent;
+
+        /**
+         * 是否为会话的首轮提问（无摘要且无用户消息，创建会话时写入的助手问候语不计入）
+         */
+        public boolean isFirstTurn() {
+            return StrUtil.isBlank(summary) && recent.stream().noneMatch(message -> "user".equals(message.getRole()));
+        }
+    }
+}
@@ -33,5 +33,7 @@ public class ChatSessionDO extends BaseDO {
     private String title;
     private String preview;
     private String researchTaskId;
+    private String summary;
+    private Long summaryMessageId;
     private LocalDateTime lastTime;
 }
@@ -16,6 +16,7 @@
 
 package top.codestyle.admin.template.service;
 
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import top.codestyle.admin.template.model.req.ChatMessageReq;
 import top.codestyle.admin.template.model.resp.ChatMessageResp;
 import top.codestyle.admin.template.model.resp.ChatResponseResp;
@@ -54,6 +55,13 @@ public interface ChatSessionService {
      */
     ChatResponseResp chat(ChatMessageReq req);
 
+    /**
+     * 发送消息并以 SSE 流式返回AI回复
+     * <p>
+     * 事件：token（增量文本）、snippet（闭合的代码块）、error（生成失败）、done（已保存的回复及代码片段）
+     */
+    SseEmitter streamChat(ChatMessageReq req);
+
     /**
      * 获取会话的代码片段列表
      */
@@ -19,20 +19,34 @@ package top.codestyle.admin.template.service.impl;
 import cn.hutool.core.bean.BeanUtil;
 import cn.hutool.core.util.StrUtil;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Schedulers;
+import top.codestyle.admin.common.context.UserContext;
 import top.codestyle.admin.common.context.UserContextHolder;
+import top.codestyle.admin.research.model.enums.SourceType;
 import top.codestyle.admin.research.model.req.ResearchStartReq;
 import top.codestyle.admin.research.model.resp.ResearchStatusResp;
 import top.codestyle.admin.research.service.ResearchService;
 import top.codestyle.admin.search.model.SearchRequest;
 import top.codestyle.admin.search.model.SearchResult;
 import top.codestyle.admin.search.service.SearchService;
+import top.codestyle.admin.template.cache.ChatAnswerCache;
+import top.codestyle.admin.template.cache.ChatSessionCache;
 import top.codestyle.admin.template.mapper.ChatMessageMapper;
+import top.codestyle.admin.template.memory.ConversationMemory;
 import top.codestyle.admin.template.mapper.ChatSessionMapper;
 import top.codestyle.admin.template.mapper.CodeSnippetMapper;
 import top.codestyle.admin.template.model.entity.ChatMessageDO;
@@ -49,6 +63,7 @@ import top.continew.starter.core.util.validation.CheckUtils;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -65,8 +80,15 @@ public class ChatSessionServiceImpl implements ChatSessionService {
     private final ChatClient.Builder chatClientBuilder;
     private final SearchService searchService;
     private final ResearchService researchService;
+    private final TransactionTemplate transactionTemplate;
+    private final ConversationMemory conversationMemory;
+    private final ChatAnswerCache chatAnswerCache;
+    private final ChatSessionCache chatSessionCache;
 
     private static final Pattern CODE_BLOCK_PATTERN = Pattern.compile("```(\\w*)\\n([\\s\\S]*?)```");
+    private static final long CHAT_STREAM_TIMEOUT = 5 * 60 * 1000L;
+    private static final String DEFAULT_SESSION_TITLE = "新对话";
+    private static final String CHAT_FALLBACK_REPLY = "抱歉，AI服务暂时不可用，请稍后重试。";
 
     @Override
     @Transactional(rollbackFor = Exception.class)
@@ -76,19 +98,14 @@ public class ChatSessionServiceImpl implements ChatSessionService {
 
         ChatSessionDO session = new ChatSessionDO();
         session.setUserId(userId);
-        session.setTitle("新对话");
-        session.setPreview("");
+        session.setTitle(DEFAULT_SESSION_TITLE);
+        session.setPreview("你好！我是 AI 助手，已经分析了你的...");
         session.setLastTime(now);
         chatSessionMapper.insert(session);
 
-        ChatMessageDO greeting = new ChatMessageDO();
-        greeting.setSessionId(session.getId());
-        greeting.setContent("你好！我是 AI 助手，已经分析了你的项目。有什么我可以帮助你的吗？");
-        greeting.setRole("assistant");
-        chatMessageMapper.insert(greeting);
-
-        session.setPreview("你好！我是 AI 助手，已经分析了你的...");
-        chatSessionMapper.updateById(session);
+        chatMessageMapper.insert(newMessage(session.getId(), "assistant", "你好！我是 AI 助手，已经分析了你的项目。有什么我可以帮助你的吗？"));
+        // 提交后再写入缓存，避免回滚后缓存中残留不存在的会话
+        afterCommit(() -> chatSessionCache.put(session));
 
         return BeanUtil.copyProperties(session, ChatSessionResp.class);
     }
@@ -109,7 +126,8 @@ public class ChatSessionServiceImpl implements ChatSessionService {
         checkSessionOwnership(sessionId);
         List<ChatMessageDO> messages = chatMessageMapper.selectList(new LambdaQueryWrapper<ChatMessageDO>()
             .eq(ChatMessageDO::getSessionId, sessionId)
-            .orderByAsc(ChatMessageDO::getCreateTime));
+            .orderByAsc(ChatMessageDO::getCreateTime)
+            .orderByAsc(ChatMessageDO::getId));
         return messages.stream()
             .map(m -> BeanUtil.copyProperties(m, ChatMessageResp.class))
             .collect(Collectors.toList());
@@ -122,149 +140,275 @@ public class ChatSessionServiceImpl implements ChatSessionService {
         codeSnippetMapper.delete(new LambdaQueryWrapper<CodeSnippetDO>().eq(CodeSnippetDO::getSessionId, sessionId));
         chatMessageMapper.delete(new LambdaQueryWrapper<ChatMessageDO>().eq(ChatMessageDO::getSessionId, sessionId));
         chatSessionMapper.deleteById(sessionId);
+        // 提交后再失效缓存，避免提交前被并发读取重新加载旧会话
+        afterCommit(() -> chatSessionCache.evict(sessionId));
     }
 
     @Override
-    @Transactional(rollbackFor = Exception.class)
     public ChatResponseResp chat(ChatMessageReq req) {
+        // 不在事务中等待模型生成，提问与回复在生成结束后一次写入
         checkSessionOwnership(req.getSessionId());
 
-        ChatMessageDO userMsg = new ChatMessageDO();
-        userMsg.setSessionId(req.getSessionId());
-        userMsg.setContent(req.getMessage());
-        userMsg.setRole("user");
-        chatMessageMapper.insert(userMsg);
-
         if (Boolean.TRUE.equals(req.getDeepResearch())) {
-            return handleDeepResearch(req, userMsg);
+            return handleDeepResearch(req);
         }
 
-        return handleNormalChat(req, userMsg);
+        return handleNormalChat(req);
     }
 
-    private ChatResponseResp handleNormalChat(ChatMessageReq req, ChatMessageDO userMsg) {
-        String aiReplyText;
-        try {
-            List<ChatMessageDO> history = chatMessageMapper.selectList(new LambdaQueryWrapper<ChatMessageDO>()
-                .eq(ChatMessageDO::getSessionId, req.getSessionId())
-                .orderByAsc(ChatMessageDO::getCreateTime));
-
-            StringBuilder systemPrompt = new StringBuilder();
-            systemPrompt.append("你是 CodeStyle 平台的代码助手，专注于代码模板生成、技术问答和代码优化。\n");
-            systemPrompt.append("请基于用户问题和检索到的相关模板上下文，提供专业、准确的回答。\n\n");
-
-            String ragContext = retrieveSearchContext(req.getMessage());
-            if (StrUtil.isNotBlank(ragContext)) {
-                systemPrompt.append("以下是与用户问题相关的模板参考资料：\n");
-                systemPrompt.append(ragContext).append("\n\n");
+    @Override
+    public SseEmitter streamChat(ChatMessageReq req) {
+        checkSessionOwnership(req.getSessionId());
+
+        SseEmitter emitter = new SseEmitter(CHAT_STREAM_TIMEOUT);
+        if (Boolean.TRUE.equals(req.getDeepResearch())) {
+            ChatResponseResp response = handleDeepResearch(req);
+            sendEvent(emitter, "done", response);
+            emitter.complete();
+            return emitter;
+        }
+
+        PreparedChat prepared = prepareChat(req);
+        if (prepared.getCachedAnswer() != null) {
+            // 命中语义应答缓存：整段推送后结束
+            ChatResponseResp response = saveReply(req, prepared.getCachedAnswer(), true, null);
+            sendEvent(emitter, "token", prepared.getCachedAnswer());
+            for (CodeSnippetResp snippet : response.getCodeSnippets()) {
+                sendEvent(emitter, "snippet", snippet);
             }
+            sendEvent(emitter, "done", response);
+            emitter.complete();
+            return emitter;
+        }
+
+        UserContext userContext = UserContextHolder.getContext();
+        StreamingReply reply = new StreamingReply();
+        AtomicBoolean finished = new AtomicBoolean();
+        AtomicBoolean disconnected = new AtomicBoolean();
+        Disposable subscription = chatClientBuilder.build()
+            .prompt()
+            .system(prepared.getSystem())
+            .user(prepared.getUser())
+            .stream()
+            .content()
+            .publishOn(Schedulers.boundedElastic())
+            .subscribe(token -> {
+                List<CodeSnippetResp> closed = reply.append(token);
+                if (!sendEvent(emitter, "token", token)) {
+                    disconnected.set(true);
+                    throw new IllegalStateException("客户端已断开");
+                }
+                // 代码块闭合时立即推送
+                for (CodeSnippetResp snippet : closed) {
+                    sendEvent(emitter, "snippet", snippet);
+                }
+            }, e -> {
+                if (!finished.compareAndSet(false, true)) {
+                    return;
+                }
+                if (disconnected.get()) {
+                    // 客户端已断开：保存提问与已生成的部分
+                    persistReply(userContext, req, reply.getText());
+                } else {
+                    log.error("AI流式调用失败: sessionId={}", req.getSessionId(), e);
+                    String text = reply.isEmpty() ? CHAT_FALLBACK_REPLY : reply.getText();
+                    ChatResponseResp response = persistReply(userContext, req, text);
+                    sendEvent(emitter, "error", CHAT_FALLBACK_REPLY);
+                    sendEvent(emitter, "done", response);
+                }
+                emitter.complete();
+            }, () -> {
+                if (finished.compareAndSet(false, true)) {
+                    sendEvent(emitter, "done", persistReply(userContext, req, reply.getText()));
+                    emitter.complete();
+                    chatAnswerCache.put(prepared.getCacheLookup(), reply.getText());
+                }
+            });
 
-            int startIdx = Math.max(0, history.size() - 20);
-            StringBuilder historyContext = new StringBuilder();
-            for (int i = startIdx; i < history.size(); i++) {
-                ChatMessageDO msg = history.get(i);
-                historyContext.append("user".equals(msg.getRole()) ? "User: " : "Assistant: ");
-                historyContext.append(msg.getContent()).append("\n");
+        // 客户端断开或超时：取消生成，保存提问与已生成的部分
+        Runnable cancel = () -> {
+            subscription.dispose();
+            if (finished.compareAndSet(false, true)) {
+                persistReply(userContext, req, reply.getText());
             }
+        };
+        emitter.onTimeout(cancel);
+        emitter.onError(e -> cancel.run());
+        return emitter;
+    }
 
+    private ChatResponseResp handleNormalChat(ChatMessageReq req) {
+        String aiReplyText;
+        try {
+            PreparedChat prepared = prepareChat(req);
+            if (prepared.getCachedAnswer() != null) {
+                return saveReply(req, prepared.getCachedAnswer(), true, null);
+            }
             ChatClient chatClient = chatClientBuilder.build();
-            aiReplyText = chatClient.prompt()
-                .system(systemPrompt.toString())
-                .user(historyContext + "User: " + req.getMessage())
-                .call()
-                .content();
-
+            aiReplyText = chatClient.prompt().system(prepared.getSystem()).user(prepared.getUser()).call().content();
+            chatAnswerCache.put(prepared.getCacheLookup(), aiReplyText);
         } catch (Exception e) {
             log.error("AI调用失败", e);
-            aiReplyText = "抱歉，AI服务暂时不可用，请稍后重试。";
+            aiReplyText = CHAT_FALLBACK_REPLY;
         }
+        return saveReply(req, aiReplyText, true, null);
+    }
 
-        ChatMessageDO aiMsg = new ChatMessageDO();
-        aiMsg.setSessionId(req.getSessionId());
-        aiMsg.setContent(aiReplyText);
-        aiMsg.setRole("assistant");
-        chatMessageMapper.insert(aiMsg);
+    /**
+     * 构建提示词并查找语义应答缓存
+     * <p>
+     * 历史消息由对话记忆按 Token 预算裁剪，较早的对话以摘要形式放入系统提示词。
+     * 回答依赖历史上下文，因此只有会话首轮提问使用语义应答缓存。
+     *
+     * @param req 请求
+     * @return 提示词与缓存查找结果
+     */
+    private PreparedChat prepareChat(ChatMessageReq req) {
+        ConversationMemory.Memory memory = conversationMemory.load(req.getSessionId());
+        SearchRequest searchReq = new SearchRequest();
+        searchReq.setQuery(req.getMessage());
+        searchReq.setTopK(3);
+        searchReq.setEnableRerank(true);
+        List<SearchResult> references = retrieveReferences(searchReq);
+
+        ChatAnswerCache.Lookup cacheLookup = memory.isFirstTurn()
+            ? chatAnswerCache.lookup(req.getMessage(), searchReq, references)
+            : null;
+        if (cacheLookup != null && cacheLookup.getAnswer() != null) {
+            return new PreparedChat(null, null, cacheLookup);
+        }
 
-        List<CodeSnippetResp> snippets = extractAndSaveCodeSnippets(req.getSessionId(), aiMsg.getId(), aiReplyText, req
-            .getMessage());
+        StringBuilder systemPrompt = new StringBuilder();
+        systemPrompt.append("你是 CodeStyle 平台的代码助手，专注于代码模板生成、技术问答和代码优化。\n");
+        systemPrompt.append("请基于用户问题和检索到的相关模板上下文，提供专业、准确的回答。\n\n");
 
-        updateSessionMeta(req.getSessionId(), req.getMessage(), aiReplyText);
+        if (!references.isEmpty()) {
+            systemPrompt.append("以下是与用户问题相关的模板参考资料：\n");
+            systemPrompt.append(formatReferences(references)).append("\n\n");
+        }
+        if (StrUtil.isNotBlank(memory.getSummary())) {
+            systemPrompt.append("以下是此前对话的摘要：\n");
+            systemPrompt.append(memory.getSummary()).append("\n\n");
+        }
 
-        ChatResponseResp response = new ChatResponseResp();
-        response.setReply(BeanUtil.copyProperties(aiMsg, ChatMessageResp.class));
-        response.setCodeSnippets(snippets);
-        return response;
+        StringBuilder historyContext = new StringBuilder();
+        for (ChatMessageDO msg : memory.getRecent()) {
+            historyContext.append("user".equals(msg.getRole()) ? "User: " : "Assistant: ");
+            historyContext.append(msg.getContent()).append("\n");
+        }
+        return new PreparedChat(systemPrompt.toString(), historyContext + "User: " + req.getMessage(), cacheLookup);
     }
 
-    private ChatResponseResp handleDeepResearch(ChatMessageReq req, ChatMessageDO userMsg) {
+    private ChatResponseResp handleDeepResearch(ChatMessageReq req) {
         String aiReplyText;
+        String researchTaskId = null;
         try {
             ResearchStartReq researchReq = new ResearchStartReq();
+            researchReq.setSourceType(SourceType.TEXT);
             researchReq.setSourceContent(req.getMessage());
             researchReq.setTemplateName("对话研究 - " + req.getMessage()
                 .substring(0, Math.min(20, req.getMessage().length())));
             researchReq.setAutoConfirm(true);
 
             ResearchStatusResp status = researchService.startResearch(researchReq);
-
-            ChatSessionDO session = chatSessionMapper.selectById(req.getSessionId());
-            if (session != null) {
-                session.setResearchTaskId(status.getTaskId());
-                chatSessionMapper.updateById(session);
-            }
+            researchTaskId = status.getTaskId();
 
             aiReplyText = String.format("已启动深度研究任务 (ID: %s)，正在分析中...\n当前状态: %s\n\n请使用研究进度查询接口跟踪进展。", status
                 .getTaskId(), status.getStatus());
 
-        } catch (UnsupportedOperationException e) {
-            aiReplyText = "深度研究功能正在开发中，暂时使用普通对话模式回答。";
-            return handleNormalChat(req, userMsg);
         } catch (Exception e) {
             log.error("深度研究启动失败", e);
             aiReplyText = "深度研究启动失败: " + e.getMessage();
         }
+        return saveReply(req, aiReplyText, false, researchTaskId);
+    }
+
+    /**
+     * 在流式线程中保存回复（恢复请求线程的用户上下文，用于填充创建人）
+     */
+    private ChatResponseResp persistReply(UserContext userContext, ChatMessageReq req, String aiReplyText) {
+        UserContextHolder.setContext(userContext, false);
+        try {
+            return saveReply(req, aiReplyText, true, null);
+        } catch (Exception e) {
+            log.error("保存AI回复失败: sessionId={}", req.getSessionId(), e);
+            return null;
+        } finally {
+            UserContextHolder.clearContext();
+        }
+    }
+
+    /**
+     * 保存本轮提问、AI 回复、代码片段并更新会话信息（独立的短事务）
+     * <p>
+     * 提问与回复批量插入，代码片段批量插入，会话信息一条条件更新，每轮最多 3 次写入
+     *
+     * @param req             请求
+     * @param aiReplyText     AI 回复，为空时只保存提问（生成前客户端已断开）
+     * @param extractSnippets 是否提取代码片段
+     * @param researchTaskId  关联的深度研究任务 ID
+     * @return 对话响应，只保存提问时返回 null
+     */
+    private ChatResponseResp saveReply(ChatMessageReq req,
+                                       String aiReplyText,
+                                       boolean extractSnippets,
+                                       String researchTaskId) {
+        Long sessionId = req.getSessionId();
+        return transactionTemplate.execute(status -> {
+            ChatMessageDO userMsg = newMessage(sessionId, "user", req.getMessage());
+            if (StrUtil.isEmpty(aiReplyText)) {
+                chatMessageMapper.insert(userMsg);
+                updateSessionMeta(sessionId, req.getMessage(), null, researchTaskId);
+                return null;
+            }
+            ChatMessageDO aiMsg = newMessage(sessionId, "assistant", aiReplyText);
+            chatMessageMapper.insertBatch(List.of(userMsg, aiMsg));
 
-        ChatMessageDO aiMsg = new ChatMessageDO();
-        aiMsg.setSessionId(req.getSessionId());
-        aiMsg.setContent(aiReplyText);
-        aiMsg.setRole("assistant");
-        chatMessageMapper.insert(aiMsg);
+            List<CodeSnippetResp> snippets = extractSnippets
+                ? extractAndSaveCodeSnippets(sessionId, aiMsg.getId(), aiReplyText, req.getMessage())
+                : List.of();
 
-        updateSessionMeta(req.getSessionId(), req.getMessage(), aiReplyText);
+            updateSessionMeta(sessionId, req.getMessage(), aiReplyText, researchTaskId);
 
-        ChatResponseResp response = new ChatResponseResp();
-        response.setReply(BeanUtil.copyProperties(aiMsg, ChatMessageResp.class));
-        response.setCodeSnippets(List.of());
-        return response;
+            ChatResponseResp response = new ChatResponseResp();
+            response.setReply(BeanUtil.copyProperties(aiMsg, ChatMessageResp.class));
+            response.setCodeSnippets(snippets);
+            return response;
+        });
     }
 
-    private String retrieveSearchContext(String query) {
+    private boolean sendEvent(SseEmitter emitter, String name, Object data) {
         try {
-            SearchRequest searchReq = new SearchRequest();
-            searchReq.setQuery(query);
-            searchReq.setTopK(3);
-            searchReq.setEnableRerank(true);
+            emitter.send(SseEmitter.event().name(name).data(data));
+            return true;
+        } catch (Exception e) {
+            log.debug("发送 SSE 消息失败: {}", e.getMessage());
+            return false;
+        }
+    }
 
+    private List<SearchResult> retrieveReferences(SearchRequest searchReq) {
+        try {
             List<SearchResult> results = searchService.search(searchReq);
-            if (results == null || results.isEmpty()) {
-                return null;
-            }
-
-            StringBuilder sb = new StringBuilder();
-            for (int i = 0; i < results.size(); i++) {
-                SearchResult r = results.get(i);
-                sb.append(String.format("[%d] %s (score: %.2f)\n", i + 1, r.getTitle(), r.getScore()));
-                if (StrUtil.isNotBlank(r.getSnippet())) {
-                    sb.append(r.getSnippet()).append("\n");
-                }
-            }
-            return sb.toString();
+            return results != null ? results : List.of();
         } catch (Exception e) {
             log.debug("搜索检索失败，跳过 RAG 增强", e);
-            return null;
+            return List.of();
         }
     }
 
+    private static String formatReferences(List<SearchResult> results) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < results.size(); i++) {
+            SearchResult r = results.get(i);
+            sb.append(String.format("[%d] %s (score: %.2f)\n", i + 1, r.getTitle(), r.getScore()));
+            if (StrUtil.isNotBlank(r.getSnippet())) {
+                sb.append(r.getSnippet()).append("\n");
+            }
+        }
+        return sb.toString();
+    }
+
     @Override
     public List<CodeSnippetResp> getSessionSnippets(Long sessionId) {
         checkSessionOwnership(sessionId);
@@ -290,7 +434,7 @@ public class ChatSessionServiceImpl implements ChatSessionService {
 
     private void checkSessionOwnership(Long sessionId) {
         Long userId = UserContextHolder.getUserId();
-        ChatSessionDO session = chatSessionMapper.selectById(sessionId);
+        ChatSessionDO session = chatSessionCache.get(sessionId);
         CheckUtils.throwIf(session == null || !session.getUserId().equals(userId), "会话不存在或无权限访问");
     }
 
@@ -298,51 +442,136 @@ public class ChatSessionServiceImpl implements ChatSessionService {
                                                              Long messageId,
                                                              String aiReply,
                                                              String context) {
-        List<CodeSnippetResp> snippets = new ArrayList<>();
+        List<CodeSnippetDO> snippets = new ArrayList<>();
         Matcher matcher = CODE_BLOCK_PATTERN.matcher(aiReply);
 
         while (matcher.find()) {
-            String lang = matcher.group(1);
             String code = matcher.group(2).trim();
             if (code.isEmpty())
                 continue;
 
-            String language;
-            if (code.contains("<template>")) {
-                language = "vue";
-            } else if (StrUtil.isNotBlank(lang)) {
-                language = lang.toLowerCase();
-            } else {
-                language = "javascript";
-            }
-
             CodeSnippetDO snippet = new CodeSnippetDO();
             snippet.setSessionId(sessionId);
             snippet.setMessageId(messageId);
             snippet.setCode(code);
-            snippet.setLanguage(language);
+            snippet.setLanguage(resolveLanguage(matcher.group(1), code));
             snippet.setContext(context.length() > 500 ? context.substring(0, 500) : context);
-            codeSnippetMapper.insert(snippet);
+            snippets.add(snippet);
+        }
+        if (snippets.isEmpty()) {
+            return List.of();
+        }
+
+        codeSnippetMapper.insertBatch(snippets);
+        return BeanUtil.copyToList(snippets, CodeSnippetResp.class);
+    }
+
+    private static String resolveLanguage(String lang, String code) {
+        if (code.contains("<template>")) {
+            return "vue";
+        }
+        return StrUtil.isNotBlank(lang) ? lang.toLowerCase() : "javascript";
+    }
 
-            snippets.add(BeanUtil.copyProperties(snippet, CodeSnippetResp.class));
+    /**
+     * 更新会话信息（单条条件更新：仅默认标题的会话以首个提问作为标题）
+     */
+    private void updateSessionMeta(Long sessionId, String userMessage, String aiReply, String researchTaskId) {
+        String title = userMessage.length() > 20 ? userMessage.substring(0, 20) + "..." : userMessage;
+        ChatSessionDO update = new ChatSessionDO();
+        update.setLastTime(LocalDateTime.now());
+        update.setResearchTaskId(researchTaskId);
+        if (aiReply != null) {
+            String plain = aiReply.replaceAll("<[^>]*>", "").replaceAll("```[\\s\\S]*?```", "[代码]");
+            update.setPreview(plain.length() > 30 ? plain.substring(0, 30) + "..." : plain);
         }
+        chatSessionMapper.update(update, new LambdaUpdateWrapper<ChatSessionDO>()
+            .setSql("title = IF(title = {0}, {1}, title)", DEFAULT_SESSION_TITLE, title)
+            .eq(ChatSessionDO::getId, sessionId));
+    }
 
-        return snippets;
+    /**
+     * 事务提交后执行；无事务时立即执行
+     */
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
     }
 
-    private void updateSessionMeta(Long sessionId, String userMessage, String aiReply) {
-        ChatSessionDO session = chatSessionMapper.selectById(sessionId);
-        if (session == null)
-            return;
+    private static ChatMessageDO newMessage(Long sessionId, String role, String content) {
+        ChatMessageDO message = new ChatMessageDO();
+        message.setSessionId(sessionId);
+        message.setRole(role);
+        message.setContent(content);
+        return message;
+    }
 
-        if ("新对话".equals(session.getTitle())) {
-            String title = userMessage.length() > 20 ? userMessage.substring(0, 20) + "..." : userMessage;
-            session.setTitle(title);
+    /**
+     * 已构建的提示词与语义应答缓存查找结果
+     */
+    @Getter
+    @AllArgsConstructor
+    private static class PreparedChat {
+
+        private final String system;
+        private final String user;
+
+        /**
+         * 缓存查找结果，未查找为 null
+         */
+        private final ChatAnswerCache.Lookup cacheLookup;
+
+        String getCachedAnswer() {
+            return cacheLookup != null ? cacheLookup.getAnswer() : null;
         }
+    }
+
+    /**
+     * 流式生成中的回复：累积文本，并在代码块闭合时增量提取
+     */
+    private static class StreamingReply {
 
-        String plain = aiReply.replaceAll("<[^>]*>", "").replaceAll("```[\\s\\S]*?```", "[代码]");
-        session.setPreview(plain.length() > 30 ? plain.substring(0, 30) + "..." : plain);
-        session.setLastTime(LocalDateTime.now());
-        chatSessionMapper.updateById(session);
+        private final StringBuilder text = new StringBuilder();
+        private int scanFrom;
+
+        synchronized List<CodeSnippetResp> append(String token) {
+            if (token == null) {
+                return List.of();
+            }
+            text.append(token);
+            // 只有出现反引号时代码块才可能闭合
+            if (token.indexOf('`') < 0) {
+                return List.of();
+            }
+            List<CodeSnippetResp> closed = new ArrayList<>();
+            Matcher matcher = CODE_BLOCK_PATTERN.matcher(text);
+            while (matcher.find(scanFrom)) {
+                scanFrom = matcher.end();
+                String code = matcher.group(2).trim();
+                if (!code.isEmpty()) {
+                    CodeSnippetResp snippet = new CodeSnippetResp();
+                    snippet.setCode(code);
+                    snippet.setLanguage(resolveLanguage(matcher.group(1), code));
+                    closed.add(snippet);
+                }
+            }
+            return closed;
+        }
+
+        synchronized String getText() {
+            return text.toString();
+        }
+
+        synchronized boolean isEmpty() {
+            return text.isEmpty();
+        }
     }
 }
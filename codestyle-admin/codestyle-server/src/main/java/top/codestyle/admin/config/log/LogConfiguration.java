@@ -19,6 +19,7 @@ package top.codestyle.admin.config.log;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import top.codestyle.admin.system.mapper.LogMapper;
+import top.codestyle.admin.system.service.LogStatService;
 import top.codestyle.admin.system.service.UserService;
 import top.continew.starter.log.annotation.ConditionalOnEnabledLog;
 import top.continew.starter.log.dao.LogDao;
@@ -38,7 +39,11 @@ public class LogConfiguration {
      * 日志持久层接口本地实现类
      */
     @Bean
-    public LogDao logDao(UserService userService, LogMapper logMapper, TraceProperties traceProperties) {
-        return new LogDaoLocalImpl(userService, logMapper, traceProperties);
+    public LogDao logDao(UserService userService,
+                         LogMapper logMapper,
+                         LogStatService logStatService,
+                         TraceProperties traceProperties,
+                         LogWriterProperties logWriterProperties) {
+        return new LogDaoLocalImpl(userService, logMapper, logStatService, traceProperties, logWriterProperties);
     }
 }
@@ -18,6 +18,8 @@ package top.codestyle.admin.config.log;
 
 import cn.dev33.satoken.SaManager;
 import cn.dev33.satoken.stp.StpUtil;
+import cn.hutool.cache.CacheUtil;
+import cn.hutool.cache.impl.LRUCache;
 import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.convert.Convert;
 import cn.hutool.core.map.MapUtil;
@@ -26,9 +28,10 @@ import cn.hutool.core.util.URLUtil;
 import cn.hutool.extra.spring.SpringUtil;
 import cn.hutool.http.HttpStatus;
 import cn.hutool.json.JSONUtil;
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
-import org.springframework.scheduling.annotation.Async;
 import top.codestyle.admin.auth.constant.AuthConstants;
 import top.codestyle.admin.auth.enums.AuthTypeEnum;
 import top.codestyle.admin.auth.model.req.AccountLoginReq;
@@ -38,6 +41,7 @@ import top.codestyle.admin.auth.model.req.PhoneLoginReq;
 import top.codestyle.admin.system.enums.LogStatusEnum;
 import top.codestyle.admin.system.mapper.LogMapper;
 import top.codestyle.admin.system.model.entity.LogDO;
+import top.codestyle.admin.system.service.LogStatService;
 import top.codestyle.admin.system.service.UserService;
 import top.continew.starter.core.constant.StringConstants;
 import top.continew.starter.core.util.ExceptionUtils;
@@ -54,25 +58,263 @@ import top.continew.starter.web.model.R;
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * 日志持久层接口本地实现类
+ * <p>
+ * 请求线程只将日志放入有界队列（不阻塞），由单个写入线程每 batchSize 条或每 flushInterval 毫秒批量写入。
+ * 队列使用率超过 sampleThreshold 后成功请求的日志按 sampleRate 采样，队列满时丢弃新日志，丢弃与采样数量计入统计。
+ * 写入成功后在同一租户上下文中累加仪表盘统计（{@link LogStatService}）。
+ * </p>
  *
  * @author Charles7c
  * @since 2023/12/16 23:55
  */
-@RequiredArgsConstructor
+@Slf4j
 public class LogDaoLocalImpl implements LogDao {
 
+    /**
+     * 过载告警日志的最小间隔（毫秒）
+     */
+    private static final long OVERLOAD_WARN_INTERVAL = 60_000;
+
+    /**
+     * 统一响应结果中的成功标识字段
+     */
+    private static final String SUCCESS_FIELD = "\"success\":";
+
     private final UserService userService;
     private final LogMapper logMapper;
+    private final LogStatService logStatService;
     private final TraceProperties traceProperties;
+    private final LogWriterProperties properties;
+    private final BlockingQueue<LogRecord> queue;
+    private final LRUCache<String, Long> tokenUserCache;
+    private final int sampleFloor;
+
+    private final LongAdder acceptedCount = new LongAdder();
+    private final LongAdder sampledCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+    private final LongAdder writtenCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private final LongAdder batchCount = new LongAdder();
+
+    private Thread writer;
+    private volatile boolean running;
+    private long lastWarnTime;
+    private long lastWarnSkipped;
+
+    public LogDaoLocalImpl(UserService userService,
+                           LogMapper logMapper,
+                           LogStatService logStatService,
+                           TraceProperties traceProperties,
+                           LogWriterProperties properties) {
+        this.userService = userService;
+        this.logMapper = logMapper;
+        this.logStatService = logStatService;
+        this.traceProperties = traceProperties;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.tokenUserCache = CacheUtil.newLRUCache(1024, TimeUnit.SECONDS.toMillis(properties.getTokenCacheTtl()));
+        this.sampleFloor = (int)(properties.getQueueCapacity() * properties.getSampleThreshold());
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = new Thread(this::writeLoop, "log-writer");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("日志批量写入线程已启动，queueCapacity: {}, batchSize: {}, flushInterval: {}ms", properties
+            .getQueueCapacity(), properties.getBatchSize(), properties.getFlushInterval());
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        writer.interrupt();
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // 写入剩余日志
+        List<LogRecord> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (List<LogRecord> batch : CollUtil.split(remaining, properties.getBatchSize())) {
+            this.write(batch);
+        }
+    }
 
-    @Async
     @Override
     public void add(LogRecord logRecord) {
+        // 过载时对成功请求采样，失败请求始终记录
+        if (queue.size() >= sampleFloor && logRecord.getResponse()
+            .getStatus() < HttpStatus.HTTP_BAD_REQUEST && ThreadLocalRandom.current()
+                .nextDouble() >= properties.getSampleRate()) {
+            sampledCount.increment();
+            return;
+        }
+        if (queue.offer(logRecord)) {
+            acceptedCount.increment();
+        } else {
+            droppedCount.increment();
+        }
+    }
+
+    /**
+     * 获取统计信息
+     *
+     * @return 统计信息
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("queueSize", queue.size());
+        stats.put("queueCapacity", properties.getQueueCapacity());
+        stats.put("acceptedCount", acceptedCount.sum());
+        stats.put("sampledCount", sampledCount.sum());
+        stats.put("droppedCount", droppedCount.sum());
+        stats.put("writtenCount", writtenCount.sum());
+        stats.put("failedCount", failedCount.sum());
+        stats.put("batchCount", batchCount.sum());
+        return stats;
+    }
+
+    /**
+     * 写入循环：阻塞等待首条日志，随后在 flushInterval 内攒批
+     */
+    private void writeLoop() {
+        int batchSize = properties.getBatchSize();
+        long flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(properties.getFlushInterval());
+        List<LogRecord> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    LogRecord next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                this.write(batch);
+                this.warnIfOverloaded();
+            } catch (InterruptedException e) {
+                // 关闭时写入已取出的日志
+                this.write(batch);
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * 批量写入（按租户分组，每组一次多行 INSERT）
+     *
+     * @param batch 日志记录
+     */
+    private void write(List<LogRecord> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Map<Long, List<LogDO>> groups = new HashMap<>();
+        for (LogRecord logRecord : batch) {
+            try {
+                groups.computeIfAbsent(this.resolveTenantId(logRecord), k -> new ArrayList<>())
+                    .add(this.toLogDO(logRecord));
+            } catch (Exception e) {
+                failedCount.increment();
+                log.warn("日志转换失败: {}", e.getMessage());
+            }
+        }
+        groups.forEach((tenantId, logs) -> {
+            if (tenantId == null) {
+                this.writeTenant(logs);
+            } else {
+                TenantUtils.execute(tenantId, () -> this.writeTenant(logs));
+            }
+        });
+    }
+
+    /**
+     * 写入同一租户的日志并累加统计
+     *
+     * @param logs 日志列表
+     */
+    private void writeTenant(Collection<LogDO> logs) {
+        try {
+            logMapper.insertBatch(logs);
+            writtenCount.add(logs.size());
+            batchCount.increment();
+        } catch (Exception e) {
+            failedCount.add(logs.size());
+            log.error("日志批量写入失败，数量: {}", logs.size(), e);
+            return;
+        }
+        try {
+            logStatService.record(logs);
+        } catch (Exception e) {
+            log.error("日志统计累加失败，数量: {}", logs.size(), e);
+        }
+    }
+
+    /**
+     * 存在丢弃或采样时，按最小间隔输出过载告警
+     */
+    private void warnIfOverloaded() {
+        long skipped = droppedCount.sum() + sampledCount.sum();
+        long now = System.currentTimeMillis();
+        if (skipped > lastWarnSkipped && now - lastWarnTime >= OVERLOAD_WARN_INTERVAL) {
+            log.warn("日志队列过载，累计丢弃 {} 条，采样跳过 {} 条，当前队列 {}/{}", droppedCount.sum(), sampledCount.sum(), queue
+                .size(), properties.getQueueCapacity());
+            lastWarnSkipped = skipped;
+            lastWarnTime = now;
+        }
+    }
+
+    /**
+     * 解析租户 ID（写入线程无法获取请求上下文，从请求头读取）
+     *
+     * @param logRecord 日志记录
+     * @return 租户 ID（未启用租户或未指定时为 null）
+     */
+    private Long resolveTenantId(LogRecord logRecord) {
+        if (!TenantContextHolder.isTenantEnabled()) {
+            return null;
+        }
+        String tenantId = logRecord.getRequest()
+            .getHeaders()
+            .get(SpringUtil.getBean(TenantProperties.class).getTenantIdHeader());
+        return StrUtil.isNotBlank(tenantId) ? Long.parseLong(tenantId) : null;
+    }
+
+    /**
+     * 转换为日志实体
+     *
+     * @param logRecord 日志记录
+     * @return 日志实体
+     */
+    private LogDO toLogDO(LogRecord logRecord) {
         LogDO logDO = new LogDO();
         // 设置请求信息
         LogRequest logRequest = logRecord.getRequest();
@@ -89,17 +331,7 @@ public class LogDaoLocalImpl implements LogDao {
         logDO.setCreateTime(LocalDateTime.ofInstant(logRecord.getTimestamp(), ZoneId.systemDefault()));
         // 设置操作人
         this.setCreateUser(logDO, logRequest, logResponse);
-        // 保存记录
-        if (TenantContextHolder.isTenantEnabled()) {
-            // 异步无法获取租户 ID
-            String tenantId = logRequest.getHeaders()
-                .get(SpringUtil.getBean(TenantProperties.class).getTenantIdHeader());
-            if (StrUtil.isNotBlank(tenantId)) {
-                TenantUtils.execute(Long.parseLong(tenantId), () -> logMapper.insert(logDO));
-                return;
-            }
-        }
-        logMapper.insert(logDO);
+        return logDO;
     }
 
     /**
@@ -135,15 +367,37 @@ public class LogDaoLocalImpl implements LogDao {
         Integer statusCode = logResponse.getStatus();
         logDO.setStatusCode(statusCode);
         logDO.setStatus(statusCode >= HttpStatus.HTTP_BAD_REQUEST ? LogStatusEnum.FAILURE : LogStatusEnum.SUCCESS);
-        if (StrUtil.isNotBlank(responseBody)) {
-            R result = JSONUtil.toBean(responseBody, R.class);
-            if (!result.isSuccess()) {
-                logDO.setStatus(LogStatusEnum.FAILURE);
-                logDO.setErrorMsg(result.getMsg());
-            }
+        // 只在响应体标记失败时才解析完整响应体获取错误信息
+        if (this.isFailureBody(responseBody)) {
+            logDO.setStatus(LogStatusEnum.FAILURE);
+            logDO.setErrorMsg(ExceptionUtils.exToNull(() -> JSONUtil.toBean(responseBody, R.class).getMsg()));
         }
     }
 
+    /**
+     * 响应体是否为失败结果（查找第一个 "success" 字段，不反序列化响应体）
+     * <p>
+     * 统一响应结果中 success 字段位于 data 之前，第一个出现的 success 字段即为结果状态。
+     * </p>
+     *
+     * @param responseBody 响应体
+     * @return 是否失败
+     */
+    private boolean isFailureBody(String responseBody) {
+        if (StrUtil.isBlank(responseBody) || responseBody.charAt(0) != '{') {
+            return false;
+        }
+        int index = responseBody.indexOf(SUCCESS_FIELD);
+        if (index < 0) {
+            return false;
+        }
+        index += SUCCESS_FIELD.length();
+        while (index < responseBody.length() && Character.isWhitespace(responseBody.charAt(index))) {
+            index++;
+        }
+        return responseBody.startsWith("false", index);
+    }
+
     /**
      * 设置操作人
      *
@@ -190,7 +444,15 @@ public class LogDaoLocalImpl implements LogDao {
                 .toLowerCase()));
             String token = authorization.replace(SaManager.getConfig()
                 .getTokenPrefix() + StringConstants.SPACE, StringConstants.EMPTY);
-            logDO.setCreateUser(Convert.toLong(StpUtil.getLoginIdByToken(token)));
+            // 同一 Token 的请求集中出现，缓存操作人避免每条日志都查询 Token 会话
+            Long userId = tokenUserCache.get(token);
+            if (userId == null) {
+                userId = Convert.toLong(StpUtil.getLoginIdByToken(token), null);
+                if (userId != null) {
+                    tokenUserCache.put(token, userId);
+                }
+            }
+            logDO.setCreateUser(userId);
         }
     }
 }
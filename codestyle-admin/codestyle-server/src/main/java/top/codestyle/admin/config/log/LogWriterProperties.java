@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.config.log;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 日志批量写入配置属性
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "log.writer")
+public class LogWriterProperties {
+
+    /**
+     * 待写入日志队列容量（队列满时丢弃新日志）
+     */
+    private int queueCapacity = 8192;
+
+    /**
+     * 单批写入的最大日志数
+     */
+    private int batchSize = 200;
+
+    /**
+     * 批次最长等待时间（毫秒），未攒满 batchSize 时到时写入
+     */
+    private long flushInterval = 1000;
+
+    /**
+     * 开始采样的队列使用率（0~1），超过后成功请求的日志按 sampleRate 采样，失败请求始终记录
+     */
+    private double sampleThreshold = 0.75;
+
+    /**
+     * 采样保留比例（0~1）
+     */
+    private double sampleRate = 0.1;
+
+    /**
+     * Token → 操作人缓存时间（秒）
+     */
+    private long tokenCacheTtl = 300;
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.controller;
+
+import cn.dev33.satoken.annotation.SaCheckPermission;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import top.codestyle.admin.config.log.LogDaoLocalImpl;
+import top.continew.starter.log.annotation.ConditionalOnEnabledLog;
+import top.continew.starter.log.annotation.Log;
+import top.continew.starter.log.dao.LogDao;
+
+import java.util.Map;
+
+/**
+ * 日志写入监控 API
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+@Tag(name = "日志写入监控 API")
+@Log(ignore = true)
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnEnabledLog
+@RequestMapping("/system/log/writer")
+public class LogWriterController {
+
+    private final LogDao logDao;
+
+    @Operation(summary = "查询写入统计", description = "查询日志队列长度、丢弃与采样数量、批量写入情况")
+    @SaCheckPermission("monitor:log:list")
+    @GetMapping("/stats")
+    public Map<String, Object> stats() {
+        return logDao instanceof LogDaoLocalImpl logDaoLocal ? logDaoLocal.getStats() : Map.of();
+    }
+}
@@ -339,3 +339,41 @@ VALUES
 (`id`, `client_id`, `client_type`, `auth_type`, `active_timeout`, `timeout`, `is_concurrent`, `replaced_range`, `max_login_count`, `overflow_logout_mode`, `status`, `create_user`, `create_time`)
 VALUES
 (1, 'ef51c9a3e9046c4f2ea45142c8a8344a', 'PC', '["ACCOUNT", "EMAIL", "PHONE", "SOCIAL"]', 1800, 86400, 0, 'ALL_DEVICE_TYPE', -1, 'KICKOUT', 1, 1, NOW());
+
+-- changeset codestyle:2
+-- comment 初始化日志统计重建权限
+ INSERT IGNORE INTO `sys_menu`
+(`id`, `title`, `parent_id`, `type`, `path`, `name`, `component`, `redirect`, `icon`, `is_external`, `is_cache`, `is_hidden`, `permission`, `sort`, `status`, `create_user`, `create_time`)
+VALUES
+(2034, '重建统计', 2030, 3, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, 'monitor:log:rebuild', 4, 1, 1, NOW());
+
+ INSERT IGNORE INTO `sys_role_menu`
+(`role_id`, `menu_id`)
+VALUES
+(1, 2034);
+
+-- changeset codestyle:3
+-- comment 初始化日志分区维护权限
+ INSERT IGNORE INTO `sys_menu`
+(`id`, `title`, `parent_id`, `type`, `path`, `name`, `component`, `redirect`, `icon`, `is_external`, `is_cache`, `is_hidden`, `permission`, `sort`, `status`, `create_user`, `create_time`)
+VALUES
+(2035, '分区维护', 2030, 3, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, 'monitor:log:partition', 5, 1, 1, NOW());
+
+ INSERT IGNORE INTO `sys_role_menu`
+(`role_id`, `menu_id`)
+VALUES
+(1, 2035);
+
+-- changeset codestyle:4
+-- comment 初始化检索索引管理权限（模板文件的检索索引，归入文件管理）
+ INSERT IGNORE INTO `sys_menu`
+(`id`, `title`, `parent_id`, `type`, `path`, `name`, `component`, `redirect`, `icon`, `is_external`, `is_cache`, `is_hidden`, `permission`, `sort`, `status`, `create_user`, `create_time`)
+VALUES
+(1123, '检索索引统计', 1110, 3, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, 'search:index:stats', 13, 1, 1, NOW()),
+(1124, '重建检索索引', 1110, 3, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, 'search:index:rebuild', 14, 1, 1, NOW());
+
+ INSERT IGNORE INTO `sys_role_menu`
+(`role_id`, `menu_id`)
+VALUES
+(1, 1123),
+(1, 1124);
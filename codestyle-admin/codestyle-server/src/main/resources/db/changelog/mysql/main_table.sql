@@ -402,4 +402,54 @@ CREATE TABLE IF NOT EXISTS `sys_sms_log`  (
     PRIMARY KEY (`id`),
     INDEX `idx_config_id`(`config_id`),
     INDEX `idx_create_user`(`create_user`)
-) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='短信日志表';
\ No newline at end of file
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='短信日志表';
+
+-- changeset codestyle:2
+-- comment 初始化文件内容对象表
+CREATE TABLE IF NOT EXISTS `sys_file_blob` (
+    `id`          bigint(20)   NOT NULL               COMMENT 'ID',
+    `storage_id`  bigint(20)   NOT NULL               COMMENT '存储ID',
+    `sha256`      varchar(64)  NOT NULL               COMMENT 'SHA256值',
+    `path`        varchar(512) NOT NULL               COMMENT '存储路径',
+    `size`        bigint(20)   DEFAULT NULL           COMMENT '大小（字节）',
+    `ref_count`   int          NOT NULL DEFAULT 0     COMMENT '引用计数',
+    `create_time` datetime     NOT NULL               COMMENT '创建时间',
+    `update_time` datetime     DEFAULT NULL           COMMENT '修改时间',
+    PRIMARY KEY (`id`),
+    UNIQUE INDEX `uk_storage_sha256`(`storage_id`, `sha256`),
+    INDEX `idx_storage_path`(`storage_id`, `path`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='文件内容对象表';
+
+-- changeset codestyle:3
+-- comment 初始化日志统计表
+CREATE TABLE IF NOT EXISTS `sys_log_stat_hour` (
+    `id`          bigint(20)   AUTO_INCREMENT              COMMENT 'ID',
+    `stat_date`   date         NOT NULL                    COMMENT '统计日期',
+    `stat_hour`   tinyint      NOT NULL                    COMMENT '统计小时（0-23）',
+    `pv`          bigint(20)   NOT NULL DEFAULT 0          COMMENT '浏览量',
+    `update_time` datetime     NOT NULL                    COMMENT '修改时间',
+    PRIMARY KEY (`id`),
+    UNIQUE INDEX `uk_date_hour`(`stat_date`, `stat_hour`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='日志小时统计表';
+
+CREATE TABLE IF NOT EXISTS `sys_log_stat_day` (
+    `id`          bigint(20)   AUTO_INCREMENT              COMMENT 'ID',
+    `stat_date`   date         NOT NULL                    COMMENT '统计日期',
+    `pv`          bigint(20)   NOT NULL DEFAULT 0          COMMENT '浏览量',
+    `ip_sketch`   blob         DEFAULT NULL                COMMENT '独立IP基数估计（HyperLogLog寄存器）',
+    `update_time` datetime     NOT NULL                    COMMENT '修改时间',
+    PRIMARY KEY (`id`),
+    UNIQUE INDEX `uk_date`(`stat_date`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='日志每日统计表';
+
+CREATE TABLE IF NOT EXISTS `sys_log_stat_dim` (
+    `id`          bigint(20)   AUTO_INCREMENT              COMMENT 'ID',
+    `stat_date`   date         NOT NULL                    COMMENT '统计日期',
+    `dim_type`    varchar(20)  NOT NULL                    COMMENT '维度类型（MODULE：模块；OS：操作系统；BROWSER：浏览器；GEO：地域）',
+    `dim_value`   varchar(255) NOT NULL                    COMMENT '维度值',
+    `pv`          bigint(20)   NOT NULL DEFAULT 0          COMMENT '浏览量',
+    `update_time` datetime     NOT NULL                    COMMENT '修改时间',
+    PRIMARY KEY (`id`),
+    UNIQUE INDEX `uk_date_type_value`(`stat_date`, `dim_type`, `dim_value`),
+    INDEX `idx_type_value`(`dim_type`, `dim_value`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='日志每日维度统计表';
@@ -40,3 +40,22 @@ INSERT INTO `remote_meta_info` (`id`, `meta_json`, `create_user`, `create_time`)
 (8, '{"id":8,"groupId":"DataScience","artifactId":"Data-Analysis-Report","description":"Data analysis report template with Jupyter Notebook.","config":{"version":"1.3.0","files":[{"filename":"analysis_report.ipynb.ftl","sha256":"l1m2n3o4p5q6r7s8t9u0v1w2x3y4z5a6b7c8d9e0","filePath":"notebooks","description":"数据分析报告模板","inputVariables":[{"variableType":"String","variableName":"reportTitle","variableComment":"报告标题","example":"销售数据分析报告"}]}]}}', 0, NOW()),
 (9, '{"id":9,"groupId":"DevOps","artifactId":"CI-CD-Pipeline","description":"CI/CD pipeline templates for GitHub Actions.","config":{"version":"1.0.0","files":[{"filename":".github/workflows/ci-cd.yml.ftl","sha256":"m1n2o3p4q5r6s7t8u0v1w2x3y4z5a6b7c8d9e0f1","filePath":".","description":"GitHub Actions CI/CD流水线模板","inputVariables":[{"variableType":"String","variableName":"language","variableComment":"项目语言","example":"java"},{"variableType":"String","variableName":"buildCommand","variableComment":"构建命令","example":"mvn clean package"}]}]}}', 0, NOW()),
 (10, '{"id":10,"groupId":"QualityAssurance","artifactId":"Py-Automation-Test","description":"Python automation testing template with Selenium.","config":{"version":"1.4.0","files":[{"filename":"test_suite.py.ftl","sha256":"n1o2p3q4r5s6t7u8v9w0x1y2z3a4b5c6d7e8f9g0","filePath":"tests","description":"自动化测试套件模板","inputVariables":[{"variableType":"String","variableName":"baseUrl","variableComment":"测试基础URL","example":"https://example.com"}]}]}}', 0, NOW());
+
+-- changeset codestyle:4
+-- comment 初始化检索索引发件箱表
+CREATE TABLE IF NOT EXISTS `search_index_outbox`
+(
+    `id`              bigint       NOT NULL                COMMENT 'ID',
+    `tenant_id`       bigint       NOT NULL DEFAULT 0      COMMENT '租户ID',
+    `doc_id`          varchar(512) NOT NULL                COMMENT '索引文档ID',
+    `op_type`         varchar(10)  NOT NULL                COMMENT '操作类型（INDEX：写入；DELETE：删除）',
+    `payload`         json         DEFAULT NULL            COMMENT '索引文档内容',
+    `status`          tinyint      NOT NULL DEFAULT 0      COMMENT '状态（0：待处理；2：失败）',
+    `retry_count`     int          NOT NULL DEFAULT 0      COMMENT '重试次数',
+    `next_retry_time` datetime     NOT NULL                COMMENT '下次处理时间',
+    `last_error`      varchar(500) DEFAULT NULL            COMMENT '最近一次错误信息',
+    `create_time`     datetime     NOT NULL                COMMENT '创建时间',
+    `update_time`     datetime     DEFAULT NULL            COMMENT '修改时间',
+    PRIMARY KEY (`id`),
+    INDEX `idx_status_next_retry_time` (`status`, `next_retry_time`)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COLLATE = utf8mb4_general_ci COMMENT ='检索索引发件箱表';
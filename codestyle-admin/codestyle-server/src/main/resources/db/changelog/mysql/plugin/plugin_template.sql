@@ -136,3 +136,9 @@ VALUES
 
 INSERT IGNORE INTO `sys_role_menu` (`role_id`, `menu_id`) VALUES
 (1, 4030), (1, 4031), (1, 4032), (1, 4033), (1, 4034), (1, 4035);
+
+-- changeset codestyle:4
+-- comment 会话滚动摘要
+ALTER TABLE `chat_session`
+    ADD COLUMN `summary`            text   DEFAULT NULL        COMMENT '历史对话摘要' AFTER `research_task_id`,
+    ADD COLUMN `summary_message_id` bigint NOT NULL DEFAULT 0  COMMENT '已折叠进摘要的最后消息ID' AFTER `summary`;
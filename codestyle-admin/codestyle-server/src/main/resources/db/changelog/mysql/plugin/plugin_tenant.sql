@@ -142,3 +142,20 @@ VALUES
 (3023, '新增', 3020, 3, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, 'tenant:package:create', 3, 1, 1, NOW()),
 (3024, '修改', 3020, 3, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, 'tenant:package:update', 4, 1, 1, NOW()),
 (3025, '删除', 3020, 3, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, 'tenant:package:delete', 5, 1, 1, NOW());
+
+-- changeset codestyle:1
+-- comment 日志统计表增加租户字段
+ALTER TABLE `sys_log_stat_hour`
+    ADD COLUMN `tenant_id` BIGINT NOT NULL DEFAULT 0 COMMENT '租户ID',
+    DROP INDEX `uk_date_hour`,
+    ADD UNIQUE INDEX `uk_date_hour` (`tenant_id`, `stat_date`, `stat_hour`);
+ALTER TABLE `sys_log_stat_day`
+    ADD COLUMN `tenant_id` BIGINT NOT NULL DEFAULT 0 COMMENT '租户ID',
+    DROP INDEX `uk_date`,
+    ADD UNIQUE INDEX `uk_date` (`tenant_id`, `stat_date`);
+ALTER TABLE `sys_log_stat_dim`
+    ADD COLUMN `tenant_id` BIGINT NOT NULL DEFAULT 0 COMMENT '租户ID',
+    DROP INDEX `uk_date_type_value`,
+    DROP INDEX `idx_type_value`,
+    ADD UNIQUE INDEX `uk_date_type_value` (`tenant_id`, `stat_date`, `dim_type`, `dim_value`),
+    ADD INDEX `idx_type_value` (`tenant_id`, `dim_type`, `dim_value`);
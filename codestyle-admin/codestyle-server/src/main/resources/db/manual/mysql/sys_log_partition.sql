@@ -0,0 +1,36 @@
+-- 系统日志表按创建时间分区（可选，需在维护窗口手动执行，不在 Liquibase 变更集中自动执行）
+--
+-- 1. 修改主键与分区定义都会以 COPY 方式重建整张 sys_log 表，耗时与日志量成正比，执行期间表不可写。
+--    日志量较大时建议先按保留期清理或归档历史日志，或使用 pt-online-schema-change / gh-ost 等在线变更工具执行。
+-- 2. 按已有日志的时间范围（最早日志所在月 ~ 当月或最晚日志所在月）一次性创建按月分区，执行后 p_max 为空。
+--    应用在 log.partition.enabled=true 时只从空的 p_max 拆分后续月分区（仅修改元数据），
+--    并按 log.partition.retention-months 归档、删除过期分区；p_max 非空时不再拆分，未执行本脚本时分区维护自动跳过。
+-- 3. 分区表的主键需包含分区键，因此主键调整为 (id, create_time)。
+-- 4. 依赖 MySQL 8.0 递归 CTE 生成月份列表。
+
+ALTER TABLE `sys_log`
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (`id`, `create_time`);
+
+SELECT DATE(DATE_FORMAT(COALESCE(MIN(`create_time`), NOW()), '%Y-%m-01')),
+       DATE(DATE_FORMAT(GREATEST(COALESCE(MAX(`create_time`), NOW()), NOW()), '%Y-%m-01'))
+INTO @first_month, @last_month
+FROM `sys_log`;
+
+SET SESSION group_concat_max_len = 1048576;
+WITH RECURSIVE `months` (`m`) AS (
+    SELECT CAST(@first_month AS DATE)
+    UNION ALL
+    SELECT `m` + INTERVAL 1 MONTH FROM `months` WHERE `m` < CAST(@last_month AS DATE)
+)
+SELECT GROUP_CONCAT(CONCAT('PARTITION `p', DATE_FORMAT(`m`, '%Y%m'), '` VALUES LESS THAN (''',
+                           DATE_FORMAT(`m` + INTERVAL 1 MONTH, '%Y-%m-%d 00:00:00'), ''')')
+                    ORDER BY `m` SEPARATOR ', ')
+INTO @partitions
+FROM `months`;
+
+SET @ddl = CONCAT('ALTER TABLE `sys_log` PARTITION BY RANGE COLUMNS(`create_time`) (', @partitions,
+                  ', PARTITION `p_max` VALUES LESS THAN (MAXVALUE))');
+PREPARE `stmt` FROM @ddl;
+EXECUTE `stmt`;
+DEALLOCATE PREPARE `stmt`;
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.system.config.file;
+
+import cn.hutool.core.util.StrUtil;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.handler.AbstractHandlerMapping;
+import org.springframework.web.util.UrlPathHelper;
+import top.continew.starter.core.constant.StringConstants;
+
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 本地存储文件访问映射
+ * <p>
+ * 按存储域名路径前缀匹配请求，由 {@link LocalFileRequestHandler} 直接读取本地文件响应（支持 Range 与条件请求）。
+ * 优先级高于静态资源映射，低于接口映射。
+ * </p>
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+@Slf4j
+@Component
+public class LocalFileHandlerMapping extends AbstractHandlerMapping {
+
+    /**
+     * 访问路径前缀（/file/） → 文件处理器
+     */
+    private final Map<String, LocalFileRequestHandler> handlers = new ConcurrentHashMap<>();
+
+    public LocalFileHandlerMapping() {
+        setOrder(Ordered.LOWEST_PRECEDENCE - 2);
+    }
+
+    /**
+     * 注册本地存储访问路径
+     *
+     * @param pathPattern 访问路径前缀（如：/file/）
+     * @param storagePath 存储根路径
+     */
+    public void register(String pathPattern, String storagePath) {
+        String prefix = this.normalizePrefix(pathPattern);
+        handlers.put(prefix, new LocalFileRequestHandler(Paths.get(storagePath).toAbsolutePath().normalize()));
+        log.info("本地存储访问路径已注册: {} -> {}", prefix, storagePath);
+    }
+
+    /**
+     * 移除本地存储访问路径
+     *
+     * @param pathPattern 访问路径前缀（如：/file/）
+     */
+    public void deregister(String pathPattern) {
+        handlers.remove(this.normalizePrefix(pathPattern));
+    }
+
+    @Override
+    protected Object getHandlerInternal(HttpServletRequest request) {
+        if (handlers.isEmpty() || !(HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request
+            .getMethod()))) {
+            return null;
+        }
+        String lookupPath = UrlPathHelper.defaultInstance.getLookupPathForRequest(request);
+        // 多个前缀重叠时取最长匹配
+        String matched = null;
+        for (String prefix : handlers.keySet()) {
+            if (lookupPath.startsWith(prefix) && (matched == null || prefix.length() > matched.length())) {
+                matched = prefix;
+            }
+        }
+        if (matched == null) {
+            return null;
+        }
+        request.setAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE, lookupPath.substring(matched
+            .length()));
+        return handlers.get(matched);
+    }
+
+    /**
+     * 规范化访问路径前缀：/file/
+     */
+    private String normalizePrefix(String pathPattern) {
+        String prefix = StrUtil.removeSuffix(StrUtil.blankToDefault(pathPattern, StringConstants.SLASH), "**");
+        return StrUtil.appendIfMissing(StrUtil.prependIfMissing(prefix, StringConstants.SLASH), StringConstants.SLASH);
+    }
+}
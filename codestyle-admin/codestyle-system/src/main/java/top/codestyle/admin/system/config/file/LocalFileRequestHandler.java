@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.system.config.file;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.HttpRequestHandler;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerMapping;
+import top.codestyle.admin.common.util.FileRangeUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+
+/**
+ * 本地存储文件处理器
+ * <p>
+ * 以文件修改时间和大小生成 ETag，处理 If-None-Match / If-Modified-Since（304），
+ * Range / If-Range 与按区间写出由 {@link FileRangeUtils} 处理，无需整体读入内存。
+ * </p>
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+class LocalFileRequestHandler implements HttpRequestHandler {
+
+    private final Path root;
+
+    LocalFileRequestHandler(Path root) {
+        this.root = root;
+    }
+
+    @Override
+    public void handleRequest(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path file = this.resolve((String)request.getAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE));
+        if (file == null) {
+            response.sendError(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        long length = Files.size(file);
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+        String etag = "\"" + Long.toHexString(lastModified) + "-" + Long.toHexString(length) + "\"";
+        // 写入 ETag 与 Last-Modified，未变化时返回 304
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+        response.setContentType(MediaTypeFactory.getMediaType(file.getFileName().toString())
+            .orElse(MediaType.APPLICATION_OCTET_STREAM)
+            .toString());
+        FileRangeUtils.write(file, etag, lastModified, request, response);
+    }
+
+    /**
+     * 解析请求文件（不允许访问存储根路径以外的文件）
+     *
+     * @param relativePath 相对路径
+     * @return 文件路径，不存在或不可读时返回 null
+     */
+    private Path resolve(String relativePath) {
+        if (relativePath == null || relativePath.isEmpty()) {
+            return null;
+        }
+        try {
+            Path file = root.resolve(relativePath).normalize();
+            return file.startsWith(root) && Files.isRegularFile(file) && Files.isReadable(file) ? file : null;
+        } catch (InvalidPathException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.system.config.log;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 系统日志导出配置属性
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "log.export")
+public class LogExportProperties {
+
+    /**
+     * 后台导出线程数
+     */
+    private int taskThreads = 2;
+
+    /**
+     * 排队中的最大任务数，超出时拒绝提交
+     */
+    private int taskQueueCapacity = 8;
+
+    /**
+     * 导出文件上级目录
+     */
+    private String taskPath = "log-export/";
+
+    /**
+     * 导出文件存储编码（为空时使用默认存储）
+     */
+    private String taskStorageCode;
+
+    /**
+     * 任务状态保留时间（小时）
+     */
+    private long taskTtl = 24;
+}
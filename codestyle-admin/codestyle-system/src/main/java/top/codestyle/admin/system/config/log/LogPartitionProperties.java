@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package top.codestyle.admin.system.config.log;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 系统日志分区配置属性
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "log.partition")
+public class LogPartitionProperties {
+
+    /**
+     * 是否启用分区自动维护（表未分区时自动跳过）
+     */
+    private boolean enabled = true;
+
+    /**
+     * 维护间隔（小时，最小 1）
+     */
+    private long checkInterval = 24;
+
+    /**
+     * 提前创建的月份分区数
+     */
+    private int premakeMonths = 2;
+
+    /**
+     * 保留月数（不含当月，0 表示永久保留），更早的分区将被删除
+     */
+    private int retentionMonths = 6;
+
+    /**
+     * 删除分区前是否归档（压缩为 JSON Lines 上传到存储，归档失败时不删除）
+     */
+    private boolean archiveEnabled = true;
+
+    /**
+     * 归档文件上级目录
+     */
+    private String archivePath = "log-archive/";
+
+    /**
+     * 归档存储编码（为空时使用默认存储）
+     */
+    private String archiveStorageCode;
+
+    /**
+     * 分页查询未指定操作时间时默认查询的天数（0 表示不限制，默认不限制），使查询只扫描最近的分区
+     * <p>
+     * 前端日志页面已默认按最近 7 天查询；开启后未传操作时间的接口调用也只返回最近的日志。
+     * </p>
+     */
+    private int pageDefaultDays = 0;
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package top.codestyle.admin.system.config.log;
+
+import cn.hutool.core.thread.ThreadUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import top.codestyle.admin.system.service.LogStatService;
+import top.continew.starter.cache.redisson.util.RedisLockUtils;
+import top.continew.starter.extension.tenant.context.TenantContextHolder;
+import top.continew.starter.extension.tenant.util.TenantUtils;
+
+import java.util.List;
+
+/**
+ * 日志统计补齐任务
+ * <p>
+ * 仪表盘只读取日志统计表，升级前已有的日志不会出现在统计中。应用启动后在后台按租户检查一次，
+ * 统计表中最早日期之前仍有日志时按日志重建历史统计（已补齐时只执行两次聚合查询）；多节点启动时只由获取到锁的节点执行。
+ * </p>
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LogStatBackfillRunner implements ApplicationRunner {
+
+    private static final String LOCK_KEY = "Lock:LogStatBackfill";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LogStatService logStatService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        ThreadUtil.newThread(this::backfill, "log-stat-backfill", true).start();
+    }
+
+    /**
+     * 按租户补齐日志统计
+     */
+    private void backfill() {
+        try (RedisLockUtils lock = RedisLockUtils.tryLock(LOCK_KEY)) {
+            if (!lock.isLocked()) {
+                return; // 其他节点正在补齐
+            }
+            if (!TenantContextHolder.isTenantEnabled()) {
+                this.backfillQuietly(null);
+                return;
+            }
+            // 租户列表直接从日志表读取，避免租户插件依赖及 SQL 拦截器改写
+            List<Long> tenantIdList = jdbcTemplate.queryForList("SELECT DISTINCT tenant_id FROM sys_log", Long.class);
+            tenantIdList.forEach(tenantId -> TenantUtils.execute(tenantId, () -> this.backfillQuietly(tenantId)));
+        } catch (Exception e) {
+            log.error("日志统计补齐失败", e);
+        }
+    }
+
+    private void backfillQuietly(Long tenantId) {
+        try {
+            long count = logStatService.backfill();
+            if (count > 0) {
+                log.info("日志统计补齐完成，租户: {}，日志数: {}", tenantId, count);
+            }
+        } catch (Exception e) {
+            // 单个租户失败不影响其他租户，可通过重建接口手动重建
+            log.error("日志统计补齐失败，租户: {}", tenantId, e);
+        }
+    }
+}
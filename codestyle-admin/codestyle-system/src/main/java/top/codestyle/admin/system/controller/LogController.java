@@ -27,17 +27,28 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import top.codestyle.admin.system.enums.LogExportTypeEnum;
 import top.codestyle.admin.system.model.query.LogQuery;
+import top.codestyle.admin.system.model.req.LogStatRebuildReq;
 import top.codestyle.admin.system.model.resp.log.LogDetailResp;
+import top.codestyle.admin.system.model.resp.log.LogExportTaskResp;
+import top.codestyle.admin.system.model.resp.log.LogPartitionResp;
 import top.codestyle.admin.system.model.resp.log.LogResp;
+import top.codestyle.admin.system.service.LogExportTaskService;
+import top.codestyle.admin.system.service.LogPartitionService;
 import top.codestyle.admin.system.service.LogService;
+import top.codestyle.admin.system.service.LogStatService;
 import top.continew.starter.extension.crud.model.query.PageQuery;
 import top.continew.starter.extension.crud.model.query.SortQuery;
 import top.continew.starter.extension.crud.model.resp.PageResp;
 import top.continew.starter.log.annotation.Log;
 
+import java.util.List;
+
 /**
  * 系统日志 API
  *
@@ -51,6 +62,9 @@ import top.continew.starter.log.annotation.Log;
 public class LogController {
 
     private final LogService baseService;
+    private final LogStatService logStatService;
+    private final LogExportTaskService logExportTaskService;
+    private final LogPartitionService logPartitionService;
 
     @Log(ignore = true)
     @Operation(summary = "分页查询列表", description = "分页查询列表")
@@ -84,4 +98,49 @@ public class LogController {
     public void exportOperationLog(@Valid LogQuery query, @Valid SortQuery sortQuery, HttpServletResponse response) {
         baseService.exportOperationLog(query, sortQuery, response);
     }
+
+    @Operation(summary = "提交登录日志导出任务", description = "后台导出登录日志，完成后通过任务查询获取文件地址")
+    @SaCheckPermission("monitor:log:export")
+    @PostMapping("/export/login/task")
+    public LogExportTaskResp submitLoginLogExport(@Valid LogQuery query, @Valid SortQuery sortQuery) {
+        return logExportTaskService.submit(LogExportTypeEnum.LOGIN, query, sortQuery);
+    }
+
+    @Operation(summary = "提交操作日志导出任务", description = "后台导出操作日志，完成后通过任务查询获取文件地址")
+    @SaCheckPermission("monitor:log:export")
+    @PostMapping("/export/operation/task")
+    public LogExportTaskResp submitOperationLogExport(@Valid LogQuery query, @Valid SortQuery sortQuery) {
+        return logExportTaskService.submit(LogExportTypeEnum.OPERATION, query, sortQuery);
+    }
+
+    @Log(ignore = true)
+    @Operation(summary = "查询导出任务", description = "查询日志导出任务状态及文件地址")
+    @Parameter(name = "taskId", description = "任务 ID", example = "4f9c5b1e8a7d4c2b9e3f6a1d0c8b7e5f", in = ParameterIn.PATH)
+    @SaCheckPermission("monitor:log:export")
+    @GetMapping("/export/task/{taskId}")
+    public LogExportTaskResp getExportTask(@PathVariable String taskId) {
+        return logExportTaskService.get(taskId);
+    }
+
+    @Operation(summary = "重建统计", description = "按系统日志重建仪表盘统计（用于补齐历史数据）")
+    @SaCheckPermission("monitor:log:rebuild")
+    @PostMapping("/stat/rebuild")
+    public long rebuildStat(@Valid @RequestBody LogStatRebuildReq req) {
+        return logStatService.rebuild(req.getStartDate(), req.getEndDate());
+    }
+
+    @Log(ignore = true)
+    @Operation(summary = "查询分区列表", description = "查询系统日志表分区列表")
+    @SaCheckPermission("monitor:log:partition")
+    @GetMapping("/partition")
+    public List<LogPartitionResp> listPartition() {
+        return logPartitionService.listPartition();
+    }
+
+    @Operation(summary = "维护分区", description = "立即创建未来月份分区，并归档、删除超出保留期的分区")
+    @SaCheckPermission("monitor:log:partition")
+    @PostMapping("/partition/maintain")
+    public void maintainPartition() {
+        logPartitionService.maintain();
+    }
 }
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.system.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import top.codestyle.admin.common.constant.UiConstants;
+import top.continew.starter.core.enums.BaseEnum;
+
+/**
+ * 导出任务状态枚举
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ExportTaskStatusEnum implements BaseEnum<Integer> {
+
+    /**
+     * 排队中
+     */
+    PENDING(1, "排队中", UiConstants.COLOR_DEFAULT),
+
+    /**
+     * 导出中
+     */
+    RUNNING(2, "导出中", UiConstants.COLOR_PRIMARY),
+
+    /**
+     * 成功
+     */
+    SUCCESS(3, "成功", UiConstants.COLOR_SUCCESS),
+
+    /**
+     * 失败
+     */
+    FAILURE(4, "失败", UiConstants.COLOR_ERROR),;
+
+    private final Integer value;
+    private final String description;
+    private final String color;
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.system.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import top.codestyle.admin.system.model.resp.log.LoginLogExportResp;
+import top.codestyle.admin.system.model.resp.log.OperationLogExportResp;
+import top.continew.starter.core.enums.BaseEnum;
+
+/**
+ * 日志导出类型枚举
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+@Getter
+@RequiredArgsConstructor
+public enum LogExportTypeEnum implements BaseEnum<String> {
+
+    /**
+     * 登录日志
+     */
+    LOGIN("LOGIN", "登录日志", "导出登录日志数据", LoginLogExportResp.class),
+
+    /**
+     * 操作日志
+     */
+    OPERATION("OPERATION", "操作日志", "导出操作日志数据", OperationLogExportResp.class),;
+
+    private final String value;
+    private final String description;
+    private final String fileName;
+    private final Class<?> exportClass;
+}
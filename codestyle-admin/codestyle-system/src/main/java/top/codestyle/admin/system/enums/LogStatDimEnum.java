@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package top.codestyle.admin.system.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import top.continew.starter.core.enums.BaseEnum;
+
+/**
+ * 日志统计维度枚举
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+@Getter
+@RequiredArgsConstructor
+public enum LogStatDimEnum implements BaseEnum<String> {
+
+    /**
+     * 模块
+     */
+    MODULE("MODULE", "模块"),
+
+    /**
+     * 操作系统
+     */
+    OS("OS", "操作系统"),
+
+    /**
+     * 浏览器
+     */
+    BROWSER("BROWSER", "浏览器"),
+
+    /**
+     * 地域
+     */
+    GEO("GEO", "地域"),;
+
+    private final String value;
+    private final String description;
+}
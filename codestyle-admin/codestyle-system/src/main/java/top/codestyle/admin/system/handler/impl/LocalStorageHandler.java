@@ -17,8 +17,8 @@
 package top.codestyle.admin.system.handler.impl;
 
 import cn.hutool.core.io.FileUtil;
+import cn.hutool.core.util.HexUtil;
 import cn.hutool.core.util.StrUtil;
-import cn.hutool.crypto.digest.DigestUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -34,11 +34,16 @@ import top.codestyle.admin.system.service.FileService;
 import top.continew.starter.core.exception.BaseException;
 
 import java.io.File;
-import java.io.OutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
 import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
@@ -112,13 +117,13 @@ public class LocalStorageHandler implements StorageHandler {
                 FileUtil.mkdir(tempDirPath);
             }
 
-            // 保存分片文件
-            String partFilePath = tempDirPath + File.separator + String.format("part_%s", partNumber);
-            File partFile = new File(partFilePath);
-            file.transferTo(partFile);
-
-            // 计算ETag (使用MD5)
-            String etag = DigestUtil.md5Hex(partFile);
+            // 保存分片文件，写入的同时计算 ETag（使用MD5），无需再次读取分片
+            Path partPath = Paths.get(tempDirPath, String.format("part_%s", partNumber));
+            MessageDigest digest = MessageDigest.getInstance("MD5");
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                Files.copy(in, partPath, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String etag = HexUtil.encodeHexStr(digest.digest());
 
             // 构建返回结果
             MultipartUploadResp result = new MultipartUploadResp();
@@ -154,9 +159,9 @@ public class LocalStorageHandler implements StorageHandler {
             Path targetPath = Paths.get(bucket, path);
             Files.createDirectories(targetPath.getParent());
 
-            // 合并分片
-            try (OutputStream out = Files
-                .newOutputStream(targetPath, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            // 合并分片（FileChannel.transferTo 由操作系统在文件间直接复制，不经过用户态缓冲区）
+            try (FileChannel out = FileChannel
+                .open(targetPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
 
                 // 按分片编号排序
                 List<MultipartUploadResp> sortedParts = parts.stream()
@@ -172,7 +177,7 @@ public class LocalStorageHandler implements StorageHandler {
                         throw new BaseException("分片文件不存在: partNumber=" + part.getPartNumber());
                     }
 
-                    Files.copy(partPath, out);
+                    transferPart(partPath, out);
                 }
             }
             // 清理临时文件
@@ -231,6 +236,26 @@ public class LocalStorageHandler implements StorageHandler {
         return StrUtil.appendIfMissing(bucket, File.separator) + path;
     }
 
+    /**
+     * 将分片追加到目标文件
+     *
+     * @param partPath 分片文件路径
+     * @param out      目标文件通道
+     */
+    private void transferPart(Path partPath, FileChannel out) throws IOException {
+        try (FileChannel in = FileChannel.open(partPath, StandardOpenOption.READ)) {
+            long size = in.size();
+            long position = 0;
+            while (position < size) {
+                long transferred = in.transferTo(position, size - position, out);
+                if (transferred <= 0) {
+                    throw new IOException("分片文件读取不完整: " + partPath.getFileName());
+                }
+                position += transferred;
+            }
+        }
+    }
+
     /**
      * 清理临时文件
      *
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.system.mapper;
+
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Update;
+import top.codestyle.admin.system.model.entity.FileBlobDO;
+import top.continew.starter.data.mapper.BaseMapper;
+
+/**
+ * 文件内容对象 Mapper
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+@Mapper
+public interface FileBlobMapper extends BaseMapper<FileBlobDO> {
+
+    /**
+     * 增加已有内容对象的引用计数
+     *
+     * @param storageId 存储 ID
+     * @param sha256    SHA256 值
+     * @return 影响行数（0 表示内容对象不存在）
+     */
+    @Update("UPDATE sys_file_blob SET ref_count = ref_count + 1, update_time = NOW() WHERE storage_id = #{storageId} AND sha256 = #{sha256} AND ref_count > 0")
+    int incrementRef(@Param("storageId") Long storageId, @Param("sha256") String sha256);
+
+    /**
+     * 新增内容对象（已存在时增加引用计数）
+     *
+     * @param blob 内容对象
+     * @return 影响行数
+     */
+    @Insert("INSERT INTO sys_file_blob (id, storage_id, sha256, path, size, ref_count, create_time) VALUES (#{id}, #{storageId}, #{sha256}, #{path}, #{size}, 1, NOW()) ON DUPLICATE KEY UPDATE ref_count = ref_count + 1, update_time = NOW()")
+    int insertOrIncrement(FileBlobDO blob);
+
+    /**
+     * 减少内容对象的引用计数
+     *
+     * @param storageId 存储 ID
+     * @param path      存储路径
+     * @return 影响行数（0 表示内容对象不存在）
+     */
+    @Update("UPDATE sys_file_blob SET ref_count = ref_count - 1, update_time = NOW() WHERE storage_id = #{storageId} AND path = #{path} AND ref_count > 0")
+    int decrementRef(@Param("storageId") Long storageId, @Param("path") String path);
+
+    /**
+     * 删除已无引用的内容对象
+     *
+     * @param storageId 存储 ID
+     * @param path      存储路径
+     * @return 影响行数（1 表示内容对象已无引用，需要删除实际文件）
+     */
+    @Delete("DELETE FROM sys_file_blob WHERE storage_id = #{storageId} AND path = #{path} AND ref_count <= 0")
+    int deleteUnreferenced(@Param("storageId") Long storageId, @Param("path") String path);
+}
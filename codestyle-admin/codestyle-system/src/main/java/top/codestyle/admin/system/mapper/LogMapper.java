@@ -16,23 +16,21 @@
 
 package top.codestyle.admin.system.mapper;
 
-import com.alicp.jetcache.anno.Cached;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.core.toolkit.Constants;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.ResultType;
 import org.apache.ibatis.annotations.Select;
-import top.codestyle.admin.common.constant.CacheConstants;
+import org.apache.ibatis.mapping.ResultSetType;
+import org.apache.ibatis.session.ResultHandler;
 import top.codestyle.admin.system.model.entity.LogDO;
-import top.codestyle.admin.system.model.resp.dashboard.DashboardAccessTrendResp;
-import top.codestyle.admin.system.model.resp.dashboard.DashboardChartCommonResp;
-import top.codestyle.admin.system.model.resp.dashboard.DashboardOverviewCommonResp;
 import top.codestyle.admin.system.model.resp.log.LogResp;
 import top.continew.starter.data.mapper.BaseMapper;
 
-import java.util.Date;
-import java.util.List;
+import java.time.LocalDateTime;
 
 /**
  * 系统日志 Mapper
@@ -54,98 +52,32 @@ public interface LogMapper extends BaseMapper<LogDO> {
                                  @Param(Constants.WRAPPER) QueryWrapper<LogDO> queryWrapper);
 
     /**
-     * 查询列表
+     * 流式查询列表（逐行读取，不在内存中保留结果集）
      *
      * @param queryWrapper 查询条件
-     * @return 列表信息
+     * @param handler      结果处理器
      */
-    List<LogResp> selectLogList(@Param(Constants.WRAPPER) QueryWrapper<LogDO> queryWrapper);
+    void selectLogStream(@Param(Constants.WRAPPER) QueryWrapper<LogDO> queryWrapper, ResultHandler<LogResp> handler);
 
     /**
-     * 查询总数量
+     * 流式查询日志统计所需字段（逐行读取，不在内存中保留结果集）
      *
-     * @return 总数量
+     * @param startTime 开始时间（包含）
+     * @param endTime   结束时间（不包含）
+     * @param handler   结果处理器
      */
-    @Select("SELECT COUNT(*) FROM sys_log")
-    Long selectTotalCount();
+    @Select("SELECT ip, address, browser, os, module, create_time FROM sys_log WHERE create_time >= #{startTime} AND create_time < #{endTime}")
+    @ResultType(LogDO.class)
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = Integer.MIN_VALUE)
+    void selectStatSource(@Param("startTime") LocalDateTime startTime,
+                          @Param("endTime") LocalDateTime endTime,
+                          ResultHandler<LogDO> handler);
 
     /**
-     * 查询仪表盘 PV 总览
+     * 查询最早的日志时间
      *
-     * @return 仪表盘 PV 总览
+     * @return 最早的日志时间（无日志时为 null）
      */
-    DashboardOverviewCommonResp selectDashboardOverviewPv();
-
-    /**
-     * 查询仪表盘 IP 总览
-     *
-     * @return 仪表盘 IP 总览
-     */
-    DashboardOverviewCommonResp selectDashboardOverviewIp();
-
-    /**
-     * 查询仪表盘 PV 近 N 月各月份信息
-     *
-     * @param months 近 N 月月份列表
-     * @return 仪表盘 PV 近 N 月各月份信息
-     */
-    @Cached(key = "#months[0]", name = CacheConstants.DASHBOARD_KEY_PREFIX + "PV:")
-    List<DashboardChartCommonResp> selectListDashboardAnalysisPv(@Param("months") List<String> months);
-
-    /**
-     * 查询仪表盘 IP 近 N 月各月份信息
-     *
-     * @param months 近 N 月月份列表
-     * @return 仪表盘 IP 近 N 月各月份信息
-     */
-    @Cached(key = "#months[0]", name = CacheConstants.DASHBOARD_KEY_PREFIX + "IP:")
-    List<DashboardChartCommonResp> selectListDashboardAnalysisIp(@Param("months") List<String> months);
-
-    /**
-     * 查询仪表盘地域分析信息
-     *
-     * @return 仪表盘地域分析信息
-     */
-    List<DashboardChartCommonResp> selectListDashboardAnalysisGeo();
-
-    /**
-     * 查询仪表盘访问趋势信息
-     *
-     * @param startTime 开始时间
-     * @param endTime   结束时间
-     * @return 仪表盘访问趋势信息
-     */
-    List<DashboardAccessTrendResp> selectListDashboardAccessTrend(@Param("startTime") Date startTime,
-                                                                  @Param("endTime") Date endTime);
-
-    /**
-     * 查询仪表盘访问时段分析信息
-     *
-     * @return 仪表盘访问时段分析信息
-     */
-    List<DashboardChartCommonResp> selectListDashboardAnalysisTimeslot();
-
-    /**
-     * 查询仪表盘模块分析信息
-     *
-     * @param top 显示数量
-     * @return 仪表盘模块分析信息
-     */
-    List<DashboardChartCommonResp> selectListDashboardAnalysisModule(@Param("top") Integer top);
-
-    /**
-     * 查询仪表盘终端分析信息
-     *
-     * @param top 显示数量
-     * @return 仪表盘终端分析信息
-     */
-    List<DashboardChartCommonResp> selectListDashboardAnalysisOs(@Param("top") Integer top);
-
-    /**
-     * 查询仪表盘浏览器分析信息
-     *
-     * @param top 显示数量
-     * @return 仪表盘浏览器分析信息
-     */
-    List<DashboardChartCommonResp> selectListDashboardAnalysisBrowser(@Param("top") Integer top);
+    @Select("SELECT MIN(create_time) FROM sys_log")
+    LocalDateTime selectMinCreateTime();
 }
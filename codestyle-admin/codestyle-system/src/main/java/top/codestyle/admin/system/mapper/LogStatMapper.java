@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package top.codestyle.admin.system.mapper;
+
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.ResultType;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+import org.apache.ibatis.session.ResultHandler;
+import top.codestyle.admin.system.enums.LogStatDimEnum;
+import top.codestyle.admin.system.model.entity.LogStatDO;
+import top.codestyle.admin.system.model.entity.LogStatDimDO;
+import top.codestyle.admin.system.model.entity.LogStatHourDO;
+import top.codestyle.admin.system.model.resp.dashboard.DashboardChartCommonResp;
+import top.continew.starter.data.mapper.BaseMapper;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 日志统计 Mapper
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+@Mapper
+public interface LogStatMapper extends BaseMapper<LogStatDO> {
+
+    /**
+     * 累加小时浏览量（不存在时新增）
+     *
+     * @param list 小时统计列表
+     * @return 影响行数
+     */
+    int insertOrAddHour(@Param("list") Collection<LogStatHourDO> list);
+
+    /**
+     * 累加维度浏览量（不存在时新增）
+     *
+     * @param list 维度统计列表
+     * @return 影响行数
+     */
+    int insertOrAddDim(@Param("list") Collection<LogStatDimDO> list);
+
+    /**
+     * 累加每日浏览量（不存在时新增）
+     *
+     * @param statDate 统计日期
+     * @param pv       浏览量
+     * @return 影响行数
+     */
+    int insertOrAddDay(@Param("statDate") LocalDate statDate, @Param("pv") Long pv);
+
+    /**
+     * 查询并锁定每日独立 IP 估计（需在事务中调用）
+     *
+     * @param statDate 统计日期
+     * @return 寄存器数据
+     */
+    @Select("SELECT ip_sketch FROM sys_log_stat_day WHERE stat_date = #{statDate} FOR UPDATE")
+    byte[] selectSketchForUpdate(@Param("statDate") LocalDate statDate);
+
+    /**
+     * 修改每日独立 IP 估计
+     *
+     * @param statDate 统计日期
+     * @param sketch   寄存器数据
+     * @return 影响行数
+     */
+    @Update("UPDATE sys_log_stat_day SET ip_sketch = #{sketch}, update_time = NOW() WHERE stat_date = #{statDate}")
+    int updateSketch(@Param("statDate") LocalDate statDate, @Param("sketch") byte[] sketch);
+
+    /**
+     * 查询总浏览量
+     *
+     * @return 总浏览量
+     */
+    @Select("SELECT COALESCE(SUM(pv), 0) FROM sys_log_stat_day")
+    Long selectTotalPv();
+
+    /**
+     * 查询最早的统计日期
+     *
+     * @return 最早的统计日期（无统计时为 null）
+     */
+    @Select("SELECT MIN(stat_date) FROM sys_log_stat_day")
+    LocalDate selectMinStatDate();
+
+    /**
+     * 查询每日浏览量列表（不含独立 IP 估计）
+     *
+     * @param startDate 开始日期（包含）
+     * @param endDate   结束日期（不包含）
+     * @return 每日统计列表
+     */
+    @Select("SELECT stat_date, pv FROM sys_log_stat_day WHERE stat_date >= #{startDate} AND stat_date < #{endDate} ORDER BY stat_date")
+    List<LogStatDO> selectPvList(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    /**
+     * 查询每日统计列表
+     *
+     * @param startDate 开始日期（包含）
+     * @param endDate   结束日期（不包含）
+     * @return 每日统计列表
+     */
+    @Select("SELECT stat_date, pv, ip_sketch FROM sys_log_stat_day WHERE stat_date >= #{startDate} AND stat_date < #{endDate} ORDER BY stat_date")
+    List<LogStatDO> selectDayList(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    /**
+     * 流式查询全部每日独立 IP 估计
+     *
+     * @param handler 结果处理器
+     */
+    @Select("SELECT stat_date, ip_sketch FROM sys_log_stat_day WHERE ip_sketch IS NOT NULL")
+    @ResultType(LogStatDO.class)
+    void selectSketch(ResultHandler<LogStatDO> handler);
+
+    /**
+     * 查询各小时浏览量（名称为小时数）
+     *
+     * @return 各小时浏览量
+     */
+    @Select("SELECT stat_hour AS name, SUM(pv) AS value FROM sys_log_stat_hour GROUP BY stat_hour")
+    List<DashboardChartCommonResp> selectListHourPv();
+
+    /**
+     * 查询维度浏览量排行
+     *
+     * @param dimType  维度类型
+     * @param excludes 排除的维度值
+     * @param top      显示数量（为空时不限制）
+     * @return 维度浏览量排行
+     */
+    List<DashboardChartCommonResp> selectListDimPv(@Param("dimType") LogStatDimEnum dimType,
+                                                   @Param("excludes") Collection<String> excludes,
+                                                   @Param("top") Integer top);
+
+    /**
+     * 删除指定日期的小时统计
+     *
+     * @param statDate 统计日期
+     * @return 影响行数
+     */
+    @Delete("DELETE FROM sys_log_stat_hour WHERE stat_date = #{statDate}")
+    int deleteHourByDate(@Param("statDate") LocalDate statDate);
+
+    /**
+     * 删除指定日期的维度统计
+     *
+     * @param statDate 统计日期
+     * @return 影响行数
+     */
+    @Delete("DELETE FROM sys_log_stat_dim WHERE stat_date = #{statDate}")
+    int deleteDimByDate(@Param("statDate") LocalDate statDate);
+
+    /**
+     * 删除指定日期的每日统计
+     *
+     * @param statDate 统计日期
+     * @return 影响行数
+     */
+    @Delete("DELETE FROM sys_log_stat_day WHERE stat_date = #{statDate}")
+    int deleteDayByDate(@Param("statDate") LocalDate statDate);
+}
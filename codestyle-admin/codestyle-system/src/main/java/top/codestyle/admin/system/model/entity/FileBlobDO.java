@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.system.model.entity;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+import top.continew.starter.extension.crud.model.entity.BaseIdDO;
+
+import java.io.Serial;
+import java.time.LocalDateTime;
+
+/**
+ * 文件内容对象实体
+ * <p>
+ * 同一存储中内容相同（SHA-256 相同）的文件只保存一份，多条文件记录通过路径共享该对象，按引用计数回收。
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+@Data
+@TableName("sys_file_blob")
+public class FileBlobDO extends BaseIdDO {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 存储 ID
+     */
+    private Long storageId;
+
+    /**
+     * SHA256 值
+     */
+    private String sha256;
+
+    /**
+     * 存储路径
+     */
+    private String path;
+
+    /**
+     * 大小（字节）
+     */
+    private Long size;
+
+    /**
+     * 引用计数
+     */
+    private Integer refCount;
+
+    /**
+     * 创建时间
+     */
+    private LocalDateTime createTime;
+
+    /**
+     * 修改时间
+     */
+    private LocalDateTime updateTime;
+}
@@ -156,15 +156,15 @@ public class FileDO extends TenantBaseDO {
     public FileInfo toFileInfo(StorageDO storage) {
         FileInfo fileInfo = new FileInfo();
         fileInfo.setPlatform(storage.getCode());
-        fileInfo.setFilename(this.name);
+        // 存储位置以路径为准（共享内容对象的文件记录，其路径与上级目录、名称无关）
+        String storagePath = StrUtil.removePrefix(this.path, StringConstants.SLASH);
+        int index = storagePath.lastIndexOf(StringConstants.SLASH);
+        fileInfo.setFilename(storagePath.substring(index + 1));
         fileInfo.setOriginalFilename(this.originalName);
         // 暂不使用，所以保持空
         fileInfo.setBasePath(StringConstants.EMPTY);
         fileInfo.setSize(this.size);
-        fileInfo.setPath(StringConstants.SLASH.equals(this.parentPath)
-            ? StringConstants.EMPTY
-            : StrUtil.appendIfMissing(StrUtil
-                .removePrefix(this.parentPath, StringConstants.SLASH), StringConstants.SLASH));
+        fileInfo.setPath(storagePath.substring(0, index + 1));
         fileInfo.setExt(this.extension);
         fileInfo.setContentType(this.contentType);
         if (StrUtil.isNotBlank(this.metadata)) {
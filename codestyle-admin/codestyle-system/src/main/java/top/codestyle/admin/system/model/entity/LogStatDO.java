@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package top.codestyle.admin.system.model.entity;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+import top.continew.starter.extension.crud.model.entity.BaseIdDO;
+
+import java.io.Serial;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 日志每日统计实体
+ * <p>
+ * 独立 IP 以 HyperLogLog 寄存器保存，多日合并后估算基数，无需回查日志明细。
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+@Data
+@TableName("sys_log_stat_day")
+public class LogStatDO extends BaseIdDO {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 统计日期
+     */
+    private LocalDate statDate;
+
+    /**
+     * 浏览量
+     */
+    private Long pv;
+
+    /**
+     * 独立 IP 基数估计（HyperLogLog 寄存器）
+     */
+    private byte[] ipSketch;
+
+    /**
+     * 修改时间
+     */
+    private LocalDateTime updateTime;
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package top.codestyle.admin.system.model.entity;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import top.codestyle.admin.system.enums.LogStatDimEnum;
+import top.continew.starter.extension.crud.model.entity.BaseIdDO;
+
+import java.io.Serial;
+import java.time.LocalDate;
+
+/**
+ * 日志每日维度统计实体
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@TableName("sys_log_stat_dim")
+public class LogStatDimDO extends BaseIdDO {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 统计日期
+     */
+    private LocalDate statDate;
+
+    /**
+     * 维度类型
+     */
+    private LogStatDimEnum dimType;
+
+    /**
+     * 维度值
+     */
+    private String dimValue;
+
+    /**
+     * 浏览量
+     */
+    private Long pv;
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package top.codestyle.admin.system.model.req;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * 日志统计重建请求参数
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+@Data
+@Schema(description = "日志统计重建请求参数")
+public class LogStatRebuildReq implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 开始日期
+     */
+    @Schema(description = "开始日期", example = "2026-01-01")
+    @NotNull(message = "开始日期不能为空")
+    private LocalDate startDate;
+
+    /**
+     * 结束日期
+     */
+    @Schema(description = "结束日期", example = "2026-01-31")
+    @NotNull(message = "结束日期不能为空")
+    private LocalDate endDate;
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.system.model.resp.log;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import top.codestyle.admin.system.enums.ExportTaskStatusEnum;
+import top.codestyle.admin.system.enums.LogExportTypeEnum;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 日志导出任务响应参数
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+@Data
+@Schema(description = "日志导出任务响应参数")
+public class LogExportTaskResp implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 任务 ID
+     */
+    @Schema(description = "任务 ID", example = "4f9c5b1e8a7d4c2b9e3f6a1d0c8b7e5f")
+    private String taskId;
+
+    /**
+     * 导出类型
+     */
+    @Schema(description = "导出类型", example = "LOGIN")
+    private LogExportTypeEnum type;
+
+    /**
+     * 状态
+     */
+    @Schema(description = "状态", example = "3")
+    private ExportTaskStatusEnum status;
+
+    /**
+     * 导出行数
+     */
+    @Schema(description = "导出行数", example = "100000")
+    private Long count;
+
+    /**
+     * 文件 URL
+     */
+    @Schema(description = "文件 URL", example = "https://examplebucket.oss-cn-hangzhou.aliyuncs.com/log-export/2026/10/18/6824afe8408da079832dcfb6.xlsx")
+    private String url;
+
+    /**
+     * 错误信息
+     */
+    @Schema(description = "错误信息")
+    private String errorMsg;
+
+    /**
+     * 创建人
+     */
+    @JsonIgnore
+    private Long createUser;
+
+    /**
+     * 创建时间
+     */
+    @Schema(description = "创建时间", example = "2026-10-18 08:00:00", type = "string")
+    private LocalDateTime createTime;
+
+    /**
+     * 完成时间
+     */
+    @Schema(description = "完成时间", example = "2026-10-18 08:01:00", type = "string")
+    private LocalDateTime finishTime;
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package top.codestyle.admin.system.model.resp.log;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 日志分区响应参数
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "日志分区响应参数")
+public class LogPartitionResp implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 分区名称
+     */
+    @Schema(description = "分区名称", example = "p202601")
+    private String name;
+
+    /**
+     * 上界（不包含，为空表示 MAXVALUE）
+     */
+    @Schema(description = "上界（不包含，为空表示 MAXVALUE）", example = "2026-02-01 00:00:00", type = "string")
+    private LocalDateTime endTime;
+
+    /**
+     * 估算行数
+     */
+    @Schema(description = "估算行数", example = "100000")
+    private Long rows;
+}
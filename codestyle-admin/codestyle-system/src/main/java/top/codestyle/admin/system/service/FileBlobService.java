@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.system.service;
+
+import top.codestyle.admin.system.model.entity.FileDO;
+import top.codestyle.admin.system.model.entity.StorageDO;
+
+import java.util.List;
+
+/**
+ * 文件内容对象业务接口
+ * <p>
+ * 同一存储中内容相同的文件只保存一份（按 SHA-256 寻址），文件记录的 path 指向共享的内容对象，
+ * 记录所在目录仍由 parentPath 表示；删除记录时归还引用，引用归零后删除实际文件。
+ * </p>
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+public interface FileBlobService {
+
+    /**
+     * 内容对象存储目录
+     */
+    String BLOB_DIR = "/.blobs";
+
+    /**
+     * 存储文件内容并构建指向内容对象的文件记录（不保存记录）
+     * <p>
+     * 内容已存在时只增加引用计数，不再写入存储。引用计数在独立事务中立即生效，
+     * 调用方事务回滚时需通过 {@link #releaseOnRollback} 归还。
+     * </p>
+     *
+     * @param bytes      文件内容
+     * @param sha256     文件内容 SHA-256
+     * @param fileName   文件名称
+     * @param parentPath 文件记录所在目录
+     * @param storage    存储配置
+     * @return 文件记录
+     */
+    FileDO store(byte[] bytes, String sha256, String fileName, String parentPath, StorageDO storage);
+
+    /**
+     * 是否为指向内容对象的文件记录
+     *
+     * @param file 文件记录
+     * @return 是否为内容对象记录
+     */
+    boolean isBlob(FileDO file);
+
+    /**
+     * 归还文件记录对内容对象的引用（参与当前事务，引用归零时在事务提交后删除实际文件）
+     *
+     * @param file    文件记录
+     * @param storage 存储配置
+     */
+    void release(FileDO file, StorageDO storage);
+
+    /**
+     * 当前事务回滚时归还文件记录对内容对象的引用
+     *
+     * @param files   文件记录列表
+     * @param storage 存储配置
+     */
+    void releaseOnRollback(List<FileDO> files, StorageDO storage);
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.system.service;
+
+import top.codestyle.admin.system.enums.LogExportTypeEnum;
+import top.codestyle.admin.system.model.query.LogQuery;
+import top.codestyle.admin.system.model.resp.log.LogExportTaskResp;
+import top.continew.starter.extension.crud.model.query.SortQuery;
+
+/**
+ * 系统日志导出任务业务接口
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+public interface LogExportTaskService {
+
+    /**
+     * 提交导出任务（后台生成 Excel 并上传到存储）
+     *
+     * @param type      导出类型
+     * @param query     查询条件
+     * @param sortQuery 排序查询条件
+     * @return 导出任务
+     */
+    LogExportTaskResp submit(LogExportTypeEnum type, LogQuery query, SortQuery sortQuery);
+
+    /**
+     * 查询导出任务（仅限任务创建人）
+     *
+     * @param taskId 任务 ID
+     * @return 导出任务
+     */
+    LogExportTaskResp get(String taskId);
+}
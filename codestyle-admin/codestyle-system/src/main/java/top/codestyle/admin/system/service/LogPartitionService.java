@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package top.codestyle.admin.system.service;
+
+import top.codestyle.admin.system.model.resp.log.LogPartitionResp;
+
+import java.util.List;
+
+/**
+ * 系统日志分区业务接口
+ * <p>
+ * sys_log 按 create_time 以月为单位 RANGE 分区：定时提前拆分出未来月份的分区，
+ * 超出保留期的分区先归档到存储再整体删除（DROP PARTITION，不产生逐行删除的开销）。
+ * </p>
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+public interface LogPartitionService {
+
+    /**
+     * 查询分区列表（表未分区时返回空列表）
+     *
+     * @return 分区列表
+     */
+    List<LogPartitionResp> listPartition();
+
+    /**
+     * 维护分区：创建未来月份分区，归档并删除超出保留期的分区
+     */
+    void maintain();
+}
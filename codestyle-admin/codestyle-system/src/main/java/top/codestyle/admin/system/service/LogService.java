@@ -17,6 +17,7 @@
 package top.codestyle.admin.system.service;
 
 import jakarta.servlet.http.HttpServletResponse;
+import top.codestyle.admin.system.enums.LogExportTypeEnum;
 import top.codestyle.admin.system.model.query.LogQuery;
 import top.codestyle.admin.system.model.resp.log.LogDetailResp;
 import top.codestyle.admin.system.model.resp.log.LogResp;
@@ -24,6 +25,8 @@ import top.continew.starter.extension.crud.model.query.PageQuery;
 import top.continew.starter.extension.crud.model.query.SortQuery;
 import top.continew.starter.extension.crud.model.resp.PageResp;
 
+import java.io.OutputStream;
+
 /**
  * 系统日志业务接口
  *
@@ -66,4 +69,15 @@ public interface LogService {
      * @param response  响应对象
      */
     void exportOperationLog(LogQuery query, SortQuery sortQuery, HttpServletResponse response);
+
+    /**
+     * 导出日志到输出流（流式查询，分批写入，内存占用与导出行数无关）
+     *
+     * @param type         导出类型
+     * @param query        查询条件
+     * @param sortQuery    排序查询条件
+     * @param outputStream 输出流
+     * @return 导出行数
+     */
+    long export(LogExportTypeEnum type, LogQuery query, SortQuery sortQuery, OutputStream outputStream);
 }
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package top.codestyle.admin.system.service;
+
+import top.codestyle.admin.system.model.entity.LogDO;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * 日志统计业务接口
+ * <p>
+ * 日志写入时增量累加小时/每日浏览量、每日独立 IP（HyperLogLog）以及模块、终端、浏览器、地域维度浏览量，
+ * 仪表盘只读取统计表，查询成本只与天数有关，不再随日志量增长。
+ * </p>
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+public interface LogStatService {
+
+    /**
+     * 累加日志统计（需在日志所属租户上下文中调用）
+     *
+     * @param logs 已写入的日志列表
+     */
+    void record(Collection<LogDO> logs);
+
+    /**
+     * 按系统日志重建指定日期范围的统计（不支持当天及以后，当天数据仍由日志写入时累加；没有日志的日期保留原有统计）
+     *
+     * @param startDate 开始日期
+     * @param endDate   结束日期
+     * @return 重建的日志数
+     */
+    long rebuild(LocalDate startDate, LocalDate endDate);
+
+    /**
+     * 补齐统计表启用前的历史统计（需在日志所属租户上下文中调用）
+     * <p>
+     * 按日志重建最早的日志至最早统计日期（含，统计表启用当天可能只统计了启用后的日志）的统计，最晚到昨天；
+     * 统计早于最早的日志或没有早于今天的日志时直接返回。
+     * </p>
+     *
+     * @return 重建的日志数
+     */
+    long backfill();
+}
@@ -29,19 +29,25 @@ import cn.hutool.json.JSONUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
-import top.codestyle.admin.system.mapper.LogMapper;
+import top.codestyle.admin.system.enums.LogStatDimEnum;
+import top.codestyle.admin.system.mapper.LogStatMapper;
+import top.codestyle.admin.system.model.entity.LogStatDO;
 import top.codestyle.admin.system.model.resp.dashboard.DashboardAccessTrendResp;
 import top.codestyle.admin.system.model.resp.dashboard.DashboardChartCommonResp;
 import top.codestyle.admin.system.model.resp.dashboard.DashboardNoticeResp;
 import top.codestyle.admin.system.model.resp.dashboard.DashboardOverviewCommonResp;
 import top.codestyle.admin.system.service.DashboardService;
 import top.codestyle.admin.system.service.NoticeService;
+import top.codestyle.admin.system.util.HyperLogLog;
 import top.continew.starter.core.constant.StringConstants;
 import top.continew.starter.core.util.CollUtils;
 
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.stream.Collectors;
 
 /**
  * 仪表盘业务实现
@@ -53,7 +59,15 @@ import java.util.*;
 @RequiredArgsConstructor
 public class DashboardServiceImpl implements DashboardService {
 
-    private final LogMapper logMapper;
+    /**
+     * 模块分析排除的模块
+     */
+    private static final List<String> EXCLUDED_MODULES = List.of("验证码", "登录");
+
+    private static final DateTimeFormatter MONTH_FORMATTER = DateTimeFormatter
+        .ofPattern(DatePattern.NORM_MONTH_PATTERN);
+
+    private final LogStatMapper logStatMapper;
     private final NoticeService noticeService;
 
     @Override
@@ -63,10 +77,23 @@ public class DashboardServiceImpl implements DashboardService {
 
     @Override
     public DashboardOverviewCommonResp getOverviewPv() {
-        DashboardOverviewCommonResp resp = logMapper.selectDashboardOverviewPv();
+        LocalDate today = LocalDate.now();
+        DashboardOverviewCommonResp resp = new DashboardOverviewCommonResp();
+        resp.setTotal(logStatMapper.selectTotalPv());
+        Map<LocalDate, Long> recentMap = logStatMapper.selectPvList(today.minusDays(1), today.plusDays(1))
+            .stream()
+            .collect(Collectors.toMap(LogStatDO::getStatDate, LogStatDO::getPv));
+        resp.setToday(recentMap.getOrDefault(today, 0L));
+        resp.setYesterday(recentMap.getOrDefault(today.minusDays(1), 0L));
         resp.setGrowth(this.calcGrowthFromYesterday(resp.getToday(), resp.getYesterday()));
         List<String> last12MonthList = this.getLast12Months();
-        List<DashboardChartCommonResp> dataList = logMapper.selectListDashboardAnalysisPv(last12MonthList);
+        LocalDate currentMonth = today.withDayOfMonth(1);
+        Map<String, Long> monthMap = new TreeMap<>();
+        for (LogStatDO stat : logStatMapper.selectPvList(currentMonth.minusMonths(12), currentMonth)) {
+            monthMap.merge(MONTH_FORMATTER.format(stat.getStatDate()), stat.getPv(), Long::sum);
+        }
+        List<DashboardChartCommonResp> dataList = new ArrayList<>(12);
+        monthMap.forEach((month, pv) -> dataList.add(new DashboardChartCommonResp(month, pv)));
         if (dataList.size() < 12) {
             // 填充缺失的数据
             this.fillMissingDateData(last12MonthList, dataList);
@@ -77,10 +104,32 @@ public class DashboardServiceImpl implements DashboardService {
 
     @Override
     public DashboardOverviewCommonResp getOverviewIp() {
-        DashboardOverviewCommonResp resp = logMapper.selectDashboardOverviewIp();
-        resp.setGrowth(this.calcGrowthFromYesterday(resp.getToday(), resp.getYesterday()));
+        LocalDate today = LocalDate.now();
+        LocalDate yesterday = today.minusDays(1);
         List<String> last12MonthList = this.getLast12Months();
-        List<DashboardChartCommonResp> dataList = logMapper.selectListDashboardAnalysisIp(last12MonthList);
+        // 一次遍历全部每日估计：合并得到总数与近 12 月各月数据
+        HyperLogLog total = new HyperLogLog();
+        Map<String, HyperLogLog> monthMap = new TreeMap<>();
+        Map<LocalDate, HyperLogLog> recentMap = new HashMap<>(2);
+        logStatMapper.selectSketch(context -> {
+            LogStatDO stat = context.getResultObject();
+            HyperLogLog ips = HyperLogLog.of(stat.getIpSketch());
+            total.merge(ips);
+            String month = MONTH_FORMATTER.format(stat.getStatDate());
+            if (last12MonthList.contains(month)) {
+                monthMap.computeIfAbsent(month, k -> new HyperLogLog()).merge(ips);
+            }
+            if (stat.getStatDate().equals(today) || stat.getStatDate().equals(yesterday)) {
+                recentMap.put(stat.getStatDate(), ips);
+            }
+        });
+        DashboardOverviewCommonResp resp = new DashboardOverviewCommonResp();
+        resp.setTotal(total.cardinality());
+        resp.setToday(recentMap.containsKey(today) ? recentMap.get(today).cardinality() : 0L);
+        resp.setYesterday(recentMap.containsKey(yesterday) ? recentMap.get(yesterday).cardinality() : 0L);
+        resp.setGrowth(this.calcGrowthFromYesterday(resp.getToday(), resp.getYesterday()));
+        List<DashboardChartCommonResp> dataList = new ArrayList<>(12);
+        monthMap.forEach((month, ips) -> dataList.add(new DashboardChartCommonResp(month, ips.cardinality())));
         if (dataList.size() < 12) {
             // 填充缺失的数据
             this.fillMissingDateData(last12MonthList, dataList);
@@ -91,7 +140,7 @@ public class DashboardServiceImpl implements DashboardService {
 
     @Override
     public List<DashboardChartCommonResp> getAnalysisGeo() throws IOException {
-        List<DashboardChartCommonResp> originList = logMapper.selectListDashboardAnalysisGeo();
+        List<DashboardChartCommonResp> originList = logStatMapper.selectListDimPv(LogStatDimEnum.GEO, null, null);
         List<DashboardChartCommonResp> list = new ArrayList<>(34);
         // 获取省份数据
         String chinaJson = IoUtil.readUtf8(new ClassPathResource("china.json").getInputStream());
@@ -119,7 +168,13 @@ public class DashboardServiceImpl implements DashboardService {
         DateTime currentDate = DateUtil.date();
         Date startTime = DateUtil.beginOfDay(DateUtil.offsetDay(currentDate, -days)).toJdkDate();
         Date endTime = DateUtil.endOfDay(DateUtil.offsetDay(currentDate, -1)).toJdkDate();
-        List<DashboardAccessTrendResp> list = logMapper.selectListDashboardAccessTrend(startTime, endTime);
+        LocalDate today = LocalDate.now();
+        List<DashboardAccessTrendResp> list = new ArrayList<>(days);
+        for (LogStatDO stat : logStatMapper.selectDayList(today.minusDays(days), today)) {
+            list.add(new DashboardAccessTrendResp(stat.getStatDate().toString(), stat.getPv(), HyperLogLog
+                .of(stat.getIpSketch())
+                .cardinality()));
+        }
         if (list.size() < days) {
             List<String> all = DateUtil.rangeToList(startTime, endTime, DateField.DAY_OF_MONTH)
                 .stream()
@@ -135,7 +190,14 @@ public class DashboardServiceImpl implements DashboardService {
 
     @Override
     public List<DashboardChartCommonResp> getAnalysisTimeslot() {
-        List<DashboardChartCommonResp> list = logMapper.selectListDashboardAnalysisTimeslot();
+        // 按 2 小时汇总各小时浏览量
+        Map<String, Long> timeslotMap = new TreeMap<>();
+        for (DashboardChartCommonResp hour : logStatMapper.selectListHourPv()) {
+            int statHour = Integer.parseInt(hour.getName());
+            timeslotMap.merge(String.format("%02d:00", statHour / 2 * 2), hour.getValue(), Long::sum);
+        }
+        List<DashboardChartCommonResp> list = new ArrayList<>(12);
+        timeslotMap.forEach((timeslot, pv) -> list.add(new DashboardChartCommonResp(timeslot, pv)));
         if (list.size() < 12) {
             // 获取所有时间段
             List<String> allTimeSlotList = new ArrayList<>(12);
@@ -150,18 +212,19 @@ public class DashboardServiceImpl implements DashboardService {
 
     @Override
     public List<DashboardChartCommonResp> getAnalysisModule() {
-        return logMapper.selectListDashboardAnalysisModule(10);
+        return logStatMapper.selectListDimPv(LogStatDimEnum.MODULE, EXCLUDED_MODULES, 10);
     }
 
     @Override
     public List<DashboardChartCommonResp> getAnalysisOs() {
-        List<DashboardChartCommonResp> list = logMapper.selectListDashboardAnalysisOs(4);
+        List<DashboardChartCommonResp> list = logStatMapper.selectListDimPv(LogStatDimEnum.OS, null, 4);
         return this.buildOtherPieChartData(list);
     }
 
     @Override
     public List<DashboardChartCommonResp> getAnalysisBrowser() {
-        List<DashboardChartCommonResp> list = logMapper.selectListDashboardAnalysisBrowser(4);
+        List<DashboardChartCommonResp> list = logStatMapper
+            .selectListDimPv(LogStatDimEnum.BROWSER, null, 4);
         return this.buildOtherPieChartData(list);
     }
 
@@ -185,7 +248,7 @@ public class DashboardServiceImpl implements DashboardService {
      * @return 饼图数据列表
      */
     private List<DashboardChartCommonResp> buildOtherPieChartData(List<DashboardChartCommonResp> list) {
-        Long totalCount = logMapper.selectTotalCount();
+        Long totalCount = logStatMapper.selectTotalPv();
         long sumCount = list.stream().mapToLong(DashboardChartCommonResp::getValue).sum();
         if (sumCount < totalCount) {
             list.add(new DashboardChartCommonResp("其他", totalCount - sumCount));
@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.system.service.impl;
+
+import cn.hutool.core.io.FileUtil;
+import cn.hutool.core.io.file.FileNameUtil;
+import cn.hutool.core.util.ObjectUtil;
+import cn.hutool.core.util.StrUtil;
+import com.baomidou.mybatisplus.core.toolkit.IdWorker;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.x.file.storage.core.FileInfo;
+import org.dromara.x.file.storage.core.FileStorageService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import top.codestyle.admin.system.enums.FileTypeEnum;
+import top.codestyle.admin.system.mapper.FileBlobMapper;
+import top.codestyle.admin.system.model.entity.FileBlobDO;
+import top.codestyle.admin.system.model.entity.FileDO;
+import top.codestyle.admin.system.model.entity.StorageDO;
+import top.codestyle.admin.system.service.FileBlobService;
+import top.continew.starter.cache.redisson.util.RedisLockUtils;
+import top.continew.starter.core.constant.StringConstants;
+import top.continew.starter.core.util.validation.CheckUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 文件内容对象业务实现
+ * <p>
+ * 内容对象按 {@code /.blobs/{sha[0:2]}/{sha[2:4]}/{sha256}} 存储。写入与回收实际文件在同一把分布式锁下进行，
+ * 并且写入方在释放锁前提交内容对象记录，回收方加锁后确认记录不存在才删除，避免删除刚被重新上传的文件。
+ * </p>
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FileBlobServiceImpl implements FileBlobService {
+
+    private final FileBlobMapper fileBlobMapper;
+    private final FileStorageService fileStorageService;
+    private final PlatformTransactionManager transactionManager;
+
+    @Override
+    public FileDO store(byte[] bytes, String sha256, String fileName, String parentPath, StorageDO storage) {
+        String path = this.buildPath(sha256);
+        // 内容已存在：只增加引用计数
+        if (this.incrementRef(storage.getId(), sha256)) {
+            return this.buildFile(bytes, sha256, fileName, parentPath, path, storage);
+        }
+        // 内容对象记录在释放锁之前提交，回收方加锁后可以看到
+        try (RedisLockUtils lock = RedisLockUtils.tryLock(this.buildLockKey(storage.getId(), sha256), 30, 60)) {
+            CheckUtils.throwIf(!lock.isLocked(), "文件 [{}] 处理中，请稍后重试", fileName);
+            // 加锁后再次确认，并发上传相同内容时只写入一次存储
+            if (!this.incrementRef(storage.getId(), sha256)) {
+                fileStorageService.of(bytes, sha256)
+                    .setPlatform(storage.getCode())
+                    .setPath(this.buildDir(sha256))
+                    .setSaveFilename(sha256)
+                    .setOriginalFilename(fileName)
+                    .upload();
+                FileBlobDO blob = new FileBlobDO();
+                blob.setId(IdWorker.getId());
+                blob.setStorageId(storage.getId());
+                blob.setSha256(sha256);
+                blob.setPath(path);
+                blob.setSize((long)bytes.length);
+                this.newTransaction().executeWithoutResult(status -> fileBlobMapper.insertOrIncrement(blob));
+            }
+        }
+        return this.buildFile(bytes, sha256, fileName, parentPath, path, storage);
+    }
+
+    @Override
+    public boolean isBlob(FileDO file) {
+        return StrUtil.startWith(file.getPath(), BLOB_DIR + StringConstants.SLASH);
+    }
+
+    @Override
+    public void release(FileDO file, StorageDO storage) {
+        String path = file.getPath();
+        if (fileBlobMapper.decrementRef(storage.getId(), path) == 0) {
+            log.warn("内容对象不存在或已无引用: storageId={}, path={}", storage.getId(), path);
+            return;
+        }
+        if (fileBlobMapper.deleteUnreferenced(storage.getId(), path) == 0) {
+            return;
+        }
+        // 最后一个引用已归还，事务提交后删除实际文件
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deleteObject(path, storage);
+                }
+            });
+        } else {
+            this.deleteObject(path, storage);
+        }
+    }
+
+    @Override
+    public void releaseOnRollback(List<FileDO> files, StorageDO storage) {
+        if (files.isEmpty() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        List<FileDO> blobFiles = new ArrayList<>(files);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_ROLLED_BACK) {
+                    return;
+                }
+                try {
+                    newTransaction().executeWithoutResult(s -> blobFiles.forEach(file -> release(file, storage)));
+                } catch (Exception e) {
+                    // 引用计数偏大只会使内容对象无法回收，不影响文件读取
+                    log.warn("事务回滚后归还内容对象引用失败: {} 个", blobFiles.size(), e);
+                }
+            }
+        });
+    }
+
+    /**
+     * 删除实际文件（加锁后确认内容对象未被重新上传）
+     *
+     * @param path    存储路径
+     * @param storage 存储配置
+     */
+    private void deleteObject(String path, StorageDO storage) {
+        String sha256 = FileNameUtil.getName(path);
+        try (RedisLockUtils lock = RedisLockUtils.tryLock(this.buildLockKey(storage.getId(), sha256), 30, 60)) {
+            if (!lock.isLocked()) {
+                log.warn("删除内容对象获取锁失败，保留文件: {}", path);
+                return;
+            }
+            boolean exists = fileBlobMapper.lambdaQuery()
+                .eq(FileBlobDO::getStorageId, storage.getId())
+                .eq(FileBlobDO::getPath, path)
+                .exists();
+            if (exists) {
+                return;
+            }
+            FileInfo fileInfo = new FileInfo();
+            fileInfo.setPlatform(storage.getCode());
+            fileInfo.setBasePath(StringConstants.EMPTY);
+            fileInfo.setPath(this.buildDir(sha256));
+            fileInfo.setFilename(sha256);
+            fileInfo.setUrl(StrUtil.removePrefix(path, StringConstants.SLASH));
+            fileStorageService.delete(fileInfo);
+        } catch (Exception e) {
+            log.warn("删除内容对象失败: {}", path, e);
+        }
+    }
+
+    /**
+     * 构建指向内容对象的文件记录
+     */
+    private FileDO buildFile(byte[] bytes,
+                             String sha256,
+                             String fileName,
+                             String parentPath,
+                             String path,
+                             StorageDO storage) {
+        FileDO file = new FileDO();
+        file.setName(fileName);
+        file.setOriginalName(fileName);
+        file.setSize((long)bytes.length);
+        file.setExtension(FileNameUtil.extName(fileName));
+        file.setContentType(ObjectUtil.defaultIfNull(FileUtil.getMimeType(fileName), "application/octet-stream"));
+        file.setType(FileTypeEnum.getByExtension(file.getExtension()));
+        file.setSha256(sha256);
+        file.setStorageId(storage.getId());
+        // 记录位于 parentPath 目录下，实际内容指向共享的内容对象
+        file.setParentPath(parentPath);
+        file.setPath(path);
+        return file;
+    }
+
+    /**
+     * 增加已有内容对象的引用计数（独立事务）
+     *
+     * @return 是否存在内容对象
+     */
+    private boolean incrementRef(Long storageId, String sha256) {
+        Integer rows = this.newTransaction().execute(status -> fileBlobMapper.incrementRef(storageId, sha256));
+        return rows != null && rows > 0;
+    }
+
+    /**
+     * 内容对象存储目录：.blobs/ab/cd/
+     */
+    private String buildDir(String sha256) {
+        return StrUtil.removePrefix(BLOB_DIR, StringConstants.SLASH) + StringConstants.SLASH + sha256
+            .substring(0, 2) + StringConstants.SLASH + sha256.substring(2, 4) + StringConstants.SLASH;
+    }
+
+    /**
+     * 内容对象存储路径：/.blobs/ab/cd/abcd...
+     */
+    private String buildPath(String sha256) {
+        return StringConstants.SLASH + this.buildDir(sha256) + sha256;
+    }
+
+    private String buildLockKey(Long storageId, String sha256) {
+        return "lock:file:blob:%s:%s".formatted(storageId, sha256);
+    }
+
+    private TransactionTemplate newTransaction() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return transactionTemplate;
+    }
+}
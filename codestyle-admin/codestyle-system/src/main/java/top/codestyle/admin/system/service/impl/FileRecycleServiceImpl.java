@@ -32,6 +32,7 @@ import top.codestyle.admin.system.model.entity.FileDO;
 import top.codestyle.admin.system.model.entity.StorageDO;
 import top.codestyle.admin.system.model.query.FileQuery;
 import top.codestyle.admin.system.model.resp.file.FileResp;
+import top.codestyle.admin.system.service.FileBlobService;
 import top.codestyle.admin.system.service.FileRecycleService;
 import top.codestyle.admin.system.service.StorageService;
 import top.continew.starter.core.constant.StringConstants;
@@ -58,6 +59,7 @@ public class FileRecycleServiceImpl implements FileRecycleService {
     private final FileMapper fileMapper;
     private final StorageService storageService;
     private final FileStorageService fileStorageService;
+    private final FileBlobService fileBlobService;
 
     @Override
     public PageResp<FileResp> page(FileQuery query, PageQuery pageQuery) {
@@ -73,7 +75,10 @@ public class FileRecycleServiceImpl implements FileRecycleService {
         FileDO file = this.getById(id);
         // 恢复记录
         fileMapper.restoreInRecycleBin(id, UserContextHolder.getUserId());
-        // 还原文件
+        // 还原文件（共享内容对象未移动到回收站目录）
+        if (fileBlobService.isBlob(file)) {
+            return;
+        }
         StorageDO storage = storageService.getById(file.getStorageId());
         FileInfo fileInfo = file.toFileInfo(storage);
         fileInfo.setPath(storage.getRecycleBinPath() + fileInfo.getPath());
@@ -89,6 +94,10 @@ public class FileRecycleServiceImpl implements FileRecycleService {
         fileMapper.deleteWithoutRecycleBin(List.of(id), UserContextHolder.getUserId());
         // 删除文件
         StorageDO storage = storageService.getById(file.getStorageId());
+        if (fileBlobService.isBlob(file)) {
+            fileBlobService.release(file, storage);
+            return;
+        }
         FileInfo fileInfo = file.toFileInfo(storage);
         fileInfo.setPath(storage.getRecycleBinPath() + fileInfo.getPath());
         fileStorageService.delete(fileInfo);
@@ -115,6 +124,11 @@ public class FileRecycleServiceImpl implements FileRecycleService {
             // 删除文件
             for (Map.Entry<Long, List<FileDO>> entry : fileListGroup.entrySet()) {
                 StorageDO storage = storageGroup.get(entry.getKey());
+                // 归还共享内容对象的引用
+                entry.getValue()
+                    .stream()
+                    .filter(fileBlobService::isBlob)
+                    .forEach(file -> fileBlobService.release(file, storage));
                 // 清空回收站
                 FileInfo fileInfo = new FileInfo();
                 fileInfo.setPlatform(storage.getCode());
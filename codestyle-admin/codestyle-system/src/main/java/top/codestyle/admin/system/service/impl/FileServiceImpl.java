@@ -43,6 +43,7 @@ import top.codestyle.admin.system.model.query.FileQuery;
 import top.codestyle.admin.system.model.req.FileReq;
 import top.codestyle.admin.system.model.resp.file.FileResp;
 import top.codestyle.admin.system.model.resp.file.FileStatisticsResp;
+import top.codestyle.admin.system.service.FileBlobService;
 import top.codestyle.admin.system.service.FileService;
 import top.codestyle.admin.system.service.StorageService;
 import top.codestyle.admin.system.util.FileNameGenerator;
@@ -71,6 +72,7 @@ import java.util.stream.Collectors;
 public class FileServiceImpl extends BaseServiceImpl<FileMapper, FileDO, FileResp, FileResp, FileQuery, FileReq> implements FileService {
 
     private final FileStorageService fileStorageService;
+    private final FileBlobService fileBlobService;
     @Lazy
     @Resource
     private StorageService storageService;
@@ -376,6 +378,13 @@ public class FileServiceImpl extends BaseServiceImpl<FileMapper, FileDO, FileRes
             CheckUtils.throwIf(exists, "文件夹 [{}] 不为空，请先删除文件夹下的内容", file.getName());
             return;
         }
+        if (fileBlobService.isBlob(file)) {
+            // 共享内容对象不移动到回收站目录，进入回收站时保留引用，彻底删除时归还引用
+            if (!Boolean.TRUE.equals(storage.getRecycleBinEnabled())) {
+                fileBlobService.release(file, storage);
+            }
+            return;
+        }
         FileInfo fileInfo = file.toFileInfo(storage);
         if (Boolean.TRUE.equals(storage.getRecycleBinEnabled())) {
             // 移动到回收站目录
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.codestyle.admin.system.service.impl;
+
+import cn.hutool.core.date.DatePattern;
+import cn.hutool.core.io.FileUtil;
+import cn.hutool.core.thread.NamedThreadFactory;
+import cn.hutool.core.util.IdUtil;
+import cn.hutool.json.JSONUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.x.file.storage.core.FileInfo;
+import org.springframework.stereotype.Service;
+import top.codestyle.admin.common.constant.CacheConstants;
+import top.codestyle.admin.common.context.UserContext;
+import top.codestyle.admin.common.context.UserContextHolder;
+import top.codestyle.admin.system.config.log.LogExportProperties;
+import top.codestyle.admin.system.enums.ExportTaskStatusEnum;
+import top.codestyle.admin.system.enums.LogExportTypeEnum;
+import top.codestyle.admin.system.model.query.LogQuery;
+import top.codestyle.admin.system.model.resp.log.LogExportTaskResp;
+import top.codestyle.admin.system.service.FileService;
+import top.codestyle.admin.system.service.LogExportTaskService;
+import top.codestyle.admin.system.service.LogService;
+import top.continew.starter.cache.redisson.util.RedisUtils;
+import top.continew.starter.core.exception.BusinessException;
+import top.continew.starter.core.util.validation.CheckUtils;
+import top.continew.starter.extension.crud.model.query.SortQuery;
+import top.continew.starter.extension.tenant.context.TenantContextHolder;
+import top.continew.starter.extension.tenant.util.TenantUtils;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 系统日志导出任务业务实现
+ * <p>
+ * 任务在有界线程池中执行：流式查询日志写入临时文件，完成后上传到存储；任务状态保存在 Redis 中，任意节点均可查询。
+ * </p>
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LogExportTaskServiceImpl implements LogExportTaskService {
+
+    private final LogService logService;
+    private final FileService fileService;
+    private final LogExportProperties properties;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void start() {
+        int threads = properties.getTaskThreads();
+        executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(properties
+            .getTaskQueueCapacity()), new NamedThreadFactory("log-export-", true));
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public LogExportTaskResp submit(LogExportTypeEnum type, LogQuery query, SortQuery sortQuery) {
+        LogExportTaskResp task = new LogExportTaskResp();
+        task.setTaskId(IdUtil.fastSimpleUUID());
+        task.setType(type);
+        task.setStatus(ExportTaskStatusEnum.PENDING);
+        task.setCreateUser(UserContextHolder.getUserId());
+        task.setCreateTime(LocalDateTime.now());
+        this.save(task);
+        // 后台线程无登录会话，提交时捕获用户及租户上下文
+        UserContext userContext = UserContextHolder.getContext();
+        Long tenantId = TenantContextHolder.isTenantEnabled() ? TenantContextHolder.getTenantId() : null;
+        try {
+            executor.execute(() -> this.run(task, query, sortQuery, userContext, tenantId));
+        } catch (RejectedExecutionException e) {
+            RedisUtils.delete(CacheConstants.DATA_EXPORT_KEY + task.getTaskId());
+            throw new BusinessException("导出任务过多，请稍后再试");
+        }
+        return task;
+    }
+
+    @Override
+    public LogExportTaskResp get(String taskId) {
+        String data = RedisUtils.get(CacheConstants.DATA_EXPORT_KEY + taskId);
+        LogExportTaskResp task = data != null ? JSONUtil.toBean(data, LogExportTaskResp.class) : null;
+        CheckUtils.throwIf(task == null || !Objects.equals(task.getCreateUser(), UserContextHolder
+            .getUserId()), "导出任务不存在或已过期");
+        return task;
+    }
+
+    /**
+     * 在提交人的上下文中执行导出任务
+     *
+     * @param task        导出任务
+     * @param query       查询条件
+     * @param sortQuery   排序查询条件
+     * @param userContext 用户上下文
+     * @param tenantId    租户 ID（未启用租户时为 null）
+     */
+    private void run(LogExportTaskResp task,
+                     LogQuery query,
+                     SortQuery sortQuery,
+                     UserContext userContext,
+                     Long tenantId) {
+        UserContextHolder.setContext(userContext, false);
+        try {
+            if (tenantId != null) {
+                TenantUtils.execute(tenantId, () -> this.export(task, query, sortQuery));
+            } else {
+                this.export(task, query, sortQuery);
+            }
+        } finally {
+            UserContextHolder.clearContext();
+        }
+    }
+
+    /**
+     * 导出到临时文件并上传
+     *
+     * @param task      导出任务
+     * @param query     查询条件
+     * @param sortQuery 排序查询条件
+     */
+    private void export(LogExportTaskResp task, LogQuery query, SortQuery sortQuery) {
+        task.setStatus(ExportTaskStatusEnum.RUNNING);
+        this.save(task);
+        Path dir = null;
+        try {
+            dir = Files.createTempDirectory("log-export");
+            File file = dir.resolve("%s_%s.xlsx".formatted(task.getType().getFileName(), task.getCreateTime()
+                .format(DatePattern.PURE_DATETIME_FORMATTER))).toFile();
+            try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(file.toPath()))) {
+                task.setCount(logService.export(task.getType(), query, sortQuery, outputStream));
+            }
+            FileInfo fileInfo = fileService.upload(file, properties.getTaskPath(), properties.getTaskStorageCode());
+            task.setUrl(fileInfo.getUrl());
+            task.setStatus(ExportTaskStatusEnum.SUCCESS);
+            log.info("日志导出任务 [{}] 已完成，导出行数: {}，文件大小: {}", task.getTaskId(), task.getCount(), FileUtil
+                .readableFileSize(file));
+        } catch (Exception e) {
+            log.error("日志导出任务 [{}] 失败", task.getTaskId(), e);
+            task.setStatus(ExportTaskStatusEnum.FAILURE);
+            task.setErrorMsg("导出失败，请稍后重试");
+        } finally {
+            task.setFinishTime(LocalDateTime.now());
+            this.save(task);
+            if (dir != null) {
+                FileUtil.del(dir);
+            }
+        }
+    }
+
+    /**
+     * 保存任务状态
+     *
+     * @param task 导出任务
+     */
+    private void save(LogExportTaskResp task) {
+        RedisUtils.set(CacheConstants.DATA_EXPORT_KEY + task.getTaskId(), JSONUtil.toJsonStr(task), Duration
+            .ofHours(properties.getTaskTtl()));
+    }
+}
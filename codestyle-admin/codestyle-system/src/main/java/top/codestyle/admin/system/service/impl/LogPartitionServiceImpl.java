@@ -0,0 +1,305 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package top.codestyle.admin.system.service.impl;
+
+import cn.hutool.core.date.DatePattern;
+import cn.hutool.core.io.FileUtil;
+import cn.hutool.core.thread.NamedThreadFactory;
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.json.JSONConfig;
+import cn.hutool.json.JSONObject;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import top.codestyle.admin.common.config.TenantExtensionProperties;
+import top.codestyle.admin.system.config.log.LogPartitionProperties;
+import top.codestyle.admin.system.model.resp.log.LogPartitionResp;
+import top.codestyle.admin.system.service.FileService;
+import top.codestyle.admin.system.service.LogPartitionService;
+import top.continew.starter.cache.redisson.util.RedisLockUtils;
+import top.continew.starter.extension.tenant.context.TenantContextHolder;
+import top.continew.starter.extension.tenant.util.TenantUtils;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSetMetaData;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 系统日志分区业务实现
+ * <p>
+ * 分区布局：若干按月的 RANGE 分区（名称 pYYYYMM，上界为次月 1 日）+ 末尾的 p_max（MAXVALUE）。
+ * 新分区始终从空的 p_max 中拆分（REORGANIZE PARTITION），只修改元数据；p_max 非空时拆分会重写其中全部数据，此时跳过拆分并告警。
+ * 分区元数据与 DDL 通过 JdbcTemplate 直接执行，避免租户等 SQL 拦截器改写。
+ * 初始分区（主键调整与覆盖已有数据的月分区）会重建整表，不随应用自动执行，需在维护窗口手动执行 db/manual/mysql/sys_log_partition.sql；
+ * 表未分区时跳过维护。
+ * </p>
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LogPartitionServiceImpl implements LogPartitionService {
+
+    private static final String TABLE_NAME = "sys_log";
+    private static final String MAX_PARTITION = "p_max";
+    private static final String MAX_VALUE = "MAXVALUE";
+    private static final String LOCK_KEY = "Lock:LogPartition";
+    private static final DateTimeFormatter PARTITION_NAME_FORMATTER = DateTimeFormatter.ofPattern("'p'yyyyMM");
+    private static final String PARTITION_SQL = "SELECT PARTITION_NAME, PARTITION_DESCRIPTION, TABLE_ROWS FROM information_schema.PARTITIONS "
+        + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL ORDER BY PARTITION_ORDINAL_POSITION";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final FileService fileService;
+    private final LogPartitionProperties properties;
+    private final TenantExtensionProperties tenantExtensionProperties;
+
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        // 维护间隔至少 1 小时（scheduleWithFixedDelay 不接受非正数间隔）
+        long interval = TimeUnit.HOURS.toMinutes(Math.max(properties.getCheckInterval(), 1));
+        scheduler = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("log-partition-", true));
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                this.maintain();
+            } catch (Exception e) {
+                log.error("系统日志分区维护失败", e);
+            }
+        }, 1, interval, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Override
+    public List<LogPartitionResp> listPartition() {
+        try {
+            return jdbcTemplate.query(PARTITION_SQL, (rs, rowNum) -> new LogPartitionResp(rs
+                .getString("PARTITION_NAME"), this.parseBound(rs.getString("PARTITION_DESCRIPTION")), rs
+                    .getLong("TABLE_ROWS")), TABLE_NAME);
+        } catch (DataAccessException e) {
+            log.warn("查询系统日志分区失败: {}", e.getMessage());
+            return List.of();
+        }
+    }
+
+    @Override
+    public void maintain() {
+        try (RedisLockUtils lock = RedisLockUtils.tryLock(LOCK_KEY)) {
+            if (!lock.isLocked()) {
+                return; // 其他节点正在维护
+            }
+            List<LogPartitionResp> partitionList = this.listPartition();
+            if (partitionList.isEmpty()) {
+                log.debug("系统日志表未分区，跳过分区维护");
+                return;
+            }
+            LogPartitionResp last = partitionList.get(partitionList.size() - 1);
+            if (!MAX_PARTITION.equals(last.getName()) || last.getEndTime() != null) {
+                log.warn("系统日志表分区布局不符合预期（末尾分区应为 {} MAXVALUE），跳过分区维护", MAX_PARTITION);
+                return;
+            }
+            if (this.hasRows(MAX_PARTITION)) {
+                log.warn("系统日志分区 {} 中存在数据，拆分将重写全部数据，跳过创建分区；请在维护窗口参考 db/manual/mysql/sys_log_partition.sql 手动重建分区", MAX_PARTITION);
+            } else {
+                this.createPartitions(partitionList);
+            }
+            if (properties.getRetentionMonths() > 0) {
+                this.dropExpiredPartitions(this.listPartition());
+            }
+        }
+    }
+
+    /**
+     * 从 p_max 拆分出截至未来 premakeMonths 个月的月分区
+     *
+     * @param partitionList 分区列表
+     */
+    private void createPartitions(List<LogPartitionResp> partitionList) {
+        LocalDate currentMonth = LocalDate.now().withDayOfMonth(1);
+        LocalDate targetBound = currentMonth.plusMonths(properties.getPremakeMonths() + 1L);
+        LocalDate from = partitionList.stream()
+            .map(LogPartitionResp::getEndTime)
+            .filter(Objects::nonNull)
+            .map(LocalDateTime::toLocalDate)
+            .max(LocalDate::compareTo)
+            .orElse(currentMonth);
+        if (!from.isBefore(targetBound)) {
+            return;
+        }
+        List<String> definitionList = new ArrayList<>();
+        for (LocalDate month = from; month.isBefore(targetBound); month = month.plusMonths(1)) {
+            definitionList.add("PARTITION %s VALUES LESS THAN ('%s')".formatted(PARTITION_NAME_FORMATTER
+                .format(month), month.plusMonths(1).atStartOfDay().format(DatePattern.NORM_DATETIME_FORMATTER)));
+        }
+        definitionList.add("PARTITION %s VALUES LESS THAN (%s)".formatted(MAX_PARTITION, MAX_VALUE));
+        jdbcTemplate.execute("ALTER TABLE %s REORGANIZE PARTITION %s INTO (%s)".formatted(TABLE_NAME, MAX_PARTITION, String
+            .join(", ", definitionList)));
+        log.info("系统日志分区已创建: {} ~ {}", PARTITION_NAME_FORMATTER.format(from), PARTITION_NAME_FORMATTER
+            .format(targetBound.minusMonths(1)));
+    }
+
+    /**
+     * 归档并删除超出保留期的分区（按时间顺序处理，任一分区归档失败即停止，避免数据丢失）
+     *
+     * @param partitionList 分区列表
+     */
+    private void dropExpiredPartitions(List<LogPartitionResp> partitionList) {
+        LocalDateTime cutoff = LocalDate.now()
+            .withDayOfMonth(1)
+            .minusMonths(properties.getRetentionMonths())
+            .atStartOfDay();
+        for (LogPartitionResp partition : partitionList) {
+            if (partition.getEndTime() == null || partition.getEndTime().isAfter(cutoff)) {
+                break;
+            }
+            if (properties.isArchiveEnabled()) {
+                try {
+                    this.archive(partition.getName());
+                } catch (Exception e) {
+                    log.error("系统日志分区 [{}] 归档失败，暂不删除", partition.getName(), e);
+                    return;
+                }
+            }
+            jdbcTemplate.execute("ALTER TABLE %s DROP PARTITION %s".formatted(TABLE_NAME, partition.getName()));
+            log.info("系统日志分区 [{}] 已删除（上界: {}）", partition.getName(), partition.getEndTime());
+        }
+    }
+
+    /**
+     * 归档分区：流式读取分区数据，以 GZIP 压缩的 JSON Lines 写入临时文件后上传到存储
+     *
+     * @param partitionName 分区名称
+     * @throws IOException /
+     */
+    private void archive(String partitionName) throws IOException {
+        Path dir = Files.createTempDirectory("log-archive");
+        File file = dir.resolve("%s_%s.jsonl.gz".formatted(TABLE_NAME, partitionName)).toFile();
+        try {
+            AtomicLong count = new AtomicLong();
+            JSONConfig jsonConfig = JSONConfig.create().setDateFormat(DatePattern.NORM_DATETIME_PATTERN);
+            // MySQL 驱动在 fetchSize 为 Integer.MIN_VALUE 时逐行读取，不会将整个分区加载到内存
+            JdbcTemplate streamingTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+            streamingTemplate.setFetchSize(Integer.MIN_VALUE);
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(new GZIPOutputStream(Files
+                .newOutputStream(file.toPath())), StandardCharsets.UTF_8))) {
+                streamingTemplate.query("SELECT * FROM %s PARTITION (%s)".formatted(TABLE_NAME, partitionName), rs -> {
+                    ResultSetMetaData metaData = rs.getMetaData();
+                    JSONObject row = new JSONObject(jsonConfig);
+                    for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                        row.set(metaData.getColumnLabel(i), rs.getObject(i));
+                    }
+                    try {
+                        writer.write(row.toString());
+                        writer.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    count.incrementAndGet();
+                });
+            }
+            if (count.get() == 0) {
+                return;
+            }
+            this.upload(file);
+            log.info("系统日志分区 [{}] 已归档，日志数: {}，文件大小: {}", partitionName, count.get(), FileUtil
+                .readableFileSize(file));
+        } finally {
+            FileUtil.del(dir);
+        }
+    }
+
+    /**
+     * 上传归档文件（启用租户时归入默认租户）
+     *
+     * @param file 归档文件
+     */
+    private void upload(File file) {
+        Runnable upload = () -> {
+            try {
+                fileService.upload(file, properties.getArchivePath(), properties.getArchiveStorageCode());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+        if (TenantContextHolder.isTenantEnabled()) {
+            TenantUtils.execute(tenantExtensionProperties.getDefaultTenantId(), upload);
+        } else {
+            upload.run();
+        }
+    }
+
+    /**
+     * 分区中是否存在数据（TABLE_ROWS 为估算值，此处精确判断）
+     *
+     * @param partitionName 分区名称
+     * @return 是否存在数据
+     */
+    private boolean hasRows(String partitionName) {
+        return !jdbcTemplate.queryForList("SELECT 1 FROM %s PARTITION (%s) LIMIT 1".formatted(TABLE_NAME, partitionName))
+            .isEmpty();
+    }
+
+    /**
+     * 解析分区上界（RANGE COLUMNS 分区描述形如 '2026-02-01 00:00:00'）
+     *
+     * @param description 分区描述
+     * @return 上界（MAXVALUE 时为 null）
+     */
+    private LocalDateTime parseBound(String description) {
+        if (StrUtil.isBlank(description) || MAX_VALUE.equalsIgnoreCase(description)) {
+            return null;
+        }
+        String bound = StrUtil.unWrap(description.trim(), '\'');
+        return bound.length() == DatePattern.NORM_DATE_PATTERN.length()
+            ? LocalDate.parse(bound).atStartOfDay()
+            : LocalDateTime.parse(bound, DatePattern.NORM_DATETIME_FORMATTER);
+    }
+}
@@ -28,22 +28,25 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import top.codestyle.admin.common.enums.DisEnableStatusEnum;
+import top.codestyle.admin.common.util.ExcelStreamWriter;
+import top.codestyle.admin.system.config.log.LogPartitionProperties;
+import top.codestyle.admin.system.enums.LogExportTypeEnum;
 import top.codestyle.admin.system.mapper.LogMapper;
 import top.codestyle.admin.system.model.entity.LogDO;
 import top.codestyle.admin.system.model.query.LogQuery;
 import top.codestyle.admin.system.model.resp.log.LogDetailResp;
 import top.codestyle.admin.system.model.resp.log.LogResp;
-import top.codestyle.admin.system.model.resp.log.LoginLogExportResp;
-import top.codestyle.admin.system.model.resp.log.OperationLogExportResp;
 import top.codestyle.admin.system.service.LogService;
 import top.continew.starter.core.util.validation.CheckUtils;
 import top.continew.starter.data.util.QueryWrapperHelper;
 import top.continew.starter.extension.crud.model.query.PageQuery;
 import top.continew.starter.extension.crud.model.query.SortQuery;
 import top.continew.starter.extension.crud.model.resp.PageResp;
-import top.continew.starter.excel.util.ExcelUtils;
 
+import java.io.OutputStream;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.List;
 
 /**
@@ -58,9 +61,16 @@ import java.util.List;
 public class LogServiceImpl implements LogService {
 
     private final LogMapper baseMapper;
+    private final LogPartitionProperties partitionProperties;
 
     @Override
     public PageResp<LogResp> page(LogQuery query, PageQuery pageQuery) {
+        int defaultDays = partitionProperties.getPageDefaultDays();
+        if (CollUtil.isEmpty(query.getCreateTime()) && defaultDays > 0) {
+            // 未指定操作时间时只查询最近的日志，使分区裁剪生效（避免扫描及统计全部分区）
+            LocalDate today = LocalDate.now();
+            query.setCreateTime(List.of(today.minusDays(defaultDays).atStartOfDay(), today.atTime(LocalTime.MAX)));
+        }
         QueryWrapper<LogDO> queryWrapper = this.buildQueryWrapper(query);
         QueryWrapperHelper.sort(queryWrapper, pageQuery.getSort());
         IPage<LogResp> page = baseMapper.selectLogPage(new Page<>(pageQuery.getPage(), pageQuery
@@ -78,28 +88,39 @@ public class LogServiceImpl implements LogService {
 
     @Override
     public void exportLoginLog(LogQuery query, SortQuery sortQuery, HttpServletResponse response) {
-        List<LoginLogExportResp> list = BeanUtil.copyToList(this.list(query, sortQuery), LoginLogExportResp.class);
-        ExcelUtils.export(list, "导出登录日志数据", LoginLogExportResp.class, response);
+        LogExportTypeEnum type = LogExportTypeEnum.LOGIN;
+        this.write(ExcelStreamWriter.of(response, type.getFileName(), type.getExportClass()), query, sortQuery);
     }
 
     @Override
     public void exportOperationLog(LogQuery query, SortQuery sortQuery, HttpServletResponse response) {
-        List<OperationLogExportResp> list = BeanUtil.copyToList(this
-            .list(query, sortQuery), OperationLogExportResp.class);
-        ExcelUtils.export(list, "导出操作日志数据", OperationLogExportResp.class, response);
+        LogExportTypeEnum type = LogExportTypeEnum.OPERATION;
+        this.write(ExcelStreamWriter.of(response, type.getFileName(), type.getExportClass()), query, sortQuery);
+    }
+
+    @Override
+    public long export(LogExportTypeEnum type, LogQuery query, SortQuery sortQuery, OutputStream outputStream) {
+        return this.write(new ExcelStreamWriter<>(outputStream, type
+            .getExportClass(), ExcelStreamWriter.DEFAULT_SHEET_NAME, ExcelStreamWriter.DEFAULT_BATCH_SIZE), query, sortQuery);
     }
 
     /**
-     * 查询列表
+     * 流式查询日志并逐行写入 Excel
      *
+     * @param writer    流式写入器
      * @param query     查询条件
      * @param sortQuery 排序查询条件
-     * @return 列表信息
+     * @return 导出行数
      */
-    private List<LogResp> list(LogQuery query, SortQuery sortQuery) {
+    private <T> long write(ExcelStreamWriter<T> writer, LogQuery query, SortQuery sortQuery) {
         QueryWrapper<LogDO> queryWrapper = this.buildQueryWrapper(query);
         QueryWrapperHelper.sort(queryWrapper, sortQuery.getSort());
-        return baseMapper.selectLogList(queryWrapper);
+        Class<T> clazz = writer.getClazz();
+        try (writer) {
+            baseMapper.selectLogStream(queryWrapper, context -> writer.write(BeanUtil.copyProperties(context
+                .getResultObject(), clazz)));
+        }
+        return writer.getCount();
     }
 
     /**
@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package top.codestyle.admin.system.service.impl;
+
+import cn.hutool.core.util.StrUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import top.codestyle.admin.system.enums.LogStatDimEnum;
+import top.codestyle.admin.system.mapper.LogMapper;
+import top.codestyle.admin.system.mapper.LogStatMapper;
+import top.codestyle.admin.system.model.entity.LogDO;
+import top.codestyle.admin.system.model.entity.LogStatDimDO;
+import top.codestyle.admin.system.model.entity.LogStatHourDO;
+import top.codestyle.admin.system.service.LogStatService;
+import top.codestyle.admin.system.util.HyperLogLog;
+import top.continew.starter.core.constant.StringConstants;
+import top.continew.starter.core.util.validation.CheckUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 日志统计业务实现
+ * <p>
+ * 一批日志先在内存中汇总，再按小时、维度、每日的固定顺序写入（同一顺序加锁，避免多节点并发写入时死锁）；
+ * 浏览量通过 ON DUPLICATE KEY UPDATE 累加，独立 IP 估计在锁定当日记录后合并寄存器。
+ * </p>
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LogStatServiceImpl implements LogStatService {
+
+    /**
+     * 维度值最大长度
+     */
+    private static final int MAX_DIM_VALUE_LENGTH = 255;
+
+    /**
+     * 地域统计只包含国内地址
+     */
+    private static final String GEO_PREFIX = "中国";
+
+    private final LogStatMapper baseMapper;
+    private final LogMapper logMapper;
+    private final PlatformTransactionManager transactionManager;
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void record(Collection<LogDO> logs) {
+        LogStatBatch batch = new LogStatBatch();
+        logs.forEach(batch::add);
+        this.save(batch, false);
+    }
+
+    @Override
+    public long rebuild(LocalDate startDate, LocalDate endDate) {
+        CheckUtils.throwIf(startDate.isAfter(endDate), "开始日期不能晚于结束日期");
+        CheckUtils.throwIf(!endDate.isBefore(LocalDate.now()), "仅支持重建今天之前的统计");
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long total = 0;
+        // 逐日重建，每天一个事务
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            LocalDate statDate = date;
+            Long count = transactionTemplate.execute(status -> {
+                LogStatBatch batch = new LogStatBatch();
+                logMapper.selectStatSource(statDate.atStartOfDay(), statDate.plusDays(1).atStartOfDay(), context -> batch
+                    .add(context.getResultObject()));
+                // 无日志（如所在分区已归档删除）时保留原有统计
+                if (batch.getCount() == 0) {
+                    return 0L;
+                }
+                baseMapper.deleteHourByDate(statDate);
+                baseMapper.deleteDimByDate(statDate);
+                baseMapper.deleteDayByDate(statDate);
+                this.save(batch, true);
+                return batch.getCount();
+            });
+            total += count != null ? count : 0;
+        }
+        log.info("日志统计重建完成，日期: {} ~ {}，日志数: {}", startDate, endDate, total);
+        return total;
+    }
+
+    @Override
+    public long backfill() {
+        LocalDateTime minCreateTime = logMapper.selectMinCreateTime();
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        if (minCreateTime == null || minCreateTime.toLocalDate().isAfter(yesterday)) {
+            return 0;
+        }
+        LocalDate startDate = minCreateTime.toLocalDate();
+        LocalDate minStatDate = baseMapper.selectMinStatDate();
+        if (minStatDate != null && minStatDate.isBefore(startDate)) {
+            return 0; // 统计已覆盖最早的日志
+        }
+        // 最早统计日（统计表启用当天）可能只统计了启用后的日志，早于今天时一并重建（按日志重建，重复执行结果不变）
+        LocalDate endDate = minStatDate == null || minStatDate.isAfter(yesterday) ? yesterday : minStatDate;
+        log.info("开始补齐日志统计，日期: {} ~ {}", startDate, endDate);
+        return this.rebuild(startDate, endDate);
+    }
+
+    /**
+     * 保存汇总结果
+     *
+     * @param batch    汇总结果
+     * @param override 是否直接覆盖独立 IP 估计（重建时当日记录已删除，无需合并）
+     */
+    private void save(LogStatBatch batch, boolean override) {
+        if (batch.getCount() == 0) {
+            return;
+        }
+        baseMapper.insertOrAddHour(batch.getHours().values());
+        if (!batch.getDims().isEmpty()) {
+            baseMapper.insertOrAddDim(batch.getDims().values());
+        }
+        batch.getDays().forEach((statDate, day) -> {
+            baseMapper.insertOrAddDay(statDate, day.pv);
+            if (day.ips.isEmpty()) {
+                return;
+            }
+            HyperLogLog ips = day.ips;
+            if (!override) {
+                ips = HyperLogLog.of(baseMapper.selectSketchForUpdate(statDate)).merge(day.ips);
+            }
+            baseMapper.updateSketch(statDate, ips.toBytes());
+        });
+    }
+
+    /**
+     * 一批日志的内存汇总结果（键有序，保证写入时按相同顺序加锁）
+     */
+    private static class LogStatBatch {
+
+        private final Map<String, LogStatHourDO> hours = new TreeMap<>();
+        private final Map<String, LogStatDimDO> dims = new TreeMap<>();
+        private final Map<LocalDate, DayStat> days = new TreeMap<>();
+        private long count;
+
+        /**
+         * 添加日志
+         *
+         * @param logDO 日志
+         */
+        void add(LogDO logDO) {
+            LocalDateTime createTime = logDO.getCreateTime();
+            if (createTime == null) {
+                return;
+            }
+            LocalDate statDate = createTime.toLocalDate();
+            int statHour = createTime.getHour();
+            LogStatHourDO hour = hours.computeIfAbsent("%s %02d"
+                .formatted(statDate, statHour), k -> new LogStatHourDO(statDate, statHour, 0L));
+            hour.setPv(hour.getPv() + 1);
+            DayStat day = days.computeIfAbsent(statDate, k -> new DayStat());
+            day.pv++;
+            if (StrUtil.isNotBlank(logDO.getIp())) {
+                day.ips.add(logDO.getIp());
+            }
+            this.addDim(statDate, LogStatDimEnum.MODULE, logDO.getModule());
+            this.addDim(statDate, LogStatDimEnum.OS, logDO.getOs());
+            this.addDim(statDate, LogStatDimEnum.BROWSER, StrUtil.subBefore(logDO.getBrowser(), StringConstants.SPACE, false));
+            if (StrUtil.startWith(logDO.getAddress(), GEO_PREFIX)) {
+                this.addDim(statDate, LogStatDimEnum.GEO, StrUtil.subBefore(logDO.getAddress(), StringConstants.SPACE, false));
+            }
+            count++;
+        }
+
+        private void addDim(LocalDate statDate, LogStatDimEnum dimType, String dimValue) {
+            if (StrUtil.isBlank(dimValue)) {
+                return;
+            }
+            String value = StrUtil.sub(dimValue, 0, MAX_DIM_VALUE_LENGTH);
+            LogStatDimDO dim = dims.computeIfAbsent("%s %s %s".formatted(statDate, dimType
+                .getValue(), value), k -> new LogStatDimDO(statDate, dimType, value, 0L));
+            dim.setPv(dim.getPv() + 1);
+        }
+
+        Map<String, LogStatHourDO> getHours() {
+            return hours;
+        }
+
+        Map<String, LogStatDimDO> getDims() {
+            return dims;
+        }
+
+        Map<LocalDate, DayStat> getDays() {
+            return days;
+        }
+
+        long getCount() {
+            return count;
+        }
+    }
+
+    /**
+     * 单日汇总
+     */
+    private static class DayStat {
+
+        private long pv;
+        private final HyperLogLog ips = new HyperLogLog();
+    }
+}
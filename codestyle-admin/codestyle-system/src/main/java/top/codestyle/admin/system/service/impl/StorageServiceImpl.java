@@ -17,7 +17,6 @@
 package top.codestyle.admin.system.service.impl;
 
 import cn.hutool.core.bean.BeanUtil;
-import cn.hutool.core.map.MapUtil;
 import cn.hutool.core.util.StrUtil;
 import cn.hutool.core.util.URLUtil;
 import jakarta.annotation.Resource;
@@ -32,6 +31,7 @@ import top.codestyle.admin.common.base.service.BaseServiceImpl;
 import top.codestyle.admin.common.enums.DisEnableStatusEnum;
 import top.codestyle.admin.common.model.req.CommonStatusUpdateReq;
 import top.codestyle.admin.common.util.SecureUtils;
+import top.codestyle.admin.system.config.file.LocalFileHandlerMapping;
 import top.codestyle.admin.system.enums.StorageTypeEnum;
 import top.codestyle.admin.system.mapper.StorageMapper;
 import top.codestyle.admin.system.model.entity.StorageDO;
@@ -41,7 +41,6 @@ import top.codestyle.admin.system.model.resp.StorageResp;
 import top.codestyle.admin.system.service.FileService;
 import top.codestyle.admin.system.service.StorageService;
 import top.continew.starter.core.util.ExceptionUtils;
-import top.continew.starter.core.util.SpringWebUtils;
 import top.continew.starter.core.util.validation.CheckUtils;
 import top.continew.starter.core.util.validation.ValidationUtils;
 
@@ -60,6 +59,7 @@ import java.util.concurrent.CopyOnWriteArrayList;
 public class StorageServiceImpl extends BaseServiceImpl<StorageMapper, StorageDO, StorageResp, StorageResp, StorageQuery, StorageReq> implements StorageService {
 
     private final FileStorageService fileStorageService;
+    private final LocalFileHandlerMapping localFileHandlerMapping;
     @Resource
     private FileService fileService;
 
@@ -189,8 +189,7 @@ public class StorageServiceImpl extends BaseServiceImpl<StorageMapper, StorageDO
                 fileStorageList.addAll(FileStorageServiceBuilder.buildLocalPlusFileStorage(Collections
                     .singletonList(config)));
                 // 注册资源映射
-                SpringWebUtils.registerResourceHandler(MapUtil.of(URLUtil.url(storage.getDomain()).getPath(), storage
-                    .getBucketName()));
+                localFileHandlerMapping.register(URLUtil.url(storage.getDomain()).getPath(), storage.getBucketName());
             }
             case OSS -> {
                 FileStorageProperties.AmazonS3Config config = new FileStorageProperties.AmazonS3Config();
@@ -217,8 +216,7 @@ public class StorageServiceImpl extends BaseServiceImpl<StorageMapper, StorageDO
         fileStorage.close();
         // 本地存储引擎需要移除资源映射
         if (StorageTypeEnum.LOCAL.equals(storage.getType())) {
-            SpringWebUtils.deRegisterResourceHandler(MapUtil.of(URLUtil.url(storage.getDomain()).getPath(), storage
-                .getBucketName()));
+            localFileHandlerMapping.deregister(URLUtil.url(storage.getDomain()).getPath());
         }
     }
 
@@ -59,6 +59,7 @@ import top.codestyle.admin.common.context.UserContext;
 import top.codestyle.admin.common.context.UserContextHolder;
 import top.codestyle.admin.common.enums.DisEnableStatusEnum;
 import top.codestyle.admin.common.enums.GenderEnum;
+import top.codestyle.admin.common.util.ExcelStreamWriter;
 import top.codestyle.admin.common.util.SecureUtils;
 import top.codestyle.admin.system.enums.OptionCategoryEnum;
 import top.codestyle.admin.system.mapper.user.UserMapper;
@@ -133,6 +134,29 @@ public class UserServiceImpl extends BaseServiceImpl<UserMapper, UserDO, UserRes
         return pageResp;
     }
 
+    @Override
+    public void export(UserQuery query, SortQuery sortQuery, HttpServletResponse response) {
+        // 按 ID 键集分页读取并逐页写入，不一次性加载全部用户（分页查询仍经过数据权限及字段解密），导出结果按 ID 排序
+        int pageSize = ExcelStreamWriter.DEFAULT_BATCH_SIZE;
+        try (ExcelStreamWriter<UserDetailResp> writer = ExcelStreamWriter
+            .of(response, "导出数据", UserDetailResp.class)) {
+            Long lastId = null;
+            List<UserDetailResp> list;
+            do {
+                QueryWrapper<UserDO> queryWrapper = this.buildQueryWrapper(query)
+                    .gt(lastId != null, "t1.id", lastId)
+                    .orderByAsc("t1.id");
+                list = baseMapper.selectUserPage(new Page<>(1, pageSize, false), queryWrapper).getRecords();
+                if (list.isEmpty()) {
+                    break;
+                }
+                list.forEach(this::fill);
+                writer.write(list);
+                lastId = CollUtil.getLast(list).getId();
+            } while (list.size() == pageSize);
+        }
+    }
+
     @Override
     public void beforeCreate(UserReq req) {
         String password = SecureUtils.decryptPasswordByRsaPrivateKey(req.getPassword(), "密码解密失败", true);
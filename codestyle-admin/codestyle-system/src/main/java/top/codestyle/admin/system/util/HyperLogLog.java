@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package top.codestyle.admin.system.util;
+
+import cn.hutool.core.lang.hash.MurmurHash;
+
+/**
+ * HyperLogLog 基数估计
+ * <p>
+ * 使用 2^12 个 1 字节寄存器（固定 4KB），标准误差约 1.6%；小基数时退化为线性计数，结果接近精确值。
+ * 寄存器按位取最大值即可合并，因此可按天保存、按月或全量合并后估算独立 IP 数。
+ * </p>
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+public class HyperLogLog {
+
+    /**
+     * 精度（寄存器数量为 2^PRECISION）
+     */
+    private static final int PRECISION = 12;
+
+    /**
+     * 寄存器数量
+     */
+    public static final int REGISTER_COUNT = 1 << PRECISION;
+
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTER_COUNT);
+
+    private final byte[] registers;
+
+    public HyperLogLog() {
+        this.registers = new byte[REGISTER_COUNT];
+    }
+
+    private HyperLogLog(byte[] registers) {
+        this.registers = registers;
+    }
+
+    /**
+     * 从寄存器数据恢复（数据为空或长度不符时返回空估计）
+     *
+     * @param bytes 寄存器数据
+     * @return HyperLogLog
+     */
+    public static HyperLogLog of(byte[] bytes) {
+        if (bytes == null || bytes.length != REGISTER_COUNT) {
+            return new HyperLogLog();
+        }
+        return new HyperLogLog(bytes.clone());
+    }
+
+    /**
+     * 添加元素
+     *
+     * @param value 元素
+     */
+    public void add(String value) {
+        long hash = MurmurHash.hash64(value);
+        int index = (int)(hash >>> (Long.SIZE - PRECISION));
+        // 剩余位的前导零个数 + 1，末位哨兵保证上限为 64 - PRECISION + 1
+        byte rank = (byte)(Long.numberOfLeadingZeros((hash << PRECISION) | (1L << (PRECISION - 1))) + 1);
+        if (rank > registers[index]) {
+            registers[index] = rank;
+        }
+    }
+
+    /**
+     * 合并另一个估计（逐个寄存器取最大值）
+     *
+     * @param other 另一个估计
+     * @return 当前对象
+     */
+    public HyperLogLog merge(HyperLogLog other) {
+        for (int i = 0; i < REGISTER_COUNT; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+        return this;
+    }
+
+    /**
+     * 估算基数
+     *
+     * @return 基数估计值
+     */
+    public long cardinality() {
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double estimate = ALPHA * REGISTER_COUNT * REGISTER_COUNT / sum;
+        if (estimate <= 2.5 * REGISTER_COUNT && zeros > 0) {
+            // 小基数使用线性计数
+            estimate = REGISTER_COUNT * Math.log((double)REGISTER_COUNT / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+     * 是否为空（未添加任何元素）
+     *
+     * @return 是否为空
+     */
+    public boolean isEmpty() {
+        for (byte register : registers) {
+            if (register != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 导出寄存器数据
+     *
+     * @return 寄存器数据
+     */
+    public byte[] toBytes() {
+        return registers.clone();
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2022-present CodeStyle Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package top.codestyle.admin.system.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * HyperLogLog 基数估计测试
+ *
+ * @author CodeStyle Team
+ * @since 2.0.0
+ */
+class HyperLogLogTest {
+
+    /**
+     * 允许误差（标准误差约 1.6%，取 4 倍标准误差避免偶发失败）
+     */
+    private static final double TOLERANCE = 0.065;
+
+    @Test
+    void emptySketch() {
+        HyperLogLog hll = new HyperLogLog();
+
+        assertTrue(hll.isEmpty());
+        assertEquals(0, hll.cardinality());
+    }
+
+    @Test
+    void smallCardinalityIsNearlyExact() {
+        HyperLogLog hll = new HyperLogLog();
+        for (int i = 0; i < 100; i++) {
+            hll.add(ip(i));
+            // 重复元素不影响估计
+            hll.add(ip(i));
+        }
+
+        assertFalse(hll.isEmpty());
+        assertEquals(100, hll.cardinality(), 5);
+    }
+
+    @Test
+    void cardinalityWithinErrorBound() {
+        for (int n : new int[] {1_000, 50_000, 1_000_000}) {
+            HyperLogLog hll = new HyperLogLog();
+            for (int i = 0; i < n; i++) {
+                hll.add(ip(i));
+            }
+            assertEquals(n, hll.cardinality(), n * TOLERANCE, "n=" + n);
+        }
+    }
+
+    @Test
+    void mergeEstimatesUnion() {
+        HyperLogLog first = new HyperLogLog();
+        HyperLogLog second = new HyperLogLog();
+        HyperLogLog union = new HyperLogLog();
+        // 两个集合重叠 20000 个元素，并集 80000
+        for (int i = 0; i < 50_000; i++) {
+            first.add(ip(i));
+            union.add(ip(i));
+        }
+        for (int i = 30_000; i < 80_000; i++) {
+            second.add(ip(i));
+            union.add(ip(i));
+        }
+
+        HyperLogLog merged = HyperLogLog.of(first.toBytes()).merge(second);
+
+        // 寄存器逐个取最大值，合并结果与直接统计并集完全一致
+        assertArrayEquals(union.toBytes(), merged.toBytes());
+        assertEquals(80_000, merged.cardinality(), 80_000 * TOLERANCE);
+        // 合并不修改参数
+        assertEquals(second.cardinality(), HyperLogLog.of(second.toBytes()).cardinality());
+    }
+
+    @Test
+    void mergeIsIdempotent() {
+        HyperLogLog hll = new HyperLogLog();
+        for (int i = 0; i < 5_000; i++) {
+            hll.add(ip(i));
+        }
+        long cardinality = hll.cardinality();
+
+        assertEquals(cardinality, hll.merge(HyperLogLog.of(hll.toBytes())).cardinality());
+        assertEquals(cardinality, hll.merge(new HyperLogLog()).cardinality());
+    }
+
+    @Test
+    void bytesRoundTrip() {
+        HyperLogLog hll = new HyperLogLog();
+        for (int i = 0; i < 20_000; i++) {
+            hll.add(ip(i));
+        }
+        byte[] bytes = hll.toBytes();
+
+        assertEquals(HyperLogLog.REGISTER_COUNT, bytes.length);
+        HyperLogLog restored = HyperLogLog.of(bytes);
+        assertArrayEquals(bytes, restored.toBytes());
+        assertEquals(hll.cardinality(), restored.cardinality());
+
+        // 恢复时复制寄存器，修改导出数据不影响估计
+        bytes[0] = Byte.MAX_VALUE;
+        assertArrayEquals(hll.toBytes(), restored.toBytes());
+    }
+
+    @Test
+    void invalidBytesRestoreEmptySketch() {
+        assertTrue(HyperLogLog.of(null).isEmpty());
+        assertTrue(HyperLogLog.of(new byte[0]).isEmpty());
+        assertTrue(HyperLogLog.of(new byte[HyperLogLog.REGISTER_COUNT - 1]).isEmpty());
+    }
+
+    private static String ip(int i) {
+        return "10." + (i >>> 16 & 0xFF) + "." + (i >>> 8 & 0xFF) + "." + (i & 0xFF);
+    }
+}